@@ -0,0 +1,156 @@
+/*
+ * JavaBlocks Engine - Fixed Timestep
+ * 
+ * Accumulator that turns variable frame times into fixed simulation steps.
+ */
+package com.javablocks.core;
+
+/**
+ * Converts variable frame deltas into a whole number of fixed steps.
+ * 
+ * Features:
+ * - Frame time accumulates and is consumed in steps of a fixed size
+ * - At most maxStepsPerFrame steps per frame; the excess is dropped so a
+ *   slow frame cannot snowball into ever longer frames
+ * - An interpolation alpha in [0, 1) telling how far the current frame is
+ *   between the last two simulated steps
+ * 
+ * Usage:
+ * <pre>
+ * int steps = timestep.advance(deltaTime);
+ * for (int i = 0; i &lt; steps; i++) {
+ *     simulate(timestep.getStep());
+ * }
+ * render(timestep.getAlpha());
+ * </pre>
+ * 
+ * @author JavaBlocks Engine Team
+ */
+public final class FixedTimestep {
+    
+    // ==================== Constants ====================
+    
+    /**
+     * Fraction of a step treated as rounding error, so frame times that add
+     * up to a whole number of steps in float arithmetic are not a step short.
+     */
+    private static final double STEP_EPSILON = 1e-4;
+    
+    // ==================== Instance Variables ====================
+    
+    /** Step size in seconds. */
+    private final float step;
+    
+    /** Maximum steps run for a single frame. */
+    private final int maxStepsPerFrame;
+    
+    /** Frame time not yet consumed by steps, in seconds. */
+    private double accumulator;
+    
+    /** Total number of steps taken. */
+    private long stepCount;
+    
+    /** Total time dropped by the catch-up cap, in seconds. */
+    private double droppedTime;
+    
+    // ==================== Constructor ====================
+    
+    /**
+     * Creates a fixed timestep.
+     * 
+     * @param step Step size in seconds
+     * @param maxStepsPerFrame Maximum steps run for a single frame
+     */
+    public FixedTimestep(float step, int maxStepsPerFrame) {
+        if (!(step > 0)) {
+            throw new IllegalArgumentException("Step must be positive: " + step);
+        }
+        if (maxStepsPerFrame <= 0) {
+            throw new IllegalArgumentException("Max steps per frame must be positive: " + maxStepsPerFrame);
+        }
+        this.step = step;
+        this.maxStepsPerFrame = maxStepsPerFrame;
+    }
+    
+    // ==================== Stepping ====================
+    
+    /**
+     * Adds a frame's time and returns how many fixed steps to run for it.
+     * When more than maxStepsPerFrame steps are due, the surplus time is
+     * dropped and the simulation falls behind real time instead.
+     * 
+     * @param deltaTime Frame time in seconds; negative values count as zero
+     * @return The number of steps to run, at most maxStepsPerFrame
+     */
+    public int advance(float deltaTime) {
+        if (deltaTime > 0) {
+            accumulator += deltaTime;
+        }
+        
+        int steps = (int) Math.min(maxStepsPerFrame, Math.floor(accumulator / step + STEP_EPSILON));
+        accumulator = Math.max(0, accumulator - (double) steps * step);
+        if (steps == maxStepsPerFrame && accumulator >= step) {
+            // Keep the fractional part so the alpha stays meaningful
+            double surplus = accumulator - accumulator % step;
+            droppedTime += surplus;
+            accumulator -= surplus;
+        }
+        stepCount += steps;
+        return steps;
+    }
+    
+    /**
+     * Discards accumulated time, e.g. after a pause or a level load.
+     */
+    public void reset() {
+        accumulator = 0;
+    }
+    
+    // ==================== Accessors ====================
+    
+    /**
+     * Gets how far the current frame is between the previous and the
+     * latest step.
+     * 
+     * @return The interpolation alpha in [0, 1)
+     */
+    public float getAlpha() {
+        return (float) Math.min(accumulator / step, 1.0);
+    }
+    
+    /**
+     * Gets the step size.
+     * 
+     * @return Step size in seconds
+     */
+    public float getStep() {
+        return step;
+    }
+    
+    /**
+     * Gets the maximum number of steps run for a single frame.
+     * 
+     * @return The catch-up cap
+     */
+    public int getMaxStepsPerFrame() {
+        return maxStepsPerFrame;
+    }
+    
+    /**
+     * Gets the total number of steps taken.
+     * 
+     * @return The step count
+     */
+    public long getStepCount() {
+        return stepCount;
+    }
+    
+    /**
+     * Gets the total frame time dropped by the catch-up cap.
+     * 
+     * @return Dropped time in seconds
+     */
+    public double getDroppedTime() {
+        return droppedTime;
+    }
+}
@@ -16,6 +16,8 @@ import com.javablocks.core.math.*;
 import com.javablocks.core.scene.*;
 import com.javablocks.core.plugin.*;
 import com.javablocks.core.resource.*;
+import java.io.*;
+import java.nio.file.*;
 import java.util.*;
 import java.util.concurrent.*;
 import java.util.function.*;
@@ -131,6 +133,11 @@ public final class JavaBlocksEngine {
      */
     private long totalRunningTime;
     
+    /**
+     * Fixed-step driver for the simulation, created from the configuration.
+     */
+    private final FixedTimestep fixedTimestep;
+    
     // ==================== Engine Configuration ====================
     
     /**
@@ -158,6 +165,37 @@ public final class JavaBlocksEngine {
         /** Physics simulation timestep in seconds. */
         public float physicsTimestep = 1f / 60f;
         
+        /**
+         * Maximum fixed steps run for one frame. Time beyond the cap is
+         * dropped so slow frames cannot cause a spiral of death.
+         */
+        public int maxFixedStepsPerFrame = 5;
+        
+        /**
+         * Whether the engine adds a {@link com.javablocks.core.ecs.TransformInterpolationSystem}
+         * to blend transforms between fixed steps.
+         */
+        public boolean interpolateTransforms = true;
+        
+        /**
+         * Whether the engine adds a {@link com.javablocks.core.ecs.TransformSystem}
+         * to propagate world transforms down the entity hierarchy.
+         */
+        public boolean propagateTransforms = true;
+        
+        /**
+         * Backend for batch transform math. VECTOR and AUTO need the JVM to
+         * run with {@code --add-modules jdk.incubator.vector}; otherwise the
+         * scalar backend is used.
+         */
+        public TransformKernels.Backend transformKernels = TransformKernels.Backend.AUTO;
+        
+        /**
+         * File that per-system update time percentiles are written to at
+         * shutdown, or null to skip writing them.
+         */
+        public String systemTimingsFile = null;
+        
         /** Whether to enable multi-threaded rendering. */
         public boolean multiThreadedRendering = false;
         
@@ -167,6 +205,35 @@ public final class JavaBlocksEngine {
         /** Network tick rate in Hz. */
         public int networkTickRate = 20;
         
+        /** Component storage layout used by the ECS world. */
+        public World.StorageMode storageMode = World.StorageMode.POOLED;
+        
+        /**
+         * Whether components annotated with {@link com.javablocks.core.ecs.Packed}
+         * are stored in their generated struct-of-arrays stores. When enabled,
+         * {@link World#getComponent} returns a detached copy for such types.
+         */
+        public boolean packedComponents = false;
+        
+        /**
+         * Maximum removed instances the world keeps per component type for
+         * {@link World#obtainComponent}, or 0 to disable pooling. Only
+         * instances obtained from the world are pooled.
+         */
+        public int componentPoolCapacity = 256;
+        
+        /**
+         * Whether systems with non-conflicting declared component access
+         * run concurrently on the game logic pool.
+         */
+        public boolean parallelSystems = true;
+        
+        /**
+         * Milliseconds a frame may take before systems marked deferrable
+         * are postponed to a later frame, or 0 for no budget.
+         */
+        public float frameBudgetMs = 0f;
+        
         /**
          * Create a default configuration.
          */
@@ -270,6 +337,7 @@ public final class JavaBlocksEngine {
         
         // Validate configuration
         validateConfiguration();
+        this.fixedTimestep = new FixedTimestep(config.physicsTimestep, config.maxFixedStepsPerFrame);
         
         // Initialize core subsystems
         initializeSubsystems();
@@ -290,6 +358,15 @@ public final class JavaBlocksEngine {
         if (configuration.physicsTimestep <= 0) {
             throw new IllegalArgumentException("Physics timestep must be positive");
         }
+        if (configuration.maxFixedStepsPerFrame <= 0) {
+            throw new IllegalArgumentException("Max fixed steps per frame must be positive");
+        }
+        if (configuration.componentPoolCapacity < 0) {
+            throw new IllegalArgumentException("Component pool capacity cannot be negative");
+        }
+        if (configuration.frameBudgetMs < 0) {
+            throw new IllegalArgumentException("Frame budget cannot be negative");
+        }
     }
     
     /**
@@ -307,7 +384,22 @@ public final class JavaBlocksEngine {
             this.pluginManager = new PluginManager();
             
             // Phase 2: ECS and Scene
+            TransformKernels kernels = TransformKernels.select(configuration.transformKernels);
+            if (configuration.transformKernels == TransformKernels.Backend.VECTOR
+                    && kernels.getBackend() != TransformKernels.Backend.VECTOR) {
+                System.err.println("[JavaBlocks] Vector API unavailable, using scalar transform kernels; run with --add-modules "
+                    + TransformKernels.VECTOR_MODULE);
+            }
             this.world = new World(configuration);
+            if (configuration.parallelSystems) {
+                world.setSystemPool(gameLogicPool);
+            }
+            if (configuration.interpolateTransforms) {
+                world.addSystem(new TransformInterpolationSystem());
+            }
+            if (configuration.propagateTransforms) {
+                world.addSystem(new TransformSystem());
+            }
             this.sceneManager = new SceneManager();
 
             // Phase 3: Initialize plugin manager
@@ -357,7 +449,8 @@ public final class JavaBlocksEngine {
     
     /**
      * Main update method called each frame.
-     * Updates all systems in priority order.
+     * Runs the fixed steps due for this frame, then updates all systems in
+     * priority order with the interpolation alpha set on the world.
      * 
      * @param deltaTime Time since last frame in seconds
      */
@@ -372,6 +465,15 @@ public final class JavaBlocksEngine {
         // Dispatch update signal
         signalRegistry.dispatch(EngineSignals.ENGINE_UPDATE, new UpdateEvent(deltaTime, totalRunningTime));
         
+        // Drive fixed steps; the simulation does not advance while paused
+        if (state == EngineState.RUNNING) {
+            int steps = fixedTimestep.advance(deltaTime);
+            for (int i = 0; i < steps; i++) {
+                fixedUpdate(fixedTimestep.getStep());
+            }
+        }
+        world.setInterpolationAlpha(fixedTimestep.getAlpha());
+        
         // Update ECS world
         world.update(deltaTime);
         
@@ -389,6 +491,24 @@ public final class JavaBlocksEngine {
         world.fixedUpdate(fixedDelta);
     }
     
+    /**
+     * Gets the fixed-step driver.
+     * 
+     * @return The fixed timestep
+     */
+    public FixedTimestep getFixedTimestep() {
+        return fixedTimestep;
+    }
+    
+    /**
+     * Gets how far the current frame is between the last two fixed steps.
+     * 
+     * @return The interpolation alpha in [0, 1)
+     */
+    public float getInterpolationAlpha() {
+        return fixedTimestep.getAlpha();
+    }
+    
     /**
      * Late update for post-processing and final frame preparations.
      * 
@@ -448,6 +568,7 @@ public final class JavaBlocksEngine {
     public void resume() {
         if (state == EngineState.PAUSED) {
             state = EngineState.RUNNING;
+            fixedTimestep.reset();
             signalRegistry.dispatch(EngineSignals.ENGINE_RESUMED, null);
             
             if (configuration.debugMode) {
@@ -473,6 +594,7 @@ public final class JavaBlocksEngine {
             
             // Shutdown subsystems in reverse order
             sceneManager.dispose();
+            writeSystemTimings();
             world.dispose();
             pluginManager.unloadPlugins();
             resourceManager.dispose();
@@ -508,6 +630,21 @@ public final class JavaBlocksEngine {
         }
     }
     
+    /**
+     * Writes system timing statistics to the configured file, if any.
+     * A failure is reported but does not stop the shutdown.
+     */
+    private void writeSystemTimings() {
+        if (configuration.systemTimingsFile == null) {
+            return;
+        }
+        try {
+            world.writeSystemTimings(Path.of(configuration.systemTimingsFile));
+        } catch (IOException e) {
+            System.err.println("[JavaBlocks] Failed to write system timings: " + e.getMessage());
+        }
+    }
+    
     // ==================== Entity Management ====================
     
     /**
@@ -776,6 +913,17 @@ public final class JavaBlocksEngine {
         return CompletableFuture.runAsync(task, gameLogicPool);
     }
     
+    /**
+     * Gets the job system for dependent jobs and parallel-for ranges on
+     * the game logic pool. Unlike {@link #submitGameTask}, scheduling does
+     * not allocate and jobs are completed at the end of each world update.
+     * 
+     * @return The world's job system
+     */
+    public JobSystem getJobSystem() {
+        return world.getJobSystem();
+    }
+    
     /**
      * Schedules a task to run after a delay.
      * 
@@ -915,6 +1063,8 @@ public final class JavaBlocksEngine {
         info.put("Total Running Time (s)", totalRunningTime / 1_000_000_000.0);
         info.put("Entity Count", world.getEntityCount());
         info.put("System Count", world.getSystemCount());
+        info.put("Fixed Steps", fixedTimestep.getStepCount());
+        info.put("Dropped Fixed Time (s)", fixedTimestep.getDroppedTime());
         info.put("Virtual Thread Count", ioExecutor instanceof ThreadPoolExecutor ? 
             ((ThreadPoolExecutor) ioExecutor).getActiveCount() : "N/A");
         info.put("Pending Operations", pendingOperations.size());
@@ -942,6 +1092,18 @@ public final class JavaBlocksEngine {
      */
     public record UpdateEvent(float deltaTime, long totalTime) {}
     
+    /**
+     * Event data for entity creation signals: the packed handles of the
+     * entities created by one createEntity or createEntities call.
+     */
+    public record EntitiesCreated(long[] handles) {}
+    
+    /**
+     * Event data for entity destruction signals: the packed handles of the
+     * entities destroyed together at one update sync point.
+     */
+    public record EntitiesDestroyed(long[] handles) {}
+    
     /**
      * Built-in engine signals for core events.
      */
@@ -962,11 +1124,11 @@ public final class JavaBlocksEngine {
         /** Signal dispatched when the engine stops. */
         public static final Class<Signal> ENGINE_STOPPED = Signal.class;
         
-        /** Signal dispatched when an entity is created. */
-        public static final Class<Signal> ENTITY_CREATED = Signal.class;
+        /** Signal dispatched once per created entity or batch, with an {@link EntitiesCreated} event. */
+        public static final Class<EntitiesCreated> ENTITY_CREATED = EntitiesCreated.class;
         
-        /** Signal dispatched when an entity is destroyed. */
-        public static final Class<Signal> ENTITY_DESTROYED = Signal.class;
+        /** Signal dispatched once per batch of destroyed entities, with an {@link EntitiesDestroyed} event. */
+        public static final Class<EntitiesDestroyed> ENTITY_DESTROYED = EntitiesDestroyed.class;
         
         /** Signal dispatched when the scene changes. */
         public static final Class<Signal> SCENE_CHANGED = Signal.class;
@@ -0,0 +1,539 @@
+/*
+ * JavaBlocks Engine - Job System
+ * 
+ * Lightweight dependency-aware jobs on the game logic pool.
+ */
+package com.javablocks.core;
+
+import com.javablocks.core.utils.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import java.util.concurrent.locks.*;
+
+/**
+ * Runs short jobs with dependencies on a fork-join pool.
+ * 
+ * Features:
+ * - Jobs are identified by packed {@code long} handles (index and
+ *   generation), so handles are plain values and stale ones read as done
+ * - A job starts once every job it depends on has completed
+ * - Parallel-for jobs split an index range into chunks that run on up to
+ *   the pool's parallelism at once
+ * - complete() waits for a handle, helping with its chunks meanwhile
+ * - Job records and their pool tasks are recycled, so scheduling and
+ *   completion do not allocate once the record pool has grown
+ * 
+ * Usage:
+ * <pre>
+ * long cull = jobs.scheduleParallelFor(count, 256, (from, to) -&gt; cull(from, to));
+ * long sort = jobs.schedule(this::sortVisible, cull);
+ * ...
+ * jobs.complete(sort);
+ * </pre>
+ * 
+ * complete() is meant for the thread that drives the frame. Jobs should
+ * express ordering through dependencies rather than waiting on each other.
+ * The first failure of any job is rethrown by the next complete() or
+ * completeAll(); dependents of a failed job still run.
+ * 
+ * Without a pool every job runs on the thread that makes it ready.
+ * 
+ * @author JavaBlocks Engine Team
+ */
+public final class JobSystem {
+    
+    // ==================== Constants ====================
+    
+    /** Handle meaning no job; a dependency on it is always satisfied. */
+    public static final long NONE = 0L;
+    
+    /** Chunk cursor value of records that are not dispatched. */
+    private static final int NOT_DISPATCHED = Integer.MAX_VALUE / 2;
+    
+    // ==================== Functional Interfaces ====================
+    
+    /**
+     * Body of a parallel-for job, called once per chunk.
+     */
+    @FunctionalInterface
+    public interface RangeJob {
+        /**
+         * Processes a chunk of the index range.
+         * 
+         * @param from First index, inclusive
+         * @param to Last index, exclusive
+         */
+        void execute(int from, int to);
+    }
+    
+    // ==================== Instance Variables ====================
+    
+    /** Pool the jobs run on, or null to run inline. */
+    private final ForkJoinPool pool;
+    
+    /** Maximum runners submitted per job. */
+    private final int parallelism;
+    
+    /** Job records by index; grown under the system's lock. */
+    private volatile JobRecord[] records;
+    
+    /** Indices of records that are free for reuse. */
+    private final IntStack freeRecords;
+    
+    /** Jobs scheduled and not yet completed. */
+    private final AtomicInteger outstanding;
+    
+    /** First failure since the last complete() or completeAll(). */
+    private final AtomicReference<Throwable> failure;
+    
+    // ==================== Constructor ====================
+    
+    /**
+     * Creates a job system.
+     * 
+     * @param pool The pool jobs run on, or null to run them inline
+     */
+    public JobSystem(ForkJoinPool pool) {
+        this.pool = pool;
+        this.parallelism = pool != null ? Math.max(1, pool.getParallelism()) : 1;
+        this.records = new JobRecord[0];
+        this.freeRecords = new IntStack(64);
+        this.outstanding = new AtomicInteger();
+        this.failure = new AtomicReference<>();
+    }
+    
+    // ==================== Scheduling ====================
+    
+    /**
+     * Schedules a job without dependencies.
+     * 
+     * @param job The job
+     * @return The job's handle
+     */
+    public long schedule(Runnable job) {
+        return schedule(job, NONE, NONE);
+    }
+    
+    /**
+     * Schedules a job that starts after another completes.
+     * 
+     * @param job The job
+     * @param dependency Handle of the job to wait for, or {@link #NONE}
+     * @return The job's handle
+     */
+    public long schedule(Runnable job, long dependency) {
+        return schedule(job, dependency, NONE);
+    }
+    
+    /**
+     * Schedules a job that starts after two others complete.
+     * 
+     * @param job The job
+     * @param first Handle of the first job to wait for, or {@link #NONE}
+     * @param second Handle of the second job to wait for, or {@link #NONE}
+     * @return The job's handle
+     */
+    public long schedule(Runnable job, long first, long second) {
+        Objects.requireNonNull(job, "Job cannot be null");
+        JobRecord record = acquire();
+        record.task = job;
+        record.range = null;
+        record.count = 1;
+        record.grainSize = 1;
+        return submit(record, 1, first, second, null, 0);
+    }
+    
+    /**
+     * Schedules a job that starts after any number of others complete.
+     * 
+     * @param job The job
+     * @param dependencies Handles of the jobs to wait for; the array is not
+     *                     kept
+     * @param count Number of handles to use from the array
+     * @return The job's handle
+     */
+    public long schedule(Runnable job, long[] dependencies, int count) {
+        Objects.requireNonNull(job, "Job cannot be null");
+        Objects.checkFromIndexSize(0, count, dependencies.length);
+        JobRecord record = acquire();
+        record.task = job;
+        record.range = null;
+        record.count = 1;
+        record.grainSize = 1;
+        return submit(record, 1, NONE, NONE, dependencies, count);
+    }
+    
+    /**
+     * Schedules a parallel-for job without dependencies.
+     * 
+     * @param count Number of indices, starting at 0
+     * @param grainSize Indices per chunk
+     * @param job Called once per chunk
+     * @return The job's handle
+     */
+    public long scheduleParallelFor(int count, int grainSize, RangeJob job) {
+        return scheduleParallelFor(count, grainSize, job, NONE);
+    }
+    
+    /**
+     * Schedules a parallel-for job that starts after another completes.
+     * 
+     * @param count Number of indices, starting at 0
+     * @param grainSize Indices per chunk
+     * @param job Called once per chunk
+     * @param dependency Handle of the job to wait for, or {@link #NONE}
+     * @return The job's handle
+     */
+    public long scheduleParallelFor(int count, int grainSize, RangeJob job, long dependency) {
+        Objects.requireNonNull(job, "Job cannot be null");
+        if (count < 0) {
+            throw new IllegalArgumentException("Count cannot be negative: " + count);
+        }
+        if (grainSize <= 0) {
+            throw new IllegalArgumentException("Grain size must be positive: " + grainSize);
+        }
+        JobRecord record = acquire();
+        record.task = null;
+        record.range = job;
+        record.count = count;
+        record.grainSize = grainSize;
+        int chunks = (int) (((long) count + grainSize - 1) / grainSize);
+        return submit(record, chunks, dependency, NONE, null, 0);
+    }
+    
+    /**
+     * Creates a handle that completes when two jobs have completed.
+     * 
+     * @param first The first handle
+     * @param second The second handle
+     * @return A handle depending on both
+     */
+    public long combine(long first, long second) {
+        JobRecord record = acquire();
+        record.task = null;
+        record.range = null;
+        record.count = 0;
+        record.grainSize = 1;
+        return submit(record, 0, first, second, null, 0);
+    }
+    
+    // ==================== Completion ====================
+    
+    /**
+     * Checks if a job has completed.
+     * 
+     * @param handle The job's handle
+     * @return true if completed, or if the handle is {@link #NONE}
+     */
+    public boolean isComplete(long handle) {
+        if (handle == NONE) {
+            return true;
+        }
+        JobRecord record = recordOf(handle);
+        // Release bumps the generation before clearing done, so read in reverse
+        return record.done || record.generation != generationOf(handle);
+    }
+    
+    /**
+     * Waits until a job has completed, running its chunks on the calling
+     * thread where possible.
+     * 
+     * @param handle The job's handle
+     * @throws RuntimeException the first failure of any job, if one failed
+     */
+    public void complete(long handle) {
+        if (handle != NONE) {
+            JobRecord record = recordOf(handle);
+            int spins = 0;
+            while (!isComplete(handle)) {
+                if (!runChunks(record)) {
+                    spins = backOff(spins);
+                }
+            }
+        }
+        rethrowFailure();
+    }
+    
+    /**
+     * Waits until every scheduled job has completed. Called at frame sync
+     * points.
+     * 
+     * @throws RuntimeException the first failure of any job, if one failed
+     */
+    public void completeAll() {
+        int spins = 0;
+        while (outstanding.get() > 0) {
+            spins = backOff(spins);
+        }
+        rethrowFailure();
+    }
+    
+    /**
+     * Gets the number of jobs scheduled and not yet completed.
+     * 
+     * @return The outstanding job count
+     */
+    public int getOutstandingCount() {
+        return outstanding.get();
+    }
+    
+    /**
+     * Gets the number of job records allocated so far.
+     * 
+     * @return The record pool capacity
+     */
+    public int getCapacity() {
+        return records.length;
+    }
+    
+    // ==================== Internal ====================
+    
+    private long submit(JobRecord record, int chunks, long first, long second,
+                        long[] dependencies, int dependencyCount) {
+        record.chunkCount = chunks;
+        record.remaining.set(chunks);
+        // Holds the job back until every dependency is registered
+        record.pendingDependencies.set(1);
+        long handle = handleOf(record);
+        outstanding.incrementAndGet();
+        
+        addDependency(record, first);
+        addDependency(record, second);
+        for (int i = 0; i < dependencyCount; i++) {
+            addDependency(record, dependencies[i]);
+        }
+        if (record.pendingDependencies.decrementAndGet() == 0) {
+            dispatch(record);
+        }
+        return handle;
+    }
+    
+    private void addDependency(JobRecord record, long dependency) {
+        if (dependency == NONE) {
+            return;
+        }
+        JobRecord target = recordOf(dependency);
+        synchronized (target) {
+            if (target.generation != generationOf(dependency) || target.done) {
+                return;
+            }
+            record.pendingDependencies.incrementAndGet();
+            target.addDependent(record.index);
+        }
+    }
+    
+    private void dispatch(JobRecord record) {
+        if (record.chunkCount == 0) {
+            finish(record);
+            return;
+        }
+        record.nextChunk.set(0);
+        if (pool == null) {
+            runChunks(record);
+            return;
+        }
+        int runners = Math.min(record.chunkCount, parallelism);
+        for (int i = 0; i < runners; i++) {
+            pool.execute(record.runners[i]);
+        }
+    }
+    
+    /**
+     * Claims and runs chunks of a record until none are left.
+     * 
+     * @return true if at least one chunk was run
+     */
+    private boolean runChunks(JobRecord record) {
+        boolean ran = false;
+        for (;;) {
+            if (record.nextChunk.get() >= record.chunkCount) {
+                return ran;
+            }
+            int chunk = record.nextChunk.getAndIncrement();
+            if (chunk >= record.chunkCount) {
+                return ran;
+            }
+            ran = true;
+            try {
+                if (record.range != null) {
+                    int from = chunk * record.grainSize;
+                    record.range.execute(from, Math.min(record.count, from + record.grainSize));
+                } else {
+                    record.task.run();
+                }
+            } catch (Throwable t) {
+                failure.compareAndSet(null, t);
+            }
+            if (record.remaining.decrementAndGet() == 0) {
+                finish(record);
+                return true;
+            }
+        }
+    }
+    
+    private void finish(JobRecord record) {
+        int dependentCount;
+        synchronized (record) {
+            record.done = true;
+            dependentCount = record.dependentCount;
+        }
+        // No dependents can be added once done is set
+        JobRecord[] current = records;
+        for (int i = 0; i < dependentCount; i++) {
+            JobRecord dependent = current[record.dependents[i]];
+            if (dependent.pendingDependencies.decrementAndGet() == 0) {
+                dispatch(dependent);
+            }
+        }
+        release(record);
+        outstanding.decrementAndGet();
+    }
+    
+    private synchronized JobRecord acquire() {
+        if (freeRecords.isEmpty()) {
+            JobRecord[] current = records;
+            int length = Math.max(16, current.length * 2);
+            JobRecord[] grown = Arrays.copyOf(current, length);
+            for (int i = current.length; i < length; i++) {
+                grown[i] = new JobRecord(this, i, parallelism);
+            }
+            records = grown;
+            for (int i = length - 1; i >= current.length; i--) {
+                freeRecords.push(i);
+            }
+        }
+        return records[freeRecords.pop()];
+    }
+    
+    private void release(JobRecord record) {
+        synchronized (record) {
+            record.nextChunk.set(NOT_DISPATCHED);
+            record.task = null;
+            record.range = null;
+            record.dependentCount = 0;
+            // Stale handles now read as complete; generation 0 is never used
+            record.generation = record.generation == -1 ? 1 : record.generation + 1;
+            record.done = false;
+        }
+        synchronized (this) {
+            freeRecords.push(record.index);
+        }
+    }
+    
+    private JobRecord recordOf(long handle) {
+        int index = (int) handle;
+        JobRecord[] current = records;
+        if (index < 0 || index >= current.length || generationOf(handle) == 0) {
+            throw new IllegalArgumentException("Invalid job handle: " + handle);
+        }
+        return current[index];
+    }
+    
+    private static long handleOf(JobRecord record) {
+        return ((long) record.generation << 32) | record.index;
+    }
+    
+    private static int generationOf(long handle) {
+        return (int) (handle >>> 32);
+    }
+    
+    private static int backOff(int spins) {
+        if (spins < 64) {
+            Thread.onSpinWait();
+        } else if (spins < 128) {
+            Thread.yield();
+        } else {
+            LockSupport.parkNanos(50_000);
+        }
+        return spins + 1;
+    }
+    
+    private void rethrowFailure() {
+        Throwable t = failure.getAndSet(null);
+        if (t instanceof RuntimeException e) {
+            throw e;
+        }
+        if (t instanceof Error e) {
+            throw e;
+        }
+        if (t != null) {
+            throw new CompletionException(t);
+        }
+    }
+    
+    // ==================== Job Record ====================
+    
+    /**
+     * Pooled state of one job.
+     */
+    private static final class JobRecord {
+        final int index;
+        final JobRunner[] runners;
+        
+        /** Incremented on release; handles carry the generation they saw. */
+        volatile int generation = 1;
+        volatile boolean done;
+        
+        Runnable task;
+        RangeJob range;
+        int count;
+        int grainSize;
+        int chunkCount;
+        
+        final AtomicInteger nextChunk = new AtomicInteger(NOT_DISPATCHED);
+        final AtomicInteger remaining = new AtomicInteger();
+        final AtomicInteger pendingDependencies = new AtomicInteger();
+        
+        /** Indices of records waiting on this one, guarded by this record. */
+        int[] dependents = new int[4];
+        int dependentCount;
+        
+        JobRecord(JobSystem system, int index, int parallelism) {
+            this.index = index;
+            this.runners = new JobRunner[parallelism];
+            for (int i = 0; i < parallelism; i++) {
+                runners[i] = new JobRunner(system, this);
+            }
+        }
+        
+        void addDependent(int dependent) {
+            if (dependentCount == dependents.length) {
+                dependents = Arrays.copyOf(dependents, dependentCount * 2);
+            }
+            dependents[dependentCount++] = dependent;
+        }
+    }
+    
+    /**
+     * Reusable pool task that runs chunks of its record.
+     * 
+     * exec() reports the task as never completing, so the same instance can
+     * be submitted again without reinitializing it. Nothing joins it.
+     */
+    @SuppressWarnings("serial")
+    private static final class JobRunner extends ForkJoinTask<Void> {
+        private final JobSystem system;
+        private final JobRecord record;
+        
+        JobRunner(JobSystem system, JobRecord record) {
+            this.system = system;
+            this.record = record;
+        }
+        
+        @Override
+        public Void getRawResult() {
+            return null;
+        }
+        
+        @Override
+        protected void setRawResult(Void value) {
+        }
+        
+        @Override
+        protected boolean exec() {
+            system.runChunks(record);
+            return false;
+        }
+    }
+}
@@ -6,6 +6,7 @@
 package com.javablocks.core.components;
 
 import com.javablocks.core.ecs.Component;
+import com.javablocks.core.ecs.Packed;
 
 /**
  * Component for enabling and disabling entities.
@@ -13,10 +14,11 @@ import com.javablocks.core.ecs.Component;
  * Disabled entities are not updated or rendered but still exist
  * in the entity system.
  */
+@Packed
 public final class ActiveComponent implements Component {
     
     /** Whether the entity is active. */
-    private boolean active;
+    boolean active;
     
     /**
      * Creates an active component.
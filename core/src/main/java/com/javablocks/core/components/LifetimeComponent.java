@@ -6,6 +6,7 @@
 package com.javablocks.core.components;
 
 import com.javablocks.core.ecs.Component;
+import com.javablocks.core.ecs.Packed;
 
 /**
  * Component for managing entity lifetime.
@@ -13,16 +14,17 @@ import com.javablocks.core.ecs.Component;
  * Provides automatic entity destruction after a specified time.
  * Useful for particles, projectiles, and temporary effects.
  */
+@Packed
 public final class LifetimeComponent implements Component {
     
     /** Maximum lifetime in seconds (0 = infinite). */
-    private float maxLifetime;
+    float maxLifetime;
     
     /** Current age in seconds. */
-    private float age;
+    float age;
     
     /** Whether the entity is marked for destruction. */
-    private boolean markedForDestruction;
+    boolean markedForDestruction;
     
     /**
      * Creates a component with infinite lifetime.
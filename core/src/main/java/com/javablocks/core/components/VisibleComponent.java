@@ -6,6 +6,7 @@
 package com.javablocks.core.components;
 
 import com.javablocks.core.ecs.Component;
+import com.javablocks.core.ecs.Packed;
 
 /**
  * Component for visibility state.
@@ -13,16 +14,17 @@ import com.javablocks.core.ecs.Component;
  * Controls whether entities are rendered and participate
  * in culling calculations.
  */
+@Packed
 public final class VisibleComponent implements Component {
     
     /** Whether the entity is visible. */
-    private boolean visible;
+    boolean visible;
     
     /** Layer for sorting (lower = rendered first). */
-    private int layer;
+    int layer;
     
     /** Order within layer. */
-    private int order;
+    int order;
     
     /**
      * Creates a visible component on the default layer.
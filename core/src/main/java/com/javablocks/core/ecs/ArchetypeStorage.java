@@ -0,0 +1,504 @@
+/*
+ * JavaBlocks Engine - Archetype Storage
+ * 
+ * Chunked component storage that groups entities by component signature.
+ */
+package com.javablocks.core.ecs;
+
+import java.util.*;
+import java.util.function.*;
+
+/**
+ * Component storage that groups entities sharing the same set of component
+ * types (an archetype) into fixed-size chunks.
+ * 
+ * Every chunk keeps one contiguous column per component type, so a system
+ * iterating several components walks parallel arrays instead of hopping
+ * between per-type pools. Adding or removing a component moves the entity
+ * row into the archetype matching its new signature.
+ * 
+ * Layout:
+ * - Rows are dense per archetype; removal swaps the last row into the hole
+ * - Archetype transitions are cached as add/remove edges per type ID
+ * - Entity locations are tracked as (archetype ID, row) in flat int arrays
+ * 
+ * @author JavaBlocks Engine Team
+ */
+final class ArchetypeStorage implements ComponentStorage {
+    
+    // ==================== Constants ====================
+    
+    /** Number of entity rows per chunk. */
+    static final int CHUNK_CAPACITY = 256;
+    
+    /** Location marker for entities without components. */
+    private static final int NO_ARCHETYPE = -1;
+    
+    // ==================== Instance Variables ====================
+    
+    /** All archetypes, indexed by archetype ID. ID 0 is the empty signature. */
+    private final ArrayList<Archetype> archetypes;
+    
+    /** Archetype ID per entity index. */
+    private int[] entityArchetype;
+    
+    /** Row within the archetype per entity index. */
+    private int[] entityRow;
+    
+    /** Signature array of the last bulk insert, compared by identity. */
+    private int[] bulkTypeIds;
+    
+    /** Archetype of the last bulk insert. */
+    private Archetype bulkArchetype;
+    
+    // ==================== Constructor ====================
+    
+    /**
+     * Creates an archetype storage.
+     * 
+     * @param initialEntities Initial entity index capacity
+     */
+    ArchetypeStorage(int initialEntities) {
+        this.archetypes = new ArrayList<>();
+        this.entityArchetype = new int[Math.max(16, initialEntities)];
+        this.entityRow = new int[entityArchetype.length];
+        Arrays.fill(entityArchetype, NO_ARCHETYPE);
+        
+        archetypes.add(new Archetype(0, new int[0]));
+    }
+    
+    // ==================== ComponentStorage ====================
+    
+    @Override
+    public void setComponent(int entityIndex, Component component) {
+        int typeId = component.getTypeId();
+        ensureCapacity(entityIndex);
+        
+        int archetypeId = entityArchetype[entityIndex];
+        Archetype source = archetypes.get(archetypeId == NO_ARCHETYPE ? 0 : archetypeId);
+        
+        int column = source.columnOf(typeId);
+        if (column >= 0) {
+            source.set(entityRow[entityIndex], column, component);
+            return;
+        }
+        
+        Archetype target = withType(source, typeId);
+        int row = moveEntity(entityIndex, target);
+        target.set(row, target.columnOf(typeId), component);
+    }
+    
+    @Override
+    public void setComponents(int entityIndex, int[] typeIds, Component[] components) {
+        ensureCapacity(entityIndex);
+        if (typeIds.length == 0) {
+            return;
+        }
+        
+        // Bulk spawns pass the same signature array for every entity
+        if (typeIds != bulkTypeIds) {
+            bulkArchetype = findOrCreate(typeIds.clone());
+            bulkTypeIds = typeIds;
+        }
+        
+        Archetype target = bulkArchetype;
+        int row = target.addRow(entityIndex);
+        for (int i = 0; i < typeIds.length; i++) {
+            target.set(row, target.columnOf(typeIds[i]), components[i]);
+        }
+        entityArchetype[entityIndex] = target.id;
+        entityRow[entityIndex] = row;
+    }
+    
+    @Override
+    public Component getComponent(int entityIndex, int typeId) {
+        Archetype archetype = archetypeOf(entityIndex);
+        if (archetype == null) {
+            return null;
+        }
+        
+        int column = archetype.columnOf(typeId);
+        return column >= 0 ? archetype.get(entityRow[entityIndex], column) : null;
+    }
+    
+    @Override
+    public Component removeComponent(int entityIndex, int typeId) {
+        Archetype source = archetypeOf(entityIndex);
+        if (source == null) {
+            return null;
+        }
+        
+        int column = source.columnOf(typeId);
+        if (column < 0) {
+            return null;
+        }
+        
+        Component removed = source.get(entityRow[entityIndex], column);
+        moveEntity(entityIndex, withoutType(source, typeId));
+        return removed;
+    }
+    
+    @Override
+    public boolean hasComponent(int entityIndex, int typeId) {
+        Archetype archetype = archetypeOf(entityIndex);
+        return archetype != null && archetype.columnOf(typeId) >= 0;
+    }
+    
+    @Override
+    public void removeAllComponents(int entityIndex, ComponentSignatures signatures) {
+        if (archetypeOf(entityIndex) != null) {
+            moveEntity(entityIndex, archetypes.get(0));
+        }
+    }
+    
+    @Override
+    public Iterable<Component> getComponents(int entityIndex) {
+        Archetype archetype = archetypeOf(entityIndex);
+        if (archetype == null) {
+            return Collections.emptyList();
+        }
+        
+        int row = entityRow[entityIndex];
+        List<Component> components = new ArrayList<>(archetype.typeIds.length);
+        for (int column = 0; column < archetype.typeIds.length; column++) {
+            components.add(archetype.get(row, column));
+        }
+        return components;
+    }
+    
+    @Override
+    public int getComponentCount(int entityIndex) {
+        Archetype archetype = archetypeOf(entityIndex);
+        return archetype != null ? archetype.typeIds.length : 0;
+    }
+    
+    @Override
+    public void clear() {
+        archetypes.clear();
+        archetypes.add(new Archetype(0, new int[0]));
+        Arrays.fill(entityArchetype, NO_ARCHETYPE);
+        bulkTypeIds = null;
+        bulkArchetype = null;
+    }
+    
+    @Override
+    public int getComponentTypeCount() {
+        BitSet types = new BitSet();
+        for (Archetype archetype : archetypes) {
+            if (archetype.size > 0) {
+                for (int typeId : archetype.typeIds) {
+                    types.set(typeId);
+                }
+            }
+        }
+        return types.cardinality();
+    }
+    
+    @Override
+    public void printComponentStats() {
+        System.out.println("  Archetypes:");
+        for (Archetype archetype : archetypes) {
+            if (archetype.size == 0) {
+                continue;
+            }
+            System.out.println(String.format("    %-50s: %d entities in %d chunks",
+                archetype.describe(), archetype.size, archetype.chunkCount()));
+        }
+    }
+    
+    // ==================== Iteration ====================
+    
+    /**
+     * Visits every non-empty chunk whose archetype contains all given types.
+     * 
+     * @param typeIds The required component type IDs
+     * @param consumer The chunk consumer
+     */
+    void forEachChunk(int[] typeIds, Consumer<ComponentChunk> consumer) {
+        for (int i = 0; i < archetypes.size(); i++) {
+            Archetype archetype = archetypes.get(i);
+            if (archetype.size == 0 || !archetype.containsAll(typeIds)) {
+                continue;
+            }
+            for (int c = 0; c < archetype.chunks.size(); c++) {
+                ComponentChunk chunk = archetype.chunks.get(c);
+                if (chunk.count > 0) {
+                    consumer.accept(chunk);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Gets the number of archetypes that currently hold entities.
+     * 
+     * @return The populated archetype count
+     */
+    int getArchetypeCount() {
+        int count = 0;
+        for (Archetype archetype : archetypes) {
+            if (archetype.size > 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+    
+    // ==================== Archetype Transitions ====================
+    
+    /**
+     * Moves an entity's row into another archetype, carrying over shared columns.
+     * Moving into the empty archetype detaches the entity from storage.
+     * 
+     * @param entityIndex The entity index
+     * @param target The destination archetype
+     * @return The entity's new row, or -1 if it was detached
+     */
+    private int moveEntity(int entityIndex, Archetype target) {
+        Archetype source = archetypeOf(entityIndex);
+        int sourceRow = entityRow[entityIndex];
+        int targetRow = -1;
+        
+        if (target.typeIds.length > 0) {
+            targetRow = target.addRow(entityIndex);
+            if (source != null) {
+                for (int column = 0; column < source.typeIds.length; column++) {
+                    int targetColumn = target.columnOf(source.typeIds[column]);
+                    if (targetColumn >= 0) {
+                        target.set(targetRow, targetColumn, source.get(sourceRow, column));
+                    }
+                }
+            }
+            entityArchetype[entityIndex] = target.id;
+            entityRow[entityIndex] = targetRow;
+        } else {
+            entityArchetype[entityIndex] = NO_ARCHETYPE;
+        }
+        
+        if (source != null) {
+            int moved = source.removeRow(sourceRow);
+            if (moved >= 0) {
+                entityRow[moved] = sourceRow;
+            }
+        }
+        
+        return targetRow;
+    }
+    
+    /**
+     * Gets the archetype reached by adding a type, creating it if needed.
+     */
+    private Archetype withType(Archetype source, int typeId) {
+        Archetype cached = source.addEdge(typeId);
+        if (cached != null) {
+            return cached;
+        }
+        
+        int[] typeIds = Arrays.copyOf(source.typeIds, source.typeIds.length + 1);
+        typeIds[typeIds.length - 1] = typeId;
+        Arrays.sort(typeIds);
+        
+        Archetype target = findOrCreate(typeIds);
+        source.setAddEdge(typeId, target);
+        target.setRemoveEdge(typeId, source);
+        return target;
+    }
+    
+    /**
+     * Gets the archetype reached by removing a type, creating it if needed.
+     */
+    private Archetype withoutType(Archetype source, int typeId) {
+        Archetype cached = source.removeEdge(typeId);
+        if (cached != null) {
+            return cached;
+        }
+        
+        int[] typeIds = new int[source.typeIds.length - 1];
+        int count = 0;
+        for (int id : source.typeIds) {
+            if (id != typeId) {
+                typeIds[count++] = id;
+            }
+        }
+        
+        Archetype target = findOrCreate(typeIds);
+        source.setRemoveEdge(typeId, target);
+        target.setAddEdge(typeId, source);
+        return target;
+    }
+    
+    /**
+     * Finds the archetype for a sorted signature. Only hit on edge cache misses.
+     */
+    private Archetype findOrCreate(int[] sortedTypeIds) {
+        for (int i = 0; i < archetypes.size(); i++) {
+            Archetype archetype = archetypes.get(i);
+            if (Arrays.equals(archetype.typeIds, sortedTypeIds)) {
+                return archetype;
+            }
+        }
+        
+        Archetype archetype = new Archetype(archetypes.size(), sortedTypeIds);
+        archetypes.add(archetype);
+        return archetype;
+    }
+    
+    private Archetype archetypeOf(int entityIndex) {
+        if (entityIndex < 0 || entityIndex >= entityArchetype.length) {
+            return null;
+        }
+        int archetypeId = entityArchetype[entityIndex];
+        return archetypeId == NO_ARCHETYPE ? null : archetypes.get(archetypeId);
+    }
+    
+    private void ensureCapacity(int entityIndex) {
+        if (entityIndex < entityArchetype.length) {
+            return;
+        }
+        
+        int oldLength = entityArchetype.length;
+        int newLength = Math.max(oldLength * 2, entityIndex + 1);
+        entityArchetype = Arrays.copyOf(entityArchetype, newLength);
+        entityRow = Arrays.copyOf(entityRow, newLength);
+        Arrays.fill(entityArchetype, oldLength, newLength, NO_ARCHETYPE);
+    }
+    
+    // ==================== Archetype ====================
+    
+    /**
+     * A unique component signature and the chunks holding its entities.
+     */
+    static final class Archetype {
+        final int id;
+        final int[] typeIds;
+        final ArrayList<ComponentChunk> chunks;
+        int size;
+        
+        /** Column per type ID, -1 where the type is absent. */
+        private final int[] columnByType;
+        
+        private Archetype[] addEdges;
+        private Archetype[] removeEdges;
+        
+        Archetype(int id, int[] sortedTypeIds) {
+            this.id = id;
+            this.typeIds = sortedTypeIds;
+            this.chunks = new ArrayList<>();
+            this.size = 0;
+            
+            int maxTypeId = sortedTypeIds.length > 0 ? sortedTypeIds[sortedTypeIds.length - 1] : -1;
+            this.columnByType = new int[maxTypeId + 1];
+            Arrays.fill(columnByType, -1);
+            for (int column = 0; column < sortedTypeIds.length; column++) {
+                columnByType[sortedTypeIds[column]] = column;
+            }
+            
+            this.addEdges = new Archetype[0];
+            this.removeEdges = new Archetype[0];
+        }
+        
+        int columnOf(int typeId) {
+            return typeId >= 0 && typeId < columnByType.length ? columnByType[typeId] : -1;
+        }
+        
+        boolean containsAll(int[] requiredTypeIds) {
+            for (int typeId : requiredTypeIds) {
+                if (columnOf(typeId) < 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        
+        Component get(int row, int column) {
+            return chunks.get(row / CHUNK_CAPACITY).columns[column][row % CHUNK_CAPACITY];
+        }
+        
+        void set(int row, int column, Component component) {
+            chunks.get(row / CHUNK_CAPACITY).columns[column][row % CHUNK_CAPACITY] = component;
+        }
+        
+        /**
+         * Appends a row for an entity.
+         * 
+         * @return The new row
+         */
+        int addRow(int entityIndex) {
+            int row = size;
+            int chunkIndex = row / CHUNK_CAPACITY;
+            if (chunkIndex == chunks.size()) {
+                chunks.add(new ComponentChunk(this, CHUNK_CAPACITY));
+            }
+            
+            ComponentChunk chunk = chunks.get(chunkIndex);
+            chunk.entities[chunk.count++] = entityIndex;
+            size++;
+            return row;
+        }
+        
+        /**
+         * Swap-removes a row, keeping all chunks but the last one full.
+         * 
+         * @return The entity index moved into the row, or -1 if none moved
+         */
+        int removeRow(int row) {
+            int last = size - 1;
+            ComponentChunk lastChunk = chunks.get(last / CHUNK_CAPACITY);
+            int lastSlot = last % CHUNK_CAPACITY;
+            int moved = -1;
+            
+            if (row != last) {
+                ComponentChunk chunk = chunks.get(row / CHUNK_CAPACITY);
+                int slot = row % CHUNK_CAPACITY;
+                moved = lastChunk.entities[lastSlot];
+                chunk.entities[slot] = moved;
+                for (int column = 0; column < typeIds.length; column++) {
+                    chunk.columns[column][slot] = lastChunk.columns[column][lastSlot];
+                }
+            }
+            
+            for (int column = 0; column < typeIds.length; column++) {
+                lastChunk.columns[column][lastSlot] = null;
+            }
+            lastChunk.count--;
+            size--;
+            return moved;
+        }
+        
+        int chunkCount() {
+            return (size + CHUNK_CAPACITY - 1) / CHUNK_CAPACITY;
+        }
+        
+        Archetype addEdge(int typeId) {
+            return typeId < addEdges.length ? addEdges[typeId] : null;
+        }
+        
+        Archetype removeEdge(int typeId) {
+            return typeId < removeEdges.length ? removeEdges[typeId] : null;
+        }
+        
+        void setAddEdge(int typeId, Archetype target) {
+            if (typeId >= addEdges.length) {
+                addEdges = Arrays.copyOf(addEdges, typeId + 1);
+            }
+            addEdges[typeId] = target;
+        }
+        
+        void setRemoveEdge(int typeId, Archetype target) {
+            if (typeId >= removeEdges.length) {
+                removeEdges = Arrays.copyOf(removeEdges, typeId + 1);
+            }
+            removeEdges[typeId] = target;
+        }
+        
+        String describe() {
+            StringBuilder builder = new StringBuilder("[");
+            for (int i = 0; i < typeIds.length; i++) {
+                Class<?> componentClass = ComponentRegistry.getClassOrNull(typeIds[i]);
+                builder.append(i > 0 ? ", " : "")
+                    .append(componentClass != null ? componentClass.getSimpleName() : "#" + typeIds[i]);
+            }
+            return builder.append(']').toString();
+        }
+    }
+}
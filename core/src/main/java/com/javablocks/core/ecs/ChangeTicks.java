@@ -0,0 +1,186 @@
+/*
+ * JavaBlocks Engine - Change Ticks
+ * 
+ * Per-component added and changed ticks for change detection.
+ */
+package com.javablocks.core.ecs;
+
+import java.util.*;
+
+/**
+ * Stores, for every component type and entity index, the world tick at
+ * which the component was added and last changed.
+ * 
+ * Columns are allocated per type on first use and grown when a component
+ * is added, so stamping a change on an existing component never
+ * reallocates and is safe from parallel jobs touching distinct entities.
+ * Tick 0 means never stamped.
+ * 
+ * Ticks are compared with subtraction so they keep working after the int
+ * counter wraps around.
+ * 
+ * @author JavaBlocks Engine Team
+ */
+final class ChangeTicks {
+    
+    // ==================== Instance Variables ====================
+    
+    /** Added ticks by type ID, then entity index. */
+    private int[][] added;
+    
+    /** Changed ticks by type ID, then entity index. */
+    private int[][] changed;
+    
+    /** Initial column length. */
+    private final int initialCapacity;
+    
+    // ==================== Constructor ====================
+    
+    /**
+     * Creates empty tick storage.
+     * 
+     * @param initialCapacity Initial entity capacity of each column
+     */
+    ChangeTicks(int initialCapacity) {
+        this.initialCapacity = Math.max(16, initialCapacity);
+        this.added = new int[0][];
+        this.changed = new int[0][];
+    }
+    
+    // ==================== Stamping ====================
+    
+    /**
+     * Stamps a component as added, and therefore changed, at a tick.
+     * 
+     * @param typeId The component type ID
+     * @param entityIndex The entity index
+     * @param tick The current world tick
+     */
+    void stampAdded(int typeId, int entityIndex, int tick) {
+        ensureColumn(typeId, entityIndex);
+        added[typeId][entityIndex] = tick;
+        changed[typeId][entityIndex] = tick;
+    }
+    
+    /**
+     * Stamps a component as changed at a tick.
+     * 
+     * @param typeId The component type ID
+     * @param entityIndex The entity index
+     * @param tick The current world tick
+     */
+    void stampChanged(int typeId, int entityIndex, int tick) {
+        ensureColumn(typeId, entityIndex);
+        changed[typeId][entityIndex] = tick;
+    }
+    
+    /**
+     * Discards every stamp.
+     */
+    void clear() {
+        added = new int[0][];
+        changed = new int[0][];
+    }
+    
+    // ==================== Queries ====================
+    
+    /**
+     * Checks if a component was added after a tick.
+     * 
+     * @param typeId The component type ID
+     * @param entityIndex The entity index
+     * @param sinceTick The exclusive lower bound
+     * @return true if added after sinceTick
+     */
+    boolean addedSince(int typeId, int entityIndex, int sinceTick) {
+        return isAfter(tickOf(added, typeId, entityIndex), sinceTick);
+    }
+    
+    /**
+     * Checks if a component was added or changed after a tick.
+     * 
+     * @param typeId The component type ID
+     * @param entityIndex The entity index
+     * @param sinceTick The exclusive lower bound
+     * @return true if changed after sinceTick
+     */
+    boolean changedSince(int typeId, int entityIndex, int sinceTick) {
+        return isAfter(tickOf(changed, typeId, entityIndex), sinceTick);
+    }
+    
+    /**
+     * Gets the tick a component was last changed at.
+     * 
+     * @param typeId The component type ID
+     * @param entityIndex The entity index
+     * @return The tick, or 0 if never stamped
+     */
+    int getChangedTick(int typeId, int entityIndex) {
+        return tickOf(changed, typeId, entityIndex);
+    }
+    
+    /**
+     * Finds the next entity index whose component was changed after a tick,
+     * scanning the type's column directly.
+     * 
+     * @param typeId The component type ID
+     * @param fromIndex The first entity index to check
+     * @param toIndex The entity index to stop at, exclusive
+     * @param sinceTick The tick to compare against
+     * @return The entity index, or -1 if none
+     */
+    int nextChanged(int typeId, int fromIndex, int toIndex, int sinceTick) {
+        if (typeId >= changed.length || changed[typeId] == null) {
+            return -1;
+        }
+        int[] column = changed[typeId];
+        int end = Math.min(toIndex, column.length);
+        for (int i = fromIndex; i < end; i++) {
+            if (isAfter(column[i], sinceTick)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+    
+    /**
+     * Gets the number of type IDs with room for a column.
+     * 
+     * @return An upper bound of the stamped type IDs
+     */
+    int getTypeCapacity() {
+        return changed.length;
+    }
+    
+    // ==================== Internal ====================
+    
+    private static boolean isAfter(int tick, int sinceTick) {
+        return tick != 0 && tick - sinceTick > 0;
+    }
+    
+    private static int tickOf(int[][] columns, int typeId, int entityIndex) {
+        if (typeId >= columns.length) {
+            return 0;
+        }
+        int[] column = columns[typeId];
+        return column != null && entityIndex < column.length ? column[entityIndex] : 0;
+    }
+    
+    private void ensureColumn(int typeId, int entityIndex) {
+        if (typeId >= added.length) {
+            int length = Math.max(typeId + 1, added.length * 2);
+            added = Arrays.copyOf(added, length);
+            changed = Arrays.copyOf(changed, length);
+        }
+        int[] column = added[typeId];
+        if (column == null) {
+            int length = Math.max(initialCapacity, Integer.highestOneBit(entityIndex) << 1);
+            added[typeId] = new int[length];
+            changed[typeId] = new int[length];
+        } else if (entityIndex >= column.length) {
+            int length = Math.max(entityIndex + 1, column.length * 2);
+            added[typeId] = Arrays.copyOf(column, length);
+            changed[typeId] = Arrays.copyOf(changed[typeId], length);
+        }
+    }
+}
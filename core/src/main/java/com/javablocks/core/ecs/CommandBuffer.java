@@ -0,0 +1,255 @@
+/*
+ * JavaBlocks Engine - Command Buffer
+ * 
+ * Deferred structural changes recorded into primitive arrays.
+ */
+package com.javablocks.core.ecs;
+
+import java.util.*;
+
+/**
+ * Records structural world changes for later playback, so systems and
+ * parallel jobs can request changes without touching the world directly.
+ * 
+ * Features:
+ * - create, destroy, add, set and remove commands
+ * - Commands stored in parallel primitive arrays, reused after playback
+ * - No per-command allocation once the arrays have grown
+ * - Entities created by the buffer can be targeted before they exist
+ * 
+ * A buffer is not thread-safe; give each thread, system or chunk its own.
+ * Playback applies commands in recording order, and buffers played back in
+ * a fixed order give the same result on every run. Each system owns a
+ * buffer (see {@link GameSystem#commands()}) that is played back at the
+ * sync point after the system's stage, in update order; the world's own
+ * buffer is played back at the start of {@link World#update(float)}.
+ * 
+ * Commands targeting an entity that is no longer alive at playback are
+ * skipped. Destroys are queued like {@link World#destroyEntity(long)}.
+ * 
+ * @author JavaBlocks Engine Team
+ */
+public final class CommandBuffer {
+    
+    // ==================== Constants ====================
+    
+    /** Initial command capacity. */
+    private static final int INITIAL_CAPACITY = 32;
+    
+    /** Creates an entity with the default components. */
+    private static final byte CREATE = 0;
+    
+    /** Queues an entity for destruction. */
+    private static final byte DESTROY = 1;
+    
+    /** Attaches a component, replacing any of the same type. */
+    private static final byte ADD = 2;
+    
+    /** Replaces a component the entity already has. */
+    private static final byte SET = 3;
+    
+    /** Detaches a component. */
+    private static final byte REMOVE = 4;
+    
+    // ==================== Instance Variables ====================
+    
+    /** Command opcodes. */
+    private byte[] ops;
+    
+    /** Target handles; placeholders for entities created by this buffer. */
+    private long[] targets;
+    
+    /** Component type IDs of remove commands. */
+    private int[] typeIds;
+    
+    /** Components of add and set commands. */
+    private Component[] components;
+    
+    /** Number of recorded commands. */
+    private int size;
+    
+    /** Number of recorded create commands. */
+    private int createCount;
+    
+    /** Handles of created entities during playback, by create order. */
+    private long[] created;
+    
+    // ==================== Constructor ====================
+    
+    /**
+     * Creates an empty command buffer.
+     */
+    public CommandBuffer() {
+        this.ops = new byte[INITIAL_CAPACITY];
+        this.targets = new long[INITIAL_CAPACITY];
+        this.typeIds = new int[INITIAL_CAPACITY];
+        this.components = new Component[INITIAL_CAPACITY];
+        this.created = new long[0];
+    }
+    
+    // ==================== Recording ====================
+    
+    /**
+     * Records the creation of an entity with the default components.
+     * 
+     * @return A placeholder handle usable as a target in this buffer only
+     */
+    public long create() {
+        long placeholder = placeholder(createCount++);
+        record(CREATE, placeholder, -1, null);
+        return placeholder;
+    }
+    
+    /**
+     * Records the destruction of an entity.
+     * 
+     * @param handle The entity handle, or a placeholder from {@link #create()}
+     */
+    public void destroy(long handle) {
+        record(DESTROY, handle, -1, null);
+    }
+    
+    /**
+     * Records attaching a component, replacing any of the same type.
+     * 
+     * @param handle The entity handle, or a placeholder from {@link #create()}
+     * @param component The component to attach
+     */
+    public void add(long handle, Component component) {
+        Objects.requireNonNull(component, "Component cannot be null");
+        record(ADD, handle, -1, component);
+    }
+    
+    /**
+     * Records replacing a component the entity already has. Skipped at
+     * playback if the entity does not have the component type.
+     * 
+     * @param handle The entity handle, or a placeholder from {@link #create()}
+     * @param component The new component value
+     */
+    public void set(long handle, Component component) {
+        Objects.requireNonNull(component, "Component cannot be null");
+        record(SET, handle, -1, component);
+    }
+    
+    /**
+     * Records detaching a component.
+     * 
+     * @param handle The entity handle, or a placeholder from {@link #create()}
+     * @param componentClass The class of the component to detach
+     */
+    public void remove(long handle, Class<? extends Component> componentClass) {
+        Objects.requireNonNull(componentClass, "Component class cannot be null");
+        record(REMOVE, handle, ComponentRegistry.getTypeId(componentClass), null);
+    }
+    
+    // ==================== Playback ====================
+    
+    /**
+     * Applies every recorded command to a world in recording order, then
+     * clears this buffer.
+     * 
+     * @param world The world to apply the commands to
+     */
+    public void playback(World world) {
+        Objects.requireNonNull(world, "World cannot be null");
+        if (size == 0) {
+            return;
+        }
+        if (created.length < createCount) {
+            created = new long[createCount];
+        }
+        
+        try {
+            int creates = 0;
+            for (int i = 0; i < size; i++) {
+                if (ops[i] == CREATE) {
+                    created[creates++] = world.createEntity().getHandle();
+                    continue;
+                }
+                
+                long handle = resolve(targets[i]);
+                switch (ops[i]) {
+                    case DESTROY -> world.destroyEntity(handle);
+                    case ADD -> world.addComponent(handle, components[i]);
+                    case SET -> world.setComponent(handle, components[i]);
+                    case REMOVE -> world.removeComponent(handle, typeIds[i]);
+                    default -> throw new IllegalStateException("Unknown command: " + ops[i]);
+                }
+            }
+        } finally {
+            clear();
+        }
+    }
+    
+    /**
+     * Discards every recorded command.
+     */
+    public void clear() {
+        Arrays.fill(components, 0, size, null);
+        size = 0;
+        createCount = 0;
+    }
+    
+    // ==================== Inspection ====================
+    
+    /**
+     * Gets the number of recorded commands.
+     * 
+     * @return The command count
+     */
+    public int size() {
+        return size;
+    }
+    
+    /**
+     * Checks if no commands are recorded.
+     * 
+     * @return true if empty
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+    
+    /**
+     * Checks if a handle is a placeholder returned by {@link #create()}.
+     * 
+     * @param handle The handle to check
+     * @return true if the handle is a placeholder
+     */
+    public static boolean isPlaceholder(long handle) {
+        return handle < Entity.NULL_HANDLE;
+    }
+    
+    // ==================== Internal ====================
+    
+    private void record(byte op, long target, int typeId, Component component) {
+        if (isPlaceholder(target) && placeholderIndex(target) >= createCount) {
+            throw new IllegalArgumentException("Unknown placeholder handle: " + target);
+        }
+        if (size == ops.length) {
+            int capacity = size * 2;
+            ops = Arrays.copyOf(ops, capacity);
+            targets = Arrays.copyOf(targets, capacity);
+            typeIds = Arrays.copyOf(typeIds, capacity);
+            components = Arrays.copyOf(components, capacity);
+        }
+        ops[size] = op;
+        targets[size] = target;
+        typeIds[size] = typeId;
+        components[size] = component;
+        size++;
+    }
+    
+    private long resolve(long target) {
+        return isPlaceholder(target) ? created[placeholderIndex(target)] : target;
+    }
+    
+    private static long placeholder(int createIndex) {
+        return Entity.NULL_HANDLE - 1 - createIndex;
+    }
+    
+    private static int placeholderIndex(long placeholder) {
+        return (int) (Entity.NULL_HANDLE - 1 - placeholder);
+    }
+}
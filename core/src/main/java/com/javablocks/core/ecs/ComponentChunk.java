@@ -0,0 +1,107 @@
+/*
+ * JavaBlocks Engine - Component Chunk
+ * 
+ * Fixed-size block of entity rows used by archetype storage.
+ */
+package com.javablocks.core.ecs;
+
+/**
+ * A fixed-size block of entities that share the same component signature.
+ * 
+ * Each chunk stores one column per component type of its archetype. Row
+ * {@code i} of every column belongs to the entity at {@link #getEntityIndex(int)},
+ * so systems can walk several components in lockstep with plain array indexing.
+ * 
+ * Chunks are owned by the world and only valid for the duration of the
+ * callback that received them. Structural changes (adding or removing
+ * components, destroying entities) may reorder rows.
+ * 
+ * @author JavaBlocks Engine Team
+ */
+public final class ComponentChunk {
+    
+    /** The archetype this chunk belongs to. */
+    final ArchetypeStorage.Archetype archetype;
+    
+    /** Entity index per row. */
+    final int[] entities;
+    
+    /** Component columns, indexed by archetype column then row. */
+    final Component[][] columns;
+    
+    /** Number of occupied rows. */
+    int count;
+    
+    /**
+     * Creates an empty chunk.
+     * 
+     * @param archetype The owning archetype
+     * @param capacity Number of rows in the chunk
+     */
+    ComponentChunk(ArchetypeStorage.Archetype archetype, int capacity) {
+        this.archetype = archetype;
+        this.entities = new int[capacity];
+        this.columns = new Component[archetype.typeIds.length][capacity];
+        this.count = 0;
+    }
+    
+    /**
+     * Gets the number of entities in this chunk.
+     * 
+     * @return The row count
+     */
+    public int size() {
+        return count;
+    }
+    
+    /**
+     * Gets the entity index stored at a row.
+     * 
+     * @param row The row
+     * @return The entity index
+     */
+    public int getEntityIndex(int row) {
+        return entities[row];
+    }
+    
+    /**
+     * Checks if this chunk stores a component type.
+     * 
+     * @param componentClass The component class
+     * @return true if the chunk has a column for the type
+     */
+    public boolean has(Class<? extends Component> componentClass) {
+        return archetype.columnOf(ComponentRegistry.getTypeId(componentClass)) >= 0;
+    }
+    
+    /**
+     * Gets the backing column for a component type.
+     * Only rows {@code [0, size())} are valid.
+     * 
+     * @param componentClass The component class
+     * @return The component column
+     * @throws IllegalArgumentException if the chunk does not store the type
+     */
+    public Component[] getColumn(Class<? extends Component> componentClass) {
+        int column = archetype.columnOf(ComponentRegistry.getTypeId(componentClass));
+        if (column < 0) {
+            throw new IllegalArgumentException(
+                "Chunk does not store component: " + componentClass.getSimpleName()
+            );
+        }
+        return columns[column];
+    }
+    
+    /**
+     * Gets a component at a row.
+     * 
+     * @param row The row
+     * @param componentClass The component class
+     * @param <T> The component type
+     * @return The component
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends Component> T get(int row, Class<T> componentClass) {
+        return (T) getColumn(componentClass)[row];
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * JavaBlocks Engine - Component Mapper
+ * 
+ * Typed component access with the type resolved once.
+ */
+package com.javablocks.core.ecs;
+
+import java.util.*;
+
+/**
+ * Fast access to one component type of a world.
+ * 
+ * A mapper resolves its type ID once and, in pooled storage, holds the
+ * type's {@link ComponentPool} directly, so get() and has() are plain array
+ * indexing with no registry lookup. Obtain mappers once, typically in
+ * {@link GameSystem#initialize}, through {@link World#getMapper} or
+ * {@link GameSystem#mapper}.
+ * 
+ * Features:
+ * - get(), getMut(), has() by packed handle or entity
+ * - set() and remove() go through the world, so queries, observers,
+ *   change ticks and pooling stay consistent
+ * - Archetype storage and packed types fall back to the world's lookups,
+ *   still without resolving the type again
+ * 
+ * Usage:
+ * <pre>
+ * ComponentMapper&lt;TransformComponent&gt; transforms = world.getMapper(TransformComponent.class);
+ * TransformComponent transform = transforms.get(handle);
+ * </pre>
+ * 
+ * @param <T> The component type
+ * @author JavaBlocks Engine Team
+ */
+public final class ComponentMapper<T extends Component> {
+    
+    // ==================== Instance Variables ====================
+    
+    /** The world the components belong to. */
+    private final World world;
+    
+    /** The mapped component class. */
+    private final Class<T> componentClass;
+    
+    /** The mapped type ID. */
+    private final int typeId;
+    
+    /** The type's pool, or null when the world stores the type elsewhere. */
+    private final ComponentPool<T> pool;
+    
+    // ==================== Constructor ====================
+    
+    /**
+     * Creates a mapper. Use {@link World#getMapper} instead.
+     * 
+     * @param world The world
+     * @param componentClass The component class
+     * @param pool The type's pool, or null
+     */
+    ComponentMapper(World world, Class<T> componentClass, ComponentPool<T> pool) {
+        this.world = world;
+        this.componentClass = componentClass;
+        this.typeId = ComponentRegistry.getTypeId(componentClass);
+        this.pool = pool;
+    }
+    
+    // ==================== Access ====================
+    
+    /**
+     * Gets the component of the entity behind a packed handle.
+     * 
+     * @param handle The packed entity handle
+     * @return The component, or null if the handle is stale or the entity
+     *         does not have it
+     */
+    @SuppressWarnings("unchecked")
+    public T get(long handle) {
+        if (!world.isValid(handle)) {
+            return null;
+        }
+        if (pool != null) {
+            return pool.get(Entity.unpackIndex(handle));
+        }
+        return (T) world.getComponent(handle, typeId);
+    }
+    
+    /**
+     * Gets the component of an entity.
+     * 
+     * @param entity The entity
+     * @return The component, or null if the entity does not have it
+     */
+    public T get(Entity entity) {
+        Objects.requireNonNull(entity, "Entity cannot be null");
+        
+        return get(entity.getHandle());
+    }
+    
+    /**
+     * Gets the component for modification and stamps it as changed, as
+     * {@link World#getComponentMut(long, Class)} does.
+     * 
+     * @param handle The packed entity handle
+     * @return The component, or null if the handle is stale or the entity
+     *         does not have it
+     */
+    public T getMut(long handle) {
+        T component = get(handle);
+        if (component != null) {
+            world.markChanged(handle, typeId);
+        }
+        return component;
+    }
+    
+    /**
+     * Checks if the entity behind a packed handle has the component.
+     * 
+     * @param handle The packed entity handle
+     * @return true if the handle is alive and the entity has the component
+     */
+    public boolean has(long handle) {
+        return world.hasComponent(handle, typeId);
+    }
+    
+    /**
+     * Checks if an entity has the component.
+     * 
+     * @param entity The entity
+     * @return true if the entity has the component
+     */
+    public boolean has(Entity entity) {
+        Objects.requireNonNull(entity, "Entity cannot be null");
+        
+        return has(entity.getHandle());
+    }
+    
+    /**
+     * Adds the component to the entity behind a packed handle, replacing
+     * any existing one. Stale handles are ignored.
+     * 
+     * @param handle The packed entity handle
+     * @param component The component
+     * @return true if the handle is alive and the component was set
+     */
+    public boolean set(long handle, T component) {
+        return world.addComponent(handle, component);
+    }
+    
+    /**
+     * Removes the component from the entity behind a packed handle.
+     * 
+     * @param handle The packed entity handle
+     * @return true if the component was removed
+     */
+    public boolean remove(long handle) {
+        return world.removeComponent(handle, typeId);
+    }
+    
+    // ==================== Information ====================
+    
+    /**
+     * Gets the mapped component class.
+     * 
+     * @return The component class
+     */
+    public Class<T> getComponentClass() {
+        return componentClass;
+    }
+    
+    /**
+     * Gets the mapped type ID.
+     * 
+     * @return The type ID
+     */
+    public int getTypeId() {
+        return typeId;
+    }
+    
+    /**
+     * Checks if this mapper reads the type's pool directly.
+     * 
+     * @return true in pooled storage for non-packed types
+     */
+    public boolean isDirect() {
+        return pool != null;
+    }
+    
+    @Override
+    public String toString() {
+        return "ComponentMapper(" + componentClass.getSimpleName() + ", direct=" + isDirect() + ")";
+    }
+}
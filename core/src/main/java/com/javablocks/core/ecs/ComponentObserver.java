@@ -0,0 +1,34 @@
+/*
+ * JavaBlocks Engine - Component Observer
+ * 
+ * Callback for batched component add, set and remove notifications.
+ */
+package com.javablocks.core.ecs;
+
+/**
+ * Receives a batch of entities whose component of one type was added, set
+ * or removed. Register with {@link World#onAdd}, {@link World#onSet} or
+ * {@link World#onRemove}.
+ * 
+ * Batches are delivered on the updating thread at sync points: after
+ * queued commands and destroys at the start of an update and after every
+ * system stage. Within one component type, batches arrive in the order
+ * the changes happened.
+ * 
+ * @author JavaBlocks Engine Team
+ */
+@FunctionalInterface
+public interface ComponentObserver {
+    
+    /**
+     * Handles a batch of entities.
+     * 
+     * The array is reused after the call returns; copy what must be kept.
+     * For removals the component is already gone, and for destroyed
+     * entities the handles are no longer valid.
+     * 
+     * @param handles Packed entity handles; only the first count are valid
+     * @param count The number of entities in the batch
+     */
+    void observe(long[] handles, int count);
+}
@@ -0,0 +1,298 @@
+/*
+ * JavaBlocks Engine - Component Observers
+ * 
+ * Per-type observer registry with batched, ordered delivery.
+ */
+package com.javablocks.core.ecs;
+
+import java.util.*;
+
+/**
+ * Records component add, set and remove events for observed types and
+ * delivers them to observers in batches.
+ * 
+ * Events of types without an observer for that kind are not recorded, so
+ * unobserved changes cost one array read. Each observed type keeps one
+ * event log of (kind, handle) pairs; flushing walks the log and hands each
+ * run of consecutive same-kind events to the observers as one batch, so
+ * batching never reorders an add and a later remove.
+ * 
+ * @author JavaBlocks Engine Team
+ */
+final class ComponentObservers {
+    
+    // ==================== Constants ====================
+    
+    /** Event kind of a component being added. */
+    static final int ADD = 0;
+    
+    /** Event kind of a component value being replaced. */
+    static final int SET = 1;
+    
+    /** Event kind of a component being removed. */
+    static final int REMOVE = 2;
+    
+    /** Number of event kinds. */
+    private static final int KIND_COUNT = 3;
+    
+    /** Shared empty observer list. */
+    private static final ComponentObserver[] NONE = new ComponentObserver[0];
+    
+    // ==================== Instance Variables ====================
+    
+    /** Observers by type ID, then kind. */
+    private ComponentObserver[][][] observers;
+    
+    /** Event logs by type ID, or null for unobserved types. */
+    private EventLog[] logs;
+    
+    /** Type IDs with pending events, in first-event order. */
+    private int[] dirtyTypes;
+    
+    /** Number of type IDs in {@link #dirtyTypes}. */
+    private int dirtyCount;
+    
+    /** Batch passed to observers, reused between flushes. */
+    private long[] batch;
+    
+    /** Types and drained logs of the flush round being delivered. */
+    private int[] flushTypes;
+    private EventLog[] flushLogs;
+    
+    /** Whether a flush is running, to ignore nested flushes. */
+    private boolean flushing;
+    
+    // ==================== Constructor ====================
+    
+    /**
+     * Creates a registry without observers.
+     */
+    ComponentObservers() {
+        this.observers = new ComponentObserver[0][][];
+        this.logs = new EventLog[0];
+        this.dirtyTypes = new int[8];
+        this.batch = new long[64];
+        this.flushTypes = new int[8];
+        this.flushLogs = new EventLog[8];
+    }
+    
+    // ==================== Registration ====================
+    
+    /**
+     * Registers an observer.
+     * 
+     * @param typeId The observed component type ID
+     * @param kind ADD, SET or REMOVE
+     * @param observer The observer
+     */
+    synchronized void register(int typeId, int kind, ComponentObserver observer) {
+        if (typeId >= observers.length) {
+            int length = Math.max(typeId + 1, observers.length * 2);
+            observers = Arrays.copyOf(observers, length);
+            logs = Arrays.copyOf(logs, length);
+        }
+        if (observers[typeId] == null) {
+            observers[typeId] = new ComponentObserver[][] {NONE, NONE, NONE};
+            logs[typeId] = new EventLog();
+        }
+        ComponentObserver[] current = observers[typeId][kind];
+        ComponentObserver[] updated = Arrays.copyOf(current, current.length + 1);
+        updated[current.length] = observer;
+        observers[typeId][kind] = updated;
+    }
+    
+    /**
+     * Unregisters an observer from every type and kind.
+     * 
+     * @param observer The observer
+     * @return true if it was registered
+     */
+    synchronized boolean unregister(ComponentObserver observer) {
+        boolean removed = false;
+        for (ComponentObserver[][] byKind : observers) {
+            if (byKind == null) {
+                continue;
+            }
+            for (int kind = 0; kind < KIND_COUNT; kind++) {
+                ComponentObserver[] current = byKind[kind];
+                for (int i = 0; i < current.length; i++) {
+                    if (current[i] == observer) {
+                        ComponentObserver[] updated = new ComponentObserver[current.length - 1];
+                        System.arraycopy(current, 0, updated, 0, i);
+                        System.arraycopy(current, i + 1, updated, i, current.length - i - 1);
+                        byKind[kind] = updated.length == 0 ? NONE : updated;
+                        removed = true;
+                        break;
+                    }
+                }
+            }
+        }
+        return removed;
+    }
+    
+    /**
+     * Checks if any observer watches a type and kind.
+     * 
+     * @param typeId The component type ID
+     * @param kind ADD, SET or REMOVE
+     * @return true if observed
+     */
+    boolean isObserved(int typeId, int kind) {
+        ComponentObserver[][][] current = observers;
+        return typeId < current.length && current[typeId] != null
+            && current[typeId][kind].length > 0;
+    }
+    
+    // ==================== Recording ====================
+    
+    /**
+     * Records an event if the type and kind are observed.
+     * 
+     * @param typeId The component type ID
+     * @param kind ADD, SET or REMOVE
+     * @param handle The packed entity handle
+     */
+    void record(int typeId, int kind, long handle) {
+        if (!isObserved(typeId, kind)) {
+            return;
+        }
+        synchronized (this) {
+            EventLog log = logs[typeId];
+            if (log.size == 0) {
+                if (dirtyCount == dirtyTypes.length) {
+                    dirtyTypes = Arrays.copyOf(dirtyTypes, dirtyCount * 2);
+                }
+                dirtyTypes[dirtyCount++] = typeId;
+            }
+            log.add(kind, handle);
+        }
+    }
+    
+    /**
+     * Checks if events are waiting to be delivered.
+     * 
+     * @return true if a flush would deliver something
+     */
+    synchronized boolean hasPending() {
+        return dirtyCount > 0;
+    }
+    
+    // ==================== Delivery ====================
+    
+    /**
+     * Delivers every recorded event. Events recorded by observers are
+     * delivered in further rounds of the same flush.
+     */
+    void flush() {
+        if (flushing) {
+            return;
+        }
+        flushing = true;
+        try {
+            while (true) {
+                int typeCount;
+                synchronized (this) {
+                    if (dirtyCount == 0) {
+                        return;
+                    }
+                    typeCount = dirtyCount;
+                    if (flushTypes.length < typeCount) {
+                        flushTypes = new int[dirtyTypes.length];
+                        flushLogs = new EventLog[dirtyTypes.length];
+                    }
+                    for (int t = 0; t < typeCount; t++) {
+                        flushTypes[t] = dirtyTypes[t];
+                        flushLogs[t] = logs[dirtyTypes[t]].drain();
+                    }
+                    dirtyCount = 0;
+                }
+                for (int t = 0; t < typeCount; t++) {
+                    deliver(flushTypes[t], flushLogs[t]);
+                    logs[flushTypes[t]].recycle(flushLogs[t]);
+                    flushLogs[t] = null;
+                }
+            }
+        } finally {
+            flushing = false;
+        }
+    }
+    
+    /**
+     * Discards recorded events without delivering them.
+     */
+    synchronized void clearPending() {
+        for (int t = 0; t < dirtyCount; t++) {
+            logs[dirtyTypes[t]].size = 0;
+        }
+        dirtyCount = 0;
+    }
+    
+    private void deliver(int typeId, EventLog log) {
+        int start = 0;
+        while (start < log.size) {
+            int kind = log.kinds[start];
+            int end = start + 1;
+            while (end < log.size && log.kinds[end] == kind) {
+                end++;
+            }
+            
+            int count = end - start;
+            if (batch.length < count) {
+                batch = new long[Math.max(count, batch.length * 2)];
+            }
+            System.arraycopy(log.handles, start, batch, 0, count);
+            for (ComponentObserver observer : observers[typeId][kind]) {
+                observer.observe(batch, count);
+            }
+            start = end;
+        }
+    }
+    
+    // ==================== Event Log ====================
+    
+    /**
+     * Growable (kind, handle) log with a spare buffer swapped in on drain,
+     * so recording during delivery never touches the log being delivered.
+     */
+    private static final class EventLog {
+        byte[] kinds = new byte[16];
+        long[] handles = new long[16];
+        int size;
+        private EventLog spare;
+        
+        void add(int kind, long handle) {
+            if (size == kinds.length) {
+                kinds = Arrays.copyOf(kinds, size * 2);
+                handles = Arrays.copyOf(handles, size * 2);
+            }
+            kinds[size] = (byte) kind;
+            handles[size] = handle;
+            size++;
+        }
+        
+        /**
+         * Moves the recorded events into a detached log and empties this one.
+         */
+        EventLog drain() {
+            EventLog drained = spare != null ? spare : new EventLog();
+            spare = null;
+            byte[] k = drained.kinds;
+            long[] h = drained.handles;
+            drained.kinds = kinds;
+            drained.handles = handles;
+            drained.size = size;
+            kinds = k;
+            handles = h;
+            size = 0;
+            return drained;
+        }
+        
+        /**
+         * Returns a delivered log for reuse by the next drain.
+         */
+        void recycle(EventLog delivered) {
+            delivered.size = 0;
+            spare = delivered;
+        }
+    }
+}
@@ -0,0 +1,247 @@
+/*
+ * JavaBlocks Engine - Component Pool
+ * 
+ * Sparse-set storage for a single component type.
+ */
+package com.javablocks.core.ecs;
+
+import com.javablocks.core.utils.IntObjConsumer;
+import java.util.*;
+
+/**
+ * Sparse-set storage for all instances of one component type.
+ * 
+ * A sparse int array maps entity indices to slots in two packed dense arrays
+ * holding the components and their owning entity indices. Memory for the
+ * component references scales with the number of entities that actually
+ * have the component, and iteration only touches live components.
+ * 
+ * Complexity:
+ * - add, get, has: O(1)
+ * - remove: O(1) by moving the last dense slot into the hole
+ * - iteration: O(population), in dense order
+ * 
+ * Dense order changes when components are removed. Structural changes
+ * go through World; do not add or remove components of this type while
+ * iterating the pool.
+ * 
+ * @param <T> The component type
+ * @author JavaBlocks Engine Team
+ */
+public final class ComponentPool<T extends Component> {
+    
+    // ==================== Constants ====================
+    
+    /** Sparse entry for entity indices without a component. */
+    private static final int ABSENT = -1;
+    
+    /** Initial dense capacity. */
+    private static final int INITIAL_DENSE_CAPACITY = 16;
+    
+    // ==================== Instance Variables ====================
+    
+    /** The component type ID stored in this pool. */
+    private final int typeId;
+    
+    /** Entity index to dense slot. */
+    private int[] sparse;
+    
+    /** Dense slot to entity index. */
+    private int[] denseEntities;
+    
+    /** Dense slot to component. */
+    private T[] denseComponents;
+    
+    /** Number of live components. */
+    private int size;
+    
+    // ==================== Constructor ====================
+    
+    /**
+     * Creates an empty pool.
+     * 
+     * @param typeId The component type ID
+     */
+    @SuppressWarnings("unchecked")
+    ComponentPool(int typeId) {
+        this.typeId = typeId;
+        this.sparse = new int[INITIAL_DENSE_CAPACITY];
+        this.denseEntities = new int[INITIAL_DENSE_CAPACITY];
+        this.denseComponents = (T[]) new Component[INITIAL_DENSE_CAPACITY];
+        this.size = 0;
+        Arrays.fill(sparse, ABSENT);
+    }
+    
+    // ==================== Structural Operations ====================
+    
+    /**
+     * Adds or replaces the component of an entity.
+     * 
+     * @param entityIndex The entity index
+     * @param component The component
+     * @return The replaced component, or null if the entity had none
+     */
+    T set(int entityIndex, T component) {
+        ensureSparseCapacity(entityIndex);
+        
+        int slot = sparse[entityIndex];
+        if (slot != ABSENT) {
+            T previous = denseComponents[slot];
+            denseComponents[slot] = component;
+            return previous;
+        }
+        
+        if (size == denseComponents.length) {
+            int newCapacity = size * 2;
+            denseEntities = Arrays.copyOf(denseEntities, newCapacity);
+            denseComponents = Arrays.copyOf(denseComponents, newCapacity);
+        }
+        
+        sparse[entityIndex] = size;
+        denseEntities[size] = entityIndex;
+        denseComponents[size] = component;
+        size++;
+        return null;
+    }
+    
+    /**
+     * Removes the component of an entity by swapping the last dense slot into its place.
+     * 
+     * @param entityIndex The entity index
+     * @return The removed component, or null if the entity had none
+     */
+    T remove(int entityIndex) {
+        if (!has(entityIndex)) {
+            return null;
+        }
+        
+        int slot = sparse[entityIndex];
+        T removed = denseComponents[slot];
+        int last = --size;
+        
+        if (slot != last) {
+            int movedEntity = denseEntities[last];
+            denseEntities[slot] = movedEntity;
+            denseComponents[slot] = denseComponents[last];
+            sparse[movedEntity] = slot;
+        }
+        
+        denseComponents[last] = null;
+        sparse[entityIndex] = ABSENT;
+        return removed;
+    }
+    
+    /**
+     * Removes all components from the pool.
+     */
+    void clear() {
+        for (int i = 0; i < size; i++) {
+            sparse[denseEntities[i]] = ABSENT;
+            denseComponents[i] = null;
+        }
+        size = 0;
+    }
+    
+    // ==================== Lookup ====================
+    
+    /**
+     * Gets the component of an entity.
+     * 
+     * @param entityIndex The entity index
+     * @return The component, or null if the entity has none
+     */
+    public T get(int entityIndex) {
+        if (entityIndex < 0 || entityIndex >= sparse.length) {
+            return null;
+        }
+        int slot = sparse[entityIndex];
+        return slot != ABSENT ? denseComponents[slot] : null;
+    }
+    
+    /**
+     * Checks if an entity has a component in this pool.
+     * 
+     * @param entityIndex The entity index
+     * @return true if the entity has the component
+     */
+    public boolean has(int entityIndex) {
+        return entityIndex >= 0 && entityIndex < sparse.length && sparse[entityIndex] != ABSENT;
+    }
+    
+    /**
+     * Gets the component type ID stored in this pool.
+     * 
+     * @return The type ID
+     */
+    public int getTypeId() {
+        return typeId;
+    }
+    
+    /**
+     * Gets the number of live components.
+     * 
+     * @return The component count
+     */
+    public int size() {
+        return size;
+    }
+    
+    /**
+     * Checks if the pool has no components.
+     * 
+     * @return true if empty
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+    
+    // ==================== Dense Iteration ====================
+    
+    /**
+     * Gets the entity index at a dense slot.
+     * 
+     * @param slot The dense slot in {@code [0, size())}
+     * @return The entity index
+     */
+    public int getEntityIndex(int slot) {
+        Objects.checkIndex(slot, size);
+        return denseEntities[slot];
+    }
+    
+    /**
+     * Gets the component at a dense slot.
+     * 
+     * @param slot The dense slot in {@code [0, size())}
+     * @return The component
+     */
+    public T getAt(int slot) {
+        Objects.checkIndex(slot, size);
+        return denseComponents[slot];
+    }
+    
+    /**
+     * Visits every live component in dense order.
+     * 
+     * @param consumer Receives the entity index and its component
+     */
+    public void forEach(IntObjConsumer<? super T> consumer) {
+        int[] entities = denseEntities;
+        T[] components = denseComponents;
+        for (int i = 0; i < size; i++) {
+            consumer.accept(entities[i], components[i]);
+        }
+    }
+    
+    // ==================== Internal ====================
+    
+    private void ensureSparseCapacity(int entityIndex) {
+        if (entityIndex < sparse.length) {
+            return;
+        }
+        
+        int oldLength = sparse.length;
+        int newLength = Math.max(oldLength * 2, entityIndex + 1);
+        sparse = Arrays.copyOf(sparse, newLength);
+        Arrays.fill(sparse, oldLength, newLength, ABSENT);
+    }
+}
@@ -0,0 +1,251 @@
+/*
+ * JavaBlocks Engine - Component Recycler
+ * 
+ * Per-type free lists of reset component instances.
+ */
+package com.javablocks.core.ecs;
+
+import java.util.*;
+
+/**
+ * Keeps removed component instances for reuse, so high-churn components
+ * do not produce garbage every frame.
+ * 
+ * Features:
+ * - One bounded free list per component type
+ * - Instances are reset when recycled, so obtained instances are in their
+ *   default state
+ * - New instances come from the type's bound factory, not reflection
+ * - Only instances handed out by {@link #obtain} and attached to a single
+ *   entity are pooled; instances created elsewhere may still be referenced
+ *   by their creator or by other entities, so they are left alone
+ * - Records are never pooled, as they cannot be reset and may be shared
+ * 
+ * Leak tracking (debug mode):
+ * - Attaching an instance that sits in a free list fails, catching code
+ *   that kept a reference to a removed component
+ * - Instances shared by several entities are pooled only once
+ * - Obtained instances that are never attached are counted as leaks
+ * 
+ * All methods are synchronized, as systems may obtain instances while
+ * running concurrently.
+ * 
+ * @author JavaBlocks Engine Team
+ */
+final class ComponentRecycler {
+    
+    // ==================== Instance Variables ====================
+    
+    /** Maximum pooled instances per type, 0 to disable pooling. */
+    private final int capacity;
+    
+    /** Free instances by type ID. */
+    private Component[][] free;
+    
+    /** Number of free instances by type ID. */
+    private int[] freeCounts;
+    
+    /** Obtained instances the recycler owns, mapped to whether they are attached. */
+    private final Map<Component, Boolean> owned;
+    
+    /** Pooled instances, when tracking leaks. */
+    private final Set<Component> pooled;
+    
+    /** Obtained instances not yet attached, when tracking leaks. */
+    private final Set<Component> unattached;
+    
+    /** Instances served from a free list. */
+    private long reuseCount;
+    
+    /** Instances created because a free list was empty. */
+    private long createCount;
+    
+    // ==================== Constructor ====================
+    
+    /**
+     * Creates a recycler.
+     * 
+     * @param capacity Maximum pooled instances per type, 0 to disable
+     * @param trackLeaks Whether to track leaks and reuse of pooled instances
+     */
+    ComponentRecycler(int capacity, boolean trackLeaks) {
+        this.capacity = Math.max(0, capacity);
+        this.free = new Component[0][];
+        this.freeCounts = new int[0];
+        this.owned = new IdentityHashMap<>();
+        this.pooled = trackLeaks ? Collections.newSetFromMap(new IdentityHashMap<>()) : null;
+        this.unattached = trackLeaks ? Collections.newSetFromMap(new IdentityHashMap<>()) : null;
+    }
+    
+    // ==================== Pooling ====================
+    
+    /**
+     * Gets a reset instance of a type, reusing a pooled one if available.
+     * 
+     * @param typeId The component type ID
+     * @return An instance in its default state
+     */
+    synchronized Component obtain(int typeId) {
+        Component component;
+        if (typeId < freeCounts.length && freeCounts[typeId] > 0) {
+            int count = --freeCounts[typeId];
+            component = free[typeId][count];
+            free[typeId][count] = null;
+            reuseCount++;
+            if (pooled != null) {
+                pooled.remove(component);
+            }
+        } else {
+            component = ComponentRegistry.create(typeId);
+            createCount++;
+        }
+        if (capacity > 0 && !(component instanceof Record)) {
+            owned.put(component, Boolean.FALSE);
+        }
+        if (unattached != null) {
+            unattached.add(component);
+        }
+        return component;
+    }
+    
+    /**
+     * Resets a detached instance and keeps it for reuse if there is room.
+     * Instances not owned by the recycler are ignored.
+     * 
+     * @param component The removed component, or null
+     */
+    synchronized void recycle(Component component) {
+        if (component == null || capacity == 0 || owned.remove(component) == null) {
+            return;
+        }
+        int typeId = component.getTypeId();
+        if (pooled != null && !pooled.add(component)) {
+            // Shared by several entities; pooling it twice would hand it out twice
+            System.out.println("[ECS] Component instance recycled twice, ignoring: "
+                + component.getTypeName());
+            return;
+        }
+        ensureType(typeId);
+        if (freeCounts[typeId] == capacity) {
+            if (pooled != null) {
+                pooled.remove(component);
+            }
+            return;
+        }
+        component.reset();
+        if (freeCounts[typeId] == free[typeId].length) {
+            free[typeId] = Arrays.copyOf(free[typeId], Math.min(capacity, free[typeId].length * 2));
+        }
+        free[typeId][freeCounts[typeId]++] = component;
+    }
+    
+    /**
+     * Records that an instance is being attached to an entity. An owned
+     * instance attached a second time is shared, so the recycler gives up
+     * ownership of it. When tracking leaks, fails if the instance is in a
+     * free list.
+     * 
+     * @param component The component being attached
+     * @throws IllegalStateException if the instance was recycled
+     */
+    void attached(Component component) {
+        if (capacity == 0 && pooled == null) {
+            return;
+        }
+        synchronized (this) {
+            if (pooled != null) {
+                if (pooled.contains(component)) {
+                    throw new IllegalStateException(
+                        "Component was removed and recycled; obtain a new instance instead: "
+                        + component.getTypeName()
+                    );
+                }
+                unattached.remove(component);
+            }
+            Boolean attached = owned.get(component);
+            if (attached == Boolean.FALSE) {
+                owned.put(component, Boolean.TRUE);
+            } else if (attached != null) {
+                owned.remove(component);
+            }
+        }
+    }
+    
+    /**
+     * Drops every pooled instance.
+     */
+    synchronized void clear() {
+        free = new Component[0][];
+        freeCounts = new int[0];
+        owned.clear();
+        if (pooled != null) {
+            pooled.clear();
+            unattached.clear();
+        }
+    }
+    
+    // ==================== Statistics ====================
+    
+    /**
+     * Gets the number of pooled instances of a type.
+     * 
+     * @param typeId The component type ID
+     * @return The free list size
+     */
+    synchronized int getPooledCount(int typeId) {
+        return typeId < freeCounts.length ? freeCounts[typeId] : 0;
+    }
+    
+    /**
+     * Gets the number of pooled instances of all types.
+     * 
+     * @return The total free list size
+     */
+    synchronized int getPooledCount() {
+        int total = 0;
+        for (int count : freeCounts) {
+            total += count;
+        }
+        return total;
+    }
+    
+    /**
+     * Gets the number of obtained instances never attached to an entity.
+     * 
+     * @return The leak count, or -1 if leaks are not tracked
+     */
+    synchronized int getLeakCount() {
+        return unattached != null ? unattached.size() : -1;
+    }
+    
+    /**
+     * Gets the number of instances served from a free list.
+     * 
+     * @return The reuse count
+     */
+    synchronized long getReuseCount() {
+        return reuseCount;
+    }
+    
+    /**
+     * Gets the number of instances created because a free list was empty.
+     * 
+     * @return The create count
+     */
+    synchronized long getCreateCount() {
+        return createCount;
+    }
+    
+    // ==================== Internal ====================
+    
+    private void ensureType(int typeId) {
+        if (typeId >= freeCounts.length) {
+            int length = Math.max(typeId + 1, freeCounts.length * 2);
+            free = Arrays.copyOf(free, length);
+            freeCounts = Arrays.copyOf(freeCounts, length);
+        }
+        if (free[typeId] == null) {
+            free[typeId] = new Component[Math.min(capacity, 16)];
+        }
+    }
+}
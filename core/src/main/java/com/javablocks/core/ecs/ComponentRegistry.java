@@ -6,9 +6,12 @@
  */
 package com.javablocks.core.ecs;
 
+import java.lang.invoke.*;
 import java.util.*;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.*;
 
 import com.javablocks.core.components.*;
 
@@ -21,6 +24,10 @@ import com.javablocks.core.components.*;
  * - Thread-safe registration
  * - ID validation
  * - Component class lookup
+ * - Type ID lookups cached per class in a {@link ClassValue}, so hot paths
+ *   neither hash nor box
+ * - Per-type factories bound once through {@link LambdaMetafactory}, so
+ *   creating a component is a plain constructor call
  * 
  * @author JavaBlocks Engine Team
  */
@@ -44,6 +51,14 @@ public final class ComponentRegistry {
     private static final ConcurrentHashMap<Integer, Class<? extends Component>> idToClass = 
         new ConcurrentHashMap<>();
     
+    /** Type ID by class, or -1 if unregistered; invalidated on registration. */
+    private static final ClassValue<Integer> typeIds = new ClassValue<>() {
+        @Override
+        protected Integer computeValue(Class<?> type) {
+            return classToId.getOrDefault(type, -1);
+        }
+    };
+    
     /** Next available type ID. */
     private static final AtomicInteger nextId = new AtomicInteger(0);
     
@@ -53,6 +68,10 @@ public final class ComponentRegistry {
     /** Whether the registry has been sealed (no more registrations). */
     private static volatile boolean sealed = false;
     
+    /** Factories by type ID, bound on first use. */
+    private static final AtomicReferenceArray<Supplier<? extends Component>> factories =
+        new AtomicReferenceArray<>(MAX_COMPONENT_TYPES);
+    
     // ==================== Static Initialization ====================
     
     static {
@@ -65,6 +84,7 @@ public final class ComponentRegistry {
         registerInternal(LifetimeComponent.class);
         registerInternal(ActiveComponent.class);
         registerInternal(VisibleComponent.class);
+        registerInternal(InterpolatedTransformComponent.class);
     }
     
     // ==================== Registration Methods ====================
@@ -112,6 +132,7 @@ public final class ComponentRegistry {
             // Register the component
             classToId.put(componentClass, id);
             idToClass.put(id, componentClass);
+            typeIds.remove(componentClass);
             
             if (com.javablocks.core.JavaBlocksEngine.get() != null && 
                 com.javablocks.core.JavaBlocksEngine.get().getConfiguration().debugMode) {
@@ -152,6 +173,7 @@ public final class ComponentRegistry {
             
             classToId.put(componentClass, id);
             idToClass.put(id, componentClass);
+            typeIds.remove(componentClass);
             
             return id;
         }
@@ -167,8 +189,8 @@ public final class ComponentRegistry {
      * @throws IllegalArgumentException if the component is not registered
      */
     public static int getTypeId(Class<? extends Component> componentClass) {
-        Integer id = classToId.get(componentClass);
-        if (id == null) {
+        int id = typeIds.get(componentClass);
+        if (id < 0) {
             throw new IllegalArgumentException(
                 "Component class not registered: " + componentClass.getName()
             );
@@ -184,8 +206,8 @@ public final class ComponentRegistry {
      * @return The type ID, or defaultId if not registered
      */
     public static int getTypeIdOrDefault(Class<? extends Component> componentClass, int defaultId) {
-        Integer id = classToId.get(componentClass);
-        return id != null ? id : defaultId;
+        int id = typeIds.get(componentClass);
+        return id >= 0 ? id : defaultId;
     }
     
     /**
@@ -270,8 +292,14 @@ public final class ComponentRegistry {
      */
     public static void clear() {
         synchronized (registrationLock) {
+            for (Class<? extends Component> componentClass : classToId.keySet()) {
+                typeIds.remove(componentClass);
+            }
             classToId.clear();
             idToClass.clear();
+            for (int i = 0; i < factories.length(); i++) {
+                factories.set(i, null);
+            }
             nextId.set(0);
             sealed = false;
         }
@@ -286,16 +314,8 @@ public final class ComponentRegistry {
      * @return A new component instance
      * @throws RuntimeException if instantiation fails
      */
-    @SuppressWarnings("unchecked")
     public static Component create(int typeId) {
-        Class<? extends Component> clazz = getClass(typeId);
-        try {
-            return clazz.getDeclaredConstructor().newInstance();
-        } catch (Exception e) {
-            throw new RuntimeException(
-                "Failed to create component instance for type ID: " + typeId, e
-            );
-        }
+        return getFactory(typeId).get();
     }
     
     /**
@@ -306,12 +326,99 @@ public final class ComponentRegistry {
      * @throws RuntimeException if instantiation fails
      */
     public static Component create(Class<? extends Component> componentClass) {
+        Integer id = classToId.get(componentClass);
+        return id != null ? getFactory(id).get() : bindFactory(componentClass).get();
+    }
+    
+    /**
+     * Gets the factory creating instances of a component type, binding it
+     * to the type's no-argument constructor on first use.
+     * 
+     * @param typeId The type ID of the component
+     * @return The factory
+     * @throws IllegalArgumentException if the type ID is not registered
+     */
+    public static Supplier<? extends Component> getFactory(int typeId) {
+        Supplier<? extends Component> factory = factories.get(typeId);
+        if (factory == null) {
+            factories.compareAndSet(typeId, null, bindFactory(getClass(typeId)));
+            factory = factories.get(typeId);
+        }
+        return factory;
+    }
+    
+    /**
+     * Replaces the factory of a component type, for types without a
+     * no-argument constructor or that need custom construction.
+     * 
+     * @param componentClass The component class
+     * @param factory Creates new instances
+     * @param <T> The component type
+     */
+    public static <T extends Component> void registerFactory(Class<T> componentClass,
+                                                             Supplier<? extends T> factory) {
+        Objects.requireNonNull(factory, "Factory cannot be null");
+        factories.set(getTypeId(componentClass), factory);
+    }
+    
+    /**
+     * Binds a factory to the no-argument constructor of a class.
+     * 
+     * Public constructors visible from the registry's class loader get a
+     * {@link LambdaMetafactory} supplier that the JIT inlines like a direct
+     * {@code new}. Other accessible constructors go through a method handle.
+     * Classes without one get a factory that fails on use, as reflective
+     * creation did.
+     */
+    @SuppressWarnings("unchecked")
+    private static Supplier<? extends Component> bindFactory(Class<? extends Component> componentClass) {
+        MethodType constructorType = MethodType.methodType(void.class);
         try {
-            return componentClass.getDeclaredConstructor().newInstance();
-        } catch (Exception e) {
-            throw new RuntimeException(
-                "Failed to create component instance: " + componentClass.getName(), e
-            );
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            if (isVisible(componentClass)) {
+                try {
+                    MethodHandle constructor = lookup.findConstructor(componentClass, constructorType);
+                    CallSite site = LambdaMetafactory.metafactory(
+                        lookup,
+                        "get",
+                        MethodType.methodType(Supplier.class),
+                        MethodType.methodType(Object.class),
+                        constructor,
+                        MethodType.methodType(componentClass)
+                    );
+                    return (Supplier<? extends Component>) site.getTarget().invoke();
+                } catch (IllegalAccessException | LambdaConversionException e) {
+                    // Not public; fall back to a private lookup below
+                }
+            }
+            
+            MethodHandle constructor = MethodHandles.privateLookupIn(componentClass, lookup)
+                .findConstructor(componentClass, constructorType)
+                .asType(MethodType.methodType(Component.class));
+            return () -> {
+                try {
+                    return (Component) constructor.invokeExact();
+                } catch (Throwable t) {
+                    throw new RuntimeException(
+                        "Failed to create component instance: " + componentClass.getName(), t
+                    );
+                }
+            };
+        } catch (Throwable t) {
+            return () -> {
+                throw new RuntimeException(
+                    "Failed to create component instance: " + componentClass.getName(), t
+                );
+            };
+        }
+    }
+    
+    private static boolean isVisible(Class<?> componentClass) {
+        ClassLoader loader = ComponentRegistry.class.getClassLoader();
+        try {
+            return Class.forName(componentClass.getName(), false, loader) == componentClass;
+        } catch (ClassNotFoundException e) {
+            return false;
         }
     }
     
@@ -319,12 +426,15 @@ public final class ComponentRegistry {
     
     /**
      * Gets a bitmask for a single component type.
-     * Useful for component filtering operations.
+     * Only the first 64 type IDs fit in a single word; the world tracks
+     * wider signatures itself.
      * 
      * @param typeId The component type ID
      * @return A bitmask with the type ID bit set
+     * @throws IllegalArgumentException if the type ID does not fit in 64 bits
      */
     public static long getTypeMask(int typeId) {
+        checkMaskable(typeId);
         return 1L << typeId;
     }
     
@@ -333,12 +443,22 @@ public final class ComponentRegistry {
      * 
      * @param typeIds The component type IDs
      * @return A bitmask with all type ID bits set
+     * @throws IllegalArgumentException if a type ID does not fit in 64 bits
      */
     public static long getTypeMask(int... typeIds) {
         long mask = 0;
         for (int id : typeIds) {
+            checkMaskable(id);
             mask |= 1L << id;
         }
         return mask;
     }
+    
+    private static void checkMaskable(int typeId) {
+        if (typeId < 0 || typeId >= Long.SIZE) {
+            throw new IllegalArgumentException(
+                "Type ID " + typeId + " does not fit in a single-word mask"
+            );
+        }
+    }
 }
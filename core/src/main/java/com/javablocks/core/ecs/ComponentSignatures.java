@@ -0,0 +1,323 @@
+/*
+ * JavaBlocks Engine - Component Signatures
+ * 
+ * Per-entity component bitsets packed into one flat long array.
+ */
+package com.javablocks.core.ecs;
+
+import java.util.*;
+
+/**
+ * Per-entity component signatures stored as multi-word bitsets.
+ * 
+ * Bit {@code t} of an entity's signature is set while the entity has the
+ * component with type ID {@code t}. All signatures live in one flat
+ * {@code long[]} with a fixed number of words per entity (the stride), so
+ * membership tests and query matching are a handful of AND/compare ops on
+ * adjacent words, independent of where the components themselves are stored.
+ * 
+ * The stride starts at one word (64 types) and widens when a higher type ID
+ * is first set, up to {@link ComponentRegistry#MAX_COMPONENT_TYPES}.
+ * 
+ * @author JavaBlocks Engine Team
+ */
+final class ComponentSignatures {
+    
+    // ==================== Constants ====================
+    
+    /** Bits per signature word. */
+    static final int WORD_BITS = 64;
+    
+    /** log2 of {@link #WORD_BITS}. */
+    private static final int WORD_SHIFT = 6;
+    
+    /** Widest stride needed for every registrable type ID. */
+    private static final int MAX_STRIDE = ComponentRegistry.MAX_COMPONENT_TYPES / WORD_BITS;
+    
+    // ==================== Instance Variables ====================
+    
+    /** Signature words, {@link #stride} per entity. */
+    private long[] words;
+    
+    /** Words per entity. */
+    private int stride;
+    
+    /** Number of entity slots the words array can hold. */
+    private int capacity;
+    
+    // ==================== Constructor ====================
+    
+    /**
+     * Creates signature storage.
+     * 
+     * @param initialEntities Initial number of entity slots
+     */
+    ComponentSignatures(int initialEntities) {
+        this.capacity = Math.max(16, initialEntities);
+        this.stride = 1;
+        this.words = new long[capacity];
+    }
+    
+    // ==================== Bit Operations ====================
+    
+    /**
+     * Sets a component bit.
+     * 
+     * @param entityIndex The entity index
+     * @param typeId The component type ID
+     */
+    void set(int entityIndex, int typeId) {
+        int word = typeId >>> WORD_SHIFT;
+        ensureStride(word + 1);
+        ensureCapacity(entityIndex);
+        words[entityIndex * stride + word] |= 1L << typeId;
+    }
+    
+    /**
+     * Sets every bit of a mask.
+     * 
+     * @param entityIndex The entity index
+     * @param mask The mask words, as built by {@link #mask}
+     */
+    void or(int entityIndex, long[] mask) {
+        ensureStride(mask.length);
+        ensureCapacity(entityIndex);
+        int base = entityIndex * stride;
+        for (int w = 0; w < mask.length; w++) {
+            words[base + w] |= mask[w];
+        }
+    }
+    
+    /**
+     * Clears a component bit.
+     * 
+     * @param entityIndex The entity index
+     * @param typeId The component type ID
+     */
+    void clear(int entityIndex, int typeId) {
+        int word = typeId >>> WORD_SHIFT;
+        if (word < stride && entityIndex < capacity) {
+            words[entityIndex * stride + word] &= ~(1L << typeId);
+        }
+    }
+    
+    /**
+     * Clears every bit of an entity.
+     * 
+     * @param entityIndex The entity index
+     */
+    void clearAll(int entityIndex) {
+        if (entityIndex < capacity) {
+            int base = entityIndex * stride;
+            Arrays.fill(words, base, base + stride, 0L);
+        }
+    }
+    
+    /**
+     * Checks a component bit.
+     * 
+     * @param entityIndex The entity index
+     * @param typeId The component type ID
+     * @return true if the entity has the component
+     */
+    boolean has(int entityIndex, int typeId) {
+        int word = typeId >>> WORD_SHIFT;
+        return word < stride && entityIndex >= 0 && entityIndex < capacity
+            && (words[entityIndex * stride + word] & (1L << typeId)) != 0;
+    }
+    
+    /**
+     * Counts the bits set for an entity.
+     * 
+     * @param entityIndex The entity index
+     * @return The number of components
+     */
+    int count(int entityIndex) {
+        if (entityIndex >= capacity) {
+            return 0;
+        }
+        int count = 0;
+        int base = entityIndex * stride;
+        for (int w = 0; w < stride; w++) {
+            count += Long.bitCount(words[base + w]);
+        }
+        return count;
+    }
+    
+    /**
+     * Finds the next component type an entity has, in the style of
+     * {@link java.util.BitSet#nextSetBit}. Iterating with this touches only
+     * the entity's own signature words.
+     * 
+     * @param entityIndex The entity index
+     * @param fromTypeId The first type ID to consider
+     * @return The next type ID at or after fromTypeId, or -1 if none
+     */
+    int nextType(int entityIndex, int fromTypeId) {
+        int word = fromTypeId >>> WORD_SHIFT;
+        if (entityIndex >= capacity || word >= stride) {
+            return -1;
+        }
+        
+        int base = entityIndex * stride;
+        long bits = words[base + word] & (-1L << fromTypeId);
+        while (bits == 0) {
+            if (++word >= stride) {
+                return -1;
+            }
+            bits = words[base + word];
+        }
+        return (word << WORD_SHIFT) + Long.numberOfTrailingZeros(bits);
+    }
+    
+    // ==================== Copying ====================
+    
+    /**
+     * Replaces the signatures of the first entities with those of another
+     * store. Words are copied in bulk when both strides match.
+     * 
+     * @param source The source signatures
+     * @param entityCount The number of entity slots to copy
+     */
+    void copyFrom(ComponentSignatures source, int entityCount) {
+        if (entityCount == 0) {
+            return;
+        }
+        ensureStride(source.stride);
+        ensureCapacity(entityCount - 1);
+        if (stride != source.stride) {
+            for (int e = 0; e < entityCount; e++) {
+                copyFrom(e, source);
+            }
+            return;
+        }
+        
+        int copied = Math.min(entityCount, source.capacity) * stride;
+        System.arraycopy(source.words, 0, words, 0, copied);
+        Arrays.fill(words, copied, entityCount * stride, 0L);
+    }
+    
+    /**
+     * Replaces the signature of one entity with its signature in another store.
+     * 
+     * @param entityIndex The entity index
+     * @param source The source signatures
+     */
+    void copyFrom(int entityIndex, ComponentSignatures source) {
+        ensureStride(source.stride);
+        ensureCapacity(entityIndex);
+        int base = entityIndex * stride;
+        for (int w = 0; w < stride; w++) {
+            words[base + w] = source.word(entityIndex, w);
+        }
+    }
+    
+    /**
+     * Checks if an entity has the same signature in another store.
+     * 
+     * @param entityIndex The entity index
+     * @param other The other signatures
+     * @return true if every bit matches
+     */
+    boolean sameAs(int entityIndex, ComponentSignatures other) {
+        if (stride == other.stride && entityIndex < capacity && entityIndex < other.capacity) {
+            int base = entityIndex * stride;
+            return Arrays.equals(words, base, base + stride, other.words, base, base + stride);
+        }
+        int wordCount = Math.max(stride, other.stride);
+        for (int w = 0; w < wordCount; w++) {
+            if (word(entityIndex, w) != other.word(entityIndex, w)) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    // ==================== Matching ====================
+    
+    /**
+     * Matches an entity against query masks. Masks may be shorter or longer
+     * than the stride; missing words are treated as zero.
+     * 
+     * @param entityIndex The entity index
+     * @param all Bits that must all be set
+     * @param any Bits of which at least one must be set, or an empty array
+     * @param none Bits that must all be clear
+     * @return true if the entity matches
+     */
+    boolean matches(int entityIndex, long[] all, long[] any, long[] none) {
+        long[] w = words;
+        int base = entityIndex < capacity ? entityIndex * stride : -1;
+        int length = Math.max(all.length, Math.max(any.length, none.length));
+        boolean anyHit = any.length == 0;
+        
+        for (int i = 0; i < length; i++) {
+            long bits = base >= 0 && i < stride ? w[base + i] : 0L;
+            if (i < all.length && (bits & all[i]) != all[i]) {
+                return false;
+            }
+            if (i < none.length && (bits & none[i]) != 0) {
+                return false;
+            }
+            if (i < any.length && (bits & any[i]) != 0) {
+                anyHit = true;
+            }
+        }
+        return anyHit;
+    }
+    
+    /**
+     * Builds a mask covering a set of type IDs.
+     * 
+     * @param typeIds The type IDs
+     * @return The mask words, just long enough for the highest ID
+     */
+    static long[] mask(int[] typeIds) {
+        int maxWord = -1;
+        for (int typeId : typeIds) {
+            maxWord = Math.max(maxWord, typeId >>> WORD_SHIFT);
+        }
+        long[] mask = new long[maxWord + 1];
+        for (int typeId : typeIds) {
+            mask[typeId >>> WORD_SHIFT] |= 1L << typeId;
+        }
+        return mask;
+    }
+    
+    /**
+     * Gets the number of words per entity.
+     * 
+     * @return The stride
+     */
+    int getStride() {
+        return stride;
+    }
+    
+    // ==================== Internal ====================
+    
+    private long word(int entityIndex, int word) {
+        return entityIndex < capacity && word < stride ? words[entityIndex * stride + word] : 0L;
+    }
+    
+    private void ensureCapacity(int entityIndex) {
+        if (entityIndex < capacity) {
+            return;
+        }
+        capacity = Math.max(capacity * 2, entityIndex + 1);
+        words = Arrays.copyOf(words, capacity * stride);
+    }
+    
+    private void ensureStride(int wordCount) {
+        if (wordCount <= stride) {
+            return;
+        }
+        
+        int newStride = Math.max(wordCount, Math.min(stride * 2, MAX_STRIDE));
+        long[] widened = new long[capacity * newStride];
+        for (int e = 0; e < capacity; e++) {
+            System.arraycopy(words, e * stride, widened, e * newStride, stride);
+        }
+        words = widened;
+        stride = newStride;
+    }
+}
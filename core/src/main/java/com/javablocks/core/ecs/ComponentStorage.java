@@ -0,0 +1,109 @@
+/*
+ * JavaBlocks Engine - Component Storage
+ * 
+ * Internal contract for the component storage backends used by World.
+ */
+package com.javablocks.core.ecs;
+
+/**
+ * Storage backend for entity components.
+ * 
+ * World resolves entities and component classes to their entity index and
+ * registry type ID before calling into the storage, so implementations only
+ * deal with plain integers.
+ * 
+ * Implementations:
+ * - World.ComponentManager: one pool per component type (POOLED)
+ * - ArchetypeStorage: chunked columns grouped by signature (ARCHETYPE)
+ * 
+ * @author JavaBlocks Engine Team
+ */
+interface ComponentStorage {
+    
+    /**
+     * Stores a component for an entity, replacing any existing instance of the same type.
+     * 
+     * @param entityIndex The entity index
+     * @param component The component to store
+     */
+    void setComponent(int entityIndex, Component component);
+    
+    /**
+     * Stores the initial components of a new entity that has none yet.
+     * 
+     * @param entityIndex The entity index
+     * @param typeIds The component type IDs in ascending order
+     * @param components The components, parallel to typeIds
+     */
+    void setComponents(int entityIndex, int[] typeIds, Component[] components);
+    
+    /**
+     * Gets a component of an entity.
+     * 
+     * @param entityIndex The entity index
+     * @param typeId The component type ID
+     * @return The component, or null if the entity does not have it
+     */
+    Component getComponent(int entityIndex, int typeId);
+    
+    /**
+     * Removes a component from an entity.
+     * 
+     * @param entityIndex The entity index
+     * @param typeId The component type ID
+     * @return The removed component, or null if the entity did not have it
+     */
+    Component removeComponent(int entityIndex, int typeId);
+    
+    /**
+     * Checks if an entity has a component.
+     * 
+     * @param entityIndex The entity index
+     * @param typeId The component type ID
+     * @return true if the entity has the component
+     */
+    boolean hasComponent(int entityIndex, int typeId);
+    
+    /**
+     * Removes every component of an entity.
+     * Implementations that cannot reach an entity's components directly
+     * should visit only the types set in its signature.
+     * 
+     * @param entityIndex The entity index
+     * @param signatures The world's component signatures, not yet cleared
+     */
+    void removeAllComponents(int entityIndex, ComponentSignatures signatures);
+    
+    /**
+     * Gets all components of an entity.
+     * 
+     * @param entityIndex The entity index
+     * @return The components attached to the entity
+     */
+    Iterable<Component> getComponents(int entityIndex);
+    
+    /**
+     * Gets the number of components attached to an entity.
+     * 
+     * @param entityIndex The entity index
+     * @return The component count
+     */
+    int getComponentCount(int entityIndex);
+    
+    /**
+     * Removes all stored components.
+     */
+    void clear();
+    
+    /**
+     * Gets the number of component types currently stored.
+     * 
+     * @return The component type count
+     */
+    int getComponentTypeCount();
+    
+    /**
+     * Prints storage statistics to the console.
+     */
+    void printComponentStats();
+}
@@ -12,6 +12,7 @@ import com.javablocks.core.math.*;
 import com.javablocks.core.utils.IntStack;
 import java.util.*;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
 import java.util.function.*;
 
 /**
@@ -36,75 +37,289 @@ public final class Entity implements Comparable<Entity> {
     /** Entity ID for null/invalid entities. */
     public static final int NULL_ID = -1;
     
+    /** Packed handle for null/invalid entities. */
+    public static final long NULL_HANDLE = NULL_ID;
+    
     /** Index bits for entity ID (lower 32 bits). */
     public static final int INDEX_BITS = 32;
     
     /** Generation bits for entity ID (upper 32 bits). */
     public static final int GENERATION_BITS = 32;
     
+    /** Shared null entity instance. */
+    private static final Entity NULL = new Entity(NULL_ID, 0);
+    
     // ==================== Entity Pool ====================
     
     /**
      * Internal entity pool for recycling entity IDs.
      * This reduces allocation pressure in hot paths.
+     * 
+     * Allocation is lock-free so entities can be spawned from parallel jobs:
+     * - Fresh indices come from an atomic counter
+     * - Released indices go to a per-thread cache first; full caches spill
+     *   batches onto a lock-free global stack that empty caches refill from
+     * - Generations live in fixed-size pages, so growth adds a page instead
+     *   of copying the array, and readers never wait for it
+     * 
+     * Indices cached by a thread are only reused by that thread until it
+     * spills a batch.
      */
     static final class EntityPool {
-        private final IntStack freeIndices = new IntStack(10000);
-        private int nextIndex = 0;
-        private int[] generations;
-        private int poolSize;
+        /** log2 of the generation page size. */
+        private static final int PAGE_SHIFT = 12;
+        
+        /** Entities per generation page. */
+        private static final int PAGE_SIZE = 1 << PAGE_SHIFT;
+        
+        /** Indices moved between a thread cache and the global stack at once. */
+        static final int BATCH_SIZE = 64;
+        
+        /** A batch of released indices on the global free stack. */
+        private static final class FreeBatch {
+            final int[] indices;
+            final FreeBatch next;
+            
+            FreeBatch(int[] indices, FreeBatch next) {
+                this.indices = indices;
+                this.next = next;
+            }
+        }
+        
+        private final AtomicInteger nextIndex = new AtomicInteger();
+        private final AtomicReference<FreeBatch> freeBatches = new AtomicReference<>();
+        /** A thread's cached free indices, valid while its epoch is current. */
+        private static final class LocalFree {
+            final IntStack indices = new IntStack(BATCH_SIZE * 2);
+            int epoch;
+        }
+        
+        private final ThreadLocal<LocalFree> localFree = ThreadLocal.withInitial(LocalFree::new);
+        private final LongAdder freeCount = new LongAdder();
+        private final Object growLock = new Object();
+        private final boolean debugLogging;
+        private volatile int[][] pages;
+        
+        /** Bumped by {@link #restore} to invalidate every thread's cached free indices. */
+        private volatile int epoch;
         
         EntityPool(int initialSize) {
-            generations = new int[initialSize];
-            poolSize = initialSize;
+            this(initialSize, false);
         }
         
-        synchronized int obtain() {
-            int index;
-            if (freeIndices.isEmpty()) {
-                if (nextIndex >= MAX_ENTITIES) {
-                    throw new IllegalStateException("Entity limit exceeded");
-                }
-                index = nextIndex++;
-                if (index >= poolSize) {
-                    growPool();
-                }
-            } else {
-                index = freeIndices.pop();
+        EntityPool(int initialSize, boolean debugLogging) {
+            this.debugLogging = debugLogging;
+            int pageCount = Math.max(1, (initialSize + PAGE_SIZE - 1) >>> PAGE_SHIFT);
+            int[][] initial = new int[pageCount][];
+            for (int i = 0; i < pageCount; i++) {
+                initial[i] = new int[PAGE_SIZE];
             }
+            this.pages = initial;
+        }
+        
+        int obtain() {
+            IntStack local = localFree();
+            if (local.isEmpty()) {
+                refill(local);
+            }
+            if (!local.isEmpty()) {
+                freeCount.decrement();
+                return local.pop();
+            }
+            
+            int index = nextIndex.getAndIncrement();
+            if (index < 0) {
+                throw new IllegalStateException("Entity limit exceeded");
+            }
+            ensurePage(index >>> PAGE_SHIFT);
             return index;
         }
         
-        synchronized void release(int index) {
-            if (index < 0 || index >= poolSize) {
+        /**
+         * Obtains several indices at once. Cached indices are used first and
+         * the rest are reserved from the counter in a single step.
+         */
+        void obtain(int[] out, int count) {
+            IntStack local = localFree();
+            int filled = 0;
+            while (filled < count) {
+                if (local.isEmpty()) {
+                    refill(local);
+                    if (local.isEmpty()) {
+                        break;
+                    }
+                }
+                out[filled++] = local.pop();
+                freeCount.decrement();
+            }
+            
+            int remaining = count - filled;
+            if (remaining == 0) {
+                return;
+            }
+            int first = nextIndex.getAndAdd(remaining);
+            int last = first + remaining - 1;
+            if (first < 0 || last < first) {
+                throw new IllegalStateException("Entity limit exceeded");
+            }
+            ensurePage(last >>> PAGE_SHIFT);
+            for (int index = first; index <= last; index++) {
+                out[filled++] = index;
+            }
+        }
+        
+        void release(int index) {
+            if (index < 0 || index >= nextIndex.get()) {
                 throw new IllegalArgumentException("Invalid entity index");
             }
-            generations[index]++;
-            freeIndices.push(index);
+            pages[index >>> PAGE_SHIFT][index & (PAGE_SIZE - 1)]++;
+            
+            IntStack local = localFree();
+            local.push(index);
+            freeCount.increment();
+            if (local.size() >= BATCH_SIZE * 2) {
+                spill(local);
+            }
         }
         
         int getGeneration(int index) {
-            if (index < 0 || index >= poolSize) {
+            int[][] current = pages;
+            int page = index >>> PAGE_SHIFT;
+            if (index < 0 || page >= current.length) {
                 return -1;
             }
-            return generations[index];
+            return current[page][index & (PAGE_SIZE - 1)];
+        }
+        
+        /**
+         * Checks a handle against the generation array. Releasing an index
+         * bumps its generation, so stale handles never match.
+         */
+        boolean isAlive(long handle) {
+            int index = unpackIndex(handle);
+            return index >= 0 && index < nextIndex.get()
+                && getGeneration(index) == unpackGeneration(handle);
+        }
+        
+        /**
+         * Copies the generations of every index handed out so far into a
+         * target at least {@link #indexCount()} long, returning that count.
+         */
+        int copyGenerations(int[] target) {
+            int count = nextIndex.get();
+            int[][] current = pages;
+            for (int start = 0; start < count; start += PAGE_SIZE) {
+                System.arraycopy(current[start >>> PAGE_SHIFT], 0, target, start,
+                    Math.min(PAGE_SIZE, count - start));
+            }
+            return count;
         }
         
-        private void growPool() {
-            int oldSize = poolSize;
-            poolSize = poolSize * 2;
-            generations = Arrays.copyOf(generations, poolSize);
-            if (JavaBlocksEngine.get().getConfiguration().debugMode) {
-                System.out.println("[ECS] Entity pool grown to " + poolSize);
+        /**
+         * Rewinds the pool to a copied state. Indices handed out since are
+         * forgotten with their generations reset, and the free indices are
+         * cached on the calling thread so they are reused first, lowest first.
+         * Must not run concurrently with obtain or release.
+         */
+        void restore(int count, int[] generations, int[] free, int freeLength) {
+            int previous = nextIndex.get();
+            if (count > 0) {
+                ensurePage((count - 1) >>> PAGE_SHIFT);
+            }
+            int[][] current = pages;
+            for (int start = 0; start < count; start += PAGE_SIZE) {
+                System.arraycopy(generations, start, current[start >>> PAGE_SHIFT], 0,
+                    Math.min(PAGE_SIZE, count - start));
+            }
+            for (int index = count; index < previous; index++) {
+                current[index >>> PAGE_SHIFT][index & (PAGE_SIZE - 1)] = 0;
+            }
+            
+            epoch++;
+            freeBatches.set(null);
+            nextIndex.set(count);
+            IntStack local = localFree();
+            for (int i = freeLength - 1; i >= 0; i--) {
+                local.push(free[i]);
+            }
+            freeCount.reset();
+            freeCount.add(freeLength);
+        }
+        
+        /**
+         * Gets the number of indices handed out so far, free ones included.
+         */
+        int indexCount() {
+            return nextIndex.get();
+        }
+        
+        private IntStack localFree() {
+            LocalFree local = localFree.get();
+            int current = epoch;
+            if (local.epoch != current) {
+                local.indices.clear();
+                local.epoch = current;
+            }
+            return local.indices;
+        }
+        
+        private void refill(IntStack local) {
+            FreeBatch head;
+            do {
+                head = freeBatches.get();
+                if (head == null) {
+                    return;
+                }
+            } while (!freeBatches.compareAndSet(head, head.next));
+            
+            for (int index : head.indices) {
+                local.push(index);
+            }
+        }
+        
+        private void spill(IntStack local) {
+            int[] indices = new int[BATCH_SIZE];
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                indices[i] = local.pop();
+            }
+            
+            FreeBatch head;
+            FreeBatch batch;
+            do {
+                head = freeBatches.get();
+                batch = new FreeBatch(indices, head);
+            } while (!freeBatches.compareAndSet(head, batch));
+        }
+        
+        private void ensurePage(int page) {
+            if (page < pages.length) {
+                return;
+            }
+            
+            // Only the page directory is copied; existing pages are shared,
+            // so concurrent obtain/release on them is unaffected
+            synchronized (growLock) {
+                int[][] current = pages;
+                if (page < current.length) {
+                    return;
+                }
+                int[][] grown = Arrays.copyOf(current, Math.max(page + 1, current.length * 2));
+                for (int i = current.length; i < grown.length; i++) {
+                    grown[i] = new int[PAGE_SIZE];
+                }
+                pages = grown;
+            }
+            if (debugLogging) {
+                System.out.println("[ECS] Entity pool grown to " + capacity());
             }
         }
         
         int size() {
-            return nextIndex - freeIndices.size();
+            return nextIndex.get() - freeCount.intValue();
         }
         
         int capacity() {
-            return poolSize;
+            return pages.length << PAGE_SHIFT;
         }
     }
     
@@ -116,9 +331,6 @@ public final class Entity implements Comparable<Entity> {
     /** The generation counter for this entity. */
     private final int generation;
     
-    /** Cached hash code for performance. */
-    private int hashCode;
-    
     // ==================== Private Constructor ====================
     
     /**
@@ -130,7 +342,6 @@ public final class Entity implements Comparable<Entity> {
     Entity(int index, int generation) {
         this.index = index;
         this.generation = generation;
-        this.hashCode = Objects.hash(index, generation);
     }
     
     // ==================== Factory Methods ====================
@@ -146,13 +357,23 @@ public final class Entity implements Comparable<Entity> {
         return new Entity(index, generation);
     }
     
+    /**
+     * Creates an entity from a packed handle.
+     * 
+     * @param handle The packed handle
+     * @return The entity
+     */
+    static Entity fromHandle(long handle) {
+        return new Entity(unpackIndex(handle), unpackGeneration(handle));
+    }
+    
     /**
      * Gets the null entity.
      * 
-     * @return A null entity
+     * @return The shared null entity
      */
     public static Entity nullEntity() {
-        return new Entity(NULL_ID, 0);
+        return NULL;
     }
     
     // ==================== Accessors ====================
@@ -175,6 +396,15 @@ public final class Entity implements Comparable<Entity> {
         return generation;
     }
     
+    /**
+     * Gets the packed handle of this entity.
+     * 
+     * @return The packed handle
+     */
+    public long getHandle() {
+        return pack(index, generation);
+    }
+    
     /**
      * Checks if this entity is valid (not null).
      * 
@@ -229,7 +459,7 @@ public final class Entity implements Comparable<Entity> {
      */
     @Override
     public int hashCode() {
-        return hashCode;
+        return 31 * index + generation;
     }
     
     /**
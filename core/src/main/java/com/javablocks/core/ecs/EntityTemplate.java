@@ -0,0 +1,192 @@
+/*
+ * JavaBlocks Engine - Entity Template
+ * 
+ * Precompiled component set for bulk entity creation.
+ */
+package com.javablocks.core.ecs;
+
+import com.javablocks.core.components.*;
+import java.util.*;
+
+/**
+ * A reusable description of the components new entities start with,
+ * used by {@link World#createEntities(int, EntityTemplate)}.
+ * 
+ * The first time a template is used with a world it is compiled: component
+ * types are resolved and sorted, the signature mask is built and packed
+ * types are bound to their stores. Every entity of the batch then gets the
+ * same signature and query memberships without per-entity matching.
+ * 
+ * Prototype handling:
+ * - Packed components are copied by value straight into their store columns
+ * - Other components get one {@link Component#copy()} per entity
+ * - Names are only generated when {@link #withGeneratedNames()} is set
+ * 
+ * Changing a template after use is allowed; it is recompiled on next use.
+ * 
+ * @author JavaBlocks Engine Team
+ */
+public final class EntityTemplate {
+    
+    // ==================== Instance Variables ====================
+    
+    /** Prototypes by component class, in declaration order. */
+    private final LinkedHashMap<Class<? extends Component>, Component> prototypes;
+    
+    /** Whether each entity gets a generated {@link NameComponent}. */
+    private boolean generateNames;
+    
+    // ==================== Compiled State ====================
+    
+    /** The world this template was compiled for, or null if stale. */
+    private World compiledFor;
+    
+    /** Signature mask shared by every spawned entity. */
+    long[] mask;
+    
+    /** Object-stored type IDs in ascending order. */
+    int[] objectTypeIds;
+    
+    /** Prototypes parallel to {@link #objectTypeIds}; null at {@link #nameColumn}. */
+    Component[] objectPrototypes;
+    
+    /** Column receiving generated names, or -1. */
+    int nameColumn;
+    
+    /** Packed stores receiving prototype values. */
+    PackedStore<Component>[] packedStores;
+    
+    /** Prototypes parallel to {@link #packedStores}. */
+    Component[] packedPrototypes;
+    
+    // ==================== Constructor ====================
+    
+    /**
+     * Creates an empty template.
+     */
+    public EntityTemplate() {
+        this.prototypes = new LinkedHashMap<>();
+        this.generateNames = false;
+    }
+    
+    // ==================== Declaration ====================
+    
+    /**
+     * Adds a prototype component, replacing any earlier one of the same class.
+     * The prototype is read, never stored on an entity.
+     * 
+     * @param prototype The prototype component
+     * @return This template for chaining
+     */
+    public EntityTemplate with(Component prototype) {
+        Objects.requireNonNull(prototype, "Prototype cannot be null");
+        prototypes.put(prototype.getClass(), prototype);
+        compiledFor = null;
+        return this;
+    }
+    
+    /**
+     * Adds the defaults {@link World#createEntity()} attaches besides the name:
+     * an active {@link ActiveComponent} and a {@link LifetimeComponent}.
+     * 
+     * @return This template for chaining
+     */
+    public EntityTemplate withDefaults() {
+        return with(new ActiveComponent(true)).with(new LifetimeComponent());
+    }
+    
+    /**
+     * Gives every spawned entity a {@code NameComponent("Entity <index>")},
+     * as {@link World#createEntity()} does.
+     * 
+     * @return This template for chaining
+     */
+    public EntityTemplate withGeneratedNames() {
+        generateNames = true;
+        compiledFor = null;
+        return this;
+    }
+    
+    /**
+     * Gets the number of component types spawned entities start with.
+     * 
+     * @return The component type count
+     */
+    public int getComponentCount() {
+        int count = prototypes.size();
+        if (generateNames && !prototypes.containsKey(NameComponent.class)) {
+            count++;
+        }
+        return count;
+    }
+    
+    // ==================== Compilation ====================
+    
+    /**
+     * Compiles this template for a world unless it already is.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    void compile(World world) {
+        if (compiledFor == world) {
+            return;
+        }
+        
+        TreeMap<Integer, Component> objects = new TreeMap<>();
+        List<PackedStore<Component>> stores = new ArrayList<>();
+        List<Component> packed = new ArrayList<>();
+        for (Component prototype : prototypes.values()) {
+            int typeId = prototype.getTypeId();
+            PackedStore<Component> store = world.resolvePackedStore(typeId);
+            if (store != null) {
+                stores.add(store);
+                packed.add(prototype);
+            } else {
+                objects.put(typeId, prototype);
+            }
+        }
+        int nameTypeId = ComponentRegistry.getTypeId(NameComponent.class);
+        if (generateNames) {
+            objects.put(nameTypeId, null);
+        }
+        
+        int[] allTypeIds = new int[objects.size() + stores.size()];
+        objectTypeIds = new int[objects.size()];
+        objectPrototypes = new Component[objects.size()];
+        nameColumn = -1;
+        int column = 0;
+        for (Map.Entry<Integer, Component> entry : objects.entrySet()) {
+            objectTypeIds[column] = entry.getKey();
+            objectPrototypes[column] = entry.getValue();
+            if (generateNames && entry.getKey() == nameTypeId) {
+                nameColumn = column;
+            }
+            allTypeIds[column] = entry.getKey();
+            column++;
+        }
+        for (int i = 0; i < stores.size(); i++) {
+            allTypeIds[column + i] = packed.get(i).getTypeId();
+        }
+        
+        mask = ComponentSignatures.mask(allTypeIds);
+        packedStores = stores.toArray(new PackedStore[0]);
+        packedPrototypes = packed.toArray(new Component[0]);
+        compiledFor = world;
+    }
+    
+    /**
+     * Gets a string representation of this template.
+     * 
+     * @return String representation
+     */
+    @Override
+    public String toString() {
+        StringJoiner joiner = new StringJoiner(", ", "EntityTemplate[", "]");
+        for (Class<? extends Component> componentClass : prototypes.keySet()) {
+            joiner.add(componentClass.getSimpleName());
+        }
+        if (generateNames) {
+            joiner.add("generated names");
+        }
+        return joiner.toString();
+    }
+}
@@ -8,7 +8,9 @@ package com.javablocks.core.ecs;
 
 import com.javablocks.core.*;
 import com.javablocks.core.events.*;
+import com.javablocks.core.utils.*;
 import java.util.*;
+import java.util.function.*;
 
 /**
  * Base class for all game systems.
@@ -23,6 +25,44 @@ import java.util.*;
  * - Use priority to control execution order
  * - Enable/disable systems for conditional processing
  * 
+ * Queries:
+ * - Declare {@link Query} objects with addQuery(), typically in the constructor
+ * - The world registers them before initialize() and keeps them up to date
+ * 
+ * Component Access:
+ * - Declare reads() and writes() in the constructor to allow parallel updates
+ * - Systems whose access does not conflict may run concurrently on the
+ *   engine's game logic pool; undeclared systems always run alone
+ * - Systems sharing a stage must not add or remove components or create
+ *   entities directly; record them into commands() instead, which is
+ *   played back after the stage. destroyEntity() is safe from any thread
+ * 
+ * Update Rates:
+ * - setUpdateInterval(): run every N frames, staggered by registration
+ *   order unless a phase is given, so expensive systems do not all land
+ *   on the same frame
+ * - setUpdateRate(): run at a fixed frequency in Hz
+ * - Reduced-rate systems receive the time elapsed since their last run
+ * - setTimeSlice(): forEachSlice() visits a bounded part of a query per
+ *   update and resumes where the previous update stopped
+ * - setDeferrable(): the world may postpone the system while the frame is
+ *   over its budget, for at most MAX_DEFERRED_FRAMES frames in a row
+ * - Rates, budgets and slices apply to update() only; fixedUpdate() runs
+ *   on every fixed step
+ * 
+ * Jobs:
+ * - jobs() schedules dependent jobs and parallel-for ranges on the system
+ *   pool; complete() their handles before using the results, and the
+ *   world completes the rest at the end of the update
+ * 
+ * Component Mappers:
+ * - mapper() returns a {@link ComponentMapper} that resolves the type once
+ *   and indexes its storage directly; fetch mappers in initialize()
+ * 
+ * Statistics:
+ * - The world times every update, including overrides of update()
+ * - p50/p95/p99/max come from a histogram of the last TIMING_WINDOW updates
+ * 
  * Lifecycle Methods:
  * - initialize(): Called when system is added to world
  * - update(): Called each frame with delta time
@@ -51,6 +91,12 @@ public abstract class GameSystem {
     /** Lowest priority (processed last). */
     public static final int PRIORITY_LOWEST = Integer.MAX_VALUE;
     
+    /** Number of recent updates kept for timing percentiles. */
+    public static final int TIMING_WINDOW = 600;
+    
+    /** Most consecutive frames a deferrable system can be postponed. */
+    public static final int MAX_DEFERRED_FRAMES = 8;
+    
     // ==================== Instance Variables ====================
     
     /** The priority of this system. Lower values are processed first. */
@@ -68,11 +114,76 @@ public abstract class GameSystem {
     /** System name for debugging. */
     private final String name;
     
+    /** Queries declared by this system. */
+    private final List<Query> queries;
+    
+    /** Component type IDs this system reads. */
+    private final BitSet readTypes;
+    
+    /** Component type IDs this system writes. */
+    private final BitSet writeTypes;
+    
+    /** Whether reads() or writes() has been called. */
+    private boolean accessDeclared;
+    
+    /** Deferred structural changes, created on first use. */
+    private CommandBuffer commands;
+    
+    /** Change ticks of the current and previous update. */
+    private int updateTick;
+    private int lastUpdateTick;
+    
+    /** Change ticks of the current and previous fixed update. */
+    private int fixedUpdateTick;
+    private int lastFixedUpdateTick;
+    
+    /** Whether the phase being run is the fixed update. */
+    private boolean inFixedUpdate;
+    
+    /** Run every this many frames. */
+    private int updateInterval;
+    
+    /** Frame offset within the interval, or -1 to stagger automatically. */
+    private int updatePhase;
+    
+    /** Stagger slot assigned by the scheduler for automatic phases. */
+    private int staggerSlot;
+    
+    /** Seconds between runs at a fixed rate, or 0 to use the interval. */
+    private float updatePeriod;
+    
+    /** Time accumulated towards the next fixed-rate run. */
+    private float rateAccumulator;
+    
+    /** Delta accumulated since the last run. */
+    private float pendingDelta;
+    
+    /** Whether a due run was postponed by the frame budget. */
+    private boolean runPending;
+    
+    /** Whether the frame budget may postpone this system. */
+    private boolean deferrable;
+    
+    /** Consecutive frames this system has been postponed. */
+    private int deferredFrames;
+    
+    /** Number of runs postponed by the frame budget. */
+    private long deferCount;
+    
+    /** Query members visited per update by forEachSlice(), or 0 for all. */
+    private int timeSlice;
+    
+    /** Next slot of each declared query for forEachSlice(). */
+    private int[] sliceCursors;
+    
     /** Execution statistics. */
     private long totalExecutionTime;
     private int executionCount;
     private float lastExecutionTime;
     
+    /** Update durations in nanoseconds over the recent frames. */
+    private final LatencyHistogram executionHistogram;
+    
     // ==================== Constructor ====================
     
     /**
@@ -93,9 +204,17 @@ public abstract class GameSystem {
         this.initialized = false;
         this.world = null;
         this.name = getClass().getSimpleName();
+        this.queries = new ArrayList<>();
+        this.readTypes = new BitSet();
+        this.writeTypes = new BitSet();
+        this.accessDeclared = false;
+        this.updateInterval = 1;
+        this.updatePhase = -1;
+        this.sliceCursors = new int[0];
         this.totalExecutionTime = 0;
         this.executionCount = 0;
         this.lastExecutionTime = 0;
+        this.executionHistogram = new LatencyHistogram(TIMING_WINDOW);
     }
     
     // ==================== Lifecycle ====================
@@ -118,18 +237,7 @@ public abstract class GameSystem {
      * @param deltaTime Time since last update in seconds
      */
     public void update(float deltaTime) {
-        long startTime = System.nanoTime();
-        
-        try {
-            onUpdate(deltaTime);
-        } finally {
-            long endTime = System.nanoTime();
-            long executionTime = endTime - startTime;
-            
-            totalExecutionTime += executionTime;
-            executionCount++;
-            lastExecutionTime = executionTime / 1_000_000f;
-        }
+        onUpdate(deltaTime);
     }
     
     /**
@@ -236,6 +344,218 @@ public abstract class GameSystem {
         this.enabled = enabled;
     }
     
+    // ==================== Update Rate ====================
+    
+    /**
+     * Runs this system every N frames. The phase is staggered automatically
+     * against other systems with the same interval.
+     * 
+     * @param frames Frames between runs; 1 runs every frame
+     */
+    public void setUpdateInterval(int frames) {
+        setUpdateInterval(frames, -1);
+    }
+    
+    /**
+     * Runs this system every N frames, on the frames whose number modulo
+     * the interval equals the phase.
+     * 
+     * @param frames Frames between runs; 1 runs every frame
+     * @param phase Frame offset in {@code [0, frames)}, or -1 to stagger
+     *              automatically
+     */
+    public void setUpdateInterval(int frames, int phase) {
+        if (frames <= 0) {
+            throw new IllegalArgumentException("Update interval must be positive: " + frames);
+        }
+        if (phase < -1 || phase >= frames) {
+            throw new IllegalArgumentException("Phase must be in [0, " + frames + "): " + phase);
+        }
+        this.updateInterval = frames;
+        this.updatePhase = phase;
+        this.updatePeriod = 0;
+    }
+    
+    /**
+     * Runs this system at a fixed frequency, at most once per frame.
+     * 
+     * @param hz Runs per second, or 0 to run every frame
+     */
+    public void setUpdateRate(float hz) {
+        if (hz < 0 || Float.isNaN(hz)) {
+            throw new IllegalArgumentException("Update rate cannot be negative: " + hz);
+        }
+        this.updatePeriod = hz == 0 ? 0 : 1f / hz;
+        this.rateAccumulator = 0;
+        this.updateInterval = 1;
+        this.updatePhase = -1;
+    }
+    
+    /**
+     * Gets the number of frames between runs.
+     * 
+     * @return The update interval; 1 when running at a fixed rate
+     */
+    public int getUpdateInterval() {
+        return updateInterval;
+    }
+    
+    /**
+     * Gets the fixed update frequency.
+     * 
+     * @return Runs per second, or 0 if not running at a fixed rate
+     */
+    public float getUpdateRate() {
+        return updatePeriod == 0 ? 0 : 1f / updatePeriod;
+    }
+    
+    /**
+     * Sets whether the world may postpone this system while the frame is
+     * over its budget. Postponed runs happen on a later frame with the
+     * accumulated delta.
+     * 
+     * @param deferrable true to allow postponing
+     */
+    public void setDeferrable(boolean deferrable) {
+        this.deferrable = deferrable;
+    }
+    
+    /**
+     * Checks if the world may postpone this system.
+     * 
+     * @return true if deferrable
+     */
+    public boolean isDeferrable() {
+        return deferrable;
+    }
+    
+    /**
+     * Gets the number of runs postponed by the frame budget.
+     * 
+     * @return The defer count
+     */
+    public long getDeferCount() {
+        return deferCount;
+    }
+    
+    /**
+     * Assigns the slot used to stagger automatic phases. Called by the
+     * scheduler when stages are rebuilt.
+     * 
+     * @param slot Ordinal among systems with the same interval
+     */
+    void setStaggerSlot(int slot) {
+        this.staggerSlot = slot;
+    }
+    
+    /**
+     * Decides whether this system runs in the current frame, accumulating
+     * the delta of frames it skips.
+     * 
+     * @param frame The scheduler's frame number
+     * @param deltaTime The frame's delta
+     * @param overBudget Whether the frame is over its budget
+     * @return true if the system should run
+     */
+    boolean scheduleUpdate(long frame, float deltaTime, boolean overBudget) {
+        pendingDelta += deltaTime;
+        boolean due;
+        if (updatePeriod > 0) {
+            rateAccumulator += deltaTime;
+            due = runPending || rateAccumulator >= updatePeriod;
+        } else {
+            int phase = updatePhase >= 0 ? updatePhase : staggerSlot % updateInterval;
+            due = runPending || Math.floorMod(frame, updateInterval) == phase;
+        }
+        if (!due) {
+            return false;
+        }
+        if (overBudget && deferrable && deferredFrames < MAX_DEFERRED_FRAMES) {
+            runPending = true;
+            deferredFrames++;
+            deferCount++;
+            return false;
+        }
+        return true;
+    }
+    
+    /**
+     * Takes the delta accumulated since the last run and resets the
+     * scheduling state for the run about to happen.
+     * 
+     * @return The delta to pass to update()
+     */
+    float consumeUpdateDelta() {
+        float delta = pendingDelta;
+        pendingDelta = 0;
+        runPending = false;
+        deferredFrames = 0;
+        if (updatePeriod > 0) {
+            // Keep the remainder, but never bank more than one extra run
+            rateAccumulator = Math.min(Math.max(0, rateAccumulator - updatePeriod), updatePeriod);
+        }
+        return delta;
+    }
+    
+    // ==================== Time Slicing ====================
+    
+    /**
+     * Limits how many query members forEachSlice() visits per update.
+     * 
+     * @param entitiesPerUpdate Members visited per update, or 0 for all
+     */
+    public void setTimeSlice(int entitiesPerUpdate) {
+        if (entitiesPerUpdate < 0) {
+            throw new IllegalArgumentException("Time slice cannot be negative: " + entitiesPerUpdate);
+        }
+        this.timeSlice = entitiesPerUpdate;
+    }
+    
+    /**
+     * Gets how many query members forEachSlice() visits per update.
+     * 
+     * @return The time slice, or 0 for all
+     */
+    public int getTimeSlice() {
+        return timeSlice;
+    }
+    
+    /**
+     * Visits the next slice of a query's members, continuing from where the
+     * previous call for the query stopped and wrapping around at the end.
+     * 
+     * Members are visited from the back, so removing the current entity is
+     * safe. Members added or removed between calls may shift the cursor, so
+     * one sweep can skip or repeat a few entities.
+     * 
+     * @param query A query declared with addQuery()
+     * @param consumer Receives each visited packed handle
+     * @return The number of members visited
+     */
+    protected final int forEachSlice(Query query, LongConsumer consumer) {
+        int q = queries.indexOf(query);
+        if (q < 0) {
+            throw new IllegalArgumentException("Query was not declared by this system");
+        }
+        if (sliceCursors.length < queries.size()) {
+            sliceCursors = Arrays.copyOf(sliceCursors, queries.size());
+        }
+        
+        int size = query.size();
+        int count = timeSlice == 0 ? size : Math.min(timeSlice, size);
+        int slot = sliceCursors[q];
+        int visited = 0;
+        for (; visited < count && !query.isEmpty(); visited++) {
+            if (slot <= 0 || slot > query.size()) {
+                slot = query.size();
+            }
+            slot--;
+            consumer.accept(query.getHandle(slot));
+        }
+        sliceCursors[q] = slot;
+        return visited;
+    }
+    
     // ==================== World Access ====================
     
     /**
@@ -276,8 +596,178 @@ public abstract class GameSystem {
         return world.getSignalRegistry();
     }
     
+    // ==================== Component Access ====================
+    
+    /**
+     * Declares component types this system reads.
+     * Call from the constructor, before the system is added to a world.
+     * 
+     * @param componentClasses The component classes read
+     */
+    @SafeVarargs
+    @SuppressWarnings("varargs")
+    protected final void reads(Class<? extends Component>... componentClasses) {
+        declare(readTypes, componentClasses);
+    }
+    
+    /**
+     * Declares component types this system writes. Writing implies reading.
+     * Call from the constructor, before the system is added to a world.
+     * 
+     * @param componentClasses The component classes written
+     */
+    @SafeVarargs
+    @SuppressWarnings("varargs")
+    protected final void writes(Class<? extends Component>... componentClasses) {
+        declare(writeTypes, componentClasses);
+        declare(readTypes, componentClasses);
+    }
+    
+    /**
+     * Checks if this system has declared its component access.
+     * Systems that have not are never run concurrently with others.
+     * 
+     * @return true if access is declared
+     */
+    public boolean declaresAccess() {
+        return accessDeclared;
+    }
+    
+    BitSet getReadTypes() {
+        return readTypes;
+    }
+    
+    BitSet getWriteTypes() {
+        return writeTypes;
+    }
+    
+    private void declare(BitSet types, Class<? extends Component>[] componentClasses) {
+        for (Class<? extends Component> componentClass : componentClasses) {
+            types.set(ComponentRegistry.getTypeId(
+                Objects.requireNonNull(componentClass, "Component class cannot be null")));
+        }
+        accessDeclared = true;
+    }
+    
+    /**
+     * Gets the world's mapper for a component type. Call once, for example
+     * in {@link #initialize}, and keep the mapper in a field.
+     * 
+     * @param componentClass The component class
+     * @param <T> The component type
+     * @return The mapper
+     * @throws IllegalStateException if not added to a world
+     */
+    protected final <T extends Component> ComponentMapper<T> mapper(Class<T> componentClass) {
+        if (world == null) {
+            throw new IllegalStateException(
+                "System is not attached to a world. Call addSystem() on World first."
+            );
+        }
+        return world.getMapper(componentClass);
+    }
+    
+    // ==================== Structural Changes ====================
+    
+    /**
+     * Gets this system's command buffer. Commands recorded during an update
+     * are played back at the sync point after the system's stage, in system
+     * update order, so systems running concurrently can request structural
+     * changes without touching the world.
+     * 
+     * @return This system's command buffer
+     */
+    protected final CommandBuffer commands() {
+        if (commands == null) {
+            commands = new CommandBuffer();
+        }
+        return commands;
+    }
+    
+    /**
+     * Gets this system's command buffer if it has been used.
+     * 
+     * @return The command buffer, or null
+     */
+    CommandBuffer getCommandBuffer() {
+        return commands;
+    }
+    
+    /**
+     * Gets the world's job system for fanning work out within an update.
+     * 
+     * @return The job system
+     * @throws IllegalStateException if not added to a world
+     */
+    protected final JobSystem jobs() {
+        if (world == null) {
+            throw new IllegalStateException(
+                "System is not attached to a world. Call addSystem() on World first."
+            );
+        }
+        return world.getJobSystem();
+    }
+    
+    // ==================== Change Detection ====================
+    
+    /**
+     * Gets the change tick of this system's previous run of the current
+     * phase (update or fixedUpdate), for use with
+     * {@link Query#changedSince} and {@link Query#addedSince}. Changes made
+     * by this system itself during that run are not reported again.
+     * 
+     * @return The previous run's tick, or 0 if this is the first run
+     */
+    public int getLastRunTick() {
+        return inFixedUpdate ? lastFixedUpdateTick : lastUpdateTick;
+    }
+    
+    /**
+     * Records the start of a run at a change tick.
+     * 
+     * @param tick The stage's change tick
+     * @param fixed true for fixedUpdate, false for update
+     */
+    void beginRun(int tick, boolean fixed) {
+        inFixedUpdate = fixed;
+        if (fixed) {
+            lastFixedUpdateTick = fixedUpdateTick;
+            fixedUpdateTick = tick;
+        } else {
+            lastUpdateTick = updateTick;
+            updateTick = tick;
+        }
+    }
+    
     // ==================== Entity Queries ====================
     
+    /**
+     * Declares a query used by this system.
+     * Queries declared before the system is added are registered by the world
+     * when the system is added; later declarations are registered immediately.
+     * 
+     * @param query The query to declare
+     * @return The query, for assignment to a field
+     * @throws IllegalStateException if declared while systems run in a parallel stage
+     */
+    protected final Query addQuery(Query query) {
+        Objects.requireNonNull(query, "Query cannot be null");
+        if (world != null) {
+            world.registerQuery(query);
+        }
+        queries.add(query);
+        return query;
+    }
+    
+    /**
+     * Gets the queries declared by this system.
+     * 
+     * @return An unmodifiable list of queries
+     */
+    public List<Query> getQueries() {
+        return Collections.unmodifiableList(queries);
+    }
+    
     /**
      * Gets all entities with specific components.
      * 
@@ -344,6 +834,38 @@ public abstract class GameSystem {
         return lastExecutionTime;
     }
     
+    /**
+     * Gets the histogram of recent update durations in nanoseconds.
+     * 
+     * @return The execution histogram
+     */
+    public LatencyHistogram getExecutionHistogram() {
+        return executionHistogram;
+    }
+    
+    /**
+     * Gets a percentile of the recent update durations in milliseconds.
+     * 
+     * @param percentile The percentile, from 0 to 100
+     * @return The duration at that percentile
+     */
+    public float getExecutionTimePercentile(double percentile) {
+        return executionHistogram.getPercentile(percentile) / 1_000_000f;
+    }
+    
+    /**
+     * Records one update's duration. Called by the world around every
+     * update, including overrides of {@link #update(float)}.
+     * 
+     * @param executionTime The duration in nanoseconds
+     */
+    void recordExecution(long executionTime) {
+        totalExecutionTime += executionTime;
+        executionCount++;
+        lastExecutionTime = executionTime / 1_000_000f;
+        executionHistogram.record(executionTime);
+    }
+    
     /**
      * Resets execution statistics.
      */
@@ -351,6 +873,7 @@ public abstract class GameSystem {
         totalExecutionTime = 0;
         executionCount = 0;
         lastExecutionTime = 0;
+        executionHistogram.reset();
     }
     
     // ==================== Debug Information ====================
@@ -375,10 +898,22 @@ public abstract class GameSystem {
         info.put("Priority", priority);
         info.put("Enabled", enabled);
         info.put("Initialized", initialized);
+        info.put("Queries", queries.size());
+        info.put("Reads", accessDeclared ? readTypes.cardinality() : "undeclared");
+        info.put("Writes", accessDeclared ? writeTypes.cardinality() : "undeclared");
+        info.put("Update Interval", updateInterval);
+        info.put("Update Rate (Hz)", getUpdateRate());
+        info.put("Time Slice", timeSlice);
+        info.put("Deferrable", deferrable);
+        info.put("Defer Count", deferCount);
         info.put("Execution Count", executionCount);
         info.put("Total Time (ms)", totalExecutionTime / 1_000_000.0);
         info.put("Average Time (ms)", getAverageExecutionTime());
         info.put("Last Time (ms)", lastExecutionTime);
+        info.put("P50 Time (ms)", getExecutionTimePercentile(50));
+        info.put("P95 Time (ms)", getExecutionTimePercentile(95));
+        info.put("P99 Time (ms)", getExecutionTimePercentile(99));
+        info.put("Max Time (ms)", executionHistogram.getMax() / 1_000_000f);
         return info;
     }
     
@@ -0,0 +1,331 @@
+/*
+ * JavaBlocks Engine - Hierarchy
+ * 
+ * Flat-array parent/child links between entities.
+ */
+package com.javablocks.core.ecs;
+
+import com.javablocks.core.utils.IntStack;
+import java.util.*;
+
+/**
+ * Parent/child relationships between entities, stored as flat int arrays
+ * indexed by entity index.
+ * 
+ * Features:
+ * - Parent, first and last child, previous and next sibling per entity,
+ *   so appending and unlinking a child are O(1)
+ * - Direct child counts and depths, kept current on every change
+ * - Traversals walk the arrays and never touch components
+ * 
+ * Children are kept in insertion order. Links are entity indices, -1 for
+ * none; World translates them to handles. Structural changes go through
+ * World, which also cascades destruction through subtrees.
+ * 
+ * @author JavaBlocks Engine Team
+ */
+final class Hierarchy {
+    
+    // ==================== Constants ====================
+    
+    /** Link value for no entity. */
+    static final int NONE = -1;
+    
+    // ==================== Instance Variables ====================
+    
+    /** Parent index per entity. */
+    private int[] parent;
+    
+    /** First child index per entity. */
+    private int[] firstChild;
+    
+    /** Last child index per entity. */
+    private int[] lastChild;
+    
+    /** Previous sibling index per entity. */
+    private int[] prevSibling;
+    
+    /** Next sibling index per entity. */
+    private int[] nextSibling;
+    
+    /** Direct child count per entity. */
+    private int[] childCount;
+    
+    /** Depth per entity, 0 for roots. */
+    private int[] depth;
+    
+    /** One past the highest entity index ever linked. */
+    private int extent;
+    
+    /** Scratch stack for subtree walks. */
+    private final IntStack stack;
+    
+    /** Bumped on every structural change. */
+    private int version;
+    
+    // ==================== Constructor ====================
+    
+    /**
+     * Creates empty hierarchy storage.
+     * 
+     * @param initialEntities Initial number of entity slots
+     */
+    Hierarchy(int initialEntities) {
+        int capacity = Math.max(16, initialEntities);
+        this.parent = filled(capacity);
+        this.firstChild = filled(capacity);
+        this.lastChild = filled(capacity);
+        this.prevSibling = filled(capacity);
+        this.nextSibling = filled(capacity);
+        this.childCount = new int[capacity];
+        this.depth = new int[capacity];
+        this.stack = new IntStack(64);
+    }
+    
+    // ==================== Links ====================
+    
+    /** Gets the parent index, or {@link #NONE}. */
+    int parentOf(int index) {
+        return index < extent ? parent[index] : NONE;
+    }
+    
+    /** Gets the first child index, or {@link #NONE}. */
+    int firstChildOf(int index) {
+        return index < extent ? firstChild[index] : NONE;
+    }
+    
+    /** Gets the next sibling index, or {@link #NONE}. */
+    int nextSiblingOf(int index) {
+        return index < extent ? nextSibling[index] : NONE;
+    }
+    
+    /** Gets the previous sibling index, or {@link #NONE}. */
+    int prevSiblingOf(int index) {
+        return index < extent ? prevSibling[index] : NONE;
+    }
+    
+    /** Gets the number of direct children. */
+    int childCountOf(int index) {
+        return index < extent ? childCount[index] : 0;
+    }
+    
+    /** Gets the depth, 0 for roots and unlinked entities. */
+    int depthOf(int index) {
+        return index < extent ? depth[index] : 0;
+    }
+    
+    /**
+     * Checks if an entity has a parent or children.
+     * 
+     * @param index The entity index
+     * @return true if the entity is linked to another
+     */
+    boolean isLinked(int index) {
+        return index < extent && (parent[index] != NONE || firstChild[index] != NONE);
+    }
+    
+    /**
+     * Checks if an entity is an ancestor of another, or the same entity.
+     * Costs O(depth).
+     * 
+     * @param ancestor The possible ancestor index
+     * @param index The entity index
+     * @return true if {@code ancestor} is {@code index} or above it
+     */
+    boolean isAncestorOrSelf(int ancestor, int index) {
+        for (int node = index; node != NONE; node = parentOf(node)) {
+            if (node == ancestor) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Gets a counter that changes whenever links or depths change, so
+     * callers can cache orderings derived from the hierarchy.
+     * 
+     * @return The structural version
+     */
+    int getVersion() {
+        return version;
+    }
+    
+    // ==================== Structural Operations ====================
+    
+    /**
+     * Moves an entity under a new parent, appending it as the last child,
+     * and updates the depths of its subtree. The caller rules out cycles.
+     * 
+     * @param child The entity index
+     * @param newParent The parent index, or {@link #NONE} to make it a root
+     * @return true if the parent changed
+     */
+    boolean setParent(int child, int newParent) {
+        ensureCapacity(Math.max(child, newParent));
+        if (parent[child] == newParent) {
+            return false;
+        }
+        
+        unlink(child);
+        if (newParent != NONE) {
+            int last = lastChild[newParent];
+            if (last == NONE) {
+                firstChild[newParent] = child;
+            } else {
+                nextSibling[last] = child;
+                prevSibling[child] = last;
+            }
+            lastChild[newParent] = child;
+            parent[child] = newParent;
+            childCount[newParent]++;
+        }
+        updateDepths(child, newParent == NONE ? 0 : depth[newParent] + 1);
+        version++;
+        return true;
+    }
+    
+    /**
+     * Removes an entity that is being destroyed. It is unlinked from its
+     * parent and its children are orphaned without updating their
+     * subtrees, as they are destroyed in the same batch.
+     * 
+     * @param index The entity index
+     */
+    void remove(int index) {
+        if (!isLinked(index)) {
+            return;
+        }
+        
+        unlink(index);
+        for (int child = firstChild[index]; child != NONE; ) {
+            int next = nextSibling[child];
+            parent[child] = NONE;
+            prevSibling[child] = NONE;
+            nextSibling[child] = NONE;
+            depth[child] = 0;
+            child = next;
+        }
+        firstChild[index] = NONE;
+        lastChild[index] = NONE;
+        childCount[index] = 0;
+        depth[index] = 0;
+        version++;
+    }
+    
+    /**
+     * Makes this hierarchy a copy of the first entities of another, and
+     * clears every entity beyond them. Arrays are copied in bulk.
+     * 
+     * @param source The source hierarchy
+     * @param count The number of entity slots to copy
+     */
+    void copyFrom(Hierarchy source, int count) {
+        int copied = Math.min(count, source.extent);
+        if (copied > 0) {
+            ensureCapacity(copied - 1);
+        }
+        System.arraycopy(source.parent, 0, parent, 0, copied);
+        System.arraycopy(source.firstChild, 0, firstChild, 0, copied);
+        System.arraycopy(source.lastChild, 0, lastChild, 0, copied);
+        System.arraycopy(source.prevSibling, 0, prevSibling, 0, copied);
+        System.arraycopy(source.nextSibling, 0, nextSibling, 0, copied);
+        System.arraycopy(source.childCount, 0, childCount, 0, copied);
+        System.arraycopy(source.depth, 0, depth, 0, copied);
+        if (extent > copied) {
+            reset(copied, extent);
+        }
+        extent = copied;
+        version++;
+    }
+    
+    /**
+     * Removes every link.
+     */
+    void clear() {
+        reset(0, extent);
+        extent = 0;
+        version++;
+    }
+    
+    // ==================== Internal ====================
+    
+    private void unlink(int child) {
+        int oldParent = parent[child];
+        if (oldParent == NONE) {
+            return;
+        }
+        
+        int prev = prevSibling[child];
+        int next = nextSibling[child];
+        if (prev == NONE) {
+            firstChild[oldParent] = next;
+        } else {
+            nextSibling[prev] = next;
+        }
+        if (next == NONE) {
+            lastChild[oldParent] = prev;
+        } else {
+            prevSibling[next] = prev;
+        }
+        childCount[oldParent]--;
+        parent[child] = NONE;
+        prevSibling[child] = NONE;
+        nextSibling[child] = NONE;
+    }
+    
+    private void updateDepths(int root, int rootDepth) {
+        if (depth[root] == rootDepth) {
+            return;
+        }
+        
+        stack.clear();
+        stack.push(root);
+        depth[root] = rootDepth;
+        while (!stack.isEmpty()) {
+            int node = stack.pop();
+            for (int child = firstChild[node]; child != NONE; child = nextSibling[child]) {
+                depth[child] = depth[node] + 1;
+                stack.push(child);
+            }
+        }
+    }
+    
+    private void reset(int from, int to) {
+        Arrays.fill(parent, from, to, NONE);
+        Arrays.fill(firstChild, from, to, NONE);
+        Arrays.fill(lastChild, from, to, NONE);
+        Arrays.fill(prevSibling, from, to, NONE);
+        Arrays.fill(nextSibling, from, to, NONE);
+        Arrays.fill(childCount, from, to, 0);
+        Arrays.fill(depth, from, to, 0);
+    }
+    
+    private void ensureCapacity(int index) {
+        if (index >= parent.length) {
+            int oldLength = parent.length;
+            int length = Math.max(oldLength * 2, index + 1);
+            parent = grown(parent, length);
+            firstChild = grown(firstChild, length);
+            lastChild = grown(lastChild, length);
+            prevSibling = grown(prevSibling, length);
+            nextSibling = grown(nextSibling, length);
+            childCount = Arrays.copyOf(childCount, length);
+            depth = Arrays.copyOf(depth, length);
+        }
+        extent = Math.max(extent, index + 1);
+    }
+    
+    private static int[] filled(int length) {
+        int[] links = new int[length];
+        Arrays.fill(links, NONE);
+        return links;
+    }
+    
+    private static int[] grown(int[] links, int length) {
+        int oldLength = links.length;
+        links = Arrays.copyOf(links, length);
+        Arrays.fill(links, oldLength, length, NONE);
+        return links;
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * JavaBlocks Engine - Interpolated Transform Component
+ * 
+ * Render-side transform blended between fixed simulation steps.
+ */
+package com.javablocks.core.ecs;
+
+import com.badlogic.gdx.math.*;
+
+/**
+ * Opt-in companion to {@link TransformComponent} for entities simulated in
+ * fixed steps but rendered every frame.
+ * 
+ * {@link TransformInterpolationSystem} records the local transform at the
+ * start of each fixed step and, every frame, blends that previous state
+ * toward the current one by the engine's interpolation alpha. Renderers
+ * read the render fields instead of the transform's local fields.
+ * 
+ * Features:
+ * - Previous local position, rotation and scale
+ * - Render position, rotation and scale blended each frame
+ * - Snaps to the current transform until the first step is recorded
+ * 
+ * @author JavaBlocks Engine Team
+ */
+public final class InterpolatedTransformComponent implements Component {
+    
+    // ==================== Previous State ====================
+    
+    /** Local position at the start of the latest fixed step. */
+    public final Vector3 previousPosition;
+    
+    /** Local rotation at the start of the latest fixed step. */
+    public final Quaternion previousRotation;
+    
+    /** Local scale at the start of the latest fixed step. */
+    public final Vector3 previousScale;
+    
+    // ==================== Render State ====================
+    
+    /** Position to render this frame. */
+    public final Vector3 renderPosition;
+    
+    /** Rotation to render this frame. */
+    public final Quaternion renderRotation;
+    
+    /** Scale to render this frame. */
+    public final Vector3 renderScale;
+    
+    /** Whether the previous state has been recorded. */
+    boolean captured;
+    
+    // ==================== Constructor ====================
+    
+    /**
+     * Creates an interpolated transform at the origin.
+     */
+    public InterpolatedTransformComponent() {
+        this.previousPosition = new Vector3();
+        this.previousRotation = new Quaternion();
+        this.previousScale = new Vector3(1, 1, 1);
+        this.renderPosition = new Vector3();
+        this.renderRotation = new Quaternion();
+        this.renderScale = new Vector3(1, 1, 1);
+        this.captured = false;
+    }
+    
+    // ==================== Interpolation ====================
+    
+    /**
+     * Records the transform's current local state as the previous state.
+     * 
+     * @param transform The simulated transform
+     */
+    public void capture(TransformComponent transform) {
+        previousPosition.set(transform.position);
+        previousRotation.set(transform.rotation);
+        previousScale.set(transform.scale);
+        captured = true;
+    }
+    
+    /**
+     * Blends the previous state toward the transform's current local state.
+     * 
+     * @param transform The simulated transform
+     * @param alpha Blend factor, 0 for the previous state and 1 for the current
+     */
+    public void interpolate(TransformComponent transform, float alpha) {
+        if (!captured) {
+            snap(transform);
+            return;
+        }
+        renderPosition.set(previousPosition).lerp(transform.position, alpha);
+        renderRotation.set(previousRotation).slerp(transform.rotation, alpha);
+        renderScale.set(previousScale).lerp(transform.scale, alpha);
+    }
+    
+    /**
+     * Makes the previous and render state equal the transform's current
+     * local state, e.g. after teleporting an entity.
+     * 
+     * @param transform The simulated transform
+     */
+    public void snap(TransformComponent transform) {
+        capture(transform);
+        renderPosition.set(transform.position);
+        renderRotation.set(transform.rotation);
+        renderScale.set(transform.scale);
+    }
+    
+    // ==================== Component ====================
+    
+    /**
+     * Creates a copy of this component.
+     * 
+     * @return A new component with copied values
+     */
+    @Override
+    public InterpolatedTransformComponent copy() {
+        InterpolatedTransformComponent copy = new InterpolatedTransformComponent();
+        copy.previousPosition.set(previousPosition);
+        copy.previousRotation.set(previousRotation);
+        copy.previousScale.set(previousScale);
+        copy.renderPosition.set(renderPosition);
+        copy.renderRotation.set(renderRotation);
+        copy.renderScale.set(renderScale);
+        copy.captured = captured;
+        return copy;
+    }
+    
+    /**
+     * Resets this component to default values.
+     */
+    @Override
+    public void reset() {
+        previousPosition.set(0, 0, 0);
+        previousRotation.idt();
+        previousScale.set(1, 1, 1);
+        renderPosition.set(0, 0, 0);
+        renderRotation.idt();
+        renderScale.set(1, 1, 1);
+        captured = false;
+    }
+    
+    /**
+     * Gets a string representation of this component.
+     * 
+     * @return String representation
+     */
+    @Override
+    public String toString() {
+        return "InterpolatedTransform(renderPosition=" + renderPosition + ")";
+    }
+}
@@ -0,0 +1,31 @@
+/*
+ * JavaBlocks Engine - Packed Annotation
+ * 
+ * Marks primitive-only components for generated struct-of-arrays storage.
+ */
+package com.javablocks.core.ecs;
+
+import java.lang.annotation.*;
+
+/**
+ * Marks a component whose instance fields are all primitives for packed storage.
+ * 
+ * The {@code processor} module generates a {@code <Component>Store} class next
+ * to each annotated component. The store extends {@link PackedStore} and keeps
+ * one primitive array per field, so with
+ * {@link com.javablocks.core.JavaBlocksEngine.EngineConfiguration#packedComponents}
+ * enabled the world never holds a heap object per entity for the type.
+ * 
+ * Requirements checked by the processor:
+ * - Top-level, non-abstract class implementing {@link Component}
+ * - A non-private no-argument constructor
+ * - Instance fields that are primitive, non-final and non-private
+ *   (the generated store lives in the same package and accesses them directly)
+ * 
+ * @author JavaBlocks Engine Team
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface Packed {
+}
@@ -0,0 +1,349 @@
+/*
+ * JavaBlocks Engine - Packed Store
+ * 
+ * Base class for generated struct-of-arrays component storage.
+ */
+package com.javablocks.core.ecs;
+
+import java.util.*;
+
+/**
+ * Base class for the struct-of-arrays stores generated for {@link Packed} components.
+ * 
+ * This class owns the sparse entity-index-to-row map and the dense row order;
+ * generated subclasses own one primitive column per component field and
+ * expose typed per-entity accessors plus raw column getters for hot loops.
+ * Rows are dense in {@code [0, size())} and move on removal, like
+ * {@link ComponentPool}.
+ * 
+ * Structural changes (adding or removing rows) go through World.
+ * 
+ * @param <T> The component type
+ * @author JavaBlocks Engine Team
+ */
+public abstract class PackedStore<T extends Component> {
+    
+    // ==================== Constants ====================
+    
+    /** Suffix of generated store class names. */
+    public static final String STORE_SUFFIX = "Store";
+    
+    /** Sparse entry for entity indices without a row. */
+    private static final int ABSENT = -1;
+    
+    /** Initial row capacity. */
+    private static final int INITIAL_CAPACITY = 64;
+    
+    // ==================== Instance Variables ====================
+    
+    /** The stored component class. */
+    private final Class<T> componentClass;
+    
+    /** Entity index to row. */
+    private int[] sparse;
+    
+    /** Row to entity index. */
+    private int[] entities;
+    
+    /** Number of rows in use. */
+    private int size;
+    
+    // ==================== Constructor ====================
+    
+    /**
+     * Creates an empty store. Subclasses allocate their columns with {@link #capacity()}.
+     * 
+     * @param componentClass The stored component class
+     */
+    protected PackedStore(Class<T> componentClass) {
+        this.componentClass = Objects.requireNonNull(componentClass, "Component class cannot be null");
+        this.sparse = new int[INITIAL_CAPACITY];
+        this.entities = new int[INITIAL_CAPACITY];
+        this.size = 0;
+        Arrays.fill(sparse, ABSENT);
+    }
+    
+    // ==================== Generated Hooks ====================
+    
+    /**
+     * Resizes every column to a new row capacity.
+     * 
+     * @param capacity The new capacity
+     */
+    protected abstract void resizeColumns(int capacity);
+    
+    /**
+     * Copies every column value from one row to another.
+     * 
+     * @param from The source row
+     * @param to The destination row
+     */
+    protected abstract void moveRow(int from, int to);
+    
+    /**
+     * Copies the first rows of every column of another store of the same
+     * component type. Columns already hold at least {@code rows} rows.
+     * 
+     * @param source The source store
+     * @param rows The number of rows to copy
+     */
+    protected abstract void copyColumns(PackedStore<T> source, int rows);
+    
+    /**
+     * Writes the fields of a component into a row.
+     * 
+     * @param row The destination row
+     * @param component The source component
+     */
+    protected abstract void writeRow(int row, T component);
+    
+    /**
+     * Reads a row into the fields of a component.
+     * 
+     * @param row The source row
+     * @param target The destination component
+     */
+    protected abstract void readRow(int row, T target);
+    
+    /**
+     * Creates a default instance of the component.
+     * 
+     * @return A new component
+     */
+    protected abstract T newInstance();
+    
+    // ==================== Row Access ====================
+    
+    /**
+     * Gets the row capacity of the columns.
+     * 
+     * @return The capacity
+     */
+    protected final int capacity() {
+        return entities.length;
+    }
+    
+    /**
+     * Gets the row of an entity, failing if it has none.
+     * 
+     * @param entityIndex The entity index
+     * @return The row
+     * @throws IllegalArgumentException if the entity has no component in this store
+     */
+    protected final int requireRow(int entityIndex) {
+        int row = rowOf(entityIndex);
+        if (row == ABSENT) {
+            throw new IllegalArgumentException(
+                "Entity " + entityIndex + " has no " + componentClass.getSimpleName()
+            );
+        }
+        return row;
+    }
+    
+    /**
+     * Gets the row of an entity.
+     * 
+     * @param entityIndex The entity index
+     * @return The row, or -1 if the entity has no component in this store
+     */
+    public final int rowOf(int entityIndex) {
+        if (entityIndex < 0 || entityIndex >= sparse.length) {
+            return ABSENT;
+        }
+        return sparse[entityIndex];
+    }
+    
+    /**
+     * Checks if an entity has a component in this store.
+     * 
+     * @param entityIndex The entity index
+     * @return true if the entity has a row
+     */
+    public final boolean has(int entityIndex) {
+        return rowOf(entityIndex) != ABSENT;
+    }
+    
+    /**
+     * Gets the entity index stored at a row.
+     * 
+     * @param row The row
+     * @return The entity index
+     */
+    public final int getEntityIndex(int row) {
+        Objects.checkIndex(row, size);
+        return entities[row];
+    }
+    
+    /**
+     * Gets the number of rows in use.
+     * 
+     * @return The component count
+     */
+    public final int size() {
+        return size;
+    }
+    
+    /**
+     * Gets the stored component class.
+     * 
+     * @return The component class
+     */
+    public final Class<T> getComponentClass() {
+        return componentClass;
+    }
+    
+    // ==================== Object Bridging ====================
+    
+    /**
+     * Materializes a detached copy of an entity's component.
+     * Changes to the returned object are not written back.
+     * 
+     * @param entityIndex The entity index
+     * @return A new component, or null if the entity has none
+     */
+    public final T get(int entityIndex) {
+        int row = rowOf(entityIndex);
+        if (row == ABSENT) {
+            return null;
+        }
+        T component = newInstance();
+        readRow(row, component);
+        return component;
+    }
+    
+    /**
+     * Reads an entity's component into an existing instance.
+     * 
+     * @param entityIndex The entity index
+     * @param target The destination component
+     * @return true if the entity had the component
+     */
+    public final boolean get(int entityIndex, T target) {
+        int row = rowOf(entityIndex);
+        if (row == ABSENT) {
+            return false;
+        }
+        readRow(row, target);
+        return true;
+    }
+    
+    // ==================== Structural Operations ====================
+    
+    /**
+     * Adds or overwrites the row of an entity from a component's fields.
+     * 
+     * @param entityIndex The entity index
+     * @param component The source component
+     */
+    final void set(int entityIndex, T component) {
+        ensureSparseCapacity(entityIndex);
+        
+        int row = sparse[entityIndex];
+        if (row == ABSENT) {
+            if (size == entities.length) {
+                int newCapacity = size * 2;
+                entities = Arrays.copyOf(entities, newCapacity);
+                resizeColumns(newCapacity);
+            }
+            row = size++;
+            sparse[entityIndex] = row;
+            entities[row] = entityIndex;
+        }
+        
+        writeRow(row, component);
+    }
+    
+    /**
+     * Removes the row of an entity, moving the last row into its place.
+     * 
+     * @param entityIndex The entity index
+     * @return true if the entity had a row
+     */
+    final boolean remove(int entityIndex) {
+        int row = rowOf(entityIndex);
+        if (row == ABSENT) {
+            return false;
+        }
+        
+        int last = --size;
+        if (row != last) {
+            int movedEntity = entities[last];
+            entities[row] = movedEntity;
+            moveRow(last, row);
+            sparse[movedEntity] = row;
+        }
+        
+        sparse[entityIndex] = ABSENT;
+        return true;
+    }
+    
+    /**
+     * Makes this store an exact copy of another store of the same component
+     * type, row order included. Columns are copied in bulk.
+     * 
+     * @param source The source store
+     */
+    final void copyFrom(PackedStore<T> source) {
+        clear();
+        int rows = source.size;
+        if (rows > entities.length) {
+            int newCapacity = Math.max(rows, entities.length * 2);
+            entities = Arrays.copyOf(entities, newCapacity);
+            resizeColumns(newCapacity);
+        }
+        System.arraycopy(source.entities, 0, entities, 0, rows);
+        copyColumns(source, rows);
+        for (int row = 0; row < rows; row++) {
+            ensureSparseCapacity(entities[row]);
+            sparse[entities[row]] = row;
+        }
+        size = rows;
+    }
+    
+    /**
+     * Removes all rows.
+     */
+    final void clear() {
+        for (int row = 0; row < size; row++) {
+            sparse[entities[row]] = ABSENT;
+        }
+        size = 0;
+    }
+    
+    // ==================== Factory ====================
+    
+    /**
+     * Instantiates the generated store for a packed component class.
+     * 
+     * @param componentClass The component class
+     * @param <T> The component type
+     * @return A new store
+     * @throws IllegalStateException if no generated store is on the classpath
+     */
+    @SuppressWarnings("unchecked")
+    static <T extends Component> PackedStore<T> create(Class<T> componentClass) {
+        String storeName = componentClass.getName() + STORE_SUFFIX;
+        try {
+            Class<?> storeClass = Class.forName(storeName, true, componentClass.getClassLoader());
+            return (PackedStore<T>) storeClass.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | ClassCastException e) {
+            throw new IllegalStateException(
+                "No generated store " + storeName + " for @Packed component " +
+                componentClass.getName() + "; is the annotation processor enabled?", e
+            );
+        }
+    }
+    
+    // ==================== Internal ====================
+    
+    private void ensureSparseCapacity(int entityIndex) {
+        if (entityIndex < sparse.length) {
+            return;
+        }
+        
+        int oldLength = sparse.length;
+        int newLength = Math.max(oldLength * 2, entityIndex + 1);
+        sparse = Arrays.copyOf(sparse, newLength);
+        Arrays.fill(sparse, oldLength, newLength, ABSENT);
+    }
+}
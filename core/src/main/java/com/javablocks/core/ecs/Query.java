@@ -0,0 +1,617 @@
+/*
+ * JavaBlocks Engine - Query
+ * 
+ * Cached entity query with incrementally maintained membership.
+ */
+package com.javablocks.core.ecs;
+
+import com.javablocks.core.utils.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.IntConsumer;
+import java.util.function.LongConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * A cached set of entities matching component filters.
+ * 
+ * A query is described once with {@link #all}, {@link #any} and {@link #none}
+ * filters and registered with a world, either directly through
+ * {@link World#registerQuery(Query)} or by declaring it in a
+ * {@link GameSystem}. From then on the world keeps its membership up to date
+ * as components are added and removed and entities are destroyed, so
+ * iteration costs O(matches) and allocates nothing.
+ * 
+ * Matching compares the filters, packed into bit masks, against each
+ * entity's component signature word by word.
+ * 
+ * Matching rules:
+ * - all: the entity has every listed component
+ * - any: the entity has at least one listed component (ignored if empty)
+ * - none: the entity has none of the listed components
+ * 
+ * Members are stored densely as packed entity handles. Their order is
+ * unspecified and changes as entities leave the query.
+ * 
+ * Change detection:
+ * - changedSince() and addedSince() visit only members whose component of
+ *   a type was stamped after a tick, e.g. the system's last run tick
+ * 
+ * Parallel iteration:
+ * - forEachParallel() and forEachChunk() split the members into chunks of
+ *   grainSize slots and run them on the world's system pool
+ * - Chunk c always covers slots [c * grainSize, (c + 1) * grainSize), so
+ *   per-chunk results reduced in chunk order are deterministic
+ * - Use {@link WorkerLocal} for per-worker scratch state
+ * - Membership must not change while a parallel iteration runs
+ * - Without a pool, chunks run in order on the calling thread
+ * 
+ * @author JavaBlocks Engine Team
+ */
+public final class Query {
+    
+    // ==================== Constants ====================
+    
+    /** Sparse entry for entity indices that are not members. */
+    private static final int ABSENT = -1;
+    
+    /** Initial dense capacity. */
+    private static final int INITIAL_CAPACITY = 64;
+    
+    /** Default number of members per parallel chunk. */
+    public static final int DEFAULT_GRAIN_SIZE = 1024;
+    
+    // ==================== Chunk Callbacks ====================
+    
+    /**
+     * Receives one chunk of member slots.
+     */
+    @FunctionalInterface
+    public interface ChunkConsumer {
+        
+        /**
+         * Processes a chunk.
+         * 
+         * @param chunk The chunk index
+         * @param fromSlot The first slot, inclusive
+         * @param toSlot The last slot, exclusive
+         */
+        void accept(int chunk, int fromSlot, int toSlot);
+    }
+    
+    /**
+     * Computes a result for one chunk of member slots.
+     * 
+     * @param <R> The result type
+     */
+    @FunctionalInterface
+    public interface ChunkFunction<R> {
+        
+        /**
+         * Processes a chunk.
+         * 
+         * @param chunk The chunk index
+         * @param fromSlot The first slot, inclusive
+         * @param toSlot The last slot, exclusive
+         * @return The chunk result
+         */
+        R apply(int chunk, int fromSlot, int toSlot);
+    }
+    
+    // ==================== Filters ====================
+    
+    /** Type IDs an entity must all have. */
+    private int[] allTypes = new int[0];
+    
+    /** Type IDs an entity must have at least one of. */
+    private int[] anyTypes = new int[0];
+    
+    /** Type IDs an entity must not have. */
+    private int[] noneTypes = new int[0];
+    
+    /** Signature mask of {@link #allTypes}, built on registration. */
+    private long[] allMask;
+    
+    /** Signature mask of {@link #anyTypes}, built on registration. */
+    private long[] anyMask;
+    
+    /** Signature mask of {@link #noneTypes}, built on registration. */
+    private long[] noneMask;
+    
+    // ==================== Membership ====================
+    
+    /** Entity index to dense slot. */
+    private int[] sparse;
+    
+    /** Dense packed entity handles. */
+    private long[] handles;
+    
+    /** Number of members. */
+    private int size;
+    
+    /** Bumped whenever membership changes. */
+    private int version;
+    
+    /** The world this query is registered with, or null. */
+    private World world;
+    
+    // ==================== Constructor ====================
+    
+    /**
+     * Creates a query without filters, matching every entity.
+     */
+    public Query() {
+        this.sparse = new int[INITIAL_CAPACITY];
+        this.handles = new long[INITIAL_CAPACITY];
+        this.size = 0;
+        Arrays.fill(sparse, ABSENT);
+    }
+    
+    // ==================== Filter Declaration ====================
+    
+    /**
+     * Requires every listed component.
+     * 
+     * @param componentClasses The required component classes
+     * @return This query for chaining
+     * @throws IllegalStateException if the query is already registered
+     */
+    @SafeVarargs
+    @SuppressWarnings("varargs")
+    public final Query all(Class<? extends Component>... componentClasses) {
+        allTypes = append(allTypes, componentClasses);
+        return this;
+    }
+    
+    /**
+     * Requires at least one of the listed components.
+     * 
+     * @param componentClasses The candidate component classes
+     * @return This query for chaining
+     * @throws IllegalStateException if the query is already registered
+     */
+    @SafeVarargs
+    @SuppressWarnings("varargs")
+    public final Query any(Class<? extends Component>... componentClasses) {
+        anyTypes = append(anyTypes, componentClasses);
+        return this;
+    }
+    
+    /**
+     * Excludes entities with any of the listed components.
+     * 
+     * @param componentClasses The excluded component classes
+     * @return This query for chaining
+     * @throws IllegalStateException if the query is already registered
+     */
+    @SafeVarargs
+    @SuppressWarnings("varargs")
+    public final Query none(Class<? extends Component>... componentClasses) {
+        noneTypes = append(noneTypes, componentClasses);
+        return this;
+    }
+    
+    // ==================== Iteration ====================
+    
+    /**
+     * Visits the index of every member entity.
+     * 
+     * Members are visited from the back, so removing the current entity from
+     * the query (for example by removing one of its components) is safe.
+     * 
+     * @param consumer Receives each entity index
+     */
+    public void forEach(IntConsumer consumer) {
+        for (int i = size - 1; i >= 0; i--) {
+            if (i < size) {
+                consumer.accept(Entity.unpackIndex(handles[i]));
+            }
+        }
+    }
+    
+    /**
+     * Visits the packed handle of every member entity, in the same order and
+     * with the same removal guarantees as {@link #forEach(IntConsumer)}.
+     * 
+     * @param consumer Receives each packed handle
+     */
+    public void forEachHandle(LongConsumer consumer) {
+        for (int i = size - 1; i >= 0; i--) {
+            if (i < size) {
+                consumer.accept(handles[i]);
+            }
+        }
+    }
+    
+    /**
+     * Visits the members whose component of a type was added or changed
+     * after a tick, typically {@link GameSystem#getLastRunTick()}.
+     * Changes are stamped by adding or setting a component and by
+     * {@link World#getComponentMut}; plain getComponent() is not tracked.
+     * Members are visited from the back, as with {@link #forEach}.
+     * 
+     * @param componentClass The component type to check
+     * @param sinceTick The exclusive lower bound
+     * @param consumer Receives each changed entity index
+     */
+    public void changedSince(Class<? extends Component> componentClass, int sinceTick, IntConsumer consumer) {
+        forEachStamped(componentClass, sinceTick, false, consumer);
+    }
+    
+    /**
+     * Visits the members whose component of a type was added after a tick.
+     * 
+     * @param componentClass The component type to check
+     * @param sinceTick The exclusive lower bound
+     * @param consumer Receives each entity index
+     */
+    public void addedSince(Class<? extends Component> componentClass, int sinceTick, IntConsumer consumer) {
+        forEachStamped(componentClass, sinceTick, true, consumer);
+    }
+    
+    private void forEachStamped(Class<? extends Component> componentClass, int sinceTick,
+                                boolean added, IntConsumer consumer) {
+        Objects.requireNonNull(consumer, "Consumer cannot be null");
+        int typeId = ComponentRegistry.getTypeId(componentClass);
+        if (world == null) {
+            return;
+        }
+        
+        ChangeTicks ticks = world.getChangeTicks();
+        for (int i = size - 1; i >= 0; i--) {
+            if (i < size) {
+                int index = Entity.unpackIndex(handles[i]);
+                if (added ? ticks.addedSince(typeId, index, sinceTick)
+                          : ticks.changedSince(typeId, index, sinceTick)) {
+                    consumer.accept(index);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Visits the index of every member entity in parallel with the
+     * default grain size.
+     * 
+     * @param consumer Receives each entity index; called concurrently
+     */
+    public void forEachParallel(IntConsumer consumer) {
+        forEachParallel(DEFAULT_GRAIN_SIZE, consumer);
+    }
+    
+    /**
+     * Visits the index of every member entity in parallel.
+     * 
+     * @param grainSize Members per chunk
+     * @param consumer Receives each entity index; called concurrently
+     */
+    public void forEachParallel(int grainSize, IntConsumer consumer) {
+        Objects.requireNonNull(consumer, "Consumer cannot be null");
+        forEachChunk(grainSize, (chunk, from, to) -> {
+            for (int i = from; i < to; i++) {
+                consumer.accept(Entity.unpackIndex(handles[i]));
+            }
+        });
+    }
+    
+    /**
+     * Visits the index of every member entity in parallel, passing the
+     * current worker's scratch value along.
+     * 
+     * @param grainSize Members per chunk
+     * @param scratch Per-worker scratch values
+     * @param consumer Receives each entity index and the worker's scratch value
+     * @param <S> The scratch type
+     */
+    public <S> void forEachParallel(int grainSize, WorkerLocal<S> scratch, IntObjConsumer<S> consumer) {
+        Objects.requireNonNull(scratch, "Scratch cannot be null");
+        Objects.requireNonNull(consumer, "Consumer cannot be null");
+        forEachChunk(grainSize, (chunk, from, to) -> {
+            S local = scratch.get();
+            for (int i = from; i < to; i++) {
+                consumer.accept(Entity.unpackIndex(handles[i]), local);
+            }
+        });
+    }
+    
+    /**
+     * Runs a consumer over every chunk of member slots in parallel.
+     * Resolve slots with {@link #getEntityIndex(int)} or {@link #getHandle(int)}.
+     * 
+     * @param grainSize Members per chunk
+     * @param consumer Receives each chunk; called concurrently
+     */
+    public void forEachChunk(int grainSize, ChunkConsumer consumer) {
+        Objects.requireNonNull(consumer, "Consumer cannot be null");
+        int chunks = getChunkCount(grainSize);
+        if (chunks == 0) {
+            return;
+        }
+        
+        ForkJoinPool pool = world != null ? world.getSystemPool() : null;
+        ChunkTask task = new ChunkTask(consumer, grainSize, size, 0, chunks);
+        if (pool == null || chunks == 1) {
+            task.compute();
+        } else if (ForkJoinTask.inForkJoinPool() && ForkJoinTask.getPool() == pool) {
+            task.invoke();
+        } else {
+            pool.invoke(task);
+        }
+    }
+    
+    /**
+     * Computes one result per chunk in parallel and returns them in chunk
+     * order, for deterministic reduction.
+     * 
+     * @param grainSize Members per chunk
+     * @param function Computes each chunk's result; called concurrently
+     * @param <R> The result type
+     * @return The results, indexed by chunk
+     */
+    public <R> List<R> mapChunks(int grainSize, ChunkFunction<R> function) {
+        Objects.requireNonNull(function, "Function cannot be null");
+        Object[] results = new Object[getChunkCount(grainSize)];
+        forEachChunk(grainSize, (chunk, from, to) -> results[chunk] = function.apply(chunk, from, to));
+        
+        @SuppressWarnings("unchecked")
+        List<R> list = (List<R>) Arrays.asList(results);
+        return list;
+    }
+    
+    /**
+     * Gets the number of chunks the members split into.
+     * 
+     * @param grainSize Members per chunk
+     * @return The chunk count
+     */
+    public int getChunkCount(int grainSize) {
+        if (grainSize <= 0) {
+            throw new IllegalArgumentException("Grain size must be positive: " + grainSize);
+        }
+        return (size + grainSize - 1) / grainSize;
+    }
+    
+    /**
+     * Gets the number of member entities.
+     * 
+     * @return The member count
+     */
+    public int size() {
+        return size;
+    }
+    
+    /**
+     * Checks if the query has no members.
+     * 
+     * @return true if empty
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+    
+    /**
+     * Gets the packed handle of the member at a dense slot.
+     * 
+     * @param slot The slot in {@code [0, size())}
+     * @return The packed entity handle
+     */
+    public long getHandle(int slot) {
+        Objects.checkIndex(slot, size);
+        return handles[slot];
+    }
+    
+    /**
+     * Gets the entity index of the member at a dense slot.
+     * 
+     * @param slot The slot in {@code [0, size())}
+     * @return The entity index
+     */
+    public int getEntityIndex(int slot) {
+        return Entity.unpackIndex(getHandle(slot));
+    }
+    
+    /**
+     * Checks if an entity is a member.
+     * 
+     * @param entityIndex The entity index
+     * @return true if the entity matches the query
+     */
+    public boolean contains(int entityIndex) {
+        return entityIndex >= 0 && entityIndex < sparse.length && sparse[entityIndex] != ABSENT;
+    }
+    
+    /**
+     * Checks if this query is registered with a world.
+     * 
+     * @return true if registered
+     */
+    public boolean isRegistered() {
+        return world != null;
+    }
+    
+    // ==================== World Integration ====================
+    
+    /**
+     * Gets a counter that changes whenever members are added, removed or
+     * reordered, so systems can cache orderings derived from the members.
+     */
+    int getVersion() {
+        return version;
+    }
+    
+    /**
+     * Checks if an entity without any components would match.
+     */
+    boolean matchesEmpty() {
+        return allTypes.length == 0 && anyTypes.length == 0;
+    }
+    
+    /**
+     * Gets every type ID mentioned by the filters, without duplicates.
+     */
+    int[] getInvolvedTypes() {
+        return IntStream.concat(
+            IntStream.concat(Arrays.stream(allTypes), Arrays.stream(anyTypes)),
+            Arrays.stream(noneTypes)
+        ).distinct().toArray();
+    }
+    
+    /**
+     * Checks an entity's signature against the filters. Only valid while registered.
+     */
+    boolean matches(int entityIndex, ComponentSignatures signatures) {
+        return signatures.matches(entityIndex, allMask, anyMask, noneMask);
+    }
+    
+    /**
+     * Adds or removes an entity depending on whether it currently matches.
+     */
+    void refresh(long handle, ComponentSignatures signatures) {
+        int entityIndex = Entity.unpackIndex(handle);
+        if (matches(entityIndex, signatures)) {
+            add(handle);
+        } else {
+            remove(entityIndex);
+        }
+    }
+    
+    void add(long handle) {
+        int entityIndex = Entity.unpackIndex(handle);
+        ensureSparseCapacity(entityIndex);
+        
+        int slot = sparse[entityIndex];
+        if (slot != ABSENT) {
+            if (handles[slot] != handle) {
+                handles[slot] = handle;
+                version++;
+            }
+            return;
+        }
+        
+        if (size == handles.length) {
+            handles = Arrays.copyOf(handles, size * 2);
+        }
+        sparse[entityIndex] = size;
+        handles[size++] = handle;
+        version++;
+    }
+    
+    void remove(int entityIndex) {
+        if (!contains(entityIndex)) {
+            return;
+        }
+        
+        int slot = sparse[entityIndex];
+        int last = --size;
+        if (slot != last) {
+            long moved = handles[last];
+            handles[slot] = moved;
+            sparse[Entity.unpackIndex(moved)] = slot;
+        }
+        sparse[entityIndex] = ABSENT;
+        version++;
+    }
+    
+    void clear() {
+        for (int i = 0; i < size; i++) {
+            sparse[Entity.unpackIndex(handles[i])] = ABSENT;
+        }
+        size = 0;
+        version++;
+    }
+    
+    void attach(World world) {
+        if (this.world != null) {
+            throw new IllegalStateException("Query is already registered with a world");
+        }
+        this.world = world;
+        this.allMask = ComponentSignatures.mask(allTypes);
+        this.anyMask = ComponentSignatures.mask(anyTypes);
+        this.noneMask = ComponentSignatures.mask(noneTypes);
+    }
+    
+    void detach() {
+        this.world = null;
+        clear();
+    }
+    
+    // ==================== Internal ====================
+    
+    /**
+     * Splits a range of chunks in halves until one chunk remains.
+     */
+    @SuppressWarnings("serial")
+    private static final class ChunkTask extends RecursiveAction {
+        private final ChunkConsumer consumer;
+        private final int grainSize;
+        private final int size;
+        private final int fromChunk;
+        private final int toChunk;
+        
+        ChunkTask(ChunkConsumer consumer, int grainSize, int size, int fromChunk, int toChunk) {
+            this.consumer = consumer;
+            this.grainSize = grainSize;
+            this.size = size;
+            this.fromChunk = fromChunk;
+            this.toChunk = toChunk;
+        }
+        
+        @Override
+        protected void compute() {
+            if (toChunk - fromChunk > 1 && getPool() != null) {
+                int middle = (fromChunk + toChunk) >>> 1;
+                invokeAll(new ChunkTask(consumer, grainSize, size, fromChunk, middle),
+                          new ChunkTask(consumer, grainSize, size, middle, toChunk));
+                return;
+            }
+            for (int chunk = fromChunk; chunk < toChunk; chunk++) {
+                int from = chunk * grainSize;
+                consumer.accept(chunk, from, Math.min(from + grainSize, size));
+            }
+        }
+    }
+    
+    private int[] append(int[] types, Class<? extends Component>[] componentClasses) {
+        if (world != null) {
+            throw new IllegalStateException("Cannot change filters of a registered query");
+        }
+        
+        int[] result = Arrays.copyOf(types, types.length + componentClasses.length);
+        for (int i = 0; i < componentClasses.length; i++) {
+            result[types.length + i] = ComponentRegistry.getTypeId(
+                Objects.requireNonNull(componentClasses[i], "Component class cannot be null"));
+        }
+        return result;
+    }
+    
+    private void ensureSparseCapacity(int entityIndex) {
+        if (entityIndex < sparse.length) {
+            return;
+        }
+        
+        int oldLength = sparse.length;
+        int newLength = Math.max(oldLength * 2, entityIndex + 1);
+        sparse = Arrays.copyOf(sparse, newLength);
+        Arrays.fill(sparse, oldLength, newLength, ABSENT);
+    }
+    
+    /**
+     * Gets a string representation of this query.
+     * 
+     * @return String representation
+     */
+    @Override
+    public String toString() {
+        return "Query(all=" + describe(allTypes) + ", any=" + describe(anyTypes) +
+               ", none=" + describe(noneTypes) + ", size=" + size + ")";
+    }
+    
+    private static String describe(int[] types) {
+        StringJoiner joiner = new StringJoiner(", ", "[", "]");
+        for (int typeId : types) {
+            Class<?> componentClass = ComponentRegistry.getClassOrNull(typeId);
+            joiner.add(componentClass != null ? componentClass.getSimpleName() : String.valueOf(typeId));
+        }
+        return joiner.toString();
+    }
+}
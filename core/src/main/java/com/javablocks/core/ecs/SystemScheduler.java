@@ -0,0 +1,344 @@
+/*
+ * JavaBlocks Engine - System Scheduler
+ * 
+ * Runs systems in stages derived from their declared component access.
+ */
+package com.javablocks.core.ecs;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Groups systems into stages that can run concurrently.
+ * 
+ * Systems are visited in update order (priority, then registration). Each
+ * system is placed in the stage after the last earlier system it conflicts
+ * with, so conflicting systems keep their priority order while independent
+ * ones share a stage. Stages run one after another with a sync point in
+ * between; the systems of a stage run on the fork-join pool, with the
+ * calling thread taking the first one.
+ * 
+ * Two systems conflict when either has not declared its access, or one
+ * writes a component type the other reads or writes.
+ * 
+ * While a stage runs concurrently, structural changes made directly on the
+ * world fail. After each stage, the command buffers of its systems are
+ * played back in update order, so structural changes are deterministic,
+ * and component observers receive the batched events of the stage.
+ * 
+ * The world's change tick advances before every stage and once more after
+ * the last, so each stage stamps its changes with its own tick and
+ * changes made between updates are newer than every system run.
+ * 
+ * Update rates are applied per system: a system that is not due, or that
+ * is deferrable while the frame is over budget, is skipped and keeps the
+ * skipped delta. A frame starts with the first run after the previous
+ * update, so fixed steps count towards the budget, and the budget is
+ * checked before each stage.
+ * 
+ * Without a pool every stage runs sequentially on the calling thread.
+ * 
+ * @author JavaBlocks Engine Team
+ */
+final class SystemScheduler {
+    
+    // ==================== Instance Variables ====================
+    
+    /** Systems per stage, in update order within a stage. */
+    private GameSystem[][] stages;
+    
+    /** Reusable fork-join tasks, parallel to {@link #stages}. */
+    private SystemTask[][] tasks;
+    
+    /** The world whose change tick advances between stages. */
+    private final World world;
+    
+    /** Pool for concurrent stages, or null to run sequentially. */
+    private ForkJoinPool pool;
+    
+    /** Delta of the phase being run, read by tasks. */
+    private float currentDelta;
+    
+    /** Whether the phase being run is the fixed update. */
+    private boolean currentFixed;
+    
+    /** Change tick of the stage being run, read by tasks. */
+    private int currentTick;
+    
+    /** Whether the stage being run is over the frame budget, read by tasks. */
+    private boolean currentOverBudget;
+    
+    /** Number of updates run so far. */
+    private long frame;
+    
+    /** Frame budget in nanoseconds, or 0 for none. */
+    private long frameBudgetNanos;
+    
+    /** Start of the current frame. */
+    private long frameStartNanos;
+    
+    /** Whether a frame has started and its update has not yet run. */
+    private boolean frameOpen;
+    
+    // ==================== Constructor ====================
+    
+    /**
+     * Creates a scheduler without systems.
+     * 
+     * @param world The world the systems belong to
+     */
+    SystemScheduler(World world) {
+        this.world = world;
+        this.stages = new GameSystem[0][];
+        this.tasks = new SystemTask[0][];
+    }
+    
+    // ==================== Configuration ====================
+    
+    /**
+     * Sets the pool concurrent stages run on.
+     * 
+     * @param pool The pool, or null to run sequentially
+     */
+    void setPool(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+    
+    /**
+     * Gets the pool concurrent stages run on.
+     * 
+     * @return The pool, or null if running sequentially
+     */
+    ForkJoinPool getPool() {
+        return pool;
+    }
+    
+    /**
+     * Sets the time a frame may take before deferrable systems are
+     * postponed.
+     * 
+     * @param budgetNanos The budget in nanoseconds, or 0 for none
+     */
+    void setFrameBudget(long budgetNanos) {
+        if (budgetNanos < 0) {
+            throw new IllegalArgumentException("Frame budget cannot be negative: " + budgetNanos);
+        }
+        this.frameBudgetNanos = budgetNanos;
+    }
+    
+    /**
+     * Gets the time a frame may take before deferrable systems are
+     * postponed.
+     * 
+     * @return The budget in nanoseconds, or 0 for none
+     */
+    long getFrameBudget() {
+        return frameBudgetNanos;
+    }
+    
+    /**
+     * Rebuilds the stages.
+     * 
+     * @param ordered All systems in update order
+     */
+    void rebuild(List<GameSystem> ordered) {
+        int[] stageOf = new int[ordered.size()];
+        int stageCount = 0;
+        for (int i = 0; i < ordered.size(); i++) {
+            int stage = 0;
+            for (int j = 0; j < i; j++) {
+                if (stageOf[j] >= stage && conflicts(ordered.get(i), ordered.get(j))) {
+                    stage = stageOf[j] + 1;
+                }
+            }
+            stageOf[i] = stage;
+            stageCount = Math.max(stageCount, stage + 1);
+        }
+        
+        List<List<GameSystem>> grouped = new ArrayList<>(stageCount);
+        for (int s = 0; s < stageCount; s++) {
+            grouped.add(new ArrayList<>());
+        }
+        for (int i = 0; i < ordered.size(); i++) {
+            grouped.get(stageOf[i]).add(ordered.get(i));
+        }
+        
+        // Stagger automatic phases among systems sharing an interval
+        Map<Integer, Integer> slots = new HashMap<>();
+        for (GameSystem system : ordered) {
+            system.setStaggerSlot(slots.merge(system.getUpdateInterval(), 1, Integer::sum) - 1);
+        }
+        
+        stages = new GameSystem[stageCount][];
+        tasks = new SystemTask[stageCount][];
+        for (int s = 0; s < stageCount; s++) {
+            stages[s] = grouped.get(s).toArray(new GameSystem[0]);
+            tasks[s] = new SystemTask[stages[s].length];
+            for (int i = 0; i < stages[s].length; i++) {
+                tasks[s][i] = new SystemTask(this, stages[s][i]);
+            }
+        }
+    }
+    
+    /**
+     * Checks whether two systems may not run at the same time.
+     * 
+     * @param a The first system
+     * @param b The second system
+     * @return true if the systems conflict
+     */
+    static boolean conflicts(GameSystem a, GameSystem b) {
+        if (!a.declaresAccess() || !b.declaresAccess()) {
+            return true;
+        }
+        return a.getWriteTypes().intersects(b.getReadTypes())
+            || a.getWriteTypes().intersects(b.getWriteTypes())
+            || b.getWriteTypes().intersects(a.getReadTypes());
+    }
+    
+    // ==================== Execution ====================
+    
+    /**
+     * Runs every enabled system, stage by stage.
+     * 
+     * @param delta The delta passed to the systems
+     * @param fixed true for fixedUpdate, false for update
+     */
+    void run(float delta, boolean fixed) {
+        currentDelta = delta;
+        currentFixed = fixed;
+        if (!frameOpen) {
+            frameOpen = true;
+            frameStartNanos = System.nanoTime();
+        }
+        
+        for (int s = 0; s < stages.length; s++) {
+            currentTick = world.advanceChangeTick();
+            currentOverBudget = !fixed && frameBudgetNanos > 0
+                && System.nanoTime() - frameStartNanos > frameBudgetNanos;
+            if (pool == null || stages[s].length == 1) {
+                for (GameSystem system : stages[s]) {
+                    runSystem(system);
+                }
+            } else {
+                runConcurrently(tasks[s]);
+            }
+            playbackCommands(stages[s]);
+            world.flushObservers();
+        }
+        world.advanceChangeTick();
+        
+        if (!fixed) {
+            frame++;
+            frameOpen = false;
+        }
+    }
+    
+    private void playbackCommands(GameSystem[] stage) {
+        for (GameSystem system : stage) {
+            CommandBuffer commands = system.getCommandBuffer();
+            if (commands != null && !commands.isEmpty()) {
+                commands.playback(system.getWorld());
+            }
+        }
+    }
+    
+    private void runConcurrently(SystemTask[] stage) {
+        world.setParallelStage(true);
+        for (int i = 1; i < stage.length; i++) {
+            stage[i].reinitialize();
+            pool.execute(stage[i]);
+        }
+        
+        RuntimeException failure = null;
+        try {
+            runSystem(stage[0].system);
+        } catch (RuntimeException e) {
+            failure = e;
+        }
+        
+        // Sync point: every task of the stage finishes before the next stage
+        for (int i = 1; i < stage.length; i++) {
+            try {
+                stage[i].join();
+            } catch (RuntimeException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        world.setParallelStage(false);
+        if (failure != null) {
+            throw failure;
+        }
+    }
+    
+    private void runSystem(GameSystem system) {
+        if (!system.isEnabled()) {
+            return;
+        }
+        if (currentFixed) {
+            system.beginRun(currentTick, true);
+            system.fixedUpdate(currentDelta);
+        } else {
+            if (!system.scheduleUpdate(frame, currentDelta, currentOverBudget)) {
+                return;
+            }
+            float delta = system.consumeUpdateDelta();
+            system.beginRun(currentTick, false);
+            long startTime = System.nanoTime();
+            try {
+                system.update(delta);
+            } finally {
+                system.recordExecution(System.nanoTime() - startTime);
+            }
+        }
+    }
+    
+    // ==================== Inspection ====================
+    
+    /**
+     * Gets the stages in execution order.
+     * 
+     * @return Unmodifiable lists of the systems in each stage
+     */
+    List<List<GameSystem>> getStages() {
+        List<List<GameSystem>> result = new ArrayList<>(stages.length);
+        for (GameSystem[] stage : stages) {
+            result.add(List.of(stage));
+        }
+        return Collections.unmodifiableList(result);
+    }
+    
+    /**
+     * Gets the number of stages.
+     * 
+     * @return The stage count
+     */
+    int getStageCount() {
+        return stages.length;
+    }
+    
+    // ==================== System Task ====================
+    
+    /**
+     * Reusable fork-join task running one system for the current phase.
+     */
+    @SuppressWarnings("serial")
+    private static final class SystemTask extends RecursiveAction {
+        private final SystemScheduler scheduler;
+        final GameSystem system;
+        
+        SystemTask(SystemScheduler scheduler, GameSystem system) {
+            this.scheduler = scheduler;
+            this.system = system;
+        }
+        
+        @Override
+        protected void compute() {
+            scheduler.runSystem(system);
+        }
+    }
+}
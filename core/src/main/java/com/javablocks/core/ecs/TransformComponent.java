@@ -13,13 +13,14 @@ import com.javablocks.core.math.*;
  * Transform component for spatial positioning.
  * 
  * This component stores the position, rotation, and scale of a node.
- * It also manages the parent-child relationship for hierarchical transforms.
+ * It also mirrors the world's parent-child links for hierarchical transforms.
  * 
  * Features:
  * - Position, rotation, and scale in 3D space
  * - Dirty flag for optimization of matrix recalculation
- * - Parent-child relationship for hierarchical transforms
- * - World transform calculation with parent propagation
+ * - Parent-child links mirrored from {@link World#setParent}
+ * - World transform calculation with parent propagation, done for every
+ *   transform each frame by {@link TransformSystem}
  * 
  * @author JavaBlocks Engine Team
  */
@@ -54,25 +55,34 @@ public final class TransformComponent implements Component {
     public final Matrix4 worldToLocalMatrix;
     
     // ==================== Hierarchy ====================
+    // Mirrors of the world's links, kept current by World.setParent and
+    // entity destruction; change them through World, not directly.
     
-    /** Parent entity ID (-1 for no parent). */
+    /** Parent entity handle (-1 for no parent). */
     public long parentId;
     
-    /** First child entity ID (-1 for no children). */
+    /** First child entity handle (-1 for no children). */
     public long firstChildId;
     
-    /** Previous sibling entity ID. */
+    /** Previous sibling entity handle. */
     public long prevSiblingId;
     
-    /** Next sibling entity ID. */
+    /** Next sibling entity handle. */
     public long nextSiblingId;
     
+    /** Number of direct children. */
+    public int childCount;
+    
     // ==================== State ====================
     
     /** Whether this transform needs recalculation. */
     public boolean isDirty;
     
-    /** Whether this node has changed since last frame. */
+    /**
+     * Whether this node has changed. Nothing clears this flag; to find
+     * transforms changed since a system last ran use
+     * {@link Query#changedSince} with {@link World#getComponentMut}.
+     */
     public boolean hasChanged;
     
     // ==================== Constructor ====================
@@ -336,6 +346,8 @@ public final class TransformComponent implements Component {
     
     /**
      * Updates the world transform from the local transform and parent.
+     * Allocates nothing and only writes this transform, so transforms of
+     * one hierarchy depth can be updated concurrently.
      * 
      * @param parentTransform Parent's world transform (null for root)
      */
@@ -346,27 +358,33 @@ public final class TransformComponent implements Component {
             worldRotation.set(rotation);
             worldScale.set(scale);
         } else {
-            // Combine with parent transform
+            Vector3 ps = parentTransform.worldScale;
+            Quaternion pq = parentTransform.worldRotation;
+            
             // Position = parentPosition + parentRotation * (parentScale * localPosition)
-            Vector3 scaledLocalPos = new Vector3(position);
-            scaledLocalPos.scl(parentTransform.worldScale);
-            worldPosition.set(parentTransform.worldPosition);
-            worldPosition.mul(parentTransform.worldRotation);
-            worldPosition.add(scaledLocalPos);
+            float vx = position.x * ps.x;
+            float vy = position.y * ps.y;
+            float vz = position.z * ps.z;
+            float tx = 2f * (pq.y * vz - pq.z * vy);
+            float ty = 2f * (pq.z * vx - pq.x * vz);
+            float tz = 2f * (pq.x * vy - pq.y * vx);
+            worldPosition.set(
+                vx + pq.w * tx + (pq.y * tz - pq.z * ty),
+                vy + pq.w * ty + (pq.z * tx - pq.x * tz),
+                vz + pq.w * tz + (pq.x * ty - pq.y * tx));
+            worldPosition.add(parentTransform.worldPosition);
             
             // Rotation = parentRotation * localRotation
-            worldRotation.set(parentTransform.worldRotation);
+            worldRotation.set(pq);
             worldRotation.mul(rotation);
             
             // Scale = parentScale * localScale
-            worldScale.set(parentTransform.worldScale);
+            worldScale.set(ps);
             worldScale.scl(scale);
         }
         
         // Update matrices
-        localToWorldMatrix.setTranslation(worldPosition);
-        localToWorldMatrix.rotate(worldRotation);
-        localToWorldMatrix.scale(worldScale.x, worldScale.y, worldScale.z);
+        localToWorldMatrix.set(worldPosition, worldRotation, worldScale);
         worldToLocalMatrix.set(localToWorldMatrix);
         worldToLocalMatrix.inv();
         
@@ -374,7 +392,9 @@ public final class TransformComponent implements Component {
     }
     
     /**
-     * Recursively updates all child transforms.
+     * Recursively updates all child transforms. Prefer adding a
+     * {@link TransformSystem}, which updates whole hierarchies without
+     * recursion and only where something changed.
      * 
      * @param world World instance for child lookup
      * @param firstChildId ID of the first child
@@ -383,12 +403,7 @@ public final class TransformComponent implements Component {
         long childId = firstChildId;
         
         while (childId != Entity.NULL_ID) {
-            Entity childEntity = Entity.create(
-                Entity.unpackIndex(childId),
-                Entity.unpackGeneration(childId)
-            );
-            
-            TransformComponent childTransform = world.getComponent(childEntity, TransformComponent.class);
+            TransformComponent childTransform = world.getComponent(childId, TransformComponent.class);
             
             if (childTransform != null) {
                 childTransform.updateWorldTransform(this);
@@ -487,17 +502,7 @@ public final class TransformComponent implements Component {
      * @return Child count
      */
     public int getChildCount() {
-        int count = 0;
-        long childId = firstChildId;
-        
-        while (childId != Entity.NULL_ID) {
-            count++;
-            TransformComponent child = null;
-            // Would need world reference to get child transform
-            childId = nextSiblingId;
-        }
-        
-        return count;
+        return childCount;
     }
     
     // ==================== Component Interface ====================
@@ -516,6 +521,11 @@ public final class TransformComponent implements Component {
         copy.worldPosition.set(worldPosition);
         copy.worldRotation.set(worldRotation);
         copy.worldScale.set(worldScale);
+        copy.parentId = parentId;
+        copy.firstChildId = firstChildId;
+        copy.prevSiblingId = prevSiblingId;
+        copy.nextSiblingId = nextSiblingId;
+        copy.childCount = childCount;
         return copy;
     }
     
@@ -539,6 +549,7 @@ public final class TransformComponent implements Component {
         firstChildId = Entity.NULL_ID;
         prevSiblingId = Entity.NULL_ID;
         nextSiblingId = Entity.NULL_ID;
+        childCount = 0;
         
         isDirty = true;
         hasChanged = false;
@@ -0,0 +1,140 @@
+/*
+ * JavaBlocks Engine - Transform Interpolation System
+ * 
+ * Blends simulated transforms between fixed steps for rendering.
+ */
+package com.javablocks.core.ecs;
+
+/**
+ * Keeps {@link InterpolatedTransformComponent}s in step with their
+ * {@link TransformComponent}s.
+ * 
+ * Features:
+ * - fixedUpdate(): records each transform before the step simulates it
+ * - update(): blends previous and current state by the world's
+ *   interpolation alpha
+ * - Entities without a TransformComponent are interpolated from their
+ *   row in the world's {@link TransformStore}, if they have one
+ * 
+ * Runs at the highest priority so the capture happens before any other
+ * fixed-step system moves the transforms. Transforms changed outside fixed
+ * steps show up in the render state one frame later.
+ * 
+ * @author JavaBlocks Engine Team
+ */
+public final class TransformInterpolationSystem extends GameSystem {
+    
+    // ==================== Instance Variables ====================
+    
+    /** Entities with both a transform and an interpolated transform. */
+    private final Query interpolated;
+    
+    /** Entities with an interpolated transform but no TransformComponent. */
+    private final Query packedInterpolated;
+    
+    /** Transform access, resolved on initialization. */
+    private ComponentMapper<TransformComponent> transforms;
+    
+    /** Interpolated transform access, resolved on initialization. */
+    private ComponentMapper<InterpolatedTransformComponent> renderTransforms;
+    
+    /** The world's packed transforms, resolved on initialization. */
+    private TransformStore store;
+    
+    /** View over {@link #store}. */
+    private TransformStore.View packed;
+    
+    /** Scratch transform the local state of packed rows is copied into. */
+    private final TransformComponent scratch = new TransformComponent();
+    
+    // ==================== Constructor ====================
+    
+    /**
+     * Creates the interpolation system.
+     */
+    public TransformInterpolationSystem() {
+        super(PRIORITY_HIGHEST);
+        this.interpolated = addQuery(new Query()
+            .all(TransformComponent.class, InterpolatedTransformComponent.class));
+        this.packedInterpolated = addQuery(new Query()
+            .all(InterpolatedTransformComponent.class)
+            .none(TransformComponent.class));
+        reads(TransformComponent.class);
+        writes(InterpolatedTransformComponent.class);
+    }
+    
+    // ==================== Lifecycle ====================
+    
+    /**
+     * Resolves the component mappers and the packed transform store.
+     * 
+     * @param world The world this system was added to
+     */
+    @Override
+    protected void initialize(World world) {
+        super.initialize(world);
+        this.transforms = mapper(TransformComponent.class);
+        this.renderTransforms = mapper(InterpolatedTransformComponent.class);
+        this.store = world.getTransformStore();
+        this.packed = store.view();
+    }
+    
+    // ==================== Update ====================
+    
+    /**
+     * Records the pre-step state of every interpolated transform.
+     * 
+     * @param fixedDelta Fixed timestep value
+     */
+    @Override
+    public void fixedUpdate(float fixedDelta) {
+        for (int i = 0; i < interpolated.size(); i++) {
+            long handle = interpolated.getHandle(i);
+            renderTransforms.get(handle).capture(transforms.get(handle));
+        }
+        for (int i = 0; i < packedInterpolated.size(); i++) {
+            if (loadPacked(packedInterpolated.getEntityIndex(i))) {
+                renderTransforms.get(packedInterpolated.getHandle(i)).capture(scratch);
+            }
+        }
+    }
+    
+    /**
+     * Blends every interpolated transform by the world's interpolation alpha.
+     * 
+     * @param deltaTime Time since last frame in seconds
+     */
+    @Override
+    public void update(float deltaTime) {
+        float alpha = getWorld().getInterpolationAlpha();
+        for (int i = 0; i < interpolated.size(); i++) {
+            long handle = interpolated.getHandle(i);
+            renderTransforms.get(handle).interpolate(transforms.get(handle), alpha);
+        }
+        for (int i = 0; i < packedInterpolated.size(); i++) {
+            if (loadPacked(packedInterpolated.getEntityIndex(i))) {
+                renderTransforms.get(packedInterpolated.getHandle(i)).interpolate(scratch, alpha);
+            }
+        }
+    }
+    
+    // ==================== Internal ====================
+    
+    /**
+     * Copies the local state of an entity's packed transform, the only
+     * state interpolation reads, into the scratch transform.
+     * 
+     * @param entityIndex The entity index
+     * @return false if the entity has no packed transform
+     */
+    private boolean loadPacked(int entityIndex) {
+        if (!store.has(entityIndex)) {
+            return false;
+        }
+        packed.bind(entityIndex);
+        packed.getPosition(scratch.position);
+        packed.getRotation(scratch.rotation);
+        packed.getScale(scratch.scale);
+        return true;
+    }
+}
@@ -0,0 +1,1092 @@
+/*
+ * JavaBlocks Engine - Transform Store
+ * 
+ * Struct-of-arrays storage for transforms in primitive float columns.
+ */
+package com.javablocks.core.ecs;
+
+import com.badlogic.gdx.math.*;
+import com.javablocks.core.math.TransformKernels;
+import java.util.*;
+
+/**
+ * Packed transform storage for large numbers of moving entities.
+ * 
+ * A {@link TransformComponent} carries nine libGDX objects. This store keeps
+ * the same data in primitive {@code float[]} columns instead: one array per
+ * scalar (position x, position y, ...) plus a flat array of 16-float
+ * local-to-world matrices. Rows are dense and addressed through a sparse
+ * entity index map, like {@link ComponentPool}.
+ * 
+ * Features:
+ * - No per-entity objects, so no GC pressure on the transform path
+ * - Columns can be walked directly by hot loops via {@link #column(int)}
+ * - Flyweight {@link View} with the TransformComponent editing API
+ * - Conversion to and from TransformComponent with {@link #load} and {@link #store}
+ * - Batches of rows, such as one depth level of a hierarchy, propagated
+ *   with the selected {@link TransformKernels}; {@link TransformSystem}
+ *   does this for every packed transform
+ * 
+ * The world-to-local matrix is not stored; {@link View#worldToLocal} inverts
+ * the world TRS on demand. Not thread-safe.
+ * 
+ * @author JavaBlocks Engine Team
+ */
+public final class TransformStore {
+    
+    // ==================== Columns ====================
+    
+    /** Local position X column. */
+    public static final int POS_X = 0;
+    /** Local position Y column. */
+    public static final int POS_Y = 1;
+    /** Local position Z column. */
+    public static final int POS_Z = 2;
+    /** Local rotation quaternion X column. */
+    public static final int ROT_X = 3;
+    /** Local rotation quaternion Y column. */
+    public static final int ROT_Y = 4;
+    /** Local rotation quaternion Z column. */
+    public static final int ROT_Z = 5;
+    /** Local rotation quaternion W column. */
+    public static final int ROT_W = 6;
+    /** Local scale X column. */
+    public static final int SCL_X = 7;
+    /** Local scale Y column. */
+    public static final int SCL_Y = 8;
+    /** Local scale Z column. */
+    public static final int SCL_Z = 9;
+    /** World position X column. */
+    public static final int WORLD_POS_X = 10;
+    /** World position Y column. */
+    public static final int WORLD_POS_Y = 11;
+    /** World position Z column. */
+    public static final int WORLD_POS_Z = 12;
+    /** World rotation quaternion X column. */
+    public static final int WORLD_ROT_X = 13;
+    /** World rotation quaternion Y column. */
+    public static final int WORLD_ROT_Y = 14;
+    /** World rotation quaternion Z column. */
+    public static final int WORLD_ROT_Z = 15;
+    /** World rotation quaternion W column. */
+    public static final int WORLD_ROT_W = 16;
+    /** World scale X column. */
+    public static final int WORLD_SCL_X = 17;
+    /** World scale Y column. */
+    public static final int WORLD_SCL_Y = 18;
+    /** World scale Z column. */
+    public static final int WORLD_SCL_Z = 19;
+    
+    /** Number of float columns. */
+    public static final int COLUMN_COUNT = 20;
+    
+    /** Floats per local-to-world matrix, column-major like {@link Matrix4#val}. */
+    public static final int MATRIX_STRIDE = 16;
+    
+    // ==================== Constants ====================
+    
+    /** Sparse entry for entity indices without a transform. */
+    private static final int ABSENT = -1;
+    
+    /** Default initial row capacity. */
+    private static final int DEFAULT_CAPACITY = 64;
+    
+    /** Flag: world transform needs recalculation. */
+    private static final byte FLAG_DIRTY = 1;
+    
+    /** Flag: transform changed since the last {@link #clearChanged()}. */
+    private static final byte FLAG_CHANGED = 2;
+    
+    /** Identity values per column, used to initialize new rows. */
+    private static final float[] IDENTITY = {
+        0, 0, 0,   0, 0, 0, 1,   1, 1, 1,
+        0, 0, 0,   0, 0, 0, 1,   1, 1, 1
+    };
+    
+    /** Identity matrix, the parent of batch rows without a parent row. */
+    private static final float[] IDENTITY_MATRIX = new Matrix4().val;
+    
+    // ==================== Instance Variables ====================
+    
+    /** Entity index to row. */
+    private int[] sparse;
+    
+    /** Row to entity index. */
+    private int[] entities;
+    
+    /** Float columns, indexed by column then row. */
+    private final float[][] columns;
+    
+    /** Local-to-world matrices, {@link #MATRIX_STRIDE} floats per row. */
+    private float[] matrices;
+    
+    /** Dirty and changed flags per row. */
+    private byte[] flags;
+    
+    /** Number of rows in use. */
+    private int size;
+    
+    /** Incremented whenever rows are added, removed or replaced. */
+    private int version;
+    
+    // ==================== Batch Scratch ====================
+    
+    /** Local TRS columns gathered by batch updates, indexed by batch position. */
+    private float[][] batchTrs = new float[TransformKernels.TRS_COLUMNS][0];
+    
+    /** Local matrices composed by batch updates. */
+    private float[][] batchLocals = new float[TransformKernels.MATRIX_COLUMNS][0];
+    
+    /** Parent world matrices gathered by batch updates, then the results. */
+    private float[][] batchParents = new float[TransformKernels.MATRIX_COLUMNS][0];
+    
+    /** Row of a single-row update, as a batch of one. */
+    private final int[] singleRow = new int[1];
+    
+    /** Parent row of a single-row update. */
+    private final int[] singleParentRow = new int[1];
+    
+    // ==================== Constructor ====================
+    
+    /**
+     * Creates a store with the default capacity.
+     */
+    public TransformStore() {
+        this(DEFAULT_CAPACITY);
+    }
+    
+    /**
+     * Creates a store with an initial row capacity.
+     * 
+     * @param initialCapacity Initial number of rows
+     */
+    public TransformStore(int initialCapacity) {
+        int capacity = Math.max(1, initialCapacity);
+        this.sparse = new int[capacity];
+        this.entities = new int[capacity];
+        this.columns = new float[COLUMN_COUNT][capacity];
+        this.matrices = new float[capacity * MATRIX_STRIDE];
+        this.flags = new byte[capacity];
+        this.size = 0;
+        Arrays.fill(sparse, ABSENT);
+    }
+    
+    // ==================== Row Management ====================
+    
+    /**
+     * Adds an identity transform for an entity.
+     * If the entity already has a row, that row is returned unchanged.
+     * 
+     * @param entityIndex The entity index
+     * @return The row of the entity
+     */
+    public int add(int entityIndex) {
+        if (entityIndex < 0) {
+            throw new IllegalArgumentException("Invalid entity index: " + entityIndex);
+        }
+        
+        ensureSparseCapacity(entityIndex);
+        if (sparse[entityIndex] != ABSENT) {
+            return sparse[entityIndex];
+        }
+        
+        if (size == entities.length) {
+            grow(size * 2);
+        }
+        
+        int row = size++;
+        sparse[entityIndex] = row;
+        entities[row] = entityIndex;
+        for (int c = 0; c < COLUMN_COUNT; c++) {
+            columns[c][row] = IDENTITY[c];
+        }
+        writeMatrix(row);
+        flags[row] = FLAG_DIRTY | FLAG_CHANGED;
+        version++;
+        return row;
+    }
+    
+    /**
+     * Removes the transform of an entity, moving the last row into its place.
+     * 
+     * @param entityIndex The entity index
+     * @return true if the entity had a transform
+     */
+    public boolean remove(int entityIndex) {
+        int row = rowOf(entityIndex);
+        if (row == ABSENT) {
+            return false;
+        }
+        
+        int last = --size;
+        if (row != last) {
+            int movedEntity = entities[last];
+            entities[row] = movedEntity;
+            for (int c = 0; c < COLUMN_COUNT; c++) {
+                columns[c][row] = columns[c][last];
+            }
+            System.arraycopy(matrices, last * MATRIX_STRIDE, matrices, row * MATRIX_STRIDE, MATRIX_STRIDE);
+            flags[row] = flags[last];
+            sparse[movedEntity] = row;
+        }
+        
+        sparse[entityIndex] = ABSENT;
+        version++;
+        return true;
+    }
+    
+    /**
+     * Makes this store an exact copy of another, row order, matrices and
+     * flags included. Every array is copied in bulk.
+     * 
+     * @param source The source store
+     */
+    void copyFrom(TransformStore source) {
+        clear();
+        int rows = source.size;
+        if (rows > entities.length) {
+            grow(Math.max(rows, entities.length * 2));
+        }
+        System.arraycopy(source.entities, 0, entities, 0, rows);
+        for (int c = 0; c < COLUMN_COUNT; c++) {
+            System.arraycopy(source.columns[c], 0, columns[c], 0, rows);
+        }
+        System.arraycopy(source.matrices, 0, matrices, 0, rows * MATRIX_STRIDE);
+        System.arraycopy(source.flags, 0, flags, 0, rows);
+        for (int row = 0; row < rows; row++) {
+            ensureSparseCapacity(entities[row]);
+            sparse[entities[row]] = row;
+        }
+        size = rows;
+        version++;
+    }
+    
+    /**
+     * Removes all rows.
+     */
+    public void clear() {
+        for (int row = 0; row < size; row++) {
+            sparse[entities[row]] = ABSENT;
+        }
+        size = 0;
+        version++;
+    }
+    
+    /**
+     * Checks if an entity has a transform in this store.
+     * 
+     * @param entityIndex The entity index
+     * @return true if the entity has a row
+     */
+    public boolean has(int entityIndex) {
+        return rowOf(entityIndex) != ABSENT;
+    }
+    
+    /**
+     * Gets the row of an entity.
+     * Rows move when other rows are removed; do not cache them across structural changes.
+     * 
+     * @param entityIndex The entity index
+     * @return The row, or -1 if the entity has no transform
+     */
+    public int rowOf(int entityIndex) {
+        if (entityIndex < 0 || entityIndex >= sparse.length) {
+            return ABSENT;
+        }
+        return sparse[entityIndex];
+    }
+    
+    /**
+     * Gets the entity index stored at a row.
+     * 
+     * @param row The row
+     * @return The entity index
+     */
+    public int getEntityIndex(int row) {
+        Objects.checkIndex(row, size);
+        return entities[row];
+    }
+    
+    /**
+     * Gets the number of rows in use.
+     * 
+     * @return The transform count
+     */
+    public int size() {
+        return size;
+    }
+    
+    /**
+     * Gets the structural version, which changes whenever rows are added,
+     * removed or replaced and therefore rows may have moved.
+     * 
+     * @return The version
+     */
+    int getVersion() {
+        return version;
+    }
+    
+    // ==================== Raw Column Access ====================
+    
+    /**
+     * Gets a backing float column. Only rows {@code [0, size())} are valid,
+     * and the array is replaced when the store grows.
+     * 
+     * @param column One of the column constants, e.g. {@link #POS_X}
+     * @return The column array
+     */
+    public float[] column(int column) {
+        return columns[column];
+    }
+    
+    /**
+     * Gets the backing matrix array. The local-to-world matrix of a row starts
+     * at {@code row * MATRIX_STRIDE}. The array is replaced when the store grows.
+     * 
+     * @return The matrix array
+     */
+    public float[] matrices() {
+        return matrices;
+    }
+    
+    /**
+     * Checks if a row needs its world transform recalculated.
+     * 
+     * @param row The row
+     * @return true if dirty
+     */
+    public boolean isDirty(int row) {
+        return (flags[row] & FLAG_DIRTY) != 0;
+    }
+    
+    /**
+     * Checks if a row changed since the last {@link #clearChanged()}.
+     * 
+     * @param row The row
+     * @return true if changed
+     */
+    public boolean hasChanged(int row) {
+        return (flags[row] & FLAG_CHANGED) != 0;
+    }
+    
+    /**
+     * Marks a row as dirty and changed.
+     * Required after writing local columns directly.
+     * 
+     * @param row The row
+     */
+    public void markDirty(int row) {
+        flags[row] |= FLAG_DIRTY | FLAG_CHANGED;
+    }
+    
+    /**
+     * Clears the changed flag on every row, typically once per frame.
+     */
+    public void clearChanged() {
+        byte[] f = flags;
+        for (int row = 0; row < size; row++) {
+            f[row] &= ~FLAG_CHANGED;
+        }
+    }
+    
+    // ==================== Transform Calculation ====================
+    
+    /**
+     * Updates the world transform of every dirty row, treating rows as roots.
+     */
+    public void updateWorldTransforms() {
+        for (int row = 0; row < size; row++) {
+            if ((flags[row] & FLAG_DIRTY) != 0) {
+                updateWorldTransform(row, ABSENT);
+            }
+        }
+    }
+    
+    /**
+     * Updates the world transform of a row from its local transform and a
+     * parent row. The world matrix is computed exactly as a batch of one
+     * by {@link #updateWorldTransforms(int[], int[], int, int)}.
+     * 
+     * @param row The row to update
+     * @param parentRow The parent row, or -1 for a root
+     */
+    public void updateWorldTransform(int row, int parentRow) {
+        singleRow[0] = row;
+        singleParentRow[0] = parentRow;
+        updateWorldTransforms(singleRow, singleParentRow, 0, 1);
+    }
+    
+    /**
+     * Updates the world transforms of a batch of rows whose parent rows are
+     * already up to date, such as one depth level of a hierarchy. Each
+     * row's local TRS is composed into a matrix and multiplied by its
+     * parent's world matrix with the selected {@link TransformKernels}, and
+     * the world position is the translation of the result. World rotation
+     * and scale combine component-wise, so under a non-uniformly scaled
+     * parent the matrix keeps the shear that the world TRS columns cannot
+     * express. Updated rows are marked changed, as they moved even if only
+     * their parent did.
+     * 
+     * Scratch space is indexed by batch position, so disjoint ranges of one
+     * batch can run concurrently once {@link #ensureBatchCapacity} covers it.
+     * 
+     * @param rows The row at each batch position
+     * @param parentRows The parent row at each batch position, or -1 for a root
+     * @param from The first batch position, inclusive
+     * @param to The last batch position, exclusive
+     */
+    public void updateWorldTransforms(int[] rows, int[] parentRows, int from, int to) {
+        ensureBatchCapacity(to);
+        float[][] c = columns;
+        float[][] trs = batchTrs;
+        float[][] parents = batchParents;
+        float[] m = matrices;
+        
+        for (int pos = from; pos < to; pos++) {
+            int row = rows[pos];
+            for (int k = 0; k < TransformKernels.TRS_COLUMNS; k++) {
+                trs[k][pos] = c[POS_X + k][row];
+            }
+            int parentRow = parentRows[pos];
+            float[] parent = parentRow == ABSENT ? IDENTITY_MATRIX : m;
+            int o = parentRow == ABSENT ? 0 : parentRow * MATRIX_STRIDE;
+            for (int e = 0; e < MATRIX_STRIDE; e++) {
+                parents[e][pos] = parent[o + e];
+            }
+        }
+        
+        TransformKernels kernels = TransformKernels.get();
+        kernels.compose(trs, 0, batchLocals, from, to);
+        kernels.multiply(parents, batchLocals, parents, from, to);
+        
+        for (int pos = from; pos < to; pos++) {
+            int row = rows[pos];
+            int o = row * MATRIX_STRIDE;
+            for (int e = 0; e < MATRIX_STRIDE; e++) {
+                m[o + e] = parents[e][pos];
+            }
+            c[WORLD_POS_X][row] = parents[Matrix4.M03][pos];
+            c[WORLD_POS_Y][row] = parents[Matrix4.M13][pos];
+            c[WORLD_POS_Z][row] = parents[Matrix4.M23][pos];
+            combineRotationAndScale(c, row, parentRows[pos]);
+            flags[row] = (byte) ((flags[row] & ~FLAG_DIRTY) | FLAG_CHANGED);
+        }
+    }
+    
+    /**
+     * Sizes the scratch space of {@link #updateWorldTransforms(int[], int[], int, int)}
+     * for batches of up to the given number of positions.
+     * 
+     * @param positions The batch size
+     */
+    void ensureBatchCapacity(int positions) {
+        if (positions <= batchTrs[0].length) {
+            return;
+        }
+        int length = Math.max(positions, batchTrs[0].length * 2);
+        batchTrs = new float[TransformKernels.TRS_COLUMNS][length];
+        batchLocals = new float[TransformKernels.MATRIX_COLUMNS][length];
+        batchParents = new float[TransformKernels.MATRIX_COLUMNS][length];
+    }
+    
+    // ==================== Conversion ====================
+    
+    /**
+     * Copies a TransformComponent into a row.
+     * 
+     * @param row The destination row
+     * @param source The source transform
+     */
+    public void load(int row, TransformComponent source) {
+        Objects.checkIndex(row, size);
+        float[][] c = columns;
+        setVector(c, POS_X, row, source.position);
+        setQuaternion(c, ROT_X, row, source.rotation);
+        setVector(c, SCL_X, row, source.scale);
+        setVector(c, WORLD_POS_X, row, source.worldPosition);
+        setQuaternion(c, WORLD_ROT_X, row, source.worldRotation);
+        setVector(c, WORLD_SCL_X, row, source.worldScale);
+        writeMatrix(row);
+        flags[row] = (byte) ((source.isDirty ? FLAG_DIRTY : 0) | (source.hasChanged ? FLAG_CHANGED : 0));
+    }
+    
+    /**
+     * Copies a row into a TransformComponent. Hierarchy fields are left untouched.
+     * 
+     * @param row The source row
+     * @param target The destination transform
+     */
+    public void store(int row, TransformComponent target) {
+        Objects.checkIndex(row, size);
+        float[][] c = columns;
+        target.position.set(c[POS_X][row], c[POS_Y][row], c[POS_Z][row]);
+        target.rotation.set(c[ROT_X][row], c[ROT_Y][row], c[ROT_Z][row], c[ROT_W][row]);
+        target.scale.set(c[SCL_X][row], c[SCL_Y][row], c[SCL_Z][row]);
+        target.worldPosition.set(c[WORLD_POS_X][row], c[WORLD_POS_Y][row], c[WORLD_POS_Z][row]);
+        target.worldRotation.set(c[WORLD_ROT_X][row], c[WORLD_ROT_Y][row], c[WORLD_ROT_Z][row], c[WORLD_ROT_W][row]);
+        target.worldScale.set(c[WORLD_SCL_X][row], c[WORLD_SCL_Y][row], c[WORLD_SCL_Z][row]);
+        System.arraycopy(matrices, row * MATRIX_STRIDE, target.localToWorldMatrix.val, 0, MATRIX_STRIDE);
+        target.worldToLocalMatrix.set(target.localToWorldMatrix).inv();
+        target.isDirty = isDirty(row);
+        target.hasChanged = hasChanged(row);
+    }
+    
+    // ==================== Views ====================
+    
+    /**
+     * Creates a new unbound view. Views are cheap; keep one per system
+     * and rebind it with {@link View#bind(int)} instead of allocating per entity.
+     * 
+     * @return A new view
+     */
+    public View view() {
+        return new View();
+    }
+    
+    /**
+     * Flyweight with the TransformComponent editing API over one store entry.
+     * 
+     * A view is bound to an entity index, not a row, so it stays valid when
+     * other transforms are removed. Methods that return vectors or matrices
+     * write into a caller-supplied object instead of allocating.
+     */
+    public final class View {
+        
+        /** Scratch quaternion for rotation helpers. */
+        private final Quaternion scratch = new Quaternion();
+        
+        /** The bound entity index. */
+        private int entityIndex = ABSENT;
+        
+        private View() {
+        }
+        
+        /**
+         * Binds this view to an entity.
+         * 
+         * @param entityIndex The entity index
+         * @return This view for chaining
+         * @throws IllegalArgumentException if the entity has no transform in the store
+         */
+        public View bind(int entityIndex) {
+            if (!has(entityIndex)) {
+                throw new IllegalArgumentException("Entity has no packed transform: " + entityIndex);
+            }
+            this.entityIndex = entityIndex;
+            return this;
+        }
+        
+        /**
+         * Gets the bound entity index.
+         * 
+         * @return The entity index, or -1 if unbound
+         */
+        public int getEntityIndex() {
+            return entityIndex;
+        }
+        
+        /**
+         * Gets the current row of the bound entity.
+         * 
+         * @return The row
+         */
+        public int getRow() {
+            int row = rowOf(entityIndex);
+            if (row == ABSENT) {
+                throw new IllegalStateException("View is not bound to a live transform");
+            }
+            return row;
+        }
+        
+        // ==================== Position Methods ====================
+        
+        /**
+         * Sets the local position.
+         * 
+         * @param x X coordinate
+         * @param y Y coordinate
+         * @param z Z coordinate
+         * @return This view for chaining
+         */
+        public View setPosition(float x, float y, float z) {
+            int row = getRow();
+            columns[POS_X][row] = x;
+            columns[POS_Y][row] = y;
+            columns[POS_Z][row] = z;
+            TransformStore.this.markDirty(row);
+            return this;
+        }
+        
+        /**
+         * Sets the local position from a vector.
+         * 
+         * @param position The position vector
+         * @return This view for chaining
+         */
+        public View setPosition(Vector3 position) {
+            return setPosition(position.x, position.y, position.z);
+        }
+        
+        /**
+         * Translates the local position.
+         * 
+         * @param x X translation
+         * @param y Y translation
+         * @param z Z translation
+         * @return This view for chaining
+         */
+        public View translate(float x, float y, float z) {
+            int row = getRow();
+            columns[POS_X][row] += x;
+            columns[POS_Y][row] += y;
+            columns[POS_Z][row] += z;
+            TransformStore.this.markDirty(row);
+            return this;
+        }
+        
+        /**
+         * Translates the local position from a vector.
+         * 
+         * @param translation The translation vector
+         * @return This view for chaining
+         */
+        public View translate(Vector3 translation) {
+            return translate(translation.x, translation.y, translation.z);
+        }
+        
+        /**
+         * Copies the local position into a vector.
+         * 
+         * @param out The destination vector
+         * @return The destination vector
+         */
+        public Vector3 getPosition(Vector3 out) {
+            return getVector(POS_X, getRow(), out);
+        }
+        
+        // ==================== Rotation Methods ====================
+        
+        /**
+         * Sets the local rotation from a quaternion.
+         * 
+         * @param quaternion The rotation quaternion
+         * @return This view for chaining
+         */
+        public View setRotation(Quaternion quaternion) {
+            int row = getRow();
+            setQuaternion(columns, ROT_X, row, quaternion);
+            TransformStore.this.markDirty(row);
+            return this;
+        }
+        
+        /**
+         * Sets the local rotation from Euler angles, matching
+         * {@link TransformComponent#setRotation(float, float, float)}.
+         * 
+         * @param pitch X-axis rotation in degrees
+         * @param yaw Y-axis rotation in degrees
+         * @param roll Z-axis rotation in degrees
+         * @return This view for chaining
+         */
+        public View setRotation(float pitch, float yaw, float roll) {
+            return setRotation(scratch.setEulerAngles(pitch, yaw, roll));
+        }
+        
+        /**
+         * Rotates around an axis.
+         * 
+         * @param axis The rotation axis
+         * @param degrees Rotation angle in degrees
+         * @return This view for chaining
+         */
+        public View rotate(Vector3 axis, float degrees) {
+            return applyRotation(scratch.setFromAxis(axis, degrees));
+        }
+        
+        /**
+         * Rotates around the X axis.
+         * 
+         * @param degrees Rotation angle in degrees
+         * @return This view for chaining
+         */
+        public View rotateX(float degrees) {
+            return applyRotation(scratch.setFromAxis(1, 0, 0, degrees));
+        }
+        
+        /**
+         * Rotates around the Y axis.
+         * 
+         * @param degrees Rotation angle in degrees
+         * @return This view for chaining
+         */
+        public View rotateY(float degrees) {
+            return applyRotation(scratch.setFromAxis(0, 1, 0, degrees));
+        }
+        
+        /**
+         * Rotates around the Z axis.
+         * 
+         * @param degrees Rotation angle in degrees
+         * @return This view for chaining
+         */
+        public View rotateZ(float degrees) {
+            return applyRotation(scratch.setFromAxis(0, 0, 1, degrees));
+        }
+        
+        /**
+         * Copies the local rotation into a quaternion.
+         * 
+         * @param out The destination quaternion
+         * @return The destination quaternion
+         */
+        public Quaternion getRotation(Quaternion out) {
+            return getQuaternion(ROT_X, getRow(), out);
+        }
+        
+        // ==================== Scale Methods ====================
+        
+        /**
+         * Sets the local scale.
+         * 
+         * @param scale Uniform scale factor
+         * @return This view for chaining
+         */
+        public View setScale(float scale) {
+            return setScale(scale, scale, scale);
+        }
+        
+        /**
+         * Sets the local scale from individual factors.
+         * 
+         * @param x X scale
+         * @param y Y scale
+         * @param z Z scale
+         * @return This view for chaining
+         */
+        public View setScale(float x, float y, float z) {
+            int row = getRow();
+            columns[SCL_X][row] = x;
+            columns[SCL_Y][row] = y;
+            columns[SCL_Z][row] = z;
+            TransformStore.this.markDirty(row);
+            return this;
+        }
+        
+        /**
+         * Sets the local scale from a vector.
+         * 
+         * @param scale The scale vector
+         * @return This view for chaining
+         */
+        public View setScale(Vector3 scale) {
+            return setScale(scale.x, scale.y, scale.z);
+        }
+        
+        /**
+         * Scales the local transform.
+         * 
+         * @param factor Uniform scale factor
+         * @return This view for chaining
+         */
+        public View scaleBy(float factor) {
+            int row = getRow();
+            columns[SCL_X][row] *= factor;
+            columns[SCL_Y][row] *= factor;
+            columns[SCL_Z][row] *= factor;
+            TransformStore.this.markDirty(row);
+            return this;
+        }
+        
+        /**
+         * Copies the local scale into a vector.
+         * 
+         * @param out The destination vector
+         * @return The destination vector
+         */
+        public Vector3 getScale(Vector3 out) {
+            return getVector(SCL_X, getRow(), out);
+        }
+        
+        // ==================== World Transform ====================
+        
+        /**
+         * Marks this transform as dirty, requiring recalculation.
+         */
+        public void markDirty() {
+            TransformStore.this.markDirty(getRow());
+        }
+        
+        /**
+         * Checks if this transform needs recalculation.
+         * 
+         * @return true if dirty
+         */
+        public boolean isDirty() {
+            return TransformStore.this.isDirty(getRow());
+        }
+        
+        /**
+         * Copies the world position into a vector.
+         * 
+         * @param out The destination vector
+         * @return The destination vector
+         */
+        public Vector3 getWorldPosition(Vector3 out) {
+            return getVector(WORLD_POS_X, getRow(), out);
+        }
+        
+        /**
+         * Copies the world rotation into a quaternion.
+         * 
+         * @param out The destination quaternion
+         * @return The destination quaternion
+         */
+        public Quaternion getWorldRotation(Quaternion out) {
+            return getQuaternion(WORLD_ROT_X, getRow(), out);
+        }
+        
+        /**
+         * Copies the world scale into a vector.
+         * 
+         * @param out The destination vector
+         * @return The destination vector
+         */
+        public Vector3 getWorldScale(Vector3 out) {
+            return getVector(WORLD_SCL_X, getRow(), out);
+        }
+        
+        /**
+         * Copies the local-to-world matrix into a Matrix4.
+         * 
+         * @param out The destination matrix
+         * @return The destination matrix
+         */
+        public Matrix4 getLocalToWorldMatrix(Matrix4 out) {
+            System.arraycopy(matrices, getRow() * MATRIX_STRIDE, out.val, 0, MATRIX_STRIDE);
+            return out;
+        }
+        
+        /**
+         * Transforms a point from local to world space in place.
+         * 
+         * @param point Point in local space, overwritten with the world-space result
+         * @return The point
+         */
+        public Vector3 localToWorld(Vector3 point) {
+            float[] m = matrices;
+            int o = getRow() * MATRIX_STRIDE;
+            float x = point.x;
+            float y = point.y;
+            float z = point.z;
+            return point.set(
+                m[o + Matrix4.M00] * x + m[o + Matrix4.M01] * y + m[o + Matrix4.M02] * z + m[o + Matrix4.M03],
+                m[o + Matrix4.M10] * x + m[o + Matrix4.M11] * y + m[o + Matrix4.M12] * z + m[o + Matrix4.M13],
+                m[o + Matrix4.M20] * x + m[o + Matrix4.M21] * y + m[o + Matrix4.M22] * z + m[o + Matrix4.M23]
+            );
+        }
+        
+        /**
+         * Transforms a point from world to local space in place.
+         * 
+         * @param point Point in world space, overwritten with the local-space result
+         * @return The point
+         */
+        public Vector3 worldToLocal(Vector3 point) {
+            int row = getRow();
+            float[][] c = columns;
+            point.set(
+                point.x - c[WORLD_POS_X][row],
+                point.y - c[WORLD_POS_Y][row],
+                point.z - c[WORLD_POS_Z][row]
+            );
+            // Inverse rotation is the conjugate for unit quaternions
+            rotateVector(-c[WORLD_ROT_X][row], -c[WORLD_ROT_Y][row], -c[WORLD_ROT_Z][row],
+                c[WORLD_ROT_W][row], point);
+            return point.set(
+                point.x / c[WORLD_SCL_X][row],
+                point.y / c[WORLD_SCL_Y][row],
+                point.z / c[WORLD_SCL_Z][row]
+            );
+        }
+        
+        /**
+         * Transforms a direction from local to world space in place.
+         * 
+         * @param direction Direction in local space, overwritten with the world-space result
+         * @return The direction
+         */
+        public Vector3 localToWorldDirection(Vector3 direction) {
+            int row = getRow();
+            float[][] c = columns;
+            return rotateVector(c[WORLD_ROT_X][row], c[WORLD_ROT_Y][row], c[WORLD_ROT_Z][row],
+                c[WORLD_ROT_W][row], direction);
+        }
+        
+        // ==================== Conversion ====================
+        
+        /**
+         * Copies a TransformComponent into the bound entry.
+         * 
+         * @param source The source transform
+         * @return This view for chaining
+         */
+        public View load(TransformComponent source) {
+            TransformStore.this.load(getRow(), source);
+            return this;
+        }
+        
+        /**
+         * Copies the bound entry into a TransformComponent.
+         * 
+         * @param target The destination transform
+         * @return The destination transform
+         */
+        public TransformComponent store(TransformComponent target) {
+            TransformStore.this.store(getRow(), target);
+            return target;
+        }
+        
+        private View applyRotation(Quaternion q) {
+            int row = getRow();
+            float[][] c = columns;
+            float x = c[ROT_X][row];
+            float y = c[ROT_Y][row];
+            float z = c[ROT_Z][row];
+            float w = c[ROT_W][row];
+            c[ROT_X][row] = w * q.x + x * q.w + y * q.z - z * q.y;
+            c[ROT_Y][row] = w * q.y + y * q.w + z * q.x - x * q.z;
+            c[ROT_Z][row] = w * q.z + z * q.w + x * q.y - y * q.x;
+            c[ROT_W][row] = w * q.w - x * q.x - y * q.y - z * q.z;
+            TransformStore.this.markDirty(row);
+            return this;
+        }
+        
+        private Vector3 getVector(int firstColumn, int row, Vector3 out) {
+            return out.set(columns[firstColumn][row], columns[firstColumn + 1][row], columns[firstColumn + 2][row]);
+        }
+        
+        private Quaternion getQuaternion(int firstColumn, int row, Quaternion out) {
+            return out.set(columns[firstColumn][row], columns[firstColumn + 1][row],
+                columns[firstColumn + 2][row], columns[firstColumn + 3][row]);
+        }
+    }
+    
+    // ==================== Internal ====================
+    
+    /**
+     * Writes the local-to-world matrix of a row from its world TRS columns.
+     */
+    private void writeMatrix(int row) {
+        float[][] c = columns;
+        float qx = c[WORLD_ROT_X][row];
+        float qy = c[WORLD_ROT_Y][row];
+        float qz = c[WORLD_ROT_Z][row];
+        float qw = c[WORLD_ROT_W][row];
+        float sx = c[WORLD_SCL_X][row];
+        float sy = c[WORLD_SCL_Y][row];
+        float sz = c[WORLD_SCL_Z][row];
+        
+        float xs = qx * 2f, ys = qy * 2f, zs = qz * 2f;
+        float wx = qw * xs, wy = qw * ys, wz = qw * zs;
+        float xx = qx * xs, xy = qx * ys, xz = qx * zs;
+        float yy = qy * ys, yz = qy * zs, zz = qz * zs;
+        
+        float[] m = matrices;
+        int o = row * MATRIX_STRIDE;
+        m[o + Matrix4.M00] = sx * (1f - (yy + zz));
+        m[o + Matrix4.M01] = sy * (xy - wz);
+        m[o + Matrix4.M02] = sz * (xz + wy);
+        m[o + Matrix4.M03] = c[WORLD_POS_X][row];
+        m[o + Matrix4.M10] = sx * (xy + wz);
+        m[o + Matrix4.M11] = sy * (1f - (xx + zz));
+        m[o + Matrix4.M12] = sz * (yz - wx);
+        m[o + Matrix4.M13] = c[WORLD_POS_Y][row];
+        m[o + Matrix4.M20] = sx * (xz - wy);
+        m[o + Matrix4.M21] = sy * (yz + wx);
+        m[o + Matrix4.M22] = sz * (1f - (xx + yy));
+        m[o + Matrix4.M23] = c[WORLD_POS_Z][row];
+        m[o + Matrix4.M30] = 0f;
+        m[o + Matrix4.M31] = 0f;
+        m[o + Matrix4.M32] = 0f;
+        m[o + Matrix4.M33] = 1f;
+    }
+    
+    /**
+     * Writes the world rotation and scale of a row from its local ones and
+     * its parent row's world ones.
+     */
+    private static void combineRotationAndScale(float[][] c, int row, int parentRow) {
+        if (parentRow == ABSENT) {
+            for (int i = ROT_X; i <= SCL_Z; i++) {
+                c[WORLD_POS_X + i][row] = c[i][row];
+            }
+            return;
+        }
+        
+        // Rotation = parentRotation * localRotation
+        float pqx = c[WORLD_ROT_X][parentRow];
+        float pqy = c[WORLD_ROT_Y][parentRow];
+        float pqz = c[WORLD_ROT_Z][parentRow];
+        float pqw = c[WORLD_ROT_W][parentRow];
+        float qx = c[ROT_X][row];
+        float qy = c[ROT_Y][row];
+        float qz = c[ROT_Z][row];
+        float qw = c[ROT_W][row];
+        c[WORLD_ROT_X][row] = pqw * qx + pqx * qw + pqy * qz - pqz * qy;
+        c[WORLD_ROT_Y][row] = pqw * qy + pqy * qw + pqz * qx - pqx * qz;
+        c[WORLD_ROT_Z][row] = pqw * qz + pqz * qw + pqx * qy - pqy * qx;
+        c[WORLD_ROT_W][row] = pqw * qw - pqx * qx - pqy * qy - pqz * qz;
+        
+        // Scale = parentScale * localScale
+        c[WORLD_SCL_X][row] = c[WORLD_SCL_X][parentRow] * c[SCL_X][row];
+        c[WORLD_SCL_Y][row] = c[WORLD_SCL_Y][parentRow] * c[SCL_Y][row];
+        c[WORLD_SCL_Z][row] = c[WORLD_SCL_Z][parentRow] * c[SCL_Z][row];
+    }
+    
+    /**
+     * Rotates a vector in place by a unit quaternion.
+     */
+    private static Vector3 rotateVector(float qx, float qy, float qz, float qw, Vector3 v) {
+        float tx = 2f * (qy * v.z - qz * v.y);
+        float ty = 2f * (qz * v.x - qx * v.z);
+        float tz = 2f * (qx * v.y - qy * v.x);
+        return v.set(
+            v.x + qw * tx + (qy * tz - qz * ty),
+            v.y + qw * ty + (qz * tx - qx * tz),
+            v.z + qw * tz + (qx * ty - qy * tx)
+        );
+    }
+    
+    private static void setVector(float[][] c, int firstColumn, int row, Vector3 v) {
+        c[firstColumn][row] = v.x;
+        c[firstColumn + 1][row] = v.y;
+        c[firstColumn + 2][row] = v.z;
+    }
+    
+    private static void setQuaternion(float[][] c, int firstColumn, int row, Quaternion q) {
+        c[firstColumn][row] = q.x;
+        c[firstColumn + 1][row] = q.y;
+        c[firstColumn + 2][row] = q.z;
+        c[firstColumn + 3][row] = q.w;
+    }
+    
+    private void grow(int capacity) {
+        entities = Arrays.copyOf(entities, capacity);
+        for (int c = 0; c < COLUMN_COUNT; c++) {
+            columns[c] = Arrays.copyOf(columns[c], capacity);
+        }
+        matrices = Arrays.copyOf(matrices, capacity * MATRIX_STRIDE);
+        flags = Arrays.copyOf(flags, capacity);
+    }
+    
+    private void ensureSparseCapacity(int entityIndex) {
+        if (entityIndex < sparse.length) {
+            return;
+        }
+        
+        int oldLength = sparse.length;
+        int newLength = Math.max(oldLength * 2, entityIndex + 1);
+        sparse = Arrays.copyOf(sparse, newLength);
+        Arrays.fill(sparse, oldLength, newLength, ABSENT);
+    }
+}
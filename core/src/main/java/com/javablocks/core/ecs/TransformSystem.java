@@ -0,0 +1,548 @@
+/*
+ * JavaBlocks Engine - Transform System
+ * 
+ * Propagates world transforms down the entity hierarchy.
+ */
+package com.javablocks.core.ecs;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Updates the world transform of every {@link TransformComponent} from its
+ * local transform and its parent's world transform.
+ * 
+ * Features:
+ * - Transforms are kept in flat arrays sorted by hierarchy depth, rebuilt
+ *   only when the hierarchy or the set of transforms changes
+ * - Only dirty transforms and the subtrees below them are recomputed
+ * - Every recomputed transform is stamped as changed, so change queries
+ *   and snapshots see children that moved with their parent
+ * - Each depth level is split into chunks that run in parallel on the
+ *   world's system pool; parents are always finished before their children
+ * - Packed transforms in the world's {@link TransformStore} get a depth
+ *   order of their own; each level is propagated in batches with the
+ *   selected {@link com.javablocks.core.math.TransformKernels}
+ * - No recursion and no allocation per frame
+ * 
+ * A transform whose parent has no TransformComponent inherits from its
+ * nearest ancestor that has one, or acts as a root if none does; packed
+ * transforms likewise inherit from the nearest ancestor with a packed
+ * transform. The two orders are propagated separately, so a
+ * TransformComponent never inherits from a packed transform or the other
+ * way round. Runs at the lowest priority so world transforms include
+ * every change made during the frame.
+ * 
+ * @author JavaBlocks Engine Team
+ */
+public final class TransformSystem extends GameSystem {
+    
+    // ==================== Constants ====================
+    
+    /** Default transforms per parallel chunk. */
+    public static final int DEFAULT_GRAIN_SIZE = 512;
+    
+    /** Position of a transform without a transformed ancestor. */
+    private static final int ROOT = -1;
+    
+    // ==================== Instance Variables ====================
+    
+    /** Entities with a transform. */
+    private final Query transforms;
+    
+    /** Transform access, resolved on initialization. */
+    private ComponentMapper<TransformComponent> mapper;
+    
+    /** The world's hierarchy, resolved on initialization. */
+    private Hierarchy hierarchy;
+    
+    /** Transforms per parallel chunk. */
+    private int grainSize = DEFAULT_GRAIN_SIZE;
+    
+    // ==================== Depth Order ====================
+    
+    /** Member handles sorted by depth. */
+    private long[] handles = new long[0];
+    
+    /** Position of each transform's parent in {@link #handles}, or {@link #ROOT}. */
+    private int[] parents = new int[0];
+    
+    /** Whether each transform was recomputed this frame. */
+    private boolean[] updated = new boolean[0];
+    
+    /** First position of each depth level, plus the end of the last. */
+    private int[] levelStarts = new int[2];
+    
+    /** Number of depth levels. */
+    private int levelCount;
+    
+    /** Number of sorted transforms. */
+    private int count;
+    
+    /** Entity index to position in {@link #handles}, or {@link #ROOT}. */
+    private int[] positions = new int[0];
+    
+    /** Entity index to the handle of its nearest transformed ancestor. */
+    private long[] ancestors = new long[0];
+    
+    /** Hierarchy version the order was built at. */
+    private int hierarchyVersion = -1;
+    
+    /** Query version the order was built at. */
+    private int queryVersion = -1;
+    
+    /** Number of order rebuilds, for diagnostics. */
+    private long rebuildCount;
+    
+    // ==================== Packed Depth Order ====================
+    
+    /** The world's packed transforms, resolved on initialization. */
+    private TransformStore store;
+    
+    /** Store rows sorted by depth. */
+    private int[] packedRows = new int[0];
+    
+    /** Position of each row's parent in {@link #packedRows}, or {@link #ROOT}. */
+    private int[] packedParents = new int[0];
+    
+    /** Whether each packed row was recomputed this frame. */
+    private boolean[] packedUpdated = new boolean[0];
+    
+    /** Rows to recompute, compacted within each propagated range. */
+    private int[] batchRows = new int[0];
+    
+    /** Parent rows of {@link #batchRows}, or -1 for roots. */
+    private int[] batchParentRows = new int[0];
+    
+    /** First position of each packed depth level, plus the end of the last. */
+    private int[] packedLevelStarts = new int[2];
+    
+    /** Number of packed depth levels. */
+    private int packedLevelCount;
+    
+    /** Number of sorted packed rows. */
+    private int packedCount;
+    
+    /** Hierarchy version the packed order was built at. */
+    private int packedHierarchyVersion = -1;
+    
+    /** Store version the packed order was built at. */
+    private int storeVersion = -1;
+    
+    // ==================== Parallel Tasks ====================
+    
+    /** Reusable task walking the levels on the pool. */
+    private final Propagation propagation = new Propagation();
+    
+    /** Reusable chunk tasks, sized to the pool's parallelism. */
+    private LevelChunk[] chunks = new LevelChunk[0];
+    
+    // ==================== Constructor ====================
+    
+    /**
+     * Creates the transform system.
+     */
+    public TransformSystem() {
+        super(PRIORITY_LOWEST);
+        this.transforms = addQuery(new Query().all(TransformComponent.class));
+        writes(TransformComponent.class);
+    }
+    
+    // ==================== Lifecycle ====================
+    
+    /**
+     * Resolves the transform mapper, the packed transform store and the
+     * world's hierarchy.
+     * 
+     * @param world The world this system was added to
+     */
+    @Override
+    protected void initialize(World world) {
+        super.initialize(world);
+        this.mapper = mapper(TransformComponent.class);
+        this.store = world.getTransformStore();
+        this.hierarchy = world.getHierarchy();
+    }
+    
+    // ==================== Update ====================
+    
+    /**
+     * Recomputes the world transforms of dirty transforms and everything
+     * below them, one depth level at a time.
+     * 
+     * @param deltaTime Time since last frame in seconds
+     */
+    @Override
+    public void update(float deltaTime) {
+        if (hierarchy.getVersion() != hierarchyVersion || transforms.getVersion() != queryVersion) {
+            rebuild();
+        }
+        if (hierarchy.getVersion() != packedHierarchyVersion || store.getVersion() != storeVersion) {
+            rebuildPacked();
+        }
+        if (count == 0 && packedCount == 0) {
+            return;
+        }
+        
+        ForkJoinPool pool = getWorld().getSystemPool();
+        if (pool == null || Math.max(count, packedCount) <= grainSize) {
+            for (int level = 0; level < levelCount; level++) {
+                propagate(levelStarts[level], levelStarts[level + 1]);
+            }
+            for (int level = 0; level < packedLevelCount; level++) {
+                propagatePacked(packedLevelStarts[level], packedLevelStarts[level + 1]);
+            }
+            return;
+        }
+        
+        ensureChunks(pool.getParallelism() * 4);
+        propagation.reinitialize();
+        if (ForkJoinTask.inForkJoinPool() && ForkJoinTask.getPool() == pool) {
+            propagation.invoke();
+        } else {
+            pool.invoke(propagation);
+        }
+    }
+    
+    // ==================== Configuration ====================
+    
+    /**
+     * Sets how many transforms of one depth level each parallel chunk
+     * handles. Levels no larger than this run on the calling thread.
+     * 
+     * @param grainSize Transforms per chunk
+     */
+    public void setGrainSize(int grainSize) {
+        if (grainSize <= 0) {
+            throw new IllegalArgumentException("Grain size must be positive: " + grainSize);
+        }
+        this.grainSize = grainSize;
+    }
+    
+    /**
+     * Gets the transforms per parallel chunk.
+     * 
+     * @return The grain size
+     */
+    public int getGrainSize() {
+        return grainSize;
+    }
+    
+    // ==================== Information ====================
+    
+    /**
+     * Gets the number of depth levels in the current order.
+     * 
+     * @return The level count
+     */
+    public int getDepthCount() {
+        return levelCount;
+    }
+    
+    /**
+     * Gets the number of depth levels in the current packed order.
+     * 
+     * @return The packed level count
+     */
+    public int getPackedDepthCount() {
+        return packedLevelCount;
+    }
+    
+    /**
+     * Gets how many times the depth order has been rebuilt.
+     * 
+     * @return The rebuild count
+     */
+    public long getRebuildCount() {
+        return rebuildCount;
+    }
+    
+    @Override
+    public Map<String, Object> getDebugInfo() {
+        Map<String, Object> info = super.getDebugInfo();
+        info.put("Transforms", count);
+        info.put("Depth Levels", levelCount);
+        info.put("Packed Transforms", packedCount);
+        info.put("Order Rebuilds", rebuildCount);
+        return info;
+    }
+    
+    // ==================== Internal ====================
+    
+    /**
+     * Recomputes a range of one depth level. Reads only positions of
+     * earlier levels, so ranges of a level can run concurrently.
+     */
+    private void propagate(int from, int to) {
+        World world = getWorld();
+        int typeId = mapper.getTypeId();
+        long[] h = handles;
+        int[] p = parents;
+        boolean[] u = updated;
+        for (int pos = from; pos < to; pos++) {
+            TransformComponent transform = mapper.get(h[pos]);
+            int parent = p[pos];
+            if (transform.isDirty || (parent != ROOT && u[parent])) {
+                transform.updateWorldTransform(parent == ROOT ? null : mapper.get(h[parent]));
+                world.markChanged(h[pos], typeId);
+                u[pos] = true;
+            } else {
+                u[pos] = false;
+            }
+        }
+    }
+    
+    /**
+     * Recomputes a range of one packed depth level. Rows that need it are
+     * compacted to the front of the range and updated in one batch.
+     */
+    private void propagatePacked(int from, int to) {
+        int[] rows = packedRows;
+        int[] p = packedParents;
+        boolean[] u = packedUpdated;
+        int end = from;
+        for (int pos = from; pos < to; pos++) {
+            int row = rows[pos];
+            int parent = p[pos];
+            if (store.isDirty(row) || (parent != ROOT && u[parent])) {
+                batchRows[end] = row;
+                batchParentRows[end] = parent == ROOT ? -1 : rows[parent];
+                end++;
+                u[pos] = true;
+            } else {
+                u[pos] = false;
+            }
+        }
+        if (end > from) {
+            store.updateWorldTransforms(batchRows, batchParentRows, from, end);
+        }
+    }
+    
+    /**
+     * Sorts the members by depth with a counting sort and links each to
+     * its nearest transformed ancestor.
+     */
+    private void rebuild() {
+        for (int pos = 0; pos < count; pos++) {
+            positions[Entity.unpackIndex(handles[pos])] = ROOT;
+        }
+        
+        int size = transforms.size();
+        if (size > handles.length) {
+            int length = Math.max(size, handles.length * 2);
+            handles = new long[length];
+            parents = new int[length];
+            updated = new boolean[length];
+        }
+        
+        int maxDepth = -1;
+        int maxIndex = -1;
+        for (int slot = 0; slot < size; slot++) {
+            int index = transforms.getEntityIndex(slot);
+            maxDepth = Math.max(maxDepth, hierarchy.depthOf(index));
+            maxIndex = Math.max(maxIndex, index);
+        }
+        if (maxIndex >= positions.length) {
+            int oldLength = positions.length;
+            int length = Math.max(maxIndex + 1, oldLength * 2);
+            positions = Arrays.copyOf(positions, length);
+            Arrays.fill(positions, oldLength, length, ROOT);
+            ancestors = Arrays.copyOf(ancestors, length);
+            Arrays.fill(ancestors, oldLength, length, Entity.NULL_HANDLE);
+        }
+        if (maxDepth + 2 > levelStarts.length) {
+            levelStarts = new int[Math.max(maxDepth + 2, levelStarts.length * 2)];
+        }
+        
+        // Count each level into the slot after it, then turn counts into starts
+        int[] starts = levelStarts;
+        Arrays.fill(starts, 0, maxDepth + 2, 0);
+        for (int slot = 0; slot < size; slot++) {
+            starts[hierarchy.depthOf(transforms.getEntityIndex(slot)) + 1]++;
+        }
+        for (int level = 1; level <= maxDepth + 1; level++) {
+            starts[level] += starts[level - 1];
+        }
+        
+        // Place members, using the starts as cursors and shifting them back after
+        for (int slot = 0; slot < size; slot++) {
+            long handle = transforms.getHandle(slot);
+            int index = Entity.unpackIndex(handle);
+            int pos = starts[hierarchy.depthOf(index)]++;
+            handles[pos] = handle;
+            positions[index] = pos;
+        }
+        for (int level = maxDepth + 1; level > 0; level--) {
+            starts[level] = starts[level - 1];
+        }
+        starts[0] = 0;
+        
+        // Transforms whose nearest transformed ancestor changed are recomputed
+        for (int pos = 0; pos < size; pos++) {
+            int index = Entity.unpackIndex(handles[pos]);
+            int ancestor = hierarchy.parentOf(index);
+            // Ancestors past the highest member index have no transform either
+            while (ancestor != Hierarchy.NONE && (ancestor >= positions.length || positions[ancestor] == ROOT)) {
+                ancestor = hierarchy.parentOf(ancestor);
+            }
+            int parent = ancestor == Hierarchy.NONE ? ROOT : positions[ancestor];
+            long ancestorHandle = parent == ROOT ? Entity.NULL_HANDLE : handles[parent];
+            if (ancestors[index] != ancestorHandle) {
+                ancestors[index] = ancestorHandle;
+                mapper.get(handles[pos]).isDirty = true;
+            }
+            parents[pos] = parent;
+        }
+        
+        count = size;
+        levelCount = maxDepth + 1;
+        hierarchyVersion = hierarchy.getVersion();
+        queryVersion = transforms.getVersion();
+        rebuildCount++;
+    }
+    
+    /**
+     * Sorts the packed rows by depth and links each to the row of its
+     * nearest ancestor with a packed transform. Rows move on structural
+     * changes, so every row is recomputed after a rebuild.
+     */
+    private void rebuildPacked() {
+        int size = store.size();
+        if (size > packedRows.length) {
+            int length = Math.max(size, packedRows.length * 2);
+            packedRows = new int[length];
+            packedParents = new int[length];
+            packedUpdated = new boolean[length];
+            batchRows = new int[length];
+            batchParentRows = new int[length];
+        }
+        
+        int maxDepth = -1;
+        for (int row = 0; row < size; row++) {
+            maxDepth = Math.max(maxDepth, hierarchy.depthOf(store.getEntityIndex(row)));
+        }
+        if (maxDepth + 2 > packedLevelStarts.length) {
+            packedLevelStarts = new int[Math.max(maxDepth + 2, packedLevelStarts.length * 2)];
+        }
+        
+        int[] starts = packedLevelStarts;
+        Arrays.fill(starts, 0, maxDepth + 2, 0);
+        for (int row = 0; row < size; row++) {
+            starts[hierarchy.depthOf(store.getEntityIndex(row)) + 1]++;
+        }
+        for (int level = 1; level <= maxDepth + 1; level++) {
+            starts[level] += starts[level - 1];
+        }
+        
+        // The batch rows are free until the next propagation; map rows to positions there
+        int[] positionOfRow = batchRows;
+        for (int row = 0; row < size; row++) {
+            int pos = starts[hierarchy.depthOf(store.getEntityIndex(row))]++;
+            packedRows[pos] = row;
+            positionOfRow[row] = pos;
+        }
+        for (int level = maxDepth + 1; level > 0; level--) {
+            starts[level] = starts[level - 1];
+        }
+        starts[0] = 0;
+        
+        for (int pos = 0; pos < size; pos++) {
+            int ancestor = hierarchy.parentOf(store.getEntityIndex(packedRows[pos]));
+            while (ancestor != Hierarchy.NONE && !store.has(ancestor)) {
+                ancestor = hierarchy.parentOf(ancestor);
+            }
+            packedParents[pos] = ancestor == Hierarchy.NONE ? ROOT : positionOfRow[store.rowOf(ancestor)];
+            store.markDirty(packedRows[pos]);
+        }
+        store.ensureBatchCapacity(size);
+        
+        packedCount = size;
+        packedLevelCount = maxDepth + 1;
+        packedHierarchyVersion = hierarchy.getVersion();
+        storeVersion = store.getVersion();
+        rebuildCount++;
+    }
+    
+    private void ensureChunks(int maxChunks) {
+        if (chunks.length != maxChunks) {
+            chunks = new LevelChunk[maxChunks];
+            for (int i = 0; i < maxChunks; i++) {
+                chunks[i] = new LevelChunk();
+            }
+        }
+    }
+    
+    // ==================== Tasks ====================
+    
+    /**
+     * Walks the depth levels in order, forking large levels into chunks
+     * and joining them before moving on to the next level.
+     */
+    @SuppressWarnings("serial")
+    private final class Propagation extends RecursiveAction {
+        
+        @Override
+        protected void compute() {
+            walk(levelStarts, levelCount, false);
+            walk(packedLevelStarts, packedLevelCount, true);
+        }
+        
+        private void walk(int[] starts, int levels, boolean packed) {
+            for (int level = 0; level < levels; level++) {
+                int from = starts[level];
+                int to = starts[level + 1];
+                int levelSize = to - from;
+                if (levelSize <= grainSize) {
+                    if (packed) {
+                        propagatePacked(from, to);
+                    } else {
+                        propagate(from, to);
+                    }
+                    continue;
+                }
+                
+                int chunkCount = Math.min(chunks.length, (levelSize + grainSize - 1) / grainSize);
+                int chunkSize = (levelSize + chunkCount - 1) / chunkCount;
+                for (int i = 0; i < chunkCount; i++) {
+                    LevelChunk chunk = chunks[i];
+                    chunk.reinitialize();
+                    chunk.packed = packed;
+                    chunk.from = from + i * chunkSize;
+                    chunk.to = Math.min(to, chunk.from + chunkSize);
+                }
+                for (int i = chunkCount - 1; i > 0; i--) {
+                    chunks[i].fork();
+                }
+                chunks[0].compute();
+                for (int i = 1; i < chunkCount; i++) {
+                    chunks[i].join();
+                }
+            }
+        }
+    }
+    
+    /**
+     * A reusable range of one depth level.
+     */
+    @SuppressWarnings("serial")
+    private final class LevelChunk extends RecursiveAction {
+        
+        /** First position, inclusive. */
+        int from;
+        
+        /** Last position, exclusive. */
+        int to;
+        
+        /** Whether the range is of the packed order. */
+        boolean packed;
+        
+        @Override
+        protected void compute() {
+            if (packed) {
+                propagatePacked(from, to);
+            } else {
+                propagate(from, to);
+            }
+        }
+    }
+}
@@ -10,6 +10,9 @@ import com.javablocks.core.*;
 import com.javablocks.core.components.*;
 import com.javablocks.core.events.*;
 import com.javablocks.core.math.*;
+import com.javablocks.core.utils.*;
+import java.io.*;
+import java.nio.file.*;
 import java.util.*;
 import java.util.concurrent.*;
 import java.util.function.*;
@@ -40,6 +43,25 @@ public final class World {
     /** Number of milliseconds to wait for system updates. */
     private static final long SYSTEM_UPDATE_TIMEOUT_MS = 100;
     
+    /** Maximum number of released snapshots kept for reuse. */
+    private static final int MAX_POOLED_SNAPSHOTS = 16;
+    
+    /** Type ID of {@link TransformComponent}, whose links mirror the hierarchy. */
+    private static final int TRANSFORM_TYPE_ID = ComponentRegistry.getTypeId(TransformComponent.class);
+    
+    // ==================== Storage Modes ====================
+    
+    /**
+     * Component storage layouts supported by the world.
+     */
+    public enum StorageMode {
+        /** One sparse-set pool per component type. */
+        POOLED,
+        
+        /** Entities grouped by component signature into chunked columns. */
+        ARCHETYPE
+    }
+    
     // ==================== Instance Variables ====================
     
     /** Engine configuration. */
@@ -48,8 +70,23 @@ public final class World {
     /** Entity pool for efficient entity ID management. */
     private final Entity.EntityPool entityPool;
     
-    /** Component manager for component storage. */
-    private final ComponentManager componentManager;
+    /** Storage layout selected by the configuration. */
+    private final StorageMode storageMode;
+    
+    /** Component storage backend for the selected layout. */
+    private final ComponentStorage componentStorage;
+    
+    /** Generated stores for {@link Packed} components, indexed by type ID. */
+    private final PackedStore<?>[] packedStores;
+    
+    /** Type IDs whose packed store lookup has already been resolved. */
+    private final BitSet packedResolved;
+    
+    /** Packed stores in creation order, for per-entity cleanup. */
+    private final ArrayList<PackedStore<?>> packedStoreList;
+    
+    /** Packed struct-of-arrays transforms, independent of the storage mode. */
+    private final TransformStore transformStore;
     
     /** System manager for system execution. */
     private final SystemManager systemManager;
@@ -57,58 +94,71 @@ public final class World {
     /** Signal registry for event communication. */
     private final SignalRegistry signalRegistry;
     
-    /** Entity sets for fast entity iteration. */
-    private final EntitySet entitySet;
+    /** Per-entity component signature bitsets. */
+    private final ComponentSignatures signatures;
+    
+    /** Parent/child links between entities. */
+    private final Hierarchy hierarchy;
+    
+    /** Per-component added and changed ticks. */
+    private final ChangeTicks changeTicks;
+    
+    /** Batched component add, set and remove observers. */
+    private final ComponentObservers observers;
+    
+    /** Mappers by type ID, created on first use. */
+    private volatile ComponentMapper<?>[] mappers;
+    
+    /** Free lists of removed component instances. */
+    private final ComponentRecycler recycler;
+    
+    /** Released snapshots kept for reuse. */
+    private final ArrayDeque<WorldSnapshot> snapshotPool;
+    
+    /** Jobs systems fan work out to within a frame. */
+    private JobSystem jobSystem;
+    
+    /** Current change tick; advanced before every system stage and after each phase. */
+    private int changeTick;
+    
+    /** Registered queries. */
+    private final ArrayList<Query> queries;
+    
+    /** Registered queries per component type ID they filter on. */
+    private Query[][] queriesByType;
+    
+    /** Registered queries that match entities without components. */
+    private final ArrayList<Query> emptyMatchingQueries;
+    
+    /** Queries created on demand by {@link #getEntitiesWith}; read concurrently by stage systems. */
+    private final ConcurrentHashMap<List<Class<? extends Component>>, Query> cachedQueries;
     
     /** Active entities list for fast iteration. */
-    private final LongList activeEntities;
+    private final HandleList activeEntities;
+    
+    /** Commands recorded outside systems, played back at the start of update. */
+    private final CommandBuffer commandBuffer;
     
-    /** Pending entity operations (thread-safe queue). */
-    private final ConcurrentLinkedQueue<EntityOperation> pendingOperations;
+    /** Handles queued for destruction; guarded by itself. */
+    private final LongList pendingDestroys;
+    
+    /** Destroy batch being processed, reused between frames. */
+    private final LongList destroyBatch;
     
     /** Number of entities currently in the world. */
     private int entityCount;
     
+    /** Progress between the last two fixed steps, for render interpolation. */
+    private float interpolationAlpha;
+    
     /** Whether the world is updating (for safety checks). */
     private volatile boolean isUpdating;
     
     /** Whether the world has been disposed. */
     private volatile boolean disposed;
     
-    // ==================== Entity Operations ====================
-    
-    /**
-     * Internal structure for pending entity operations.
-     */
-    private static final class EntityOperation {
-        enum Type { CREATE, DESTROY, ADD_COMPONENT, REMOVE_COMPONENT }
-        
-        final Type type;
-        final Entity entity;
-        final Component component;
-        final Class<? extends Component> componentClass;
-        
-        EntityOperation(Type type, Entity entity) {
-            this.type = type;
-            this.entity = entity;
-            this.component = null;
-            this.componentClass = null;
-        }
-        
-        EntityOperation(Type type, Entity entity, Component component) {
-            this.type = type;
-            this.entity = entity;
-            this.component = component;
-            this.componentClass = null;
-        }
-        
-        EntityOperation(Type type, Entity entity, Class<? extends Component> componentClass) {
-            this.type = type;
-            this.entity = entity;
-            this.component = null;
-            this.componentClass = componentClass;
-        }
-    }
+    /** Whether systems of a stage are running concurrently; structural changes fail meanwhile. */
+    private volatile boolean parallelStage;
     
     // ==================== Constructor ====================
     
@@ -131,21 +181,49 @@ public final class World {
         int initialEntities = config.initialEntityPoolSize > 0 ? 
             config.initialEntityPoolSize : DEFAULT_INITIAL_ENTITIES;
         
-        this.entityPool = new Entity.EntityPool(initialEntities);
-        this.componentManager = new ComponentManager(DEFAULT_COMPONENT_POOLS);
-        this.systemManager = new SystemManager();
+        this.entityPool = new Entity.EntityPool(initialEntities, config.debugMode);
+        this.storageMode = config.storageMode != null ? config.storageMode : StorageMode.POOLED;
+        this.componentStorage = storageMode == StorageMode.ARCHETYPE
+            ? new ArchetypeStorage(initialEntities)
+            : new ComponentManager(DEFAULT_COMPONENT_POOLS);
+        this.packedStores = new PackedStore<?>[ComponentRegistry.MAX_COMPONENT_TYPES];
+        this.packedResolved = new BitSet();
+        this.packedStoreList = new ArrayList<>();
+        this.transformStore = new TransformStore();
+        this.systemManager = new SystemManager(this);
+        setFrameBudget(config.frameBudgetMs);
         this.signalRegistry = new SignalRegistry();
-        this.entitySet = new EntitySet();
-        this.activeEntities = new LongList(initialEntities);
-        this.pendingOperations = new ConcurrentLinkedQueue<>();
+        this.signatures = new ComponentSignatures(initialEntities);
+        this.changeTicks = new ChangeTicks(initialEntities);
+        this.hierarchy = new Hierarchy(initialEntities);
+        this.observers = new ComponentObservers();
+        this.mappers = new ComponentMapper<?>[0];
+        this.recycler = new ComponentRecycler(config.componentPoolCapacity, config.debugMode);
+        this.snapshotPool = new ArrayDeque<>();
+        this.jobSystem = new JobSystem(null);
+        this.changeTick = 1;
+        this.queries = new ArrayList<>();
+        this.queriesByType = new Query[0][];
+        this.emptyMatchingQueries = new ArrayList<>();
+        this.cachedQueries = new ConcurrentHashMap<>();
+        this.activeEntities = new HandleList(initialEntities);
+        this.commandBuffer = new CommandBuffer();
+        this.pendingDestroys = new LongList(64);
+        this.destroyBatch = new LongList(64);
         this.entityCount = 0;
         this.isUpdating = false;
         
+        // Resolve packed stores up front so component reads never create them
+        for (Class<? extends Component> componentClass : ComponentRegistry.getRegisteredClasses()) {
+            resolvePackedStore(ComponentRegistry.getTypeId(componentClass));
+        }
+        
         // Create special entities
         createSpecialEntities();
         
         if (config.debugMode) {
-            System.out.println("[World] Initialized with capacity for " + initialEntities + " entities");
+            System.out.println("[World] Initialized with capacity for " + initialEntities + 
+                " entities (" + storageMode + " storage)");
         }
     }
     
@@ -174,36 +252,112 @@ public final class World {
         addComponent(entity, new ActiveComponent(true));
         addComponent(entity, new LifetimeComponent());
         
-        // Queue creation operation for thread safety
-        pendingOperations.offer(new EntityOperation(
-            EntityOperation.Type.CREATE, entity
-        ));
-        
         // Dispatch creation signal
-        signalRegistry.dispatch(JavaBlocksEngine.EngineSignals.ENTITY_CREATED, entity);
+        signalRegistry.dispatch(JavaBlocksEngine.EngineSignals.ENTITY_CREATED,
+            new JavaBlocksEngine.EntitiesCreated(new long[] {entity.getHandle()}));
         
         return entity;
     }
     
+    /**
+     * Creates many entities from a template in one batch.
+     * 
+     * Entity IDs are reserved in one step, every entity receives the
+     * template's precompiled signature and query memberships, and a single
+     * {@code ENTITY_CREATED} event is dispatched carrying the returned
+     * handles. No per-entity creation operations are queued.
+     * 
+     * @param count The number of entities to create
+     * @param template The components each entity starts with
+     * @return The packed handles of the new entities
+     */
+    public long[] createEntities(int count, EntityTemplate template) {
+        Objects.requireNonNull(template, "Template cannot be null");
+        if (count < 0) {
+            throw new IllegalArgumentException("Count cannot be negative: " + count);
+        }
+        
+        checkStructuralChange();
+        long[] handles = new long[count];
+        if (count == 0) {
+            return handles;
+        }
+        
+        template.compile(this);
+        int[] indices = new int[count];
+        entityPool.obtain(indices, count);
+        
+        int[] typeIds = template.objectTypeIds;
+        Component[] prototypes = template.objectPrototypes;
+        Component[] components = new Component[typeIds.length];
+        PackedStore<Component>[] stores = template.packedStores;
+        
+        for (int i = 0; i < count; i++) {
+            int index = indices[i];
+            long handle = Entity.pack(index, entityPool.getGeneration(index));
+            handles[i] = handle;
+            activeEntities.add(handle);
+            signatures.or(index, template.mask);
+            
+            for (int c = 0; c < components.length; c++) {
+                components[c] = c == template.nameColumn
+                    ? new NameComponent("Entity " + index)
+                    : prototypes[c].copy();
+            }
+            componentStorage.setComponents(index, typeIds, components);
+            for (int p = 0; p < stores.length; p++) {
+                stores[p].set(index, template.packedPrototypes[p]);
+            }
+            for (int typeId = signatures.nextType(index, 0); typeId >= 0;
+                 typeId = signatures.nextType(index, typeId + 1)) {
+                changeTicks.stampAdded(typeId, index, changeTick);
+                observers.record(typeId, ComponentObservers.ADD, handle);
+            }
+        }
+        entityCount += count;
+        
+        // Every entity of the batch has the same signature, so match once
+        int first = indices[0];
+        for (int q = 0; q < queries.size(); q++) {
+            Query query = queries.get(q);
+            if (query.matches(first, signatures)) {
+                for (int i = 0; i < count; i++) {
+                    query.add(handles[i]);
+                }
+            }
+        }
+        
+        signalRegistry.dispatch(JavaBlocksEngine.EngineSignals.ENTITY_CREATED,
+            new JavaBlocksEngine.EntitiesCreated(handles));
+        return handles;
+    }
+    
     /**
      * Internal entity creation without default components.
      * 
      * @return The new entity
      */
     private Entity createEntityInternal() {
+        checkStructuralChange();
         int index = entityPool.obtain();
         int generation = entityPool.getGeneration(index);
         Entity entity = Entity.create(index, generation);
         
-        entitySet.add(entity);
-        activeEntities.add(Entity.pack(index, generation));
+        long handle = entity.getHandle();
+        activeEntities.add(handle);
         entityCount++;
         
+        for (int i = 0; i < emptyMatchingQueries.size(); i++) {
+            emptyMatchingQueries.get(i).add(handle);
+        }
+        
         return entity;
     }
     
     /**
      * Destroys an entity and all its components.
+     * The entity is queued and destroyed with the rest of the frame's batch
+     * at the start of the next update.
      * 
      * @param entity The entity to destroy
      */
@@ -212,31 +366,117 @@ public final class World {
             return;
         }
         
-        // Queue destruction operation
-        pendingOperations.offer(new EntityOperation(
-            EntityOperation.Type.DESTROY, entity
-        ));
+        queueDestroy(entity.getHandle());
+    }
+    
+    private void queueDestroy(long handle) {
+        synchronized (pendingDestroys) {
+            pendingDestroys.add(handle);
+        }
+    }
+    
+    /**
+     * Destroys every queued entity in one pass and dispatches a single
+     * {@code ENTITY_DESTROYED} event carrying the destroyed handles. Destroys
+     * queued by listeners form the next batch.
+     */
+    private void processDestroys() {
+        LongList batch = destroyBatch;
+        while (true) {
+            synchronized (pendingDestroys) {
+                if (pendingDestroys.size() == 0) {
+                    return;
+                }
+                batch.addAll(pendingDestroys);
+                pendingDestroys.clear();
+            }
+            
+            // Compact the batch down to the handles actually destroyed;
+            // children join the batch as their parent is reached
+            int destroyed = 0;
+            for (int i = 0; i < batch.size(); i++) {
+                long handle = batch.get(i);
+                if (!entityPool.isAlive(handle)) {
+                    continue;
+                }
+                for (int child = hierarchy.firstChildOf(Entity.unpackIndex(handle)); child != Hierarchy.NONE;
+                     child = hierarchy.nextSiblingOf(child)) {
+                    batch.add(handleOf(child));
+                }
+                if (destroyEntityInternal(handle)) {
+                    batch.set(destroyed++, handle);
+                }
+            }
+            long[] handles = batch.toArray(destroyed);
+            batch.clear();
+            
+            if (destroyed > 0) {
+                signalRegistry.dispatch(JavaBlocksEngine.EngineSignals.ENTITY_DESTROYED,
+                    new JavaBlocksEngine.EntitiesDestroyed(handles));
+            }
+        }
     }
     
     /**
-     * Internal entity destruction.
+     * Internal entity destruction. Costs O(components of the entity) plus
+     * O(1) per registered query.
      * 
-     * @param entity The entity to destroy
+     * @param handle The packed handle of the entity to destroy
+     * @return true if the entity was alive and has been destroyed
      */
-    private void destroyEntityInternal(Entity entity) {
-        // Remove all components
-        componentManager.removeAllComponents(entity);
+    private boolean destroyEntityInternal(long handle) {
+        if (!entityPool.isAlive(handle)) {
+            return false;
+        }
+        int index = Entity.unpackIndex(handle);
+        
+        detachEntity(handle);
+        transformStore.remove(index);
+        if (hierarchy.isLinked(index)) {
+            int parent = hierarchy.parentOf(index);
+            int prev = hierarchy.prevSiblingOf(index);
+            int next = hierarchy.nextSiblingOf(index);
+            hierarchy.remove(index);
+            syncTransformLinks(parent);
+            syncTransformLinks(prev);
+            syncTransformLinks(next);
+        }
         
-        // Remove from entity set
-        entitySet.remove(entity);
-        activeEntities.removeValue(Entity.pack(entity.getIndex(), entity.getGeneration()));
+        activeEntities.remove(index);
         
         // Release entity ID
-        entityPool.release(entity.getIndex());
+        entityPool.release(index);
         entityCount--;
-        
-        // Dispatch destruction signal
-        signalRegistry.dispatch(JavaBlocksEngine.EngineSignals.ENTITY_DESTROYED, entity);
+        return true;
+    }
+    
+    /**
+     * Removes an entity from every query and removes all its components,
+     * leaving its index allocated.
+     * 
+     * @param handle The packed handle of the entity
+     */
+    private void detachEntity(long handle) {
+        int index = Entity.unpackIndex(handle);
+        
+        // Leave all queries
+        for (int i = 0; i < queries.size(); i++) {
+            queries.get(i).remove(index);
+        }
+        
+        // Remove only the components the signature says the entity has
+        for (int typeId = signatures.nextType(index, 0); typeId >= 0;
+             typeId = signatures.nextType(index, typeId + 1)) {
+            PackedStore<Component> packedStore = packedStore(typeId);
+            if (packedStore != null) {
+                packedStore.remove(index);
+            } else {
+                recycler.recycle(componentStorage.getComponent(index, typeId));
+            }
+            observers.record(typeId, ComponentObservers.REMOVE, handle);
+        }
+        componentStorage.removeAllComponents(index, signatures);
+        signatures.clearAll(index);
     }
     
     /**
@@ -246,190 +486,1524 @@ public final class World {
      * @return true if the entity exists in this world
      */
     public boolean isValid(Entity entity) {
-        if (entity.isNull()) {
-            return false;
-        }
-        
-        // Check if the entity exists in our pool with matching generation
-        int currentGeneration = entityPool.getGeneration(entity.getIndex());
-        return currentGeneration == entity.getGeneration() && entitySet.contains(entity);
+        return entityPool.isAlive(entity.getHandle());
     }
     
-    // ==================== Component Management ====================
+    // ==================== Handle API ====================
     
     /**
-     * Adds a component to an entity.
+     * Checks if a packed entity handle refers to a live entity.
+     * Only the pool's generation array is consulted, so this is a couple of
+     * array reads with no allocation.
      * 
-     * @param entity The entity to add the component to
-     * @param component The component to add
+     * @param handle The packed entity handle
+     * @return true if the entity exists in this world
+     */
+    public boolean isValid(long handle) {
+        return entityPool.isAlive(handle);
+    }
+    
+    /**
+     * Destroys the entity behind a packed handle.
+     * Stale or null handles are ignored.
+     * 
+     * @param handle The packed entity handle
+     */
+    public void destroyEntity(long handle) {
+        if (entityPool.isAlive(handle)) {
+            queueDestroy(handle);
+        }
+    }
+    
+    /**
+     * Gets a component of the entity behind a packed handle.
+     * Packed components and packed transforms are detached copies, as with
+     * {@link #getComponent(Entity, Class)}.
+     * 
+     * @param handle The packed entity handle
+     * @param componentClass The class of the component to get
      * @param <T> The component type
-     * @return The component that was added
+     * @return The component, or null if not found or the handle is stale
      */
-    public <T extends Component> T addComponent(Entity entity, T component) {
-        Objects.requireNonNull(entity, "Entity cannot be null");
-        Objects.requireNonNull(component, "Component cannot be null");
+    @SuppressWarnings("unchecked")
+    public <T extends Component> T getComponent(long handle, Class<T> componentClass) {
+        Objects.requireNonNull(componentClass, "Component class cannot be null");
         
-        if (!entity.isValid()) {
-            throw new IllegalArgumentException("Invalid entity: " + entity);
+        int typeId = ComponentRegistry.getTypeId(componentClass);
+        Component component = getComponent(handle, typeId);
+        if (component == null && typeId == TRANSFORM_TYPE_ID && entityPool.isAlive(handle)) {
+            component = packedTransform(Entity.unpackIndex(handle));
+        }
+        return (T) component;
+    }
+    
+    /**
+     * Gets a component by type ID from the entity behind a packed handle.
+     * 
+     * @param handle The packed entity handle
+     * @param typeId The component type ID
+     * @return The component, or null if not found or the handle is stale
+     */
+    Component getComponent(long handle, int typeId) {
+        if (!entityPool.isAlive(handle)) {
+            return null;
         }
         
-        // Store the component
-        componentManager.setComponent(entity, component);
+        int index = Entity.unpackIndex(handle);
+        PackedStore<Component> packedStore = packedStore(typeId);
+        if (packedStore != null) {
+            return packedStore.get(index);
+        }
+        return componentStorage.getComponent(index, typeId);
+    }
+    
+    /**
+     * Materializes a detached copy of an entity's row in the transform
+     * store, for entities that have no TransformComponent.
+     * 
+     * @param index The entity index
+     * @return The copy, or null if the entity has no packed transform
+     */
+    private TransformComponent packedTransform(int index) {
+        int row = transformStore.rowOf(index);
+        if (row < 0) {
+            return null;
+        }
+        TransformComponent transform = new TransformComponent();
+        transformStore.store(row, transform);
+        return transform;
+    }
+    
+    /**
+     * Checks if the entity behind a packed handle has a specific component.
+     * 
+     * @param handle The packed entity handle
+     * @param componentClass The component class to check for
+     * @return true if the handle is live and the entity has the component
+     */
+    public boolean hasComponent(long handle, Class<? extends Component> componentClass) {
+        Objects.requireNonNull(componentClass, "Component class cannot be null");
         
-        // Queue the operation
-        pendingOperations.offer(new EntityOperation(
-            EntityOperation.Type.ADD_COMPONENT, entity, component
-        ));
+        return hasComponent(handle, ComponentRegistry.getTypeId(componentClass));
+    }
+    
+    /**
+     * Checks by type ID whether the entity behind a packed handle has a
+     * component.
+     * 
+     * @param handle The packed entity handle
+     * @param typeId The component type ID
+     * @return true if the entity is alive and has the component
+     */
+    boolean hasComponent(long handle, int typeId) {
+        return entityPool.isAlive(handle) && signatures.has(Entity.unpackIndex(handle), typeId);
+    }
+    
+    /**
+     * Visits the packed handle of every active entity.
+     * 
+     * @param consumer Receives each handle
+     */
+    public void forEachEntity(LongConsumer consumer) {
+        Objects.requireNonNull(consumer, "Consumer cannot be null");
         
-        return component;
+        for (int i = 0; i < activeEntities.size(); i++) {
+            consumer.accept(activeEntities.get(i));
+        }
     }
     
     /**
-     * Removes a component from an entity.
+     * Gets the world's command buffer, played back at the start of each
+     * update before queued destroys are processed. Like any command buffer
+     * it must only be used by one thread, normally the one driving updates.
+     * Systems should record into {@link GameSystem#commands()} instead.
      * 
-     * @param entity The entity to remove the component from
-     * @param componentClass The class of the component to remove
-     * @return true if the component was removed
+     * @return The world's command buffer
      */
-    public boolean removeComponent(Entity entity, Class<? extends Component> componentClass) {
-        Objects.requireNonNull(entity, "Entity cannot be null");
-        Objects.requireNonNull(componentClass, "Component class cannot be null");
+    public CommandBuffer getCommandBuffer() {
+        return commandBuffer;
+    }
+    
+    // ==================== Hierarchy ====================
+    
+    /**
+     * Moves an entity under a parent, appending it as the parent's last
+     * child, or makes it a root. Costs O(1) plus O(subtree) when the depth
+     * changes and O(depth) for the cycle check.
+     * 
+     * Destroying an entity destroys its whole subtree in the same batch.
+     * The link fields of {@link TransformComponent} mirror these links.
+     * 
+     * @param child The packed handle of the entity to move
+     * @param parent The packed handle of the new parent, or {@link Entity#NULL_HANDLE}
+     * @return true if the parent changed; false if unchanged or either handle is stale
+     * @throws IllegalArgumentException if the parent is the entity or one of its descendants
+     */
+    public boolean setParent(long child, long parent) {
+        checkStructuralChange();
+        if (!entityPool.isAlive(child)
+            || (parent != Entity.NULL_HANDLE && !entityPool.isAlive(parent))) {
+            return false;
+        }
         
-        Component component = componentManager.removeComponent(entity, componentClass);
+        int index = Entity.unpackIndex(child);
+        int parentIndex = parent == Entity.NULL_HANDLE ? Hierarchy.NONE : Entity.unpackIndex(parent);
+        if (parentIndex != Hierarchy.NONE && hierarchy.isAncestorOrSelf(index, parentIndex)) {
+            throw new IllegalArgumentException("Cannot parent an entity to itself or its descendant");
+        }
         
-        if (component != null) {
-            pendingOperations.offer(new EntityOperation(
-                EntityOperation.Type.REMOVE_COMPONENT, entity, componentClass
-            ));
-            return true;
+        int oldParent = hierarchy.parentOf(index);
+        int oldPrev = hierarchy.prevSiblingOf(index);
+        int oldNext = hierarchy.nextSiblingOf(index);
+        if (!hierarchy.setParent(index, parentIndex)) {
+            return false;
         }
         
-        return false;
+        syncTransformLinks(oldParent);
+        syncTransformLinks(oldPrev);
+        syncTransformLinks(oldNext);
+        syncTransformLinks(parentIndex);
+        syncTransformLinks(hierarchy.prevSiblingOf(index));
+        syncTransformLinks(index);
+        return true;
     }
     
     /**
-     * Gets a component from an entity.
+     * Moves an entity under a parent, or makes it a root.
      * 
-     * @param entity The entity to get the component from
-     * @param componentClass The class of the component to get
-     * @param <T> The component type
-     * @return The component, or null if not found
+     * @param child The entity to move
+     * @param parent The new parent, or null or the null entity for none
+     * @return true if the parent changed
+     * @throws IllegalArgumentException if the parent is the entity or one of its descendants
+     * @see #setParent(long, long)
      */
-    @SuppressWarnings("unchecked")
-    public <T extends Component> T getComponent(Entity entity, Class<T> componentClass) {
-        Objects.requireNonNull(entity, "Entity cannot be null");
-        Objects.requireNonNull(componentClass, "Component class cannot be null");
+    public boolean setParent(Entity child, Entity parent) {
+        Objects.requireNonNull(child, "Entity cannot be null");
         
-        return (T) componentManager.getComponent(entity, componentClass);
+        return setParent(child.getHandle(), parent == null || parent.isNull()
+            ? Entity.NULL_HANDLE
+            : parent.getHandle());
     }
     
     /**
-     * Checks if an entity has a specific component.
+     * Gets the parent of an entity.
      * 
-     * @param entity The entity to check
-     * @param componentClass The component class to check for
-     * @return true if the entity has the component
+     * @param handle The packed entity handle
+     * @return The parent handle, or {@link Entity#NULL_HANDLE} for roots and stale handles
      */
-    public boolean hasComponent(Entity entity, Class<? extends Component> componentClass) {
-        Objects.requireNonNull(entity, "Entity cannot be null");
-        Objects.requireNonNull(componentClass, "Component class cannot be null");
-        
-        return componentManager.hasComponent(entity, componentClass);
+    public long getParent(long handle) {
+        return entityPool.isAlive(handle)
+            ? handleOf(hierarchy.parentOf(Entity.unpackIndex(handle)))
+            : Entity.NULL_HANDLE;
     }
     
     /**
-     * Gets all components attached to an entity.
+     * Gets the first child of an entity.
      * 
-     * @param entity The entity to get components from
-     * @return An iterable of all components on the entity
+     * @param handle The packed entity handle
+     * @return The child handle, or {@link Entity#NULL_HANDLE} if none
      */
-    public Iterable<Component> getComponents(Entity entity) {
-        return componentManager.getComponents(entity);
+    public long getFirstChild(long handle) {
+        return entityPool.isAlive(handle)
+            ? handleOf(hierarchy.firstChildOf(Entity.unpackIndex(handle)))
+            : Entity.NULL_HANDLE;
     }
     
     /**
-     * Gets the number of components on an entity.
+     * Gets the next sibling of an entity, in the order children were added.
      * 
-     * @param entity The entity to check
-     * @return The number of components
+     * @param handle The packed entity handle
+     * @return The sibling handle, or {@link Entity#NULL_HANDLE} if none
      */
-    public int getComponentCount(Entity entity) {
-        return componentManager.getComponentCount(entity);
+    public long getNextSibling(long handle) {
+        return entityPool.isAlive(handle)
+            ? handleOf(hierarchy.nextSiblingOf(Entity.unpackIndex(handle)))
+            : Entity.NULL_HANDLE;
     }
     
-    // ==================== System Management ====================
+    /**
+     * Gets the number of direct children of an entity.
+     * 
+     * @param handle The packed entity handle
+     * @return The child count, 0 for stale handles
+     */
+    public int getChildCount(long handle) {
+        return entityPool.isAlive(handle) ? hierarchy.childCountOf(Entity.unpackIndex(handle)) : 0;
+    }
     
     /**
-     * Adds a system to the world.
+     * Gets the depth of an entity in its hierarchy.
      * 
-     * @param system The system to add
+     * @param handle The packed entity handle
+     * @return 0 for roots, 1 for their children and so on; 0 for stale handles
      */
-    public void addSystem(GameSystem system) {
-        systemManager.addSystem(system);
+    public int getDepth(long handle) {
+        return entityPool.isAlive(handle) ? hierarchy.depthOf(Entity.unpackIndex(handle)) : 0;
     }
     
     /**
-     * Removes a system from the world.
+     * Visits the direct children of an entity in order. The consumer must
+     * not change the hierarchy.
      * 
-     * @param systemClass The class of the system to remove
-     * @return true if the system was found and removed
+     * @param handle The packed entity handle
+     * @param consumer Receives each child handle
      */
-    public boolean removeSystem(Class<? extends GameSystem> systemClass) {
-        return systemManager.removeSystem(systemClass);
+    public void forEachChild(long handle, LongConsumer consumer) {
+        Objects.requireNonNull(consumer, "Consumer cannot be null");
+        if (!entityPool.isAlive(handle)) {
+            return;
+        }
+        
+        for (int child = hierarchy.firstChildOf(Entity.unpackIndex(handle)); child != Hierarchy.NONE;
+             child = hierarchy.nextSiblingOf(child)) {
+            consumer.accept(handleOf(child));
+        }
     }
     
     /**
-     * Gets a system by class.
+     * Visits every descendant of an entity depth-first, parents before
+     * their children, walking the link arrays without a stack. The consumer
+     * must not change the hierarchy.
      * 
-     * @param systemClass The class of the system to get
-     * @param <T> The system type
-     * @return The system instance, or null if not found
+     * @param handle The packed entity handle
+     * @param consumer Receives each descendant handle
      */
-    @SuppressWarnings("unchecked")
-    public <T extends GameSystem> T getSystem(Class<T> systemClass) {
-        return (T) systemManager.getSystem(systemClass);
+    public void forEachDescendant(long handle, LongConsumer consumer) {
+        Objects.requireNonNull(consumer, "Consumer cannot be null");
+        if (!entityPool.isAlive(handle)) {
+            return;
+        }
+        
+        int root = Entity.unpackIndex(handle);
+        int node = hierarchy.firstChildOf(root);
+        while (node != Hierarchy.NONE) {
+            consumer.accept(handleOf(node));
+            int next = hierarchy.firstChildOf(node);
+            while (next == Hierarchy.NONE && node != root) {
+                next = hierarchy.nextSiblingOf(node);
+                node = hierarchy.parentOf(node);
+            }
+            node = next;
+        }
+    }
+    
+    /**
+     * Gets the hierarchy link storage.
+     * 
+     * @return The hierarchy
+     */
+    Hierarchy getHierarchy() {
+        return hierarchy;
+    }
+    
+    private long handleOf(int index) {
+        return index == Hierarchy.NONE ? Entity.NULL_HANDLE : Entity.pack(index, entityPool.getGeneration(index));
+    }
+    
+    /**
+     * Copies an entity's links into its transform, if it has one, and
+     * stamps the transform as changed.
+     */
+    private void syncTransformLinks(int index) {
+        if (index == Hierarchy.NONE) {
+            return;
+        }
+        Component component = componentStorage.getComponent(index, TRANSFORM_TYPE_ID);
+        if (component instanceof TransformComponent transform) {
+            copyLinks(index, transform);
+            transform.isDirty = true;
+            changeTicks.stampChanged(TRANSFORM_TYPE_ID, index, changeTick);
+        }
+    }
+    
+    private void copyLinks(int index, TransformComponent transform) {
+        transform.parentId = handleOf(hierarchy.parentOf(index));
+        transform.firstChildId = handleOf(hierarchy.firstChildOf(index));
+        transform.prevSiblingId = handleOf(hierarchy.prevSiblingOf(index));
+        transform.nextSiblingId = handleOf(hierarchy.nextSiblingOf(index));
+        transform.childCount = hierarchy.childCountOf(index);
+    }
+    
+    // ==================== Component Management ====================
+    
+    /**
+     * Adds a component to an entity.
+     * 
+     * @param entity The entity to add the component to
+     * @param component The component to add
+     * @param <T> The component type
+     * @return The component that was added
+     */
+    public <T extends Component> T addComponent(Entity entity, T component) {
+        Objects.requireNonNull(entity, "Entity cannot be null");
+        Objects.requireNonNull(component, "Component cannot be null");
+        
+        if (!entity.isValid()) {
+            throw new IllegalArgumentException("Invalid entity: " + entity);
+        }
+        
+        addComponentInternal(entity.getHandle(), component);
+        return component;
+    }
+    
+    /**
+     * Adds a component to the entity behind a packed handle.
+     * Stale or null handles are ignored.
+     * 
+     * @param handle The packed entity handle
+     * @param component The component to add
+     * @return true if the component was added
+     */
+    public boolean addComponent(long handle, Component component) {
+        Objects.requireNonNull(component, "Component cannot be null");
+        
+        if (!entityPool.isAlive(handle)) {
+            return false;
+        }
+        addComponentInternal(handle, component);
+        return true;
+    }
+    
+    /**
+     * Replaces a component the entity behind a packed handle already has.
+     * Unlike {@link #addComponent(long, Component)} this never changes the
+     * entity's signature or query memberships.
+     * 
+     * @param handle The packed entity handle
+     * @param component The new component value
+     * @return true if the entity had the component type and it was replaced
+     */
+    public boolean setComponent(long handle, Component component) {
+        Objects.requireNonNull(component, "Component cannot be null");
+        
+        if (!entityPool.isAlive(handle)
+                || !signatures.has(Entity.unpackIndex(handle), component.getTypeId())) {
+            return false;
+        }
+        replaceComponent(Entity.unpackIndex(handle), component);
+        changeTicks.stampChanged(component.getTypeId(), Entity.unpackIndex(handle), changeTick);
+        observers.record(component.getTypeId(), ComponentObservers.SET, handle);
+        return true;
+    }
+    
+    private void addComponentInternal(long handle, Component component) {
+        checkStructuralChange();
+        int index = Entity.unpackIndex(handle);
+        int typeId = component.getTypeId();
+        if (signatures.has(index, typeId)) {
+            // Replacing an existing component is a set, not an add
+            replaceComponent(index, component);
+            changeTicks.stampChanged(typeId, index, changeTick);
+            observers.record(typeId, ComponentObservers.SET, handle);
+            return;
+        }
+        storeComponent(index, component);
+        signatures.set(index, typeId);
+        changeTicks.stampAdded(typeId, index, changeTick);
+        refreshQueries(handle, typeId);
+        observers.record(typeId, ComponentObservers.ADD, handle);
+    }
+    
+    private void storeComponent(int index, Component component) {
+        PackedStore<Component> packedStore = resolvePackedStore(component.getTypeId());
+        if (packedStore != null) {
+            packedStore.set(index, component);
+        } else {
+            recycler.attached(component);
+            componentStorage.setComponent(index, component);
+            if (component instanceof TransformComponent transform && hierarchy.isLinked(index)) {
+                copyLinks(index, transform);
+            }
+        }
+    }
+    
+    private void replaceComponent(int index, Component component) {
+        Component previous = packedStore(component.getTypeId()) == null
+            ? componentStorage.getComponent(index, component.getTypeId())
+            : null;
+        storeComponent(index, component);
+        if (previous != component) {
+            recycler.recycle(previous);
+        }
+    }
+    
+    /**
+     * Removes a component from an entity.
+     * 
+     * @param entity The entity to remove the component from
+     * @param componentClass The class of the component to remove
+     * @return true if the component was removed
+     */
+    public boolean removeComponent(Entity entity, Class<? extends Component> componentClass) {
+        Objects.requireNonNull(entity, "Entity cannot be null");
+        Objects.requireNonNull(componentClass, "Component class cannot be null");
+        
+        return removeComponentInternal(entity.getHandle(), ComponentRegistry.getTypeId(componentClass));
+    }
+    
+    /**
+     * Removes a component from the entity behind a packed handle.
+     * Stale or null handles are ignored.
+     * 
+     * @param handle The packed entity handle
+     * @param componentClass The class of the component to remove
+     * @return true if the component was removed
+     */
+    public boolean removeComponent(long handle, Class<? extends Component> componentClass) {
+        Objects.requireNonNull(componentClass, "Component class cannot be null");
+        
+        return removeComponent(handle, ComponentRegistry.getTypeId(componentClass));
+    }
+    
+    /**
+     * Removes a component by type ID from the entity behind a packed handle.
+     * 
+     * @param handle The packed entity handle
+     * @param typeId The component type ID
+     * @return true if the component was removed
+     */
+    boolean removeComponent(long handle, int typeId) {
+        return entityPool.isAlive(handle) && removeComponentInternal(handle, typeId);
+    }
+    
+    private boolean removeComponentInternal(long handle, int typeId) {
+        checkStructuralChange();
+        int index = Entity.unpackIndex(handle);
+        PackedStore<Component> packedStore = packedStore(typeId);
+        Component component = null;
+        boolean removed = packedStore != null
+            ? packedStore.remove(index)
+            : (component = componentStorage.removeComponent(index, typeId)) != null;
+        
+        if (removed) {
+            signatures.clear(index, typeId);
+            refreshQueries(handle, typeId);
+            observers.record(typeId, ComponentObservers.REMOVE, handle);
+            recycler.recycle(component);
+        }
+        return removed;
+    }
+    
+    /**
+     * Gets a component from an entity.
+     * For packed component types this materializes a detached copy; write
+     * changes back with {@link #addComponent} or use {@link #getPackedStore}.
+     * Likewise, a {@link TransformComponent} requested from an entity whose
+     * transform lives in the {@link TransformStore} is a detached copy of
+     * its row; write changes back with {@link TransformStore#load}.
+     * 
+     * @param entity The entity to get the component from
+     * @param componentClass The class of the component to get
+     * @param <T> The component type
+     * @return The component, or null if not found
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends Component> T getComponent(Entity entity, Class<T> componentClass) {
+        Objects.requireNonNull(entity, "Entity cannot be null");
+        Objects.requireNonNull(componentClass, "Component class cannot be null");
+        
+        int typeId = ComponentRegistry.getTypeId(componentClass);
+        PackedStore<Component> packedStore = packedStore(typeId);
+        if (packedStore != null) {
+            return (T) packedStore.get(entity.getIndex());
+        }
+        
+        Component component = componentStorage.getComponent(entity.getIndex(), typeId);
+        return (T) (component == null && typeId == TRANSFORM_TYPE_ID
+            ? packedTransform(entity.getIndex())
+            : component);
+    }
+    
+    /**
+     * Gets a component for modification and stamps it as changed at the
+     * current tick, so {@link Query#changedSince} reports the entity.
+     * Packed component types return a detached copy, as with
+     * {@link #getComponent(Entity, Class)}; write it back with addComponent.
+     * 
+     * @param entity The entity to get the component from
+     * @param componentClass The class of the component to get
+     * @param <T> The component type
+     * @return The component, or null if not found
+     */
+    public <T extends Component> T getComponentMut(Entity entity, Class<T> componentClass) {
+        Objects.requireNonNull(entity, "Entity cannot be null");
+        
+        return getComponentMut(entity.getHandle(), componentClass);
+    }
+    
+    /**
+     * Gets a component of the entity behind a packed handle for
+     * modification and stamps it as changed at the current tick.
+     * 
+     * @param handle The packed entity handle
+     * @param componentClass The class of the component to get
+     * @param <T> The component type
+     * @return The component, or null if not found or the handle is stale
+     */
+    public <T extends Component> T getComponentMut(long handle, Class<T> componentClass) {
+        T component = getComponent(handle, componentClass);
+        if (component != null) {
+            changeTicks.stampChanged(ComponentRegistry.getTypeId(componentClass),
+                Entity.unpackIndex(handle), changeTick);
+        }
+        return component;
+    }
+    
+    /**
+     * Stamps a component as changed at the current tick without fetching it,
+     * e.g. after writing packed store columns directly.
+     * 
+     * @param handle The packed entity handle
+     * @param componentClass The class of the changed component
+     * @return true if the entity is alive and has the component
+     */
+    public boolean markChanged(long handle, Class<? extends Component> componentClass) {
+        return markChanged(handle, ComponentRegistry.getTypeId(componentClass));
+    }
+    
+    /**
+     * Stamps a component, by type ID, as changed at the current tick.
+     * 
+     * @param handle The packed entity handle
+     * @param typeId The component type ID
+     * @return true if the entity is alive and has the component
+     */
+    boolean markChanged(long handle, int typeId) {
+        if (!hasComponent(handle, typeId)) {
+            return false;
+        }
+        changeTicks.stampChanged(typeId, Entity.unpackIndex(handle), changeTick);
+        return true;
+    }
+    
+    // ==================== Component Mappers ====================
+    
+    /**
+     * Gets the mapper for a component type, creating it on first use.
+     * Mappers resolve the type once and, in pooled storage, read the
+     * type's pool directly.
+     * 
+     * @param componentClass The component class
+     * @param <T> The component type
+     * @return The world's mapper for the type
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends Component> ComponentMapper<T> getMapper(Class<T> componentClass) {
+        Objects.requireNonNull(componentClass, "Component class cannot be null");
+        
+        int typeId = ComponentRegistry.getTypeId(componentClass);
+        ComponentMapper<?>[] current = mappers;
+        if (typeId < current.length && current[typeId] != null) {
+            return (ComponentMapper<T>) current[typeId];
+        }
+        
+        synchronized (this) {
+            if (typeId >= mappers.length) {
+                mappers = Arrays.copyOf(mappers, Math.max(typeId + 1, mappers.length * 2));
+            }
+            if (mappers[typeId] == null) {
+                ComponentPool<T> pool = componentStorage instanceof ComponentManager manager
+                        && resolvePackedStore(typeId) == null
+                    ? manager.getOrCreatePool(typeId)
+                    : null;
+                mappers[typeId] = new ComponentMapper<>(this, componentClass, pool);
+            }
+            return (ComponentMapper<T>) mappers[typeId];
+        }
+    }
+    
+    // ==================== Component Pooling ====================
+    
+    /**
+     * Gets an instance of a component type in its default state, reusing a
+     * removed instance when one is pooled.
+     * 
+     * Obtained instances attached to a single entity are reset and pooled
+     * once they are removed, replaced, or left behind by a destroyed entity,
+     * so do not keep references to them. Instances created any other way,
+     * or attached to several entities, are never reset by the world. In
+     * debug mode, attaching a pooled instance fails.
+     * 
+     * @param componentClass The component class
+     * @param <T> The component type
+     * @return A reset or new instance
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends Component> T obtainComponent(Class<T> componentClass) {
+        Objects.requireNonNull(componentClass, "Component class cannot be null");
+        return (T) recycler.obtain(ComponentRegistry.getTypeId(componentClass));
+    }
+    
+    /**
+     * Gets the number of pooled instances of a component type.
+     * 
+     * @param componentClass The component class
+     * @return The number of instances ready for reuse
+     */
+    public int getPooledComponentCount(Class<? extends Component> componentClass) {
+        return recycler.getPooledCount(ComponentRegistry.getTypeId(componentClass));
+    }
+    
+    // ==================== Component Observers ====================
+    
+    /**
+     * Registers an observer for components of a type being added to
+     * entities, including through templates.
+     * 
+     * @param componentClass The observed component type
+     * @param observer Receives batches of entity handles at sync points
+     */
+    public void onAdd(Class<? extends Component> componentClass, ComponentObserver observer) {
+        registerObserver(componentClass, ComponentObservers.ADD, observer);
+    }
+    
+    /**
+     * Registers an observer for component values of a type being replaced,
+     * by {@link #setComponent} or by adding a type the entity already has.
+     * In-place changes through {@link #getComponentMut} are reported by
+     * change ticks instead.
+     * 
+     * @param componentClass The observed component type
+     * @param observer Receives batches of entity handles at sync points
+     */
+    public void onSet(Class<? extends Component> componentClass, ComponentObserver observer) {
+        registerObserver(componentClass, ComponentObservers.SET, observer);
+    }
+    
+    /**
+     * Registers an observer for components of a type being removed from
+     * entities, including when the entity is destroyed.
+     * 
+     * @param componentClass The observed component type
+     * @param observer Receives batches of entity handles at sync points
+     */
+    public void onRemove(Class<? extends Component> componentClass, ComponentObserver observer) {
+        registerObserver(componentClass, ComponentObservers.REMOVE, observer);
+    }
+    
+    /**
+     * Unregisters an observer from every type and event it was registered for.
+     * 
+     * @param observer The observer to remove
+     * @return true if the observer was registered
+     */
+    public boolean removeObserver(ComponentObserver observer) {
+        return observers.unregister(observer);
+    }
+    
+    /**
+     * Delivers recorded observer events. Called at sync points.
+     */
+    void flushObservers() {
+        observers.flush();
+    }
+    
+    private void registerObserver(Class<? extends Component> componentClass, int kind,
+                                  ComponentObserver observer) {
+        Objects.requireNonNull(componentClass, "Component class cannot be null");
+        Objects.requireNonNull(observer, "Observer cannot be null");
+        observers.register(ComponentRegistry.getTypeId(componentClass), kind, observer);
+    }
+    
+    /**
+     * Gets the current change tick. Changes made now are stamped with this
+     * tick; a system's {@link GameSystem#getLastRunTick()} is the tick of
+     * its previous run.
+     * 
+     * @return The current change tick
+     */
+    public int getChangeTick() {
+        return changeTick;
+    }
+    
+    /**
+     * Advances the change tick. Called by the scheduler at sync points only.
+     * 
+     * @return The new change tick
+     */
+    int advanceChangeTick() {
+        changeTick = changeTick + 1 == 0 ? 1 : changeTick + 1;
+        return changeTick;
+    }
+    
+    /**
+     * Gets the per-component change ticks.
+     * 
+     * @return The change ticks
+     */
+    ChangeTicks getChangeTicks() {
+        return changeTicks;
+    }
+    
+    /**
+     * Checks if an entity has a specific component.
+     * 
+     * @param entity The entity to check
+     * @param componentClass The component class to check for
+     * @return true if the entity has the component
+     */
+    public boolean hasComponent(Entity entity, Class<? extends Component> componentClass) {
+        Objects.requireNonNull(entity, "Entity cannot be null");
+        Objects.requireNonNull(componentClass, "Component class cannot be null");
+        
+        return signatures.has(entity.getIndex(), ComponentRegistry.getTypeId(componentClass));
+    }
+    
+    /**
+     * Gets all components attached to an entity.
+     * 
+     * @param entity The entity to get components from
+     * @return An iterable of all components on the entity
+     */
+    public Iterable<Component> getComponents(Entity entity) {
+        Iterable<Component> stored = componentStorage.getComponents(entity.getIndex());
+        if (packedStoreList.isEmpty()) {
+            return stored;
+        }
+        
+        List<Component> components = new ArrayList<>();
+        stored.forEach(components::add);
+        for (int i = 0; i < packedStoreList.size(); i++) {
+            Component component = packedStoreList.get(i).get(entity.getIndex());
+            if (component != null) {
+                components.add(component);
+            }
+        }
+        return components;
+    }
+    
+    /**
+     * Gets the number of components on an entity.
+     * 
+     * @param entity The entity to check
+     * @return The number of components
+     */
+    public int getComponentCount(Entity entity) {
+        return signatures.count(entity.getIndex());
+    }
+    
+    /**
+     * Gets the generated struct-of-arrays store of a {@link Packed} component type.
+     * The returned store can be cast to the generated {@code <Component>Store}
+     * class for typed per-field accessors and raw columns.
+     * 
+     * @param componentClass The packed component class
+     * @param <T> The component type
+     * @return The packed store
+     * @throws IllegalStateException if packed components are disabled or the type is not packed
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends Component> PackedStore<T> getPackedStore(Class<T> componentClass) {
+        Objects.requireNonNull(componentClass, "Component class cannot be null");
+        
+        PackedStore<Component> packedStore = resolvePackedStore(ComponentRegistry.getTypeId(componentClass));
+        if (packedStore == null) {
+            throw new IllegalStateException(
+                componentClass.getSimpleName() + " is not stored packed (@Packed missing or packedComponents disabled)"
+            );
+        }
+        return (PackedStore<T>) packedStore;
+    }
+    
+    /**
+     * Gets the packed store for a component type. Only reads, so it is safe
+     * from parallel stages; a type whose store has not been resolved has no
+     * packed components in this world yet.
+     * 
+     * @param typeId The component type ID
+     * @return The store, or null if the type is stored as objects or unresolved
+     */
+    @SuppressWarnings("unchecked")
+    PackedStore<Component> packedStore(int typeId) {
+        return (PackedStore<Component>) packedStores[typeId];
+    }
+    
+    /**
+     * Resolves the packed store for a component type, creating it on first
+     * use. Called when the world is created for every registered type, and
+     * afterwards only from structural and setup paths.
+     * 
+     * @param typeId The component type ID
+     * @return The store, or null if the type is stored as objects
+     */
+    synchronized PackedStore<Component> resolvePackedStore(int typeId) {
+        if (config.packedComponents && !packedResolved.get(typeId)) {
+            Class<? extends Component> componentClass = ComponentRegistry.getClassOrNull(typeId);
+            if (componentClass != null && componentClass.isAnnotationPresent(Packed.class)) {
+                PackedStore<?> store = PackedStore.create(componentClass);
+                packedStores[typeId] = store;
+                packedStoreList.add(store);
+            }
+            packedResolved.set(typeId);
+        }
+        return packedStore(typeId);
+    }
+    
+    // ==================== Snapshots ====================
+    
+    /**
+     * Captures the world's entities and component state for a later
+     * {@link #restore}, for rollback and editor play mode.
+     * 
+     * The snapshot is taken from the pool of released ones. Entity
+     * generations, signatures, packed stores and packed transforms are
+     * copied in bulk; object components are copied with
+     * {@link Component#copy()}, except that a reused snapshot keeps the copies
+     * of components whose change tick has not moved since its last capture.
+     * Modify components through {@link #getComponentMut} or
+     * {@link ComponentMapper#getMut}, or mark them with {@link #markChanged},
+     * for the change to be captured.
+     * 
+     * Queued destroys, recorded commands and system state are not captured.
+     * The change tick is advanced, so later modifications are always newer
+     * than the capture.
+     * 
+     * @return The snapshot; return it with {@link #releaseSnapshot} when done
+     * @throws IllegalStateException if the world is updating or disposed
+     */
+    public WorldSnapshot snapshot() {
+        checkSnapshotAccess();
+        
+        WorldSnapshot snapshot = snapshotPool.pollFirst();
+        if (snapshot == null) {
+            snapshot = new WorldSnapshot(this);
+        }
+        capture(snapshot);
+        return snapshot;
+    }
+    
+    /**
+     * Restores the entities and component state of a snapshot. The snapshot
+     * is left intact and can be restored again.
+     * 
+     * Entities keep their handles: entities created since the capture are
+     * destroyed, destroyed ones come back with their old handles, and index
+     * allocation resumes as it was. Structural differences are applied per
+     * entity and update queries; object components changed since the capture
+     * are replaced with fresh copies and stamped as changed, and packed data is
+     * copied back in bulk. Queued destroys are discarded. The order of
+     * entities within queries may differ from the captured one.
+     * 
+     * @param snapshot A snapshot of this world
+     * @throws IllegalArgumentException if the snapshot belongs to another world
+     * @throws IllegalStateException if the world is updating or disposed, or the
+     *         snapshot has been released
+     */
+    public void restore(WorldSnapshot snapshot) {
+        Objects.requireNonNull(snapshot, "Snapshot cannot be null");
+        checkSnapshotAccess();
+        checkStructuralChange();
+        checkOwnSnapshot(snapshot);
+        if (snapshot.released) {
+            throw new IllegalStateException("Snapshot has been released");
+        }
+        
+        synchronized (pendingDestroys) {
+            pendingDestroys.clear();
+        }
+        
+        // Only entities whose handle or signature differ change structurally
+        int count = snapshot.indexCount;
+        int limit = Math.max(count, entityPool.indexCount());
+        long[] owners = snapshot.owners;
+        boolean[] whole = snapshot.whole;
+        for (int index = 0; index < limit; index++) {
+            long live = activeEntities.handleAt(index);
+            long saved = index < count ? owners[index] : Entity.NULL_HANDLE;
+            boolean structural = live != saved
+                || (live != Entity.NULL_HANDLE && !signatures.sameAs(index, snapshot.signatures));
+            if (index < count) {
+                whole[index] = structural;
+            }
+            if (!structural) {
+                continue;
+            }
+            if (live != Entity.NULL_HANDLE) {
+                detachEntity(live);
+            }
+            if (saved != Entity.NULL_HANDLE) {
+                attachEntity(index, saved, snapshot);
+            }
+        }
+        
+        // The others only need the object components stamped since the capture
+        for (int typeId = 0; typeId < changeTicks.getTypeCapacity(); typeId++) {
+            if (isPacked(typeId)) {
+                continue;
+            }
+            for (int index = changeTicks.nextChanged(typeId, 0, count, snapshot.tick); index >= 0;
+                 index = changeTicks.nextChanged(typeId, index + 1, count, snapshot.tick)) {
+                if (!whole[index] && owners[index] != Entity.NULL_HANDLE && signatures.has(index, typeId)) {
+                    restoreComponent(index, typeId, owners[index], snapshot);
+                }
+            }
+        }
+        
+        entityPool.restore(count, snapshot.generations, snapshot.free, snapshot.freeCount);
+        activeEntities.copyFrom(snapshot.order, snapshot.entityCount);
+        entityCount = snapshot.entityCount;
+        
+        for (int i = 0; i < packedStoreList.size(); i++) {
+            restorePacked(packedStoreList.get(i), snapshot);
+        }
+        transformStore.copyFrom(snapshot.transforms);
+        hierarchy.copyFrom(snapshot.hierarchy, count);
+    }
+    
+    /**
+     * Returns a snapshot to the pool for reuse by later captures. Released
+     * snapshots cannot be restored.
+     * 
+     * @param snapshot A snapshot of this world
+     * @throws IllegalArgumentException if the snapshot belongs to another world
+     */
+    public void releaseSnapshot(WorldSnapshot snapshot) {
+        Objects.requireNonNull(snapshot, "Snapshot cannot be null");
+        checkOwnSnapshot(snapshot);
+        if (snapshot.released) {
+            return;
+        }
+        
+        snapshot.released = true;
+        if (snapshotPool.size() < MAX_POOLED_SNAPSHOTS) {
+            snapshotPool.addFirst(snapshot);
+        }
+    }
+    
+    private void capture(WorldSnapshot snapshot) {
+        int previousTick = snapshot.tick;
+        int previousCount = snapshot.captured ? snapshot.indexCount : 0;
+        int count = entityPool.indexCount();
+        snapshot.ensureIndices(count);
+        entityPool.copyGenerations(snapshot.generations);
+        
+        // Entities whose handle or signature differ from the previous capture are copied whole
+        long[] owners = snapshot.owners;
+        boolean[] whole = snapshot.whole;
+        int freeCount = 0;
+        int copied = 0;
+        for (int index = 0; index < count; index++) {
+            long handle = activeEntities.handleAt(index);
+            long previousOwner = index < previousCount ? owners[index] : Entity.NULL_HANDLE;
+            owners[index] = handle;
+            whole[index] = handle != Entity.NULL_HANDLE
+                && (previousOwner != handle || !snapshot.signatures.sameAs(index, signatures));
+            if (handle == Entity.NULL_HANDLE) {
+                snapshot.free[freeCount++] = index;
+            } else if (whole[index]) {
+                copied += copyComponents(index, snapshot, count);
+            }
+        }
+        
+        // The others keep their copies except for components stamped since
+        if (previousCount > 0) {
+            for (int typeId = 0; typeId < changeTicks.getTypeCapacity(); typeId++) {
+                if (isPacked(typeId)) {
+                    continue;
+                }
+                for (int index = changeTicks.nextChanged(typeId, 0, count, previousTick); index >= 0;
+                     index = changeTicks.nextChanged(typeId, index + 1, count, previousTick)) {
+                    if (!whole[index] && owners[index] != Entity.NULL_HANDLE && signatures.has(index, typeId)) {
+                        snapshot.column(typeId, count)[index] = componentStorage.getComponent(index, typeId).copy();
+                        copied++;
+                    }
+                }
+            }
+        }
+        
+        snapshot.indexCount = count;
+        snapshot.freeCount = freeCount;
+        snapshot.entityCount = activeEntities.copyTo(snapshot.order);
+        snapshot.signatures.copyFrom(signatures, count);
+        for (int i = 0; i < packedStoreList.size(); i++) {
+            capturePacked(packedStoreList.get(i), snapshot);
+        }
+        snapshot.transforms.copyFrom(transformStore);
+        snapshot.hierarchy.copyFrom(hierarchy, count);
+        
+        snapshot.copiedCount = copied;
+        snapshot.tick = changeTick;
+        snapshot.captured = true;
+        snapshot.released = false;
+        advanceChangeTick();
+    }
+    
+    private int copyComponents(int index, WorldSnapshot snapshot, int count) {
+        int copied = 0;
+        for (int typeId = signatures.nextType(index, 0); typeId >= 0;
+             typeId = signatures.nextType(index, typeId + 1)) {
+            if (!isPacked(typeId)) {
+                snapshot.column(typeId, count)[index] = componentStorage.getComponent(index, typeId).copy();
+                copied++;
+            }
+        }
+        return copied;
+    }
+    
+    private boolean isPacked(int typeId) {
+        return typeId < packedStores.length && packedStores[typeId] != null;
+    }
+    
+    private <T extends Component> void capturePacked(PackedStore<T> store, WorldSnapshot snapshot) {
+        int typeId = ComponentRegistry.getTypeId(store.getComponentClass());
+        snapshot.packedStore(typeId, store).copyFrom(store);
+    }
+    
+    @SuppressWarnings("unchecked")
+    private <T extends Component> void restorePacked(PackedStore<T> store, WorldSnapshot snapshot) {
+        int typeId = ComponentRegistry.getTypeId(store.getComponentClass());
+        PackedStore<T> copy = typeId < snapshot.packedStores.length
+            ? (PackedStore<T>) snapshot.packedStores[typeId]
+            : null;
+        if (copy != null) {
+            store.copyFrom(copy);
+        } else {
+            store.clear();
+        }
+    }
+    
+    /**
+     * Gives an entity the captured signature and fresh copies of its
+     * captured components, and adds it to matching queries.
+     */
+    private void attachEntity(int index, long handle, WorldSnapshot snapshot) {
+        signatures.copyFrom(index, snapshot.signatures);
+        for (int typeId = signatures.nextType(index, 0); typeId >= 0;
+             typeId = signatures.nextType(index, typeId + 1)) {
+            if (packedStore(typeId) == null) {
+                componentStorage.setComponent(index, snapshot.component(typeId, index).copy());
+            }
+            changeTicks.stampAdded(typeId, index, changeTick);
+            observers.record(typeId, ComponentObservers.ADD, handle);
+        }
+        for (int i = 0; i < queries.size(); i++) {
+            Query query = queries.get(i);
+            if (query.matches(index, signatures)) {
+                query.add(handle);
+            }
+        }
+    }
+    
+    /**
+     * Replaces an object component changed since the capture with a fresh
+     * copy of the captured one.
+     */
+    private void restoreComponent(int index, int typeId, long handle, WorldSnapshot snapshot) {
+        Component previous = componentStorage.getComponent(index, typeId);
+        componentStorage.setComponent(index, snapshot.component(typeId, index).copy());
+        recycler.recycle(previous);
+        changeTicks.stampChanged(typeId, index, changeTick);
+        observers.record(typeId, ComponentObservers.SET, handle);
+    }
+    
+    private void checkSnapshotAccess() {
+        if (disposed) {
+            throw new IllegalStateException("World has been disposed");
+        }
+        if (isUpdating) {
+            throw new IllegalStateException("Cannot snapshot or restore while the world is updating");
+        }
+    }
+    
+    private void checkOwnSnapshot(WorldSnapshot snapshot) {
+        if (snapshot.world != this) {
+            throw new IllegalArgumentException("Snapshot belongs to another world");
+        }
+    }
+    
+    // ==================== Query Management ====================
+    
+    /**
+     * Registers a query and fills it with the entities that currently match.
+     * From then on its membership is maintained as components change.
+     * 
+     * @param query The query to register
+     * @return The registered query
+     * @throws IllegalStateException if the query is already registered, or
+     *         systems are running in a parallel stage
+     */
+    public Query registerQuery(Query query) {
+        Objects.requireNonNull(query, "Query cannot be null");
+        checkStructuralChange();
+        return registerQueryInternal(query);
+    }
+    
+    private Query registerQueryInternal(Query query) {
+        query.attach(this);
+        
+        queries.add(query);
+        for (int typeId : query.getInvolvedTypes()) {
+            if (typeId >= queriesByType.length) {
+                queriesByType = Arrays.copyOf(queriesByType, Math.max(typeId + 1, queriesByType.length * 2));
+            }
+            Query[] typeQueries = queriesByType[typeId];
+            if (typeQueries == null) {
+                queriesByType[typeId] = new Query[] { query };
+            } else {
+                typeQueries = Arrays.copyOf(typeQueries, typeQueries.length + 1);
+                typeQueries[typeQueries.length - 1] = query;
+                queriesByType[typeId] = typeQueries;
+            }
+        }
+        if (query.matchesEmpty()) {
+            emptyMatchingQueries.add(query);
+        }
+        
+        for (int i = 0; i < activeEntities.size(); i++) {
+            query.refresh(activeEntities.get(i), signatures);
+        }
+        return query;
+    }
+    
+    /**
+     * Unregisters a query. Its membership is cleared.
+     * 
+     * @param query The query to unregister
+     * @return true if the query was registered with this world
+     */
+    public boolean unregisterQuery(Query query) {
+        checkStructuralChange();
+        if (!queries.remove(query)) {
+            return false;
+        }
+        
+        for (int typeId : query.getInvolvedTypes()) {
+            Query[] typeQueries = queriesByType[typeId];
+            int count = 0;
+            Query[] remaining = new Query[typeQueries.length - 1];
+            for (Query candidate : typeQueries) {
+                if (candidate != query) {
+                    remaining[count++] = candidate;
+                }
+            }
+            queriesByType[typeId] = remaining.length > 0 ? remaining : null;
+        }
+        emptyMatchingQueries.remove(query);
+        query.detach();
+        return true;
+    }
+    
+    /**
+     * Gets the number of registered queries.
+     * 
+     * @return The query count
+     */
+    public int getQueryCount() {
+        return queries.size();
+    }
+    
+    /**
+     * Re-evaluates the queries filtering on a component type for one entity.
+     * 
+     * @param handle The packed handle of the entity whose components changed
+     * @param typeId The changed component type ID
+     */
+    private void refreshQueries(long handle, int typeId) {
+        if (typeId >= queriesByType.length || queriesByType[typeId] == null) {
+            return;
+        }
+        
+        for (Query query : queriesByType[typeId]) {
+            query.refresh(handle, signatures);
+        }
+    }
+    
+    // ==================== System Management ====================
+    
+    /**
+     * Adds a system to the world.
+     * Registers the queries the system declared and initializes it.
+     * 
+     * @param system The system to add
+     */
+    public void addSystem(GameSystem system) {
+        systemManager.addSystem(system);
+        for (Query query : system.getQueries()) {
+            registerQuery(query);
+        }
+        system.initialize(this);
+    }
+    
+    /**
+     * Removes a system from the world.
+     * Unregisters its declared queries and disposes it.
+     * 
+     * @param systemClass The class of the system to remove
+     * @return true if the system was found and removed
+     */
+    public boolean removeSystem(Class<? extends GameSystem> systemClass) {
+        GameSystem system = systemManager.getSystem(systemClass);
+        if (system == null || !systemManager.removeSystem(systemClass)) {
+            return false;
+        }
+        
+        for (Query query : system.getQueries()) {
+            unregisterQuery(query);
+        }
+        system.dispose();
+        return true;
+    }
+    
+    /**
+     * Gets a system by class.
+     * 
+     * @param systemClass The class of the system to get
+     * @param <T> The system type
+     * @return The system instance, or null if not found
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends GameSystem> T getSystem(Class<T> systemClass) {
+        return (T) systemManager.getSystem(systemClass);
+    }
+    
+    /**
+     * Gets all systems in the world.
+     * 
+     * @return A list of all systems
+     */
+    public List<GameSystem> getSystems() {
+        return systemManager.getSystems();
+    }
+    
+    /**
+     * Gets the number of systems in the world.
+     * 
+     * @return The system count
+     */
+    public int getSystemCount() {
+        return systemManager.getSystemCount();
+    }
+    
+    /**
+     * Sets the pool that runs non-conflicting systems concurrently and
+     * parallel query iteration.
+     * Systems declare their component access with
+     * {@link GameSystem#reads} and {@link GameSystem#writes}.
+     * 
+     * @param pool The pool, or null to run all systems on the calling thread
+     */
+    public void setSystemPool(ForkJoinPool pool) {
+        systemManager.getScheduler().setPool(pool);
+        jobSystem.completeAll();
+        jobSystem = new JobSystem(pool);
+    }
+    
+    /**
+     * Gets the pool that runs systems and parallel query iteration.
+     * 
+     * @return The pool, or null if everything runs on the calling thread
+     */
+    public ForkJoinPool getSystemPool() {
+        return systemManager.getScheduler().getPool();
+    }
+    
+    /**
+     * Sets how long a frame may take before deferrable systems are
+     * postponed. The frame includes the fixed steps that precede the update.
+     * 
+     * @param budgetMs The budget in milliseconds, or 0 for none
+     * @see GameSystem#setDeferrable
+     */
+    public void setFrameBudget(float budgetMs) {
+        if (budgetMs < 0 || Float.isNaN(budgetMs)) {
+            throw new IllegalArgumentException("Frame budget cannot be negative: " + budgetMs);
+        }
+        systemManager.getScheduler().setFrameBudget((long) (budgetMs * 1_000_000.0));
+    }
+    
+    /**
+     * Gets how long a frame may take before deferrable systems are postponed.
+     * 
+     * @return The budget in milliseconds, or 0 for none
+     */
+    public float getFrameBudget() {
+        return systemManager.getScheduler().getFrameBudget() / 1_000_000f;
+    }
+    
+    /**
+     * Gets the job system running on the system pool. Jobs scheduled during
+     * an update are completed before the update returns.
+     * 
+     * @return The job system
+     */
+    public JobSystem getJobSystem() {
+        return jobSystem;
+    }
+    
+    /**
+     * Gets the system stages in execution order. Systems within a stage
+     * have no conflicting component access and may run concurrently.
+     * 
+     * @return Unmodifiable lists of the systems in each stage
+     */
+    public List<List<GameSystem>> getSystemStages() {
+        return systemManager.getScheduler().getStages();
+    }
+    
+    /**
+     * Marks whether systems of a stage are running concurrently.
+     * 
+     * @param running true while a parallel stage runs
+     */
+    void setParallelStage(boolean running) {
+        parallelStage = running;
+    }
+    
+    /**
+     * Fails when systems of a stage are running concurrently, as structural
+     * changes would race with them. Systems record such changes in their
+     * command buffer, which is played back after the stage.
+     */
+    private void checkStructuralChange() {
+        if (parallelStage) {
+            throw new IllegalStateException(
+                "Structural changes are not allowed while systems run in parallel; "
+                + "record them in the system's command buffer");
+        }
+    }
+    
+    // ==================== Query Methods ====================
+    
+    /**
+     * Gets all entities that have a specific set of components.
+     * The first call for a component combination registers a cached
+     * {@link Query}; later calls cost O(matches). Prefer holding a
+     * {@link Query} directly and iterating handles to avoid the per-call
+     * result list and entity objects.
+     * 
+     * Safe to call from systems running in the same parallel stage, as
+     * every other change to the registered queries fails during a stage.
+     * 
+     * @param componentClasses The component classes to match
+     * @return A collection of matching entities
+     */
+    public Collection<Entity> getEntitiesWith(Class<? extends Component>... componentClasses) {
+        List<Class<? extends Component>> key = List.of(componentClasses);
+        Query query = cachedQueries.get(key);
+        if (query == null) {
+            query = registerCachedQuery(key, componentClasses);
+        }
+        
+        List<Entity> matching = new ArrayList<>(query.size());
+        for (int i = 0; i < query.size(); i++) {
+            matching.add(Entity.fromHandle(query.getHandle(i)));
+        }
+        return matching;
+    }
+    
+    /**
+     * Registers the cached query for a component combination. Systems of a
+     * parallel stage can get here at once, so registration is serialized;
+     * structural changes fail during a stage, so nothing else modifies the
+     * query lists or entity signatures meanwhile.
+     * 
+     * @param key The component combination
+     * @param componentClasses The component classes to match
+     * @return The cached query
+     */
+    private Query registerCachedQuery(List<Class<? extends Component>> key,
+                                      Class<? extends Component>[] componentClasses) {
+        synchronized (cachedQueries) {
+            Query query = cachedQueries.get(key);
+            if (query == null) {
+                query = registerQueryInternal(new Query().all(componentClasses));
+                cachedQueries.put(key, query);
+            }
+            return query;
+        }
+    }
+    
+    /**
+     * Visits every chunk that stores all of the given component types.
+     * Only available with {@link StorageMode#ARCHETYPE} storage, where each
+     * chunk exposes one contiguous column per component type.
+     * 
+     * @param consumer The chunk consumer
+     * @param componentClasses The component classes every visited chunk must store
+     * @throws IllegalStateException if the world does not use archetype storage
+     */
+    @SafeVarargs
+    public final void forEachChunk(Consumer<ComponentChunk> consumer, 
+                                   Class<? extends Component>... componentClasses) {
+        Objects.requireNonNull(consumer, "Consumer cannot be null");
+        
+        if (!(componentStorage instanceof ArchetypeStorage archetypeStorage)) {
+            throw new IllegalStateException(
+                "Chunk iteration requires " + StorageMode.ARCHETYPE + " storage, world uses " + storageMode
+            );
+        }
+        
+        int[] typeIds = new int[componentClasses.length];
+        for (int i = 0; i < componentClasses.length; i++) {
+            typeIds[i] = ComponentRegistry.getTypeId(componentClasses[i]);
+        }
+        archetypeStorage.forEachChunk(typeIds, consumer);
+    }
+    
+    /**
+     * Gets the sparse-set pool holding every component of a type.
+     * Only available with {@link StorageMode#POOLED} storage. The pool is
+     * created on first access and stays valid for the lifetime of the world,
+     * so callers may keep the reference and iterate it every frame.
+     * 
+     * @param componentClass The component class
+     * @param <T> The component type
+     * @return The component pool
+     * @throws IllegalStateException if the world does not use pooled storage or the type is packed
+     */
+    public <T extends Component> ComponentPool<T> getPool(Class<T> componentClass) {
+        Objects.requireNonNull(componentClass, "Component class cannot be null");
+        
+        if (!(componentStorage instanceof ComponentManager componentManager)) {
+            throw new IllegalStateException(
+                "Component pools require " + StorageMode.POOLED + " storage, world uses " + storageMode
+            );
+        }
+        
+        int typeId = ComponentRegistry.getTypeId(componentClass);
+        if (resolvePackedStore(typeId) != null) {
+            throw new IllegalStateException(
+                componentClass.getSimpleName() + " is stored packed; use getPackedStore instead"
+            );
+        }
+        return componentManager.getOrCreatePool(typeId);
     }
     
     /**
-     * Gets all systems in the world.
+     * Gets the packed transform store of this world.
+     * Entities opt in with {@link TransformStore#add(int)}; their rows are
+     * removed automatically when the entity is destroyed.
      * 
-     * @return A list of all systems
-     */
-    public List<GameSystem> getSystems() {
-        return systemManager.getSystems();
-    }
-    
-    /**
-     * Gets the number of systems in the world.
+     * A packed transform is not a component: it is not part of the entity's
+     * signature, so queries, mappers and {@link #hasComponent} do not see
+     * it, while {@link #getComponent} returns a detached copy of it.
      * 
-     * @return The system count
+     * @return The transform store
      */
-    public int getSystemCount() {
-        return systemManager.getSystemCount();
+    public TransformStore getTransformStore() {
+        return transformStore;
     }
     
-    // ==================== Query Methods ====================
-    
     /**
-     * Gets all entities that have a specific set of components.
+     * Gets the component storage layout used by this world.
      * 
-     * @param componentClasses The component classes to match
-     * @return A collection of matching entities
+     * @return The storage mode
      */
-    public Collection<Entity> getEntitiesWith(Class<? extends Component>... componentClasses) {
-        return entitySet.getEntitiesWith(componentClasses);
+    public StorageMode getStorageMode() {
+        return storageMode;
     }
     
     /**
-     * Gets all active entities in the world.
+     * Gets all active entities in the world, in unspecified order.
+     * Allocates a list and one entity per element; hot paths should use
+     * {@link #forEachEntity(LongConsumer)} instead.
      * 
      * @return A list of all active entities
      */
     public List<Entity> getActiveEntities() {
         List<Entity> entities = new ArrayList<>(activeEntities.size());
         for (int i = 0; i < activeEntities.size(); i++) {
-            long packed = activeEntities.get(i);
-            entities.add(Entity.create(Entity.unpackIndex(packed), Entity.unpackGeneration(packed)));
+            entities.add(Entity.fromHandle(activeEntities.get(i)));
         }
         return entities;
     }
@@ -458,12 +2032,17 @@ public final class World {
         isUpdating = true;
         
         try {
-            // Process pending operations
-            processPendingOperations();
+            // Apply deferred changes
+            commandBuffer.playback(this);
+            processDestroys();
+            observers.flush();
             
             // Update all systems
             systemManager.update(deltaTime);
             
+            // Frame sync: no job outlives the update it was scheduled in
+            jobSystem.completeAll();
+            
         } finally {
             isUpdating = false;
         }
@@ -483,27 +2062,22 @@ public final class World {
     }
     
     /**
-     * Processes all pending entity operations.
-     * This is called at the end of each update.
-     */
-    private void processPendingOperations() {
-        EntityOperation operation;
-        while ((operation = pendingOperations.poll()) != null) {
-            switch (operation.type) {
-                case DESTROY:
-                    destroyEntityInternal(operation.entity);
-                    break;
-                case ADD_COMPONENT:
-                    // Component already added to manager
-                    break;
-                case REMOVE_COMPONENT:
-                    // Component already removed from manager
-                    break;
-                case CREATE:
-                    // Entity already created
-                    break;
-            }
-        }
+     * Sets how far the current frame is between the last two fixed steps.
+     * The engine's fixed-step driver sets this before each update.
+     * 
+     * @param alpha The interpolation alpha in [0, 1]
+     */
+    public void setInterpolationAlpha(float alpha) {
+        this.interpolationAlpha = alpha;
+    }
+    
+    /**
+     * Gets how far the current frame is between the last two fixed steps.
+     * 
+     * @return The interpolation alpha in [0, 1]
+     */
+    public float getInterpolationAlpha() {
+        return interpolationAlpha;
     }
     
     // ==================== Lifecycle ====================
@@ -519,16 +2093,34 @@ public final class World {
         disposed = true;
         
         // Destroy all entities
-        List<Entity> entities = getActiveEntities();
-        for (Entity entity : entities) {
-            destroyEntityInternal(entity);
+        while (activeEntities.size() > 0) {
+            destroyEntityInternal(activeEntities.get(activeEntities.size() - 1));
         }
+        synchronized (pendingDestroys) {
+            pendingDestroys.clear();
+        }
+        observers.clearPending();
         
         // Dispose systems
         systemManager.dispose();
         
-        // Clear component manager
-        componentManager.clear();
+        // Detach queries
+        for (int i = queries.size() - 1; i >= 0; i--) {
+            unregisterQuery(queries.get(i));
+        }
+        cachedQueries.clear();
+        
+        // Clear component storage
+        componentStorage.clear();
+        recycler.clear();
+        snapshotPool.clear();
+        mappers = new ComponentMapper<?>[0];
+        changeTicks.clear();
+        hierarchy.clear();
+        transformStore.clear();
+        for (int i = 0; i < packedStoreList.size(); i++) {
+            packedStoreList.get(i).clear();
+        }
         
         if (config.debugMode) {
             System.out.println("[World] Disposed. Final entity count: " + entityCount);
@@ -579,13 +2171,80 @@ public final class World {
         info.put("Entity Count", entityCount);
         info.put("Entity Capacity", entityPool.capacity());
         info.put("System Count", systemManager.getSystemCount());
-        info.put("Component Types", componentManager.getComponentTypeCount());
-        info.put("Pending Operations", pendingOperations.size());
+        info.put("System Stages", systemManager.getScheduler().getStageCount());
+        info.put("Frame Budget (ms)", getFrameBudget());
+        info.put("Storage Mode", storageMode);
+        info.put("Component Types", componentStorage.getComponentTypeCount());
+        if (componentStorage instanceof ArchetypeStorage archetypeStorage) {
+            info.put("Archetypes", archetypeStorage.getArchetypeCount());
+        }
+        info.put("Pooled Components", recycler.getPooledCount());
+        info.put("Pooled Reuses", recycler.getReuseCount());
+        if (config.debugMode) {
+            info.put("Unattached Pooled Components", recycler.getLeakCount());
+        }
+        info.put("Pooled Snapshots", snapshotPool.size());
+        info.put("Packed Stores", packedStoreList.size());
+        info.put("Packed Transforms", transformStore.size());
+        info.put("Signature Words", signatures.getStride());
+        info.put("Queries", queries.size());
+        info.put("Change Tick", changeTick);
+        info.put("Pending Commands", commandBuffer.size());
+        info.put("Observer Events Pending", observers.hasPending());
+        synchronized (pendingDestroys) {
+            info.put("Pending Destroys", pendingDestroys.size());
+        }
         info.put("Is Updating", isUpdating);
         info.put("Is Disposed", disposed);
+        info.put("System Timings (p50/p95/p99/max ms)", getSystemTimings());
         return info;
     }
     
+    /**
+     * Gets the recent update time percentiles of every system.
+     * 
+     * @return Formatted p50/p95/p99/max milliseconds by system name, in update order
+     */
+    public Map<String, String> getSystemTimings() {
+        Map<String, String> timings = new LinkedHashMap<>();
+        for (GameSystem system : systemManager.getSystems()) {
+            LatencyHistogram histogram = system.getExecutionHistogram();
+            timings.put(system.getName(), String.format("%.3f / %.3f / %.3f / %.3f",
+                histogram.getPercentile(50) / 1_000_000.0,
+                histogram.getPercentile(95) / 1_000_000.0,
+                histogram.getPercentile(99) / 1_000_000.0,
+                histogram.getMax() / 1_000_000.0));
+        }
+        return timings;
+    }
+    
+    /**
+     * Writes the update time statistics of every system to a file, one
+     * tab-separated line per system in update order.
+     * 
+     * @param file The file to write, replaced if it exists
+     * @throws IOException if the file cannot be written
+     */
+    public void writeSystemTimings(Path file) throws IOException {
+        Objects.requireNonNull(file, "File cannot be null");
+        
+        List<String> lines = new ArrayList<>();
+        lines.add("system\tsamples\tp50_ms\tp95_ms\tp99_ms\tmax_ms\tall_time_max_ms\tavg_ms");
+        for (GameSystem system : systemManager.getSystems()) {
+            LatencyHistogram histogram = system.getExecutionHistogram();
+            lines.add(String.format(Locale.ROOT, "%s\t%d\t%.3f\t%.3f\t%.3f\t%.3f\t%.3f\t%.3f",
+                system.getName(),
+                histogram.getTotalCount(),
+                histogram.getPercentile(50) / 1_000_000.0,
+                histogram.getPercentile(95) / 1_000_000.0,
+                histogram.getPercentile(99) / 1_000_000.0,
+                histogram.getMax() / 1_000_000.0,
+                histogram.getAllTimeMax() / 1_000_000.0,
+                system.getAverageExecutionTime()));
+        }
+        Files.write(file, lines);
+    }
+    
     /**
      * Prints debug information to the console.
      */
@@ -597,80 +2256,90 @@ public final class World {
         System.out.println("\n=== World Debug Info ===");
         getDebugInfo().forEach((key, value) -> 
             System.out.println(String.format("  %-25s: %s", key, value)));
-        componentManager.printComponentStats();
+        componentStorage.printComponentStats();
         System.out.println("========================\n");
     }
     
     // ==================== Component Manager ====================
     
     /**
-     * Internal component manager for efficient component storage.
+     * Internal component manager that keeps one sparse-set pool per component
+     * type, indexed directly by type ID.
      */
-    private static final class ComponentManager {
-        private static final int INITIAL_POOL_SIZE = 1000;
-        private static final int GROWTH_FACTOR = 2;
-        
-        private final SparseArray<ComponentPool<?>> componentPools;
+    private static final class ComponentManager implements ComponentStorage {
+        private ComponentPool<?>[] poolsByType;
+        private final ArrayList<ComponentPool<?>> pools;
         
         ComponentManager(int initialPoolCount) {
-            this.componentPools = new SparseArray<>(initialPoolCount);
+            this.poolsByType = new ComponentPool<?>[Math.max(16, initialPoolCount)];
+            this.pools = new ArrayList<>(initialPoolCount);
         }
         
-        <T extends Component> void setComponent(Entity entity, T component) {
+        @Override
+        public void setComponent(int entityIndex, Component component) {
             int typeId = component.getTypeId();
             
-            ComponentPool<T> pool = getOrCreatePool(typeId, component.getClass());
-            pool.set(entity.getIndex(), component);
+            ComponentPool<Component> pool = getOrCreatePool(typeId);
+            pool.set(entityIndex, component);
         }
         
-        @SuppressWarnings("unchecked")
-        <T extends Component> T getComponent(Entity entity, Class<T> componentClass) {
-            int typeId = ComponentRegistry.getTypeId(componentClass);
-            ComponentPool<T> pool = (ComponentPool<T>) componentPools.get(typeId);
+        @Override
+        public void setComponents(int entityIndex, int[] typeIds, Component[] components) {
+            for (int i = 0; i < typeIds.length; i++) {
+                getOrCreatePool(typeIds[i]).set(entityIndex, components[i]);
+            }
+        }
+        
+        @Override
+        public Component getComponent(int entityIndex, int typeId) {
+            ComponentPool<?> pool = getPool(typeId);
             
             if (pool == null) {
                 return null;
             }
             
-            return pool.get(entity.getIndex());
+            return pool.get(entityIndex);
         }
         
-        @SuppressWarnings("unchecked")
-        <T extends Component> T removeComponent(Entity entity, Class<T> componentClass) {
-            int typeId = ComponentRegistry.getTypeId(componentClass);
-            ComponentPool<T> pool = (ComponentPool<T>) componentPools.get(typeId);
+        @Override
+        public Component removeComponent(int entityIndex, int typeId) {
+            ComponentPool<?> pool = getPool(typeId);
             
             if (pool == null) {
                 return null;
             }
             
-            return pool.remove(entity.getIndex());
+            return pool.remove(entityIndex);
         }
         
-        boolean hasComponent(Entity entity, Class<? extends Component> componentClass) {
-            int typeId = ComponentRegistry.getTypeId(componentClass);
-            ComponentPool<?> pool = componentPools.get(typeId);
+        @Override
+        public boolean hasComponent(int entityIndex, int typeId) {
+            ComponentPool<?> pool = getPool(typeId);
             
             if (pool == null) {
                 return false;
             }
             
-            return pool.has(entity.getIndex());
+            return pool.has(entityIndex);
         }
         
-        void removeAllComponents(Entity entity) {
-            for (int i = 0; i < componentPools.size(); i++) {
-                ComponentPool<?> pool = componentPools.valueAt(i);
-                pool.remove(entity.getIndex());
+        @Override
+        public void removeAllComponents(int entityIndex, ComponentSignatures signatures) {
+            for (int typeId = signatures.nextType(entityIndex, 0); typeId >= 0;
+                 typeId = signatures.nextType(entityIndex, typeId + 1)) {
+                ComponentPool<?> pool = getPool(typeId);
+                if (pool != null) {
+                    pool.remove(entityIndex);
+                }
             }
         }
         
-        Iterable<Component> getComponents(Entity entity) {
+        @Override
+        public Iterable<Component> getComponents(int entityIndex) {
             List<Component> components = new ArrayList<>();
             
-            for (int i = 0; i < componentPools.size(); i++) {
-                ComponentPool<?> pool = componentPools.valueAt(i);
-                Component component = pool.get(entity.getIndex());
+            for (int i = 0; i < pools.size(); i++) {
+                Component component = pools.get(i).get(entityIndex);
                 if (component != null) {
                     components.add(component);
                 }
@@ -679,12 +2348,12 @@ public final class World {
             return components;
         }
         
-        int getComponentCount(Entity entity) {
+        @Override
+        public int getComponentCount(int entityIndex) {
             int count = 0;
             
-            for (int i = 0; i < componentPools.size(); i++) {
-                ComponentPool<?> pool = componentPools.valueAt(i);
-                if (pool.has(entity.getIndex())) {
+            for (int i = 0; i < pools.size(); i++) {
+                if (pools.get(i).has(entityIndex)) {
                     count++;
                 }
             }
@@ -692,115 +2361,50 @@ public final class World {
             return count;
         }
         
+        ComponentPool<?> getPool(int typeId) {
+            ComponentPool<?>[] current = poolsByType;
+            return typeId < current.length ? current[typeId] : null;
+        }
+        
         @SuppressWarnings("unchecked")
-        private <T extends Component> ComponentPool<T> getOrCreatePool(
-                int typeId, Class<? extends Component> componentClass) {
-            ComponentPool<?> existing = componentPools.get(typeId);
+        <T extends Component> ComponentPool<T> getOrCreatePool(int typeId) {
+            ComponentPool<?> existing = getPool(typeId);
             
             if (existing != null) {
                 return (ComponentPool<T>) existing;
             }
             
-            ComponentPool<T> pool = new ComponentPool<>(INITIAL_POOL_SIZE);
-            componentPools.put(typeId, pool);
+            if (typeId >= poolsByType.length) {
+                poolsByType = Arrays.copyOf(poolsByType, Math.max(typeId + 1, poolsByType.length * 2));
+            }
+            ComponentPool<T> pool = new ComponentPool<>(typeId);
+            poolsByType[typeId] = pool;
+            pools.add(pool);
             
             return pool;
         }
         
-        void clear() {
-            componentPools.clear();
+        @Override
+        public void clear() {
+            Arrays.fill(poolsByType, null);
+            pools.clear();
         }
         
-        int getComponentTypeCount() {
-            return componentPools.size();
+        @Override
+        public int getComponentTypeCount() {
+            return pools.size();
         }
         
-        void printComponentStats() {
+        @Override
+        public void printComponentStats() {
             System.out.println("  Component Pools:");
-            for (int i = 0; i < componentPools.size(); i++) {
-                int typeId = componentPools.keyAt(i);
-                ComponentPool<?> pool = componentPools.valueAt(i);
+            for (int i = 0; i < pools.size(); i++) {
+                ComponentPool<?> pool = pools.get(i);
+                int typeId = pool.getTypeId();
                 Class<?> componentClass = ComponentRegistry.getClassOrNull(typeId);
                 String name = componentClass != null ? componentClass.getSimpleName() : "Unknown";
                 System.out.println(String.format("    %-30s: %d active", 
-                    name + " (ID: " + typeId + ")", pool.getActiveCount()));
-            }
-        }
-        
-        // ==================== Component Pool ====================
-        
-        private static final class ComponentPool<T extends Component> {
-            private static final float GROWTH_FACTOR = 1.5f;
-            
-            private T[] components;
-            private int[] generations;
-            private int size;
-            private int capacity;
-            
-            @SuppressWarnings("unchecked")
-            ComponentPool(int initialCapacity) {
-                this.capacity = initialCapacity;
-                this.components = (T[]) new Component[initialCapacity];
-                this.generations = new int[initialCapacity];
-                this.size = 0;
-            }
-            
-            void set(int index, T component) {
-                ensureCapacity(index);
-                
-                T oldComponent = components[index];
-                if (oldComponent == null) {
-                    size++;
-                }
-                
-                components[index] = component;
-                generations[index]++;
-            }
-            
-            T get(int index) {
-                if (index < 0 || index >= components.length) {
-                    return null;
-                }
-                return components[index];
-            }
-            
-            T remove(int index) {
-                if (index < 0 || index >= components.length) {
-                    return null;
-                }
-                
-                T component = components[index];
-                if (component != null) {
-                    components[index] = null;
-                    size--;
-                }
-                
-                return component;
-            }
-            
-            boolean has(int index) {
-                return index >= 0 && index < components.length && components[index] != null;
-            }
-            
-            int getActiveCount() {
-                return size;
-            }
-            
-            private void ensureCapacity(int index) {
-                if (index < capacity) {
-                    return;
-                }
-                
-                @SuppressWarnings("unchecked")
-                T[] newComponents = (T[]) new Component[(int)(capacity * GROWTH_FACTOR)];
-                int[] newGenerations = new int[(int)(capacity * GROWTH_FACTOR)];
-                
-                System.arraycopy(components, 0, newComponents, 0, capacity);
-                System.arraycopy(generations, 0, newGenerations, 0, capacity);
-                
-                components = newComponents;
-                generations = newGenerations;
-                capacity = components.length;
+                    name + " (ID: " + typeId + ")", pool.size()));
             }
         }
     }
@@ -811,16 +2415,16 @@ public final class World {
      * Internal system manager for system execution.
      */
     private static final class SystemManager {
-        private final PriorityQueue<GameSystem> systems;
+        private final ArrayList<GameSystem> systems;
         private final HashMap<Class<? extends GameSystem>, GameSystem> systemMap;
         private final ArrayList<GameSystem> updateList;
+        private final SystemScheduler scheduler;
         
-        SystemManager() {
-            this.systems = new PriorityQueue<>(
-                (a, b) -> Integer.compare(a.getPriority(), b.getPriority())
-            );
+        SystemManager(World world) {
+            this.systems = new ArrayList<>();
             this.systemMap = new HashMap<>();
             this.updateList = new ArrayList<>();
+            this.scheduler = new SystemScheduler(world);
         }
         
         void addSystem(GameSystem system) {
@@ -830,7 +2434,7 @@ public final class World {
                 );
             }
             
-            systems.offer(system);
+            systems.add(system);
             systemMap.put(system.getClass(), system);
             rebuildUpdateList();
         }
@@ -857,20 +2461,16 @@ public final class World {
             return systemMap.size();
         }
         
+        SystemScheduler getScheduler() {
+            return scheduler;
+        }
+        
         void update(float deltaTime) {
-            for (GameSystem system : updateList) {
-                if (system.isEnabled()) {
-                    system.update(deltaTime);
-                }
-            }
+            scheduler.run(deltaTime, false);
         }
         
         void fixedUpdate(float fixedDelta) {
-            for (GameSystem system : updateList) {
-                if (system.isEnabled()) {
-                    system.fixedUpdate(fixedDelta);
-                }
-            }
+            scheduler.run(fixedDelta, true);
         }
         
         void dispose() {
@@ -880,241 +2480,156 @@ public final class World {
             systems.clear();
             systemMap.clear();
             updateList.clear();
+            scheduler.rebuild(updateList);
         }
         
         private void rebuildUpdateList() {
+            // Stable sort: equal priorities keep registration order
             updateList.clear();
             updateList.addAll(systems);
-        }
-    }
-    
-    // ==================== Entity Set ====================
-    
-    /**
-     * Efficient data structure for tracking entities with specific components.
-     */
-    private static final class EntitySet {
-        private final LongHashSet entities;
-        private final LongHashSet[] componentMasks;
-        private final int componentCount;
-        
-        @SuppressWarnings("unchecked")
-        EntitySet() {
-            this.entities = new LongHashSet();
-            this.componentCount = ComponentRegistry.getRegisteredCount();
-            this.componentMasks = new LongHashSet[componentCount];
-            
-            for (int i = 0; i < componentCount; i++) {
-                componentMasks[i] = new LongHashSet();
-            }
-        }
-        
-        void add(Entity entity) {
-            long packed = Entity.pack(entity.getIndex(), entity.getGeneration());
-            entities.add(packed);
-        }
-        
-        void remove(Entity entity) {
-            long packed = Entity.pack(entity.getIndex(), entity.getGeneration());
-            entities.remove(packed);
-            
-            for (int i = 0; i < componentCount; i++) {
-                componentMasks[i].remove(packed);
-            }
-        }
-        
-        boolean contains(Entity entity) {
-            return entities.contains(Entity.pack(entity.getIndex(), entity.getGeneration()));
-        }
-        
-        Collection<Entity> getEntitiesWith(Class<? extends Component>... componentClasses) {
-            LongHashSet result = new LongHashSet();
-            
-            // Copy entities to result
-            for (long packed : entities) {
-                result.add(packed);
-            }
-            
-            for (Class<? extends Component> componentClass : componentClasses) {
-                int typeId = ComponentRegistry.getTypeId(componentClass);
-                result.retainAll(componentMasks[typeId]);
-            }
-            
-            List<Entity> matching = new ArrayList<>(result.size());
-            for (long packed : result) {
-                matching.add(Entity.create(Entity.unpackIndex(packed), Entity.unpackGeneration(packed)));
-            }
-            
-            return matching;
+            updateList.sort(Comparator.comparingInt(GameSystem::getPriority));
+            scheduler.rebuild(updateList);
         }
     }
     
     // ==================== Utility Classes ====================
     
     /**
-     * Simple hash set for long values.
+     * Simple array list for long values with no boxing.
      */
-    private static final class LongHashSet implements Iterable<Long> {
-        private static final float LOAD_FACTOR = 0.75f;
-        
-        private long[] table;
+    private static final class LongList {
+        private long[] items;
         private int size;
-        private int capacity;
         
-        LongHashSet() {
-            this.capacity = 16;
-            this.table = new long[capacity];
-            this.size = 0;
-            Arrays.fill(table, -1L);
+        LongList(int initialCapacity) {
+            items = new long[initialCapacity];
         }
         
         void add(long value) {
-            if (size >= capacity * LOAD_FACTOR) {
-                rehash();
-            }
-            
-            int index = hash(value) & (capacity - 1);
-            while (table[index] != -1L) {
-                if (table[index] == value) {
-                    return;
-                }
-                index = (index + 1) & (capacity - 1);
-            }
-            
-            table[index] = value;
-            size++;
+            ensureCapacity(size + 1);
+            items[size++] = value;
         }
         
-        void remove(long value) {
-            int index = hash(value) & (capacity - 1);
-            
-            while (true) {
-                if (table[index] == value) {
-                    table[index] = -2L; // Tombstone
-                    size--;
-                    return;
-                }
-                if (table[index] == -1L) {
-                    return;
-                }
-                index = (index + 1) & (capacity - 1);
-            }
+        void addAll(LongList other) {
+            ensureCapacity(size + other.size);
+            System.arraycopy(other.items, 0, items, size, other.size);
+            size += other.size;
         }
         
-        boolean contains(long value) {
-            int index = hash(value) & (capacity - 1);
-            
-            while (table[index] != -1L) {
-                if (table[index] == value) {
-                    return true;
-                }
-                if (table[index] == -2L) {
-                    return false;
-                }
-                index = (index + 1) & (capacity - 1);
+        long get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException();
             }
-            
-            return false;
+            return items[index];
         }
         
-        void retainAll(LongHashSet other) {
-            for (int i = 0; i < capacity; i++) {
-                if (table[i] >= 0 && !other.contains(table[i])) {
-                    table[i] = -2L;
-                    size--;
-                }
+        void set(int index, long value) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException();
             }
+            items[index] = value;
         }
         
-        int size() {
-            return size;
+        long[] toArray(int length) {
+            return Arrays.copyOf(items, length);
         }
         
-        @Override
-        public java.util.Iterator<Long> iterator() {
-            return new java.util.Iterator<Long>() {
-                private int index = 0;
-                private int count = 0;
-                
-                @Override
-                public boolean hasNext() {
-                    return count < size;
-                }
-                
-                @Override
-                public Long next() {
-                    while (index < capacity) {
-                        long value = table[index++];
-                        if (value >= 0) {
-                            count++;
-                            return value;
-                        }
-                    }
-                    throw new java.util.NoSuchElementException();
-                }
-            };
+        int size() {
+            return size;
         }
         
-        private void rehash() {
-            long[] oldTable = table;
-            capacity *= 2;
-            table = new long[capacity];
-            Arrays.fill(table, -1L);
+        void clear() {
             size = 0;
-            
-            for (long value : oldTable) {
-                if (value >= 0) {
-                    add(value);
-                }
-            }
         }
         
-        private int hash(long value) {
-            return (int)(value ^ (value >>> 32));
+        private void ensureCapacity(int minCapacity) {
+            if (minCapacity > items.length) {
+                items = Arrays.copyOf(items, Math.max(items.length * 2, minCapacity));
+            }
         }
     }
     
     /**
-     * Simple array list for long values with no boxing.
+     * Dense list of entity handles with an entity index to slot map,
+     * so removal is an O(1) swap with the last element.
      */
-    private static final class LongList {
-        private long[] items;
+    private static final class HandleList {
+        private static final int ABSENT = -1;
+        
+        private long[] handles;
+        private int[] slots;
         private int size;
         
-        LongList(int initialCapacity) {
-            items = new long[initialCapacity];
+        HandleList(int initialCapacity) {
+            handles = new long[Math.max(16, initialCapacity)];
+            slots = new int[handles.length];
+            Arrays.fill(slots, ABSENT);
         }
         
-        void add(long value) {
-            ensureCapacity(size + 1);
-            items[size++] = value;
+        void add(long handle) {
+            int index = Entity.unpackIndex(handle);
+            if (index >= slots.length) {
+                int oldLength = slots.length;
+                slots = Arrays.copyOf(slots, Math.max(oldLength * 2, index + 1));
+                Arrays.fill(slots, oldLength, slots.length, ABSENT);
+            }
+            if (size == handles.length) {
+                handles = Arrays.copyOf(handles, size * 2);
+            }
+            slots[index] = size;
+            handles[size++] = handle;
         }
         
-        void removeValue(long value) {
-            for (int i = 0; i < size; i++) {
-                if (items[i] == value) {
-                    System.arraycopy(items, i + 1, items, i, size - i - 1);
-                    size--;
-                    return;
-                }
+        void remove(int index) {
+            int slot = index < slots.length ? slots[index] : ABSENT;
+            if (slot == ABSENT) {
+                return;
             }
+            long last = handles[--size];
+            handles[slot] = last;
+            slots[Entity.unpackIndex(last)] = slot;
+            slots[index] = ABSENT;
         }
         
-        long get(int index) {
-            if (index < 0 || index >= size) {
+        long get(int slot) {
+            if (slot < 0 || slot >= size) {
                 throw new IndexOutOfBoundsException();
             }
-            return items[index];
+            return handles[slot];
         }
         
-        int size() {
+        long handleAt(int index) {
+            int slot = index < slots.length ? slots[index] : ABSENT;
+            return slot != ABSENT ? handles[slot] : Entity.NULL_HANDLE;
+        }
+        
+        int copyTo(long[] target) {
+            System.arraycopy(handles, 0, target, 0, size);
             return size;
         }
         
-        private void ensureCapacity(int minCapacity) {
-            if (minCapacity > items.length) {
-                items = Arrays.copyOf(items, Math.max(items.length * 2, minCapacity));
+        void copyFrom(long[] source, int count) {
+            for (int i = 0; i < size; i++) {
+                slots[Entity.unpackIndex(handles[i])] = ABSENT;
             }
+            if (count > handles.length) {
+                handles = new long[count];
+            }
+            System.arraycopy(source, 0, handles, 0, count);
+            for (int i = 0; i < count; i++) {
+                int index = Entity.unpackIndex(handles[i]);
+                if (index >= slots.length) {
+                    int oldLength = slots.length;
+                    slots = Arrays.copyOf(slots, Math.max(oldLength * 2, index + 1));
+                    Arrays.fill(slots, oldLength, slots.length, ABSENT);
+                }
+                slots[index] = i;
+            }
+            size = count;
+        }
+        
+        int size() {
+            return size;
         }
     }
     
@@ -1152,103 +2667,4 @@ public final class World {
             return top;
         }
     }
-    
-    /**
-     * LibGDX-style sparse array for integer keys.
-     */
-    private static final class SparseArray<V> {
-        private static final float LOAD_FACTOR = 0.75f;
-        
-        private int[] keys;
-        private V[] values;
-        private int size;
-        private int capacity;
-        
-        @SuppressWarnings("unchecked")
-        SparseArray(int initialCapacity) {
-            capacity = Math.max(16, initialCapacity);
-            keys = new int[capacity];
-            values = (V[]) new Object[capacity];
-            size = 0;
-        }
-        
-        V get(int key) {
-            int index = findIndex(key);
-            return index >= 0 ? values[index] : null;
-        }
-        
-        void put(int key, V value) {
-            int index = findIndex(key);
-            if (index >= 0) {
-                values[index] = value;
-                return;
-            }
-            
-            if (size >= capacity * LOAD_FACTOR) {
-                rehash();
-            }
-            
-            keys[size] = key;
-            values[size] = value;
-            size++;
-        }
-        
-        V remove(int key) {
-            int index = findIndex(key);
-            if (index < 0) {
-                return null;
-            }
-            
-            V value = values[index];
-            size--;
-            keys[index] = keys[size];
-            values[index] = values[size];
-            return value;
-        }
-        
-        int size() {
-            return size;
-        }
-        
-        int keyAt(int index) {
-            return keys[index];
-        }
-        
-        V valueAt(int index) {
-            return values[index];
-        }
-        
-        void clear() {
-            size = 0;
-        }
-        
-        private int findIndex(int key) {
-            for (int i = 0; i < size; i++) {
-                if (keys[i] == key) {
-                    return i;
-                }
-            }
-            return -1;
-        }
-        
-        @SuppressWarnings("unchecked")
-        private void rehash() {
-            int oldCapacity = capacity;
-            capacity *= 2;
-            int[] oldKeys = keys;
-            V[] oldValues = values;
-            
-            keys = new int[capacity];
-            values = (V[]) new Object[capacity];
-            size = 0;
-            
-            for (int i = 0; i < oldCapacity; i++) {
-                if (oldValues[i] != null) {
-                    keys[size] = oldKeys[i];
-                    values[size] = oldValues[i];
-                    size++;
-                }
-            }
-        }
-    }
 }
@@ -0,0 +1,240 @@
+/*
+ * JavaBlocks Engine - World Snapshot
+ * 
+ * Captured component state of a world for rollback.
+ */
+package com.javablocks.core.ecs;
+
+import java.util.*;
+
+/**
+ * A captured copy of a world's entities and component state, restored with
+ * {@link World#restore}. Snapshots are taken with {@link World#snapshot},
+ * returned with {@link World#releaseSnapshot} and reused by later captures.
+ * 
+ * Features:
+ * - Entity generations, signatures, hierarchy links, packed stores and
+ *   packed transforms are copied with bulk array copies
+ * - Object components are copy-on-write: a reused snapshot keeps its copy
+ *   of a component whose change tick has not moved since its last capture,
+ *   and a restore only replaces components changed since the capture
+ * - The buffers of a released snapshot are kept, so steady-state captures
+ *   allocate only for the components that changed
+ * 
+ * Change detection relies on the world's change ticks, so object
+ * components must be modified through {@link World#getComponentMut},
+ * {@link ComponentMapper#getMut} or {@link World#markChanged}, or replaced
+ * with addComponent. Components modified in place without being marked
+ * are not captured again by a reused snapshot.
+ * 
+ * Usage:
+ * <pre>
+ * WorldSnapshot confirmed = world.snapshot();
+ * // ... simulate predicted frames ...
+ * world.restore(confirmed);
+ * // ... re-simulate with corrected input ...
+ * world.releaseSnapshot(confirmed);
+ * </pre>
+ * 
+ * @author JavaBlocks Engine Team
+ */
+public final class WorldSnapshot {
+    
+    // ==================== Instance Variables ====================
+    
+    /** The world this snapshot belongs to. */
+    final World world;
+    
+    /** Change tick the state was captured at; later stamps mean dirty. */
+    int tick;
+    
+    /** Number of entity indices handed out at capture. */
+    int indexCount;
+    
+    /** Generation of every handed-out index. */
+    int[] generations;
+    
+    /** Live handle at every handed-out index, or {@link Entity#NULL_HANDLE}. */
+    long[] owners;
+    
+    /** Live handles in the world's iteration order. */
+    long[] order;
+    
+    /** Number of live entities. */
+    int entityCount;
+    
+    /** Free indices among the handed-out ones, ascending. */
+    int[] free;
+    
+    /** Number of free indices. */
+    int freeCount;
+    
+    /** Scratch marks of the entities a capture or restore copied whole. */
+    boolean[] whole;
+    
+    /** Component signatures of every handed-out index. */
+    final ComponentSignatures signatures;
+    
+    /** Object component copies, indexed by type ID then entity index. */
+    Component[][] components;
+    
+    /** Copies of the packed stores, indexed by type ID. */
+    PackedStore<?>[] packedStores;
+    
+    /** Copy of the packed transforms. */
+    final TransformStore transforms;
+    
+    /** Copy of the parent/child links. */
+    final Hierarchy hierarchy;
+    
+    /** Object components copied by the last capture. */
+    int copiedCount;
+    
+    /** Whether the snapshot holds a capture. */
+    boolean captured;
+    
+    /** Whether the snapshot has been returned to the world. */
+    boolean released;
+    
+    // ==================== Constructor ====================
+    
+    /**
+     * Creates an empty snapshot. Use {@link World#snapshot} instead.
+     * 
+     * @param world The owning world
+     */
+    WorldSnapshot(World world) {
+        this.world = world;
+        this.generations = new int[0];
+        this.owners = new long[0];
+        this.order = new long[0];
+        this.free = new int[0];
+        this.whole = new boolean[0];
+        this.signatures = new ComponentSignatures(16);
+        this.components = new Component[0][];
+        this.packedStores = new PackedStore<?>[0];
+        this.transforms = new TransformStore();
+        this.hierarchy = new Hierarchy(16);
+    }
+    
+    // ==================== Information ====================
+    
+    /**
+     * Gets the number of entities captured.
+     * 
+     * @return The entity count
+     */
+    public int getEntityCount() {
+        return entityCount;
+    }
+    
+    /**
+     * Gets the world change tick the state was captured at.
+     * 
+     * @return The capture tick
+     */
+    public int getChangeTick() {
+        return tick;
+    }
+    
+    /**
+     * Gets the number of object components the last capture copied.
+     * 
+     * @return The copy count
+     */
+    public int getCopiedComponentCount() {
+        return copiedCount;
+    }
+    
+    /**
+     * Checks if the snapshot has been returned to its world.
+     * 
+     * @return true if released
+     */
+    public boolean isReleased() {
+        return released;
+    }
+    
+    @Override
+    public String toString() {
+        return "WorldSnapshot(entities=" + entityCount + ", tick=" + tick + ")";
+    }
+    
+    // ==================== Buffers ====================
+    
+    /**
+     * Grows the per-index buffers to hold a number of entity indices,
+     * keeping their contents.
+     * 
+     * @param count The number of entity indices
+     */
+    void ensureIndices(int count) {
+        if (count > owners.length) {
+            int length = Math.max(count, owners.length * 2);
+            int oldLength = owners.length;
+            generations = Arrays.copyOf(generations, length);
+            owners = Arrays.copyOf(owners, length);
+            Arrays.fill(owners, oldLength, length, Entity.NULL_HANDLE);
+            free = Arrays.copyOf(free, length);
+            whole = new boolean[length];
+            order = Arrays.copyOf(order, length);
+        }
+    }
+    
+    /**
+     * Gets the copy column of an object component type, creating or
+     * growing it as needed.
+     * 
+     * @param typeId The component type ID
+     * @param count The number of entity indices it must hold
+     * @return The column
+     */
+    Component[] column(int typeId, int count) {
+        if (typeId >= components.length) {
+            components = Arrays.copyOf(components, Math.max(typeId + 1, components.length * 2));
+        }
+        Component[] column = components[typeId];
+        if (column == null || column.length < count) {
+            int length = column == null ? count : Math.max(count, column.length * 2);
+            column = column == null ? new Component[length] : Arrays.copyOf(column, length);
+            components[typeId] = column;
+        }
+        return column;
+    }
+    
+    /**
+     * Gets the copy of an object component, if captured.
+     * 
+     * @param typeId The component type ID
+     * @param entityIndex The entity index
+     * @return The copy, or null
+     */
+    Component component(int typeId, int entityIndex) {
+        if (typeId >= components.length) {
+            return null;
+        }
+        Component[] column = components[typeId];
+        return column != null && entityIndex < column.length ? column[entityIndex] : null;
+    }
+    
+    /**
+     * Gets the copy of a packed store, creating it as needed.
+     * 
+     * @param typeId The component type ID
+     * @param source The live store
+     * @param <T> The component type
+     * @return The copy
+     */
+    @SuppressWarnings("unchecked")
+    <T extends Component> PackedStore<T> packedStore(int typeId, PackedStore<T> source) {
+        if (typeId >= packedStores.length) {
+            packedStores = Arrays.copyOf(packedStores, Math.max(typeId + 1, packedStores.length * 2));
+        }
+        PackedStore<T> copy = (PackedStore<T>) packedStores[typeId];
+        if (copy == null) {
+            copy = PackedStore.create(source.getComponentClass());
+            packedStores[typeId] = copy;
+        }
+        return copy;
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * JavaBlocks Engine - Scalar Transform Kernels
+ * 
+ * Plain Java backend for batch transform math.
+ */
+package com.javablocks.core.math;
+
+import static com.badlogic.gdx.math.Matrix4.*;
+
+/**
+ * Scalar {@link TransformKernels}, one row per loop iteration. The static
+ * range methods also finish the rows the vector backend leaves over, and
+ * define the operation order both backends follow.
+ * 
+ * @author JavaBlocks Engine Team
+ */
+final class ScalarTransformKernels extends TransformKernels {
+    
+    // ==================== Constants ====================
+    
+    /** The shared instance. */
+    static final ScalarTransformKernels INSTANCE = new ScalarTransformKernels();
+    
+    // ==================== Information ====================
+    
+    @Override
+    public Backend getBackend() {
+        return Backend.SCALAR;
+    }
+    
+    @Override
+    public int getLaneCount() {
+        return 1;
+    }
+    
+    // ==================== Kernels ====================
+    
+    @Override
+    public void compose(float[][] trs, int base, float[][] matrix, int from, int to) {
+        composeRange(trs, base, matrix, from, to);
+    }
+    
+    @Override
+    public void multiply(float[][] parent, float[][] local, float[][] out, int from, int to) {
+        multiplyRange(parent, local, out, from, to);
+    }
+    
+    @Override
+    public void transformPoints(float[][] matrix, float[] x, float[] y, float[] z, int from, int to) {
+        transformPointsRange(matrix, x, y, z, from, to);
+    }
+    
+    // ==================== Ranges ====================
+    
+    static void composeRange(float[][] trs, int base, float[][] matrix, int from, int to) {
+        float[] px = trs[base], py = trs[base + 1], pz = trs[base + 2];
+        float[] rx = trs[base + 3], ry = trs[base + 4], rz = trs[base + 5], rw = trs[base + 6];
+        float[] sx = trs[base + 7], sy = trs[base + 8], sz = trs[base + 9];
+        
+        for (int i = from; i < to; i++) {
+            float qx = rx[i], qy = ry[i], qz = rz[i], qw = rw[i];
+            float xs = qx * 2f, ys = qy * 2f, zs = qz * 2f;
+            float wx = qw * xs, wy = qw * ys, wz = qw * zs;
+            float xx = qx * xs, xy = qx * ys, xz = qx * zs;
+            float yy = qy * ys, yz = qy * zs, zz = qz * zs;
+            
+            matrix[M00][i] = sx[i] * (1f - (yy + zz));
+            matrix[M01][i] = sy[i] * (xy - wz);
+            matrix[M02][i] = sz[i] * (xz + wy);
+            matrix[M03][i] = px[i];
+            matrix[M10][i] = sx[i] * (xy + wz);
+            matrix[M11][i] = sy[i] * (1f - (xx + zz));
+            matrix[M12][i] = sz[i] * (yz - wx);
+            matrix[M13][i] = py[i];
+            matrix[M20][i] = sx[i] * (xz - wy);
+            matrix[M21][i] = sy[i] * (yz + wx);
+            matrix[M22][i] = sz[i] * (1f - (xx + yy));
+            matrix[M23][i] = pz[i];
+            matrix[M30][i] = 0f;
+            matrix[M31][i] = 0f;
+            matrix[M32][i] = 0f;
+            matrix[M33][i] = 1f;
+        }
+    }
+    
+    static void multiplyRange(float[][] parent, float[][] local, float[][] out, int from, int to) {
+        for (int i = from; i < to; i++) {
+            // The whole parent is read before any output, so out may alias it
+            float a00 = parent[M00][i], a01 = parent[M01][i], a02 = parent[M02][i], a03 = parent[M03][i];
+            float a10 = parent[M10][i], a11 = parent[M11][i], a12 = parent[M12][i], a13 = parent[M13][i];
+            float a20 = parent[M20][i], a21 = parent[M21][i], a22 = parent[M22][i], a23 = parent[M23][i];
+            float a30 = parent[M30][i], a31 = parent[M31][i], a32 = parent[M32][i], a33 = parent[M33][i];
+            
+            // Each local column is read before its output column is written
+            for (int c = 0; c < MATRIX_COLUMNS; c += 4) {
+                float b0 = local[c][i], b1 = local[c + 1][i], b2 = local[c + 2][i], b3 = local[c + 3][i];
+                out[c][i] = a00 * b0 + a01 * b1 + a02 * b2 + a03 * b3;
+                out[c + 1][i] = a10 * b0 + a11 * b1 + a12 * b2 + a13 * b3;
+                out[c + 2][i] = a20 * b0 + a21 * b1 + a22 * b2 + a23 * b3;
+                out[c + 3][i] = a30 * b0 + a31 * b1 + a32 * b2 + a33 * b3;
+            }
+        }
+    }
+    
+    static void transformPointsRange(float[][] matrix, float[] x, float[] y, float[] z, int from, int to) {
+        for (int i = from; i < to; i++) {
+            float px = x[i], py = y[i], pz = z[i];
+            x[i] = matrix[M00][i] * px + matrix[M01][i] * py + matrix[M02][i] * pz + matrix[M03][i];
+            y[i] = matrix[M10][i] * px + matrix[M11][i] * py + matrix[M12][i] * pz + matrix[M13][i];
+            z[i] = matrix[M20][i] * px + matrix[M21][i] * py + matrix[M22][i] * pz + matrix[M23][i];
+        }
+    }
+}
@@ -0,0 +1,209 @@
+/*
+ * JavaBlocks Engine - Transform Kernels
+ * 
+ * Batch transform math over struct-of-arrays float columns.
+ */
+package com.javablocks.core.math;
+
+/**
+ * Batch transform math over struct-of-arrays float columns, with a scalar
+ * backend and a SIMD backend built on the incubating Vector API.
+ * 
+ * Features:
+ * - compose(): translation, rotation and scale columns to 4x4 matrices
+ * - multiply(): parent matrices times local matrices, row by row
+ * - transformPoints(): points transformed in place by per-row matrices
+ * - The vector backend handles as many rows per instruction as the CPU's
+ *   preferred vector width allows (8 on AVX2, 16 on AVX-512), with the
+ *   scalar loop finishing the remainder
+ * - Both backends perform the same float operations in the same order, so
+ *   their results are bit-identical
+ * 
+ * Layouts:
+ * - TRS columns are ten consecutive arrays starting at a base column:
+ *   position x, y, z, rotation quaternion x, y, z, w, scale x, y, z. This
+ *   matches the local and world columns of
+ *   {@link com.javablocks.core.ecs.TransformStore}
+ * - Matrices are sixteen arrays, one per element, indexed like
+ *   {@link com.badlogic.gdx.math.Matrix4#val} (column-major, so
+ *   {@code matrix[Matrix4.M03]} holds the x translations)
+ * - Every operation covers rows {@code [from, to)} of its arrays
+ * 
+ * {@link com.javablocks.core.ecs.TransformStore} propagates each depth
+ * level of packed transforms with compose() followed by multiply().
+ * 
+ * The vector backend needs the JVM to be started with
+ * {@code --add-modules jdk.incubator.vector}. Without it {@link Backend#AUTO}
+ * falls back to the scalar backend. The engine selects a backend at startup
+ * from its configuration; {@link #get()} returns the selected one.
+ * 
+ * @author JavaBlocks Engine Team
+ */
+public abstract class TransformKernels {
+    
+    // ==================== Constants ====================
+    
+    /** Name of the module the vector backend needs. */
+    public static final String VECTOR_MODULE = "jdk.incubator.vector";
+    
+    /** Number of TRS columns. */
+    public static final int TRS_COLUMNS = 10;
+    
+    /** Number of matrix columns. */
+    public static final int MATRIX_COLUMNS = 16;
+    
+    /** Class name of the vector backend, loaded only if the module is present. */
+    private static final String VECTOR_KERNELS = "com.javablocks.core.math.VectorTransformKernels";
+    
+    // ==================== Backend Selection ====================
+    
+    /**
+     * Available kernel backends.
+     */
+    public enum Backend {
+        /** The vector backend if available, otherwise scalar. */
+        AUTO,
+        /** Plain Java loops, one row at a time. */
+        SCALAR,
+        /** The Vector API, several rows per instruction. */
+        VECTOR
+    }
+    
+    /** The selected kernels, resolved on first use. */
+    private static volatile TransformKernels selected;
+    
+    /**
+     * Gets the selected kernels, selecting {@link Backend#AUTO} if none
+     * have been selected yet.
+     * 
+     * @return The kernels
+     */
+    public static TransformKernels get() {
+        TransformKernels kernels = selected;
+        return kernels != null ? kernels : select(Backend.AUTO);
+    }
+    
+    /**
+     * Selects the kernels returned by {@link #get()}. Requesting
+     * {@link Backend#VECTOR} when the Vector API is unavailable selects the
+     * scalar backend; check {@link #getBackend()} on the result.
+     * 
+     * @param backend The requested backend
+     * @return The selected kernels
+     */
+    public static TransformKernels select(Backend backend) {
+        TransformKernels vector = VectorHolder.INSTANCE;
+        TransformKernels kernels = backend == Backend.SCALAR || vector == null
+            ? ScalarTransformKernels.INSTANCE
+            : vector;
+        selected = kernels;
+        return kernels;
+    }
+    
+    /**
+     * Checks if the vector backend can be used in this JVM.
+     * 
+     * @return true if the Vector API module is present and loaded
+     */
+    public static boolean isVectorAvailable() {
+        return VectorHolder.INSTANCE != null;
+    }
+    
+    /**
+     * Gets the scalar kernels, regardless of the selection.
+     * 
+     * @return The scalar kernels
+     */
+    public static TransformKernels scalar() {
+        return ScalarTransformKernels.INSTANCE;
+    }
+    
+    // ==================== Constructor ====================
+    
+    /**
+     * Creates kernels. Only the backends in this package extend this class.
+     */
+    TransformKernels() {
+    }
+    
+    // ==================== Information ====================
+    
+    /**
+     * Gets the backend these kernels implement.
+     * 
+     * @return {@link Backend#SCALAR} or {@link Backend#VECTOR}
+     */
+    public abstract Backend getBackend();
+    
+    /**
+     * Gets the number of rows processed per instruction.
+     * 
+     * @return 1 for scalar, the vector lane count otherwise
+     */
+    public abstract int getLaneCount();
+    
+    @Override
+    public String toString() {
+        return "TransformKernels(" + getBackend() + ", lanes=" + getLaneCount() + ")";
+    }
+    
+    // ==================== Kernels ====================
+    
+    /**
+     * Composes translation, rotation and scale into matrices:
+     * {@code M = T * R * S}. Rotations must be unit quaternions.
+     * 
+     * @param trs Columns holding the TRS columns
+     * @param base Index of the position x column in {@code trs}
+     * @param matrix The 16 output matrix columns
+     * @param from The first row, inclusive
+     * @param to The last row, exclusive
+     */
+    public abstract void compose(float[][] trs, int base, float[][] matrix, int from, int to);
+    
+    /**
+     * Multiplies matrices row by row: {@code out = parent * local}.
+     * {@code out} may be the same columns as either input.
+     * 
+     * @param parent The 16 parent matrix columns
+     * @param local The 16 local matrix columns
+     * @param out The 16 output matrix columns
+     * @param from The first row, inclusive
+     * @param to The last row, exclusive
+     */
+    public abstract void multiply(float[][] parent, float[][] local, float[][] out, int from, int to);
+    
+    /**
+     * Transforms points in place by the affine part of each row's matrix.
+     * 
+     * @param matrix The 16 matrix columns
+     * @param x The point x column
+     * @param y The point y column
+     * @param z The point z column
+     * @param from The first row, inclusive
+     * @param to The last row, exclusive
+     */
+    public abstract void transformPoints(float[][] matrix, float[] x, float[] y, float[] z, int from, int to);
+    
+    // ==================== Internal ====================
+    
+    /**
+     * Loads the vector backend on first use, leaving it null if the module
+     * is not in the boot layer or the backend fails to link.
+     */
+    private static final class VectorHolder {
+        
+        static final TransformKernels INSTANCE = load();
+        
+        private static TransformKernels load() {
+            if (ModuleLayer.boot().findModule(VECTOR_MODULE).isEmpty()) {
+                return null;
+            }
+            try {
+                return (TransformKernels) Class.forName(VECTOR_KERNELS).getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * JavaBlocks Engine - Vector Transform Kernels
+ * 
+ * Vector API backend for batch transform math.
+ */
+package com.javablocks.core.math;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorSpecies;
+import static com.badlogic.gdx.math.Matrix4.*;
+
+/**
+ * {@link TransformKernels} on the incubating Vector API. Each loop
+ * iteration handles one vector of rows at the preferred species width;
+ * rows left over are finished by {@link ScalarTransformKernels}.
+ * 
+ * Only loaded through {@link TransformKernels} after checking that
+ * {@code jdk.incubator.vector} is in the boot layer, as referencing this
+ * class without the module fails to link.
+ * 
+ * @author JavaBlocks Engine Team
+ */
+final class VectorTransformKernels extends TransformKernels {
+    
+    // ==================== Constants ====================
+    
+    /** Species with the CPU's preferred vector width. */
+    private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED;
+    
+    // ==================== Information ====================
+    
+    @Override
+    public Backend getBackend() {
+        return Backend.VECTOR;
+    }
+    
+    @Override
+    public int getLaneCount() {
+        return SPECIES.length();
+    }
+    
+    // ==================== Kernels ====================
+    
+    @Override
+    public void compose(float[][] trs, int base, float[][] matrix, int from, int to) {
+        float[] px = trs[base], py = trs[base + 1], pz = trs[base + 2];
+        float[] rx = trs[base + 3], ry = trs[base + 4], rz = trs[base + 5], rw = trs[base + 6];
+        float[] sx = trs[base + 7], sy = trs[base + 8], sz = trs[base + 9];
+        FloatVector zero = FloatVector.zero(SPECIES);
+        FloatVector one = FloatVector.broadcast(SPECIES, 1f);
+        
+        int lanes = SPECIES.length();
+        int bound = from + SPECIES.loopBound(to - from);
+        int i = from;
+        for (; i < bound; i += lanes) {
+            FloatVector qx = FloatVector.fromArray(SPECIES, rx, i);
+            FloatVector qy = FloatVector.fromArray(SPECIES, ry, i);
+            FloatVector qz = FloatVector.fromArray(SPECIES, rz, i);
+            FloatVector qw = FloatVector.fromArray(SPECIES, rw, i);
+            FloatVector xs = qx.mul(2f), ys = qy.mul(2f), zs = qz.mul(2f);
+            FloatVector wx = qw.mul(xs), wy = qw.mul(ys), wz = qw.mul(zs);
+            FloatVector xx = qx.mul(xs), xy = qx.mul(ys), xz = qx.mul(zs);
+            FloatVector yy = qy.mul(ys), yz = qy.mul(zs), zz = qz.mul(zs);
+            FloatVector scaleX = FloatVector.fromArray(SPECIES, sx, i);
+            FloatVector scaleY = FloatVector.fromArray(SPECIES, sy, i);
+            FloatVector scaleZ = FloatVector.fromArray(SPECIES, sz, i);
+            
+            scaleX.mul(one.sub(yy.add(zz))).intoArray(matrix[M00], i);
+            scaleY.mul(xy.sub(wz)).intoArray(matrix[M01], i);
+            scaleZ.mul(xz.add(wy)).intoArray(matrix[M02], i);
+            FloatVector.fromArray(SPECIES, px, i).intoArray(matrix[M03], i);
+            scaleX.mul(xy.add(wz)).intoArray(matrix[M10], i);
+            scaleY.mul(one.sub(xx.add(zz))).intoArray(matrix[M11], i);
+            scaleZ.mul(yz.sub(wx)).intoArray(matrix[M12], i);
+            FloatVector.fromArray(SPECIES, py, i).intoArray(matrix[M13], i);
+            scaleX.mul(xz.sub(wy)).intoArray(matrix[M20], i);
+            scaleY.mul(yz.add(wx)).intoArray(matrix[M21], i);
+            scaleZ.mul(one.sub(xx.add(yy))).intoArray(matrix[M22], i);
+            FloatVector.fromArray(SPECIES, pz, i).intoArray(matrix[M23], i);
+            zero.intoArray(matrix[M30], i);
+            zero.intoArray(matrix[M31], i);
+            zero.intoArray(matrix[M32], i);
+            one.intoArray(matrix[M33], i);
+        }
+        ScalarTransformKernels.composeRange(trs, base, matrix, i, to);
+    }
+    
+    @Override
+    public void multiply(float[][] parent, float[][] local, float[][] out, int from, int to) {
+        int lanes = SPECIES.length();
+        int bound = from + SPECIES.loopBound(to - from);
+        int i = from;
+        for (; i < bound; i += lanes) {
+            // The whole parent is read before any output, so out may alias it
+            FloatVector a00 = FloatVector.fromArray(SPECIES, parent[M00], i);
+            FloatVector a01 = FloatVector.fromArray(SPECIES, parent[M01], i);
+            FloatVector a02 = FloatVector.fromArray(SPECIES, parent[M02], i);
+            FloatVector a03 = FloatVector.fromArray(SPECIES, parent[M03], i);
+            FloatVector a10 = FloatVector.fromArray(SPECIES, parent[M10], i);
+            FloatVector a11 = FloatVector.fromArray(SPECIES, parent[M11], i);
+            FloatVector a12 = FloatVector.fromArray(SPECIES, parent[M12], i);
+            FloatVector a13 = FloatVector.fromArray(SPECIES, parent[M13], i);
+            FloatVector a20 = FloatVector.fromArray(SPECIES, parent[M20], i);
+            FloatVector a21 = FloatVector.fromArray(SPECIES, parent[M21], i);
+            FloatVector a22 = FloatVector.fromArray(SPECIES, parent[M22], i);
+            FloatVector a23 = FloatVector.fromArray(SPECIES, parent[M23], i);
+            FloatVector a30 = FloatVector.fromArray(SPECIES, parent[M30], i);
+            FloatVector a31 = FloatVector.fromArray(SPECIES, parent[M31], i);
+            FloatVector a32 = FloatVector.fromArray(SPECIES, parent[M32], i);
+            FloatVector a33 = FloatVector.fromArray(SPECIES, parent[M33], i);
+            
+            // Each local column is read before its output column is written
+            for (int c = 0; c < MATRIX_COLUMNS; c += 4) {
+                FloatVector b0 = FloatVector.fromArray(SPECIES, local[c], i);
+                FloatVector b1 = FloatVector.fromArray(SPECIES, local[c + 1], i);
+                FloatVector b2 = FloatVector.fromArray(SPECIES, local[c + 2], i);
+                FloatVector b3 = FloatVector.fromArray(SPECIES, local[c + 3], i);
+                a00.mul(b0).add(a01.mul(b1)).add(a02.mul(b2)).add(a03.mul(b3)).intoArray(out[c], i);
+                a10.mul(b0).add(a11.mul(b1)).add(a12.mul(b2)).add(a13.mul(b3)).intoArray(out[c + 1], i);
+                a20.mul(b0).add(a21.mul(b1)).add(a22.mul(b2)).add(a23.mul(b3)).intoArray(out[c + 2], i);
+                a30.mul(b0).add(a31.mul(b1)).add(a32.mul(b2)).add(a33.mul(b3)).intoArray(out[c + 3], i);
+            }
+        }
+        ScalarTransformKernels.multiplyRange(parent, local, out, i, to);
+    }
+    
+    @Override
+    public void transformPoints(float[][] matrix, float[] x, float[] y, float[] z, int from, int to) {
+        int lanes = SPECIES.length();
+        int bound = from + SPECIES.loopBound(to - from);
+        int i = from;
+        for (; i < bound; i += lanes) {
+            FloatVector px = FloatVector.fromArray(SPECIES, x, i);
+            FloatVector py = FloatVector.fromArray(SPECIES, y, i);
+            FloatVector pz = FloatVector.fromArray(SPECIES, z, i);
+            row(matrix, M00, M01, M02, M03, px, py, pz, i).intoArray(x, i);
+            row(matrix, M10, M11, M12, M13, px, py, pz, i).intoArray(y, i);
+            row(matrix, M20, M21, M22, M23, px, py, pz, i).intoArray(z, i);
+        }
+        ScalarTransformKernels.transformPointsRange(matrix, x, y, z, i, to);
+    }
+    
+    // ==================== Internal ====================
+    
+    /**
+     * Computes one row of the affine transform of a vector of points.
+     */
+    private static FloatVector row(float[][] matrix, int e0, int e1, int e2, int e3,
+                                   FloatVector px, FloatVector py, FloatVector pz, int i) {
+        return FloatVector.fromArray(SPECIES, matrix[e0], i).mul(px)
+            .add(FloatVector.fromArray(SPECIES, matrix[e1], i).mul(py))
+            .add(FloatVector.fromArray(SPECIES, matrix[e2], i).mul(pz))
+            .add(FloatVector.fromArray(SPECIES, matrix[e3], i));
+    }
+}
@@ -0,0 +1,26 @@
+/*
+ * JavaBlocks Engine - IntObjConsumer Utility
+ * 
+ * Functional interface for (int, object) callbacks without boxing.
+ */
+package com.javablocks.core.utils;
+
+/**
+ * Represents an operation that accepts an int and an object argument.
+ * 
+ * This is the primitive specialization of {@link java.util.function.BiConsumer}
+ * for an int first argument, used by hot iteration paths to avoid boxing.
+ * 
+ * @param <T> The type of the object argument
+ */
+@FunctionalInterface
+public interface IntObjConsumer<T> {
+    
+    /**
+     * Performs this operation on the given arguments.
+     * 
+     * @param value The int argument
+     * @param object The object argument
+     */
+    void accept(int value, T object);
+}
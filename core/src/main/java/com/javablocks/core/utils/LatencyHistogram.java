@@ -0,0 +1,205 @@
+/*
+ * JavaBlocks Engine - LatencyHistogram Utility
+ * 
+ * Rolling, log-bucketed histogram of durations.
+ */
+package com.javablocks.core.utils;
+
+import java.util.*;
+
+/**
+ * A fixed-size histogram of durations over the most recent samples.
+ * 
+ * Features:
+ * - Logarithmic buckets: powers of two split into 8 linear sub-buckets,
+ *   so percentiles are within 12.5% of the recorded value
+ * - Rolling window of the last windowSize samples; older ones are evicted
+ * - record() is O(1) and never allocates
+ * - Exact window maximum and all-time maximum
+ * 
+ * Not thread-safe: record from one thread at a time. Reads from another
+ * thread may observe a partially updated window, which is acceptable for
+ * debug reporting.
+ * 
+ * @author JavaBlocks Engine Team
+ */
+public final class LatencyHistogram {
+    
+    // ==================== Constants ====================
+    
+    /** Linear sub-buckets per power of two, as a shift. */
+    private static final int SUB_BUCKET_BITS = 3;
+    
+    /** Linear sub-buckets per power of two. */
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    
+    /** Buckets covering every non-negative long. */
+    private static final int BUCKET_COUNT = (64 - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+    
+    // ==================== Instance Variables ====================
+    
+    /** Samples per bucket within the window. */
+    private final int[] counts;
+    
+    /** Ring of the samples within the window. */
+    private final long[] window;
+    
+    /** Ring slot the next sample is written to. */
+    private int next;
+    
+    /** Number of samples within the window. */
+    private int size;
+    
+    /** Number of samples ever recorded. */
+    private long totalCount;
+    
+    /** Largest sample ever recorded. */
+    private long allTimeMax;
+    
+    // ==================== Constructor ====================
+    
+    /**
+     * Creates a histogram over the most recent samples.
+     * 
+     * @param windowSize Number of samples kept
+     */
+    public LatencyHistogram(int windowSize) {
+        if (windowSize <= 0) {
+            throw new IllegalArgumentException("Window size must be positive: " + windowSize);
+        }
+        this.counts = new int[BUCKET_COUNT];
+        this.window = new long[windowSize];
+    }
+    
+    // ==================== Recording ====================
+    
+    /**
+     * Records a sample, evicting the oldest one if the window is full.
+     * 
+     * @param value The duration; negative values count as zero
+     */
+    public void record(long value) {
+        long sample = Math.max(0, value);
+        if (size == window.length) {
+            counts[bucketOf(window[next])]--;
+        } else {
+            size++;
+        }
+        window[next] = sample;
+        counts[bucketOf(sample)]++;
+        next = next + 1 == window.length ? 0 : next + 1;
+        
+        totalCount++;
+        if (sample > allTimeMax) {
+            allTimeMax = sample;
+        }
+    }
+    
+    /**
+     * Discards every sample.
+     */
+    public void reset() {
+        Arrays.fill(counts, 0);
+        next = 0;
+        size = 0;
+        totalCount = 0;
+        allTimeMax = 0;
+    }
+    
+    // ==================== Statistics ====================
+    
+    /**
+     * Gets a percentile of the samples within the window.
+     * 
+     * @param percentile The percentile, from 0 to 100
+     * @return The upper bound of the bucket holding the percentile, capped
+     *         at the window maximum; 0 if empty
+     */
+    public long getPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100: " + percentile);
+        }
+        if (size == 0) {
+            return 0;
+        }
+        
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * size));
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+            seen += counts[bucket];
+            if (seen >= rank) {
+                return Math.min(upperBound(bucket), getMax());
+            }
+        }
+        return getMax();
+    }
+    
+    /**
+     * Gets the largest sample within the window.
+     * 
+     * @return The window maximum, or 0 if empty
+     */
+    public long getMax() {
+        long max = 0;
+        for (int i = 0; i < size; i++) {
+            max = Math.max(max, window[i]);
+        }
+        return max;
+    }
+    
+    /**
+     * Gets the largest sample ever recorded.
+     * 
+     * @return The all-time maximum
+     */
+    public long getAllTimeMax() {
+        return allTimeMax;
+    }
+    
+    /**
+     * Gets the number of samples within the window.
+     * 
+     * @return The window sample count
+     */
+    public int getCount() {
+        return size;
+    }
+    
+    /**
+     * Gets the number of samples ever recorded.
+     * 
+     * @return The total sample count
+     */
+    public long getTotalCount() {
+        return totalCount;
+    }
+    
+    /**
+     * Gets the maximum number of samples kept.
+     * 
+     * @return The window size
+     */
+    public int getWindowSize() {
+        return window.length;
+    }
+    
+    // ==================== Internal ====================
+    
+    private static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        int sub = (int) (value >>> shift) & (SUB_BUCKETS - 1);
+        return (shift + 1) * SUB_BUCKETS + sub;
+    }
+    
+    private static long upperBound(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = bucket / SUB_BUCKETS - 1;
+        long lower = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+        return lower + (1L << shift) - 1;
+    }
+}
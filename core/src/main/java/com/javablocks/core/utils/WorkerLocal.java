@@ -0,0 +1,97 @@
+/*
+ * JavaBlocks Engine - WorkerLocal Utility
+ * 
+ * Per fork-join worker scratch values.
+ */
+package com.javablocks.core.utils;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.*;
+
+/**
+ * Holds one lazily created value per fork-join worker thread, so parallel
+ * jobs can keep scratch buffers or partial results without contention.
+ * 
+ * Unlike {@link ThreadLocal}, the values are indexed by the worker's pool
+ * index and can be visited afterwards for reduction. Threads that are not
+ * fork-join workers (such as the thread that started the job) share one
+ * extra slot, so only one such thread may use an instance at a time, and
+ * an instance should only be used with workers of a single pool.
+ * 
+ * @param <T> The value type
+ * @author JavaBlocks Engine Team
+ */
+public final class WorkerLocal<T> {
+    
+    // ==================== Instance Variables ====================
+    
+    /** Creates the value of a slot on first use. */
+    private final Supplier<? extends T> factory;
+    
+    /** Values by slot; slot 0 belongs to non-worker threads. */
+    private volatile Object[] slots;
+    
+    // ==================== Constructor ====================
+    
+    /**
+     * Creates a worker-local value.
+     * 
+     * @param factory Creates the value of each worker on first use
+     */
+    public WorkerLocal(Supplier<? extends T> factory) {
+        this.factory = Objects.requireNonNull(factory, "Factory cannot be null");
+        this.slots = new Object[Runtime.getRuntime().availableProcessors() + 1];
+    }
+    
+    // ==================== Access ====================
+    
+    /**
+     * Gets the value of the current worker, creating it if needed.
+     * 
+     * @return The current worker's value
+     */
+    @SuppressWarnings("unchecked")
+    public T get() {
+        int slot = slotOf(Thread.currentThread());
+        Object[] current = slots;
+        if (slot < current.length && current[slot] != null) {
+            return (T) current[slot];
+        }
+        return create(slot);
+    }
+    
+    /**
+     * Visits every value created so far, in slot order.
+     * Call only while no job is using this instance.
+     * 
+     * @param consumer Receives each value
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(Consumer<? super T> consumer) {
+        for (Object value : slots) {
+            if (value != null) {
+                consumer.accept((T) value);
+            }
+        }
+    }
+    
+    // ==================== Internal ====================
+    
+    @SuppressWarnings("unchecked")
+    private synchronized T create(int slot) {
+        Object[] current = slots;
+        if (slot >= current.length) {
+            current = Arrays.copyOf(current, Math.max(slot + 1, current.length * 2));
+        }
+        if (current[slot] == null) {
+            current[slot] = factory.get();
+        }
+        slots = current;
+        return (T) current[slot];
+    }
+    
+    private static int slotOf(Thread thread) {
+        return thread instanceof ForkJoinWorkerThread worker ? worker.getPoolIndex() + 1 : 0;
+    }
+}
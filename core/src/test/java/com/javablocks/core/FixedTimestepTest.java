@@ -0,0 +1,48 @@
+package com.javablocks.core;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the fixed-step accumulator.
+ */
+class FixedTimestepTest {
+    
+    @Test
+    @DisplayName("Frame time should be consumed in whole steps")
+    void frameTimeShouldBeConsumedInSteps() {
+        FixedTimestep timestep = new FixedTimestep(0.1f, 5);
+        
+        assertEquals(0, timestep.advance(0.05f));
+        assertEquals(0.5f, timestep.getAlpha(), 1e-4f);
+        assertEquals(1, timestep.advance(0.1f));
+        assertEquals(0.5f, timestep.getAlpha(), 1e-4f);
+        assertEquals(3, timestep.advance(0.25f));
+        assertEquals(0.0f, timestep.getAlpha(), 1e-4f);
+        assertEquals(4, timestep.getStepCount());
+    }
+    
+    @Test
+    @DisplayName("Long frames should be capped and the surplus dropped")
+    void longFramesShouldBeCapped() {
+        FixedTimestep timestep = new FixedTimestep(0.25f, 2);
+        
+        assertEquals(2, timestep.advance(1.1f));
+        assertEquals(0.5, timestep.getDroppedTime(), 1e-5);
+        assertEquals(0.4f, timestep.getAlpha(), 1e-4f);
+        assertEquals(1, timestep.advance(0.25f));
+    }
+    
+    @Test
+    @DisplayName("Reset should discard accumulated time")
+    void resetShouldDiscardAccumulatedTime() {
+        FixedTimestep timestep = new FixedTimestep(0.1f, 5);
+        timestep.advance(0.09f);
+        timestep.reset();
+        
+        assertEquals(0f, timestep.getAlpha());
+        assertEquals(0, timestep.advance(0.05f));
+        assertThrows(IllegalArgumentException.class, () -> new FixedTimestep(0f, 1));
+        assertThrows(IllegalArgumentException.class, () -> new FixedTimestep(0.1f, 0));
+    }
+}
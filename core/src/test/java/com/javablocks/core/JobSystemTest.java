@@ -0,0 +1,126 @@
+package com.javablocks.core;
+
+import org.junit.jupiter.api.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for dependency-aware jobs.
+ */
+class JobSystemTest {
+    
+    private ForkJoinPool pool;
+    private JobSystem jobs;
+    
+    @BeforeEach
+    void setUp() {
+        pool = new ForkJoinPool(4);
+        jobs = new JobSystem(pool);
+    }
+    
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+    
+    @Test
+    @DisplayName("Jobs should start only after their dependencies complete")
+    void jobsShouldWaitForDependencies() {
+        for (int round = 0; round < 50; round++) {
+            AtomicInteger first = new AtomicInteger();
+            AtomicInteger second = new AtomicInteger();
+            AtomicBoolean ordered = new AtomicBoolean();
+            long a = jobs.scheduleParallelFor(1000, 10, (from, to) -> first.addAndGet(to - from));
+            long b = jobs.schedule(second::incrementAndGet);
+            long c = jobs.schedule(() -> ordered.set(first.get() == 1000 && second.get() == 1), a, b);
+            
+            jobs.complete(c);
+            assertTrue(jobs.isComplete(a));
+            assertTrue(jobs.isComplete(b));
+            assertTrue(ordered.get());
+        }
+        jobs.completeAll();
+        assertEquals(0, jobs.getOutstandingCount());
+    }
+    
+    @Test
+    @DisplayName("Parallel-for should visit every index exactly once")
+    void parallelForShouldVisitEveryIndexOnce() {
+        int[] visits = new int[10_007];
+        long handle = jobs.scheduleParallelFor(visits.length, 64, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                visits[i]++;
+            }
+        });
+        jobs.complete(handle);
+        
+        for (int count : visits) {
+            assertEquals(1, count);
+        }
+        jobs.complete(jobs.scheduleParallelFor(0, 64, (from, to) -> fail("No chunks expected")));
+    }
+    
+    @Test
+    @DisplayName("Records should be recycled and stale handles read as complete")
+    void recordsShouldBeRecycled() {
+        long first = jobs.schedule(() -> {});
+        jobs.complete(first);
+        for (int i = 0; i < 1000; i++) {
+            jobs.complete(jobs.schedule(() -> {}, first));
+        }
+        
+        assertTrue(jobs.isComplete(first));
+        assertTrue(jobs.getCapacity() <= 16);
+        assertTrue(jobs.isComplete(JobSystem.NONE));
+    }
+    
+    @Test
+    @DisplayName("Combined handles should complete after both jobs")
+    void combinedHandlesShouldCompleteAfterBoth() {
+        CountDownLatch release = new CountDownLatch(1);
+        long blocked = jobs.schedule(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        long done = jobs.schedule(() -> {});
+        long both = jobs.combine(blocked, done);
+        
+        jobs.complete(done);
+        assertFalse(jobs.isComplete(both));
+        release.countDown();
+        jobs.complete(both);
+        assertTrue(jobs.isComplete(blocked));
+    }
+    
+    @Test
+    @DisplayName("Failures should be rethrown on completion")
+    void failuresShouldBeRethrown() {
+        long failing = jobs.schedule(() -> {
+            throw new IllegalStateException("boom");
+        });
+        AtomicBoolean dependentRan = new AtomicBoolean();
+        long dependent = jobs.schedule(() -> dependentRan.set(true), failing);
+        
+        assertThrows(IllegalStateException.class, () -> jobs.complete(dependent));
+        assertTrue(dependentRan.get());
+        jobs.completeAll();
+    }
+    
+    @Test
+    @DisplayName("Without a pool jobs should run inline once ready")
+    void jobsShouldRunInlineWithoutPool() {
+        JobSystem inline = new JobSystem(null);
+        List<String> order = new ArrayList<>();
+        long a = inline.schedule(() -> order.add("a"));
+        long b = inline.scheduleParallelFor(3, 1, (from, to) -> order.add("b" + from), a);
+        
+        assertTrue(inline.isComplete(b));
+        assertEquals(List.of("a", "b0", "b1", "b2"), order);
+        assertEquals(0, inline.getOutstandingCount());
+    }
+}
@@ -0,0 +1,134 @@
+package com.javablocks.core.ecs;
+
+import com.javablocks.core.components.*;
+import org.junit.jupiter.api.*;
+import java.util.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for change-detection ticks and the changedSince/addedSince filters.
+ */
+class ChangeDetectionTest {
+    
+    private World world;
+    private Query transforms;
+    
+    @BeforeEach
+    void setUp() {
+        world = new World();
+        transforms = world.registerQuery(new Query().all(TransformComponent.class));
+    }
+    
+    private List<Integer> changedSince(int tick) {
+        List<Integer> changed = new ArrayList<>();
+        transforms.changedSince(TransformComponent.class, tick, changed::add);
+        return changed;
+    }
+    
+    @Test
+    @DisplayName("Only mutably accessed components should be reported as changed")
+    void onlyMutatedComponentsShouldBeReported() {
+        Entity moved = world.createEntity();
+        Entity still = world.createEntity();
+        world.addComponent(moved, new TransformComponent());
+        world.addComponent(still, new TransformComponent());
+        
+        int tick = world.getChangeTick();
+        world.advanceChangeTick();
+        assertTrue(changedSince(tick).isEmpty());
+        
+        world.getComponent(still, TransformComponent.class);
+        world.getComponentMut(moved, TransformComponent.class).translate(1, 0, 0);
+        assertEquals(List.of(moved.getIndex()), changedSince(tick));
+    }
+    
+    @Test
+    @DisplayName("addedSince should ignore later changes to old components")
+    void addedSinceShouldIgnoreChanges() {
+        Entity old = world.createEntity();
+        world.addComponent(old, new TransformComponent());
+        int tick = world.getChangeTick();
+        world.advanceChangeTick();
+        
+        Entity fresh = world.createEntity();
+        world.addComponent(fresh, new TransformComponent());
+        world.markChanged(old.getHandle(), TransformComponent.class);
+        
+        List<Integer> added = new ArrayList<>();
+        transforms.addedSince(TransformComponent.class, tick, added::add);
+        assertEquals(List.of(fresh.getIndex()), added);
+        assertEquals(2, changedSince(tick).size());
+    }
+    
+    @Test
+    @DisplayName("Systems should see changes made since their previous run, but not their own")
+    void systemsShouldSeeChangesSinceLastRun() {
+        Entity entity = world.createEntity();
+        world.addComponent(entity, new TransformComponent());
+        TrackingSystem tracker = new TrackingSystem();
+        MovingSystem mover = new MovingSystem();
+        world.addSystem(tracker);
+        world.addSystem(mover);
+        
+        world.update(0f);
+        assertEquals(1, tracker.seen, "Components added before the first run count as changed");
+        
+        mover.move = true;
+        world.update(0f);
+        assertEquals(0, tracker.seen, "The mover runs after the tracker in this frame");
+        
+        mover.move = false;
+        world.update(0f);
+        assertEquals(1, tracker.seen, "The move shows up on the tracker's next run");
+        assertEquals(0, mover.seenOwn, "The mover should not see its own changes");
+        
+        world.update(0f);
+        assertEquals(0, tracker.seen);
+    }
+    
+    @Test
+    @DisplayName("Template spawns should stamp every component as added")
+    void templateSpawnsShouldStampAdded() {
+        int tick = world.getChangeTick();
+        world.advanceChangeTick();
+        world.createEntities(3, new EntityTemplate().with(new TransformComponent()).withDefaults());
+        
+        List<Integer> added = new ArrayList<>();
+        transforms.addedSince(TransformComponent.class, tick, added::add);
+        assertEquals(3, added.size());
+    }
+    
+    private class TrackingSystem extends GameSystem {
+        int seen;
+        
+        TrackingSystem() {
+            super(PRIORITY_HIGH);
+        }
+        
+        @Override
+        public void update(float deltaTime) {
+            seen = 0;
+            transforms.changedSince(TransformComponent.class, getLastRunTick(), index -> seen++);
+        }
+    }
+    
+    private class MovingSystem extends GameSystem {
+        boolean move;
+        int seenOwn;
+        
+        MovingSystem() {
+            super(PRIORITY_LOW);
+        }
+        
+        @Override
+        public void update(float deltaTime) {
+            if (getLastRunTick() != 0) {
+                transforms.changedSince(TransformComponent.class, getLastRunTick(), index -> seenOwn++);
+            }
+            if (move) {
+                transforms.forEachHandle(handle ->
+                    getWorld().getComponentMut(handle, TransformComponent.class).translate(1, 0, 0));
+            }
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.javablocks.core.ecs;
+
+import com.javablocks.core.components.*;
+import org.junit.jupiter.api.*;
+import java.util.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for deferred structural changes through command buffers.
+ */
+class CommandBufferTest {
+    
+    private World world;
+    private CommandBuffer commands;
+    
+    @BeforeEach
+    void setUp() {
+        world = new World();
+        commands = new CommandBuffer();
+    }
+    
+    @Test
+    @DisplayName("Commands should only apply on playback")
+    void commandsShouldApplyOnPlayback() {
+        long handle = world.createEntity().getHandle();
+        commands.add(handle, new TagComponent());
+        commands.remove(handle, LifetimeComponent.class);
+        
+        assertFalse(world.hasComponent(handle, TagComponent.class));
+        assertTrue(world.hasComponent(handle, LifetimeComponent.class));
+        assertEquals(2, commands.size());
+        
+        commands.playback(world);
+        assertTrue(world.hasComponent(handle, TagComponent.class));
+        assertFalse(world.hasComponent(handle, LifetimeComponent.class));
+        assertTrue(commands.isEmpty());
+    }
+    
+    @Test
+    @DisplayName("Placeholders should resolve to the entities created on playback")
+    void placeholdersShouldResolveToCreatedEntities() {
+        Query tagged = world.registerQuery(new Query().all(TagComponent.class));
+        int before = world.getEntityCount();
+        long first = commands.create();
+        long second = commands.create();
+        assertTrue(CommandBuffer.isPlaceholder(first));
+        assertNotEquals(first, second);
+        commands.add(second, new TagComponent());
+        
+        commands.playback(world);
+        assertEquals(before + 2, world.getEntityCount());
+        assertEquals(1, tagged.size());
+        assertFalse(CommandBuffer.isPlaceholder(tagged.getHandle(0)));
+        assertThrows(IllegalArgumentException.class, () -> commands.add(first, new TagComponent()));
+    }
+    
+    @Test
+    @DisplayName("Set should replace existing components only")
+    void setShouldReplaceExistingComponentsOnly() {
+        long handle = world.createEntity().getHandle();
+        NameComponent renamed = new NameComponent("Renamed");
+        commands.set(handle, renamed);
+        commands.set(handle, new TagComponent());
+        commands.playback(world);
+        
+        assertSame(renamed, world.getComponent(handle, NameComponent.class));
+        assertFalse(world.hasComponent(handle, TagComponent.class));
+    }
+    
+    @Test
+    @DisplayName("Commands for stale handles should be skipped")
+    void staleHandlesShouldBeSkipped() {
+        long handle = world.createEntity().getHandle();
+        world.destroyEntity(handle);
+        world.update(0f);
+        
+        commands.add(handle, new TagComponent());
+        commands.destroy(handle);
+        commands.playback(world);
+        
+        Entity reused = world.createEntity();
+        assertFalse(world.hasComponent(reused, TagComponent.class));
+    }
+    
+    @Test
+    @DisplayName("System buffers should play back after their stage in update order")
+    void systemBuffersShouldPlayBackInUpdateOrder() {
+        List<String> order = new ArrayList<>();
+        Query tagged = world.registerQuery(new Query().all(TagComponent.class));
+        world.addSystem(new SpawningSystem(order, "first"));
+        world.addSystem(new ObservingSystem(order, tagged));
+        
+        world.update(0f);
+        assertEquals(List.of("first", "observed 1"), order);
+        
+        world.update(0f);
+        assertEquals(2, tagged.size());
+    }
+    
+    private static final class SpawningSystem extends GameSystem {
+        private final List<String> order;
+        private final String label;
+        
+        SpawningSystem(List<String> order, String label) {
+            super(PRIORITY_HIGH);
+            this.order = order;
+            this.label = label;
+        }
+        
+        @Override
+        public void update(float deltaTime) {
+            order.add(label);
+            long entity = commands().create();
+            commands().add(entity, new TagComponent());
+        }
+    }
+    
+    private static final class ObservingSystem extends GameSystem {
+        private final List<String> order;
+        private final Query tagged;
+        
+        ObservingSystem(List<String> order, Query tagged) {
+            super(PRIORITY_LOW);
+            this.order = order;
+            this.tagged = tagged;
+        }
+        
+        @Override
+        public void update(float deltaTime) {
+            order.add("observed " + tagged.size());
+        }
+    }
+}
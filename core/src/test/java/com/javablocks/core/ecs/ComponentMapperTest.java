@@ -0,0 +1,72 @@
+package com.javablocks.core.ecs;
+
+import com.javablocks.core.components.*;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for typed component mappers.
+ */
+class ComponentMapperTest {
+    
+    @ParameterizedTest
+    @EnumSource(World.StorageMode.class)
+    @DisplayName("Mappers should read pooled storage directly and fall back to world lookups otherwise")
+    void mappersShouldAccessComponents(World.StorageMode mode) {
+        World world = TestWorlds.create(mode);
+        ComponentMapper<TagComponent> tags = world.getMapper(TagComponent.class);
+        assertEquals(mode == World.StorageMode.POOLED, tags.isDirect());
+        assertSame(tags, world.getMapper(TagComponent.class));
+        assertEquals(ComponentRegistry.getTypeId(TagComponent.class), tags.getTypeId());
+        
+        long handle = world.createEntity().getHandle();
+        assertFalse(tags.has(handle));
+        assertNull(tags.get(handle));
+        
+        TagComponent tag = new TagComponent("enemy");
+        assertTrue(tags.set(handle, tag));
+        assertTrue(tags.has(handle));
+        assertSame(tag, tags.get(handle));
+        assertSame(tag, world.getComponent(handle, TagComponent.class));
+        
+        int tick = world.getChangeTick();
+        world.advanceChangeTick();
+        assertSame(tag, tags.getMut(handle));
+        assertTrue(world.getChangeTicks().changedSince(tags.getTypeId(), Entity.unpackIndex(handle), tick));
+        
+        assertTrue(tags.remove(handle));
+        assertFalse(tags.has(handle));
+        assertFalse(world.hasComponent(handle, TagComponent.class));
+        assertFalse(tags.remove(handle));
+        
+        world.destroyEntity(handle);
+        world.update(0f);
+        assertNull(tags.get(handle));
+        assertFalse(tags.set(handle, new TagComponent()));
+    }
+    
+    @Test
+    @DisplayName("Cached type ID lookups should reject unregistered classes")
+    void typeIdLookupsShouldRejectUnregisteredClasses() {
+        assertEquals(-1, ComponentRegistry.getTypeIdOrDefault(UnregisteredComponent.class, -1));
+        assertThrows(IllegalArgumentException.class,
+            () -> ComponentRegistry.getTypeId(UnregisteredComponent.class));
+        assertThrows(IllegalArgumentException.class,
+            () -> new World().getMapper(UnregisteredComponent.class));
+        assertEquals(-1, ComponentRegistry.getTypeIdOrDefault(UnregisteredComponent.class, -1));
+    }
+    
+    /** Component that is never registered. */
+    static final class UnregisteredComponent implements Component {
+        @Override
+        public Component copy() {
+            return new UnregisteredComponent();
+        }
+        
+        @Override
+        public void reset() {
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.javablocks.core.ecs;
+
+import com.javablocks.core.components.*;
+import org.junit.jupiter.api.*;
+import java.util.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for batched component add, set and remove observers.
+ */
+class ComponentObserverTest {
+    
+    private World world;
+    
+    @BeforeEach
+    void setUp() {
+        world = new World();
+    }
+    
+    @Test
+    @DisplayName("Adds should be delivered as one batch at the next sync point")
+    void addsShouldBeDeliveredInOneBatch() {
+        Recorder added = new Recorder("add");
+        world.onAdd(TagComponent.class, added);
+        
+        Set<Long> expected = new HashSet<>();
+        for (int i = 0; i < 10; i++) {
+            long handle = world.createEntity().getHandle();
+            world.addComponent(handle, new TagComponent());
+            expected.add(handle);
+        }
+        assertEquals(0, added.calls);
+        
+        world.update(0f);
+        assertEquals(1, added.calls);
+        assertEquals(expected, new HashSet<>(added.handles));
+        
+        world.update(0f);
+        assertEquals(1, added.calls);
+    }
+    
+    @Test
+    @DisplayName("Events of one type should keep their order across kinds")
+    void eventsShouldKeepTheirOrder() {
+        List<String> events = new ArrayList<>();
+        world.onAdd(TagComponent.class, new Recorder("add", events));
+        world.onRemove(TagComponent.class, new Recorder("remove", events));
+        
+        long handle = world.createEntity().getHandle();
+        world.addComponent(handle, new TagComponent());
+        world.removeComponent(handle, TagComponent.class);
+        world.addComponent(handle, new TagComponent());
+        
+        world.update(0f);
+        assertEquals(List.of("add", "remove", "add"), events);
+    }
+    
+    @Test
+    @DisplayName("Replacing a component should be reported as a set")
+    void replacingShouldBeReportedAsSet() {
+        Recorder added = new Recorder("add");
+        Recorder set = new Recorder("set");
+        world.onAdd(NameComponent.class, added);
+        world.onSet(NameComponent.class, set);
+        
+        long handle = world.createEntity().getHandle();
+        world.update(0f);
+        assertEquals(List.of(handle), added.handles);
+        
+        assertTrue(world.setComponent(handle, new NameComponent("Renamed")));
+        world.addComponent(handle, new NameComponent("Again"));
+        world.getComponentMut(handle, NameComponent.class);
+        world.update(0f);
+        assertEquals(List.of(handle, handle), set.handles);
+        assertEquals(1, added.calls);
+    }
+    
+    @Test
+    @DisplayName("Destroying an entity should report removal of its components")
+    void destroyShouldReportRemovals() {
+        Recorder removed = new Recorder("remove");
+        world.onRemove(LifetimeComponent.class, removed);
+        
+        long handle = world.createEntity().getHandle();
+        world.destroyEntity(handle);
+        world.update(0f);
+        
+        assertEquals(List.of(handle), removed.handles);
+        assertFalse(world.isValid(handle));
+    }
+    
+    @Test
+    @DisplayName("Template spawns should be reported as adds")
+    void templateSpawnsShouldBeReportedAsAdds() {
+        Recorder added = new Recorder("add");
+        world.onAdd(VisibleComponent.class, added);
+        
+        long[] handles = world.createEntities(100, new EntityTemplate()
+            .with(new VisibleComponent(true, 0))
+            .with(new TagComponent()));
+        world.update(0f);
+        
+        assertEquals(1, added.calls);
+        assertEquals(100, added.handles.size());
+        for (long handle : handles) {
+            assertTrue(added.handles.contains(handle));
+        }
+    }
+    
+    @Test
+    @DisplayName("Unregistered observers should receive nothing")
+    void unregisteredObserversShouldReceiveNothing() {
+        Recorder added = new Recorder("add");
+        world.onAdd(TagComponent.class, added);
+        world.onRemove(TagComponent.class, added);
+        assertTrue(world.removeObserver(added));
+        assertFalse(world.removeObserver(added));
+        
+        long handle = world.createEntity().getHandle();
+        world.addComponent(handle, new TagComponent());
+        world.removeComponent(handle, TagComponent.class);
+        world.update(0f);
+        
+        assertEquals(0, added.calls);
+    }
+    
+    @Test
+    @DisplayName("Changes made by a system should be delivered after its stage")
+    void systemChangesShouldBeDeliveredAfterTheirStage() {
+        Recorder added = new Recorder("add");
+        world.onAdd(TagComponent.class, added);
+        long handle = world.createEntity().getHandle();
+        world.update(0f);
+        
+        int[] seenByLater = {-1};
+        world.addSystem(new GameSystem(GameSystem.PRIORITY_HIGH) {
+            {
+                writes(TagComponent.class);
+            }
+            
+            @Override
+            public void update(float deltaTime) {
+                if (!getWorld().hasComponent(handle, TagComponent.class)) {
+                    getWorld().addComponent(handle, new TagComponent());
+                }
+            }
+        });
+        world.addSystem(new GameSystem(GameSystem.PRIORITY_LOW) {
+            {
+                reads(TagComponent.class);
+            }
+            
+            @Override
+            public void update(float deltaTime) {
+                seenByLater[0] = added.calls;
+            }
+        });
+        
+        world.update(0f);
+        assertEquals(1, added.calls);
+        assertEquals(1, seenByLater[0]);
+    }
+    
+    private static final class Recorder implements ComponentObserver {
+        final String name;
+        final List<String> events;
+        final List<Long> handles = new ArrayList<>();
+        int calls;
+        
+        Recorder(String name) {
+            this(name, new ArrayList<>());
+        }
+        
+        Recorder(String name, List<String> events) {
+            this.name = name;
+            this.events = events;
+        }
+        
+        @Override
+        public void observe(long[] batch, int count) {
+            calls++;
+            for (int i = 0; i < count; i++) {
+                handles.add(batch[i]);
+                events.add(name);
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.javablocks.core.ecs;
+
+import com.javablocks.core.JavaBlocksEngine;
+import com.javablocks.core.components.*;
+import org.junit.jupiter.api.*;
+import java.util.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the sparse-set ComponentPool.
+ */
+class ComponentPoolTest {
+    
+    private ComponentPool<TagComponent> pool;
+    
+    @BeforeEach
+    void setUp() {
+        pool = new ComponentPool<>(ComponentRegistry.getTypeId(TagComponent.class));
+    }
+    
+    @Test
+    @DisplayName("Should store components densely regardless of entity index")
+    void shouldStoreComponentsDensely() {
+        TagComponent a = new TagComponent();
+        TagComponent b = new TagComponent();
+        
+        assertNull(pool.set(5000, a));
+        assertNull(pool.set(3, b));
+        
+        assertEquals(2, pool.size());
+        assertSame(a, pool.get(5000));
+        assertSame(b, pool.get(3));
+        assertTrue(pool.has(3));
+        assertFalse(pool.has(4));
+        assertNull(pool.get(100000));
+        assertEquals(5000, pool.getEntityIndex(0));
+        assertEquals(3, pool.getEntityIndex(1));
+    }
+    
+    @Test
+    @DisplayName("Should keep remaining components reachable after swap-remove")
+    void shouldSwapRemove() {
+        Map<Integer, TagComponent> expected = new HashMap<>();
+        for (int i = 0; i < 100; i++) {
+            TagComponent tag = new TagComponent();
+            pool.set(i * 7, tag);
+            expected.put(i * 7, tag);
+        }
+        
+        for (int i = 0; i < 100; i += 2) {
+            assertSame(expected.remove(i * 7), pool.remove(i * 7));
+        }
+        assertNull(pool.remove(0));
+        
+        assertEquals(expected.size(), pool.size());
+        expected.forEach((index, tag) -> assertSame(tag, pool.get(index)));
+        
+        Map<Integer, TagComponent> visited = new HashMap<>();
+        pool.forEach((index, tag) -> assertNull(visited.put(index, tag)));
+        assertEquals(expected, visited);
+    }
+    
+    @Test
+    @DisplayName("World should expose its pools in pooled mode only")
+    void worldShouldExposePools() {
+        JavaBlocksEngine.EngineConfiguration config = new JavaBlocksEngine.EngineConfiguration();
+        World world = new World(config);
+        
+        Entity entity = world.createEntity();
+        TagComponent tag = new TagComponent();
+        world.addComponent(entity, tag);
+        
+        ComponentPool<TagComponent> worldPool = world.getPool(TagComponent.class);
+        assertEquals(1, worldPool.size());
+        assertSame(tag, worldPool.get(entity.getIndex()));
+        
+        config.storageMode = World.StorageMode.ARCHETYPE;
+        World archetypeWorld = new World(config);
+        assertThrows(IllegalStateException.class, () -> archetypeWorld.getPool(TagComponent.class));
+    }
+}
@@ -0,0 +1,148 @@
+package com.javablocks.core.ecs;
+
+import com.javablocks.core.JavaBlocksEngine;
+import com.javablocks.core.components.*;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for component factories and recycling of removed instances.
+ */
+class ComponentRecyclingTest {
+    
+    private static World createWorld(World.StorageMode mode, int poolCapacity, boolean debug) {
+        JavaBlocksEngine.EngineConfiguration config = TestWorlds.config(mode);
+        config.componentPoolCapacity = poolCapacity;
+        config.debugMode = debug;
+        return new World(config);
+    }
+    
+    @Test
+    @DisplayName("Factories should create fresh instances without reflection per call")
+    void factoriesShouldCreateFreshInstances() {
+        int typeId = ComponentRegistry.getTypeId(TagComponent.class);
+        Component first = ComponentRegistry.create(typeId);
+        Component second = ComponentRegistry.getFactory(typeId).get();
+        
+        assertTrue(first instanceof TagComponent);
+        assertNotSame(first, second);
+        assertSame(ComponentRegistry.getFactory(typeId), ComponentRegistry.getFactory(typeId));
+        assertTrue(ComponentRegistry.create(HiddenComponent.class) instanceof HiddenComponent);
+    }
+    
+    @ParameterizedTest
+    @EnumSource(World.StorageMode.class)
+    @DisplayName("Removed components should be reset and reused")
+    void removedComponentsShouldBeReused(World.StorageMode mode) {
+        World world = createWorld(mode, 16, false);
+        long handle = world.createEntity().getHandle();
+        TagComponent tag = world.obtainComponent(TagComponent.class);
+        tag.setTag("projectile");
+        world.addComponent(handle, tag);
+        
+        assertTrue(world.removeComponent(handle, TagComponent.class));
+        assertEquals(1, world.getPooledComponentCount(TagComponent.class));
+        assertEquals("", tag.getTag());
+        
+        TagComponent reused = world.obtainComponent(TagComponent.class);
+        assertSame(tag, reused);
+        assertEquals(0, world.getPooledComponentCount(TagComponent.class));
+    }
+    
+    @ParameterizedTest
+    @EnumSource(World.StorageMode.class)
+    @DisplayName("Destroyed entities and replaced components should return their instances")
+    void destroyAndReplaceShouldRecycle(World.StorageMode mode) {
+        World world = createWorld(mode, 16, false);
+        long handle = world.createEntity().getHandle();
+        LifetimeComponent lifetime = world.obtainComponent(LifetimeComponent.class);
+        world.addComponent(handle, lifetime);
+        
+        world.addComponent(handle, world.obtainComponent(LifetimeComponent.class));
+        assertEquals(1, world.getPooledComponentCount(LifetimeComponent.class));
+        assertSame(lifetime, world.obtainComponent(LifetimeComponent.class));
+        
+        world.addComponent(handle, world.obtainComponent(TagComponent.class));
+        world.destroyEntity(handle);
+        world.update(0f);
+        assertEquals(1, world.getPooledComponentCount(LifetimeComponent.class));
+        assertEquals(1, world.getPooledComponentCount(TagComponent.class));
+    }
+    
+    @ParameterizedTest
+    @EnumSource(World.StorageMode.class)
+    @DisplayName("Instances the world did not hand out or that are shared should not be reset")
+    void foreignAndSharedInstancesShouldNotBeRecycled(World.StorageMode mode) {
+        World world = createWorld(mode, 16, false);
+        long first = world.createEntity().getHandle();
+        long second = world.createEntity().getHandle();
+        
+        TagComponent created = new TagComponent();
+        created.setTag("created");
+        world.addComponent(first, created);
+        world.removeComponent(first, TagComponent.class);
+        assertEquals("created", created.getTag());
+        
+        TagComponent shared = world.obtainComponent(TagComponent.class);
+        shared.setTag("shared");
+        world.addComponent(first, shared);
+        world.addComponent(second, shared);
+        world.destroyEntity(first);
+        world.update(0f);
+        
+        assertEquals(0, world.getPooledComponentCount(TagComponent.class));
+        assertEquals(0, world.getPooledComponentCount(NameComponent.class));
+        assertEquals("shared", world.getComponent(second, TagComponent.class).getTag());
+    }
+    
+    @ParameterizedTest
+    @EnumSource(World.StorageMode.class)
+    @DisplayName("A zero capacity should disable pooling")
+    void zeroCapacityShouldDisablePooling(World.StorageMode mode) {
+        World world = createWorld(mode, 0, false);
+        long handle = world.createEntity().getHandle();
+        TagComponent tag = new TagComponent();
+        tag.setTag("kept");
+        world.addComponent(handle, tag);
+        world.removeComponent(handle, TagComponent.class);
+        
+        assertEquals(0, world.getPooledComponentCount(TagComponent.class));
+        assertEquals("kept", tag.getTag());
+        assertNotSame(tag, world.obtainComponent(TagComponent.class));
+    }
+    
+    @ParameterizedTest
+    @EnumSource(World.StorageMode.class)
+    @DisplayName("Debug mode should reject reattaching recycled instances and count leaks")
+    void debugModeShouldTrackMisuse(World.StorageMode mode) {
+        World world = createWorld(mode, 16, true);
+        long first = world.createEntity().getHandle();
+        long second = world.createEntity().getHandle();
+        TagComponent tag = world.obtainComponent(TagComponent.class);
+        world.addComponent(first, tag);
+        world.removeComponent(first, TagComponent.class);
+        
+        assertThrows(IllegalStateException.class, () -> world.addComponent(second, tag));
+        
+        world.obtainComponent(TagComponent.class);
+        world.obtainComponent(TagComponent.class);
+        assertEquals(2, world.getDebugInfo().get("Unattached Pooled Components"));
+    }
+    
+    /** Component with a private constructor, created through a private lookup. */
+    private static final class HiddenComponent implements Component {
+        private HiddenComponent() {
+        }
+        
+        @Override
+        public Component copy() {
+            return new HiddenComponent();
+        }
+        
+        @Override
+        public void reset() {
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.javablocks.core.ecs;
+
+import org.junit.jupiter.api.*;
+import java.util.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for multi-word per-entity component signatures.
+ */
+class ComponentSignaturesTest {
+    
+    private ComponentSignatures signatures;
+    
+    @BeforeEach
+    void setUp() {
+        signatures = new ComponentSignatures(4);
+    }
+    
+    @Test
+    @DisplayName("Signatures should track type IDs beyond the first word")
+    void signaturesShouldTrackHighTypeIds() {
+        signatures.set(0, 3);
+        assertEquals(1, signatures.getStride());
+        
+        signatures.set(0, 700);
+        assertTrue(signatures.getStride() >= 11);
+        assertTrue(signatures.has(0, 3));
+        assertTrue(signatures.has(0, 700));
+        assertFalse(signatures.has(0, 64));
+        assertEquals(2, signatures.count(0));
+        
+        signatures.clear(0, 700);
+        assertFalse(signatures.has(0, 700));
+        assertEquals(1, signatures.count(0));
+    }
+    
+    @Test
+    @DisplayName("Widening and growing should preserve existing bits")
+    void wideningShouldPreserveBits() {
+        signatures.set(1, 5);
+        signatures.set(2, 63);
+        signatures.set(100, 130);
+        
+        assertTrue(signatures.has(1, 5));
+        assertTrue(signatures.has(2, 63));
+        assertTrue(signatures.has(100, 130));
+        assertFalse(signatures.has(100, 5));
+        assertFalse(signatures.has(5000, 5));
+        
+        signatures.clearAll(1);
+        assertEquals(0, signatures.count(1));
+        assertTrue(signatures.has(2, 63));
+    }
+    
+    @Test
+    @DisplayName("Matching should compare masks across words")
+    void matchingShouldCompareMasksAcrossWords() {
+        signatures.set(0, 2);
+        signatures.set(0, 200);
+        signatures.set(1, 2);
+        
+        long[] all = ComponentSignatures.mask(new int[] {2, 200});
+        long[] empty = ComponentSignatures.mask(new int[0]);
+        assertTrue(signatures.matches(0, all, empty, empty));
+        assertFalse(signatures.matches(1, all, empty, empty));
+        
+        long[] none = ComponentSignatures.mask(new int[] {200});
+        assertFalse(signatures.matches(0, empty, empty, none));
+        assertTrue(signatures.matches(1, empty, empty, none));
+        
+        long[] any = ComponentSignatures.mask(new int[] {900, 2});
+        assertTrue(signatures.matches(1, empty, any, empty));
+        assertFalse(signatures.matches(2, empty, any, empty));
+    }
+    
+    @Test
+    @DisplayName("nextType should visit only the set bits")
+    void nextTypeShouldVisitSetBits() {
+        signatures.set(3, 0);
+        signatures.set(3, 63);
+        signatures.set(3, 64);
+        signatures.set(3, 300);
+        
+        List<Integer> types = new ArrayList<>();
+        for (int t = signatures.nextType(3, 0); t >= 0; t = signatures.nextType(3, t + 1)) {
+            types.add(t);
+        }
+        assertEquals(List.of(0, 63, 64, 300), types);
+        assertEquals(-1, signatures.nextType(2, 0));
+        assertEquals(-1, signatures.nextType(9000, 0));
+    }
+    
+    @Test
+    @DisplayName("Single-word type masks should reject wide type IDs")
+    void typeMaskShouldRejectWideTypeIds() {
+        assertEquals(1L << 63, ComponentRegistry.getTypeMask(63));
+        assertThrows(IllegalArgumentException.class, () -> ComponentRegistry.getTypeMask(64));
+    }
+}
@@ -0,0 +1,89 @@
+package com.javablocks.core.ecs;
+
+import com.javablocks.core.*;
+import com.javablocks.core.components.*;
+import com.javablocks.core.events.*;
+import org.junit.jupiter.api.*;
+import java.util.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the batched entity destruction pipeline.
+ */
+class EntityDestructionTest {
+    
+    private World world;
+    private List<long[]> batches;
+    
+    @BeforeEach
+    void setUp() {
+        world = new World();
+        batches = new ArrayList<>();
+        Signal<JavaBlocksEngine.EntitiesDestroyed> destroyed = world.getSignalRegistry()
+            .getOrCreate(JavaBlocksEngine.EngineSignals.ENTITY_DESTROYED);
+        destroyed.subscribe(event -> batches.add(event.handles()));
+    }
+    
+    @Test
+    @DisplayName("Queued destroys should be processed as one batch with one event")
+    void destroysShouldBeBatched() {
+        Query tagged = world.registerQuery(new Query().all(TagComponent.class));
+        List<Entity> doomed = new ArrayList<>();
+        List<Entity> survivors = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            Entity entity = world.createEntity();
+            world.addComponent(entity, new TagComponent());
+            (i % 3 == 0 ? survivors : doomed).add(entity);
+        }
+        int before = world.getEntityCount();
+        
+        for (Entity entity : doomed) {
+            world.destroyEntity(entity);
+        }
+        world.destroyEntity(doomed.get(0));
+        assertEquals(before, world.getEntityCount());
+        world.update(0f);
+        
+        assertEquals(1, batches.size());
+        assertEquals(doomed.size(), batches.get(0).length);
+        assertEquals(before - doomed.size(), world.getEntityCount());
+        assertEquals(survivors.size(), tagged.size());
+        for (Entity entity : survivors) {
+            assertTrue(world.isValid(entity));
+            assertNotNull(world.getComponent(entity, TagComponent.class));
+        }
+        for (Entity entity : doomed) {
+            assertFalse(world.isValid(entity));
+            assertFalse(tagged.contains(entity.getIndex()));
+        }
+        
+        Set<Long> active = new HashSet<>();
+        world.forEachEntity(active::add);
+        assertEquals(world.getEntityCount(), active.size());
+    }
+    
+    @Test
+    @DisplayName("Destroying should remove components from every storage")
+    void destroyShouldClearComponents() {
+        Entity entity = world.createEntity();
+        world.addComponent(entity, new TagComponent());
+        ComponentPool<TagComponent> pool = world.getPool(TagComponent.class);
+        assertEquals(1, pool.size());
+        
+        world.destroyEntity(entity);
+        world.update(0f);
+        
+        assertEquals(0, pool.size());
+        Entity reused = world.createEntity();
+        assertEquals(entity.getIndex(), reused.getIndex());
+        assertFalse(world.hasComponent(reused, TagComponent.class));
+    }
+    
+    @Test
+    @DisplayName("Frames without destroys should not dispatch a batch event")
+    void emptyFramesShouldNotDispatch() {
+        world.createEntity();
+        world.update(0f);
+        assertTrue(batches.isEmpty());
+    }
+}
@@ -0,0 +1,108 @@
+package com.javablocks.core.ecs;
+
+import com.javablocks.core.components.*;
+import org.junit.jupiter.api.*;
+import java.util.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the packed long-handle entity API.
+ */
+class EntityHandleTest {
+    
+    private World world;
+    
+    @BeforeEach
+    void setUp() {
+        world = new World();
+    }
+    
+    @Test
+    @DisplayName("Handles should resolve components while the entity is alive")
+    void handlesShouldResolveComponents() {
+        Entity entity = world.createEntity();
+        world.addComponent(entity, new TagComponent());
+        long handle = entity.getHandle();
+        
+        assertTrue(world.isValid(handle));
+        assertTrue(world.hasComponent(handle, TagComponent.class));
+        assertSame(world.getComponent(entity, TagComponent.class),
+                   world.getComponent(handle, TagComponent.class));
+        assertNull(world.getComponent(handle, TransformComponent.class));
+    }
+    
+    @Test
+    @DisplayName("Stale handles should be rejected after the index is reused")
+    void staleHandlesShouldBeRejected() {
+        Entity first = world.createEntity();
+        long stale = first.getHandle();
+        world.destroyEntity(stale);
+        world.update(0f);
+        
+        assertFalse(world.isValid(stale));
+        assertFalse(world.isValid(first));
+        
+        Entity reused = world.createEntity();
+        world.addComponent(reused, new TagComponent());
+        assertEquals(first.getIndex(), reused.getIndex());
+        assertFalse(world.isValid(stale));
+        assertNull(world.getComponent(stale, TagComponent.class));
+        assertFalse(world.hasComponent(stale, TagComponent.class));
+        
+        world.destroyEntity(stale);
+        world.update(0f);
+        assertTrue(world.isValid(reused));
+    }
+    
+    @Test
+    @DisplayName("Destroying an entity twice should release it once")
+    void doubleDestroyShouldReleaseOnce() {
+        Entity entity = world.createEntity();
+        world.destroyEntity(entity);
+        world.destroyEntity(entity);
+        world.update(0f);
+        
+        Entity a = world.createEntity();
+        Entity b = world.createEntity();
+        assertNotEquals(a.getIndex(), b.getIndex());
+    }
+    
+    @Test
+    @DisplayName("Null and unissued handles should be invalid")
+    void nullHandlesShouldBeInvalid() {
+        assertFalse(world.isValid(Entity.NULL_HANDLE));
+        assertFalse(world.isValid(Entity.nullEntity()));
+        assertFalse(world.isValid(Entity.pack(world.getEntityCount() + 100, 0)));
+        assertSame(Entity.nullEntity(), Entity.nullEntity());
+    }
+    
+    @Test
+    @DisplayName("Handle iteration should visit the same entities as the object API")
+    @SuppressWarnings("unchecked")
+    void handleIterationShouldMatchObjectApi() {
+        Query query = world.registerQuery(new Query().all(TagComponent.class));
+        for (int i = 0; i < 5; i++) {
+            Entity entity = world.createEntity();
+            if (i % 2 == 0) {
+                world.addComponent(entity, new TagComponent());
+            }
+        }
+        
+        Set<Long> active = new HashSet<>();
+        world.forEachEntity(active::add);
+        Set<Long> expected = new HashSet<>();
+        for (Entity entity : world.getActiveEntities()) {
+            expected.add(entity.getHandle());
+        }
+        assertEquals(expected, active);
+        
+        Set<Long> tagged = new HashSet<>();
+        query.forEachHandle(tagged::add);
+        Set<Long> expectedTagged = new HashSet<>();
+        for (Entity entity : world.getEntitiesWith(TagComponent.class)) {
+            expectedTagged.add(entity.getHandle());
+        }
+        assertEquals(3, tagged.size());
+        assertEquals(expectedTagged, tagged);
+    }
+}
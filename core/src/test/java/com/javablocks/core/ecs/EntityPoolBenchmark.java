@@ -0,0 +1,72 @@
+package com.javablocks.core.ecs;
+
+import java.util.concurrent.*;
+
+/**
+ * Entity spawn throughput benchmark.
+ * 
+ * Each thread repeatedly obtains a burst of entity indices and releases
+ * them again, from 1 up to the number of available processors (or the
+ * first argument). Run with {@code ./gradlew :core:entityPoolBenchmark}.
+ */
+public final class EntityPoolBenchmark {
+    
+    private static final int BURST = 256;
+    private static final int ROUNDS = 2_000;
+    private static final int WARMUP_RUNS = 3;
+    
+    private EntityPoolBenchmark() {
+    }
+    
+    public static void main(String[] args) throws Exception {
+        int maxThreads = args.length > 0
+            ? Integer.parseInt(args[0])
+            : Runtime.getRuntime().availableProcessors();
+        
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            run(maxThreads);
+        }
+        
+        System.out.printf("%-8s %16s%n", "Threads", "Spawns/sec");
+        for (int threads = 1; ; threads = Math.min(threads * 2, maxThreads)) {
+            System.out.printf("%-8d %,16.0f%n", threads, run(threads));
+            if (threads == maxThreads) {
+                break;
+            }
+        }
+    }
+    
+    private static double run(int threads) throws Exception {
+        Entity.EntityPool pool = new Entity.EntityPool(1024);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CyclicBarrier start = new CyclicBarrier(threads + 1);
+        try {
+            Future<?>[] workers = new Future<?>[threads];
+            for (int t = 0; t < threads; t++) {
+                workers[t] = executor.submit(() -> {
+                    int[] burst = new int[BURST];
+                    start.await();
+                    for (int round = 0; round < ROUNDS; round++) {
+                        for (int i = 0; i < BURST; i++) {
+                            burst[i] = pool.obtain();
+                        }
+                        for (int i = 0; i < BURST; i++) {
+                            pool.release(burst[i]);
+                        }
+                    }
+                    return null;
+                });
+            }
+            
+            start.await();
+            long begin = System.nanoTime();
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+            long elapsed = System.nanoTime() - begin;
+            return (double) threads * ROUNDS * BURST / (elapsed / 1e9);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.javablocks.core.ecs;
+
+import org.junit.jupiter.api.*;
+import java.util.*;
+import java.util.concurrent.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for lock-free entity index allocation.
+ */
+class EntityPoolTest {
+    
+    @Test
+    @DisplayName("Released indices should be reused with a new generation")
+    void releasedIndicesShouldBeReused() {
+        Entity.EntityPool pool = new Entity.EntityPool(4);
+        int index = pool.obtain();
+        long handle = Entity.pack(index, pool.getGeneration(index));
+        assertTrue(pool.isAlive(handle));
+        
+        pool.release(index);
+        assertFalse(pool.isAlive(handle));
+        assertEquals(0, pool.size());
+        
+        assertEquals(index, pool.obtain());
+        assertEquals(Entity.unpackGeneration(handle) + 1, pool.getGeneration(index));
+        assertThrows(IllegalArgumentException.class, () -> pool.release(1000));
+    }
+    
+    @Test
+    @DisplayName("Growth should keep existing generations")
+    void growthShouldKeepGenerations() {
+        Entity.EntityPool pool = new Entity.EntityPool(1);
+        int first = pool.obtain();
+        pool.release(first);
+        pool.obtain();
+        
+        int initialCapacity = pool.capacity();
+        for (int i = 0; i < initialCapacity + 10; i++) {
+            pool.obtain();
+        }
+        assertTrue(pool.capacity() > initialCapacity);
+        assertEquals(1, pool.getGeneration(first));
+        assertEquals(initialCapacity + 11, pool.size());
+    }
+    
+    @Test
+    @DisplayName("Concurrent allocation should hand out unique live indices")
+    void concurrentAllocationShouldBeUnique() throws Exception {
+        Entity.EntityPool pool = new Entity.EntityPool(16);
+        int threads = 4;
+        int perThread = 5_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<int[]>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                results.add(executor.submit(() -> {
+                    // Churn through the caches and the global stack before keeping a set
+                    for (int i = 0; i < perThread; i++) {
+                        pool.release(pool.obtain());
+                    }
+                    int[] kept = new int[perThread];
+                    for (int i = 0; i < perThread; i++) {
+                        kept[i] = pool.obtain();
+                    }
+                    return kept;
+                }));
+            }
+            
+            Set<Integer> seen = new HashSet<>();
+            for (Future<int[]> result : results) {
+                for (int index : result.get(30, TimeUnit.SECONDS)) {
+                    assertTrue(seen.add(index), "Index handed out twice: " + index);
+                    assertTrue(pool.isAlive(Entity.pack(index, pool.getGeneration(index))));
+                }
+            }
+            assertEquals(threads * perThread, pool.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
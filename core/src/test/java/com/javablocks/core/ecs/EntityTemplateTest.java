@@ -0,0 +1,124 @@
+package com.javablocks.core.ecs;
+
+import com.javablocks.core.JavaBlocksEngine;
+import com.javablocks.core.components.*;
+import com.javablocks.core.events.*;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import java.util.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for bulk entity creation from templates.
+ */
+class EntityTemplateTest {
+    
+    @ParameterizedTest
+    @EnumSource(World.StorageMode.class)
+    @DisplayName("Templates should spawn into either storage")
+    void templatesShouldSpawn(World.StorageMode mode) {
+        World world = TestWorlds.create(mode);
+        assertBatchSpawn(world);
+        
+        if (mode == World.StorageMode.ARCHETYPE) {
+            int[] visited = new int[1];
+            world.forEachChunk(chunk -> visited[0] += chunk.size(), TagComponent.class);
+            assertEquals(500, visited[0]);
+        }
+    }
+    
+    @ParameterizedTest
+    @EnumSource(World.StorageMode.class)
+    @DisplayName("Templates should copy packed components by value")
+    void templatesShouldSpawnPacked(World.StorageMode mode) {
+        World world = TestWorlds.createPacked(mode);
+        assertBatchSpawn(world);
+        assertEquals(500, world.getPackedStore(LifetimeComponent.class).size());
+    }
+    
+    private static void assertBatchSpawn(World world) {
+        Query tagged = world.registerQuery(new Query().all(TagComponent.class, VisibleComponent.class));
+        Query untagged = world.registerQuery(new Query().none(TagComponent.class));
+        int before = world.getEntityCount();
+        int untaggedBefore = untagged.size();
+        
+        TagComponent tag = new TagComponent();
+        EntityTemplate template = new EntityTemplate()
+            .with(tag)
+            .with(new VisibleComponent(false, 3))
+            .with(new LifetimeComponent(2f));
+        long[] handles = world.createEntities(500, template);
+        
+        assertEquals(500, handles.length);
+        assertEquals(before + 500, world.getEntityCount());
+        assertEquals(500, tagged.size());
+        assertEquals(untaggedBefore, untagged.size());
+        
+        Set<Integer> indices = new HashSet<>();
+        for (long handle : handles) {
+            assertTrue(world.isValid(handle));
+            assertTrue(indices.add(Entity.unpackIndex(handle)));
+            TagComponent copy = world.getComponent(handle, TagComponent.class);
+            assertNotNull(copy);
+            assertNotSame(tag, copy);
+            VisibleComponent visible = world.getComponent(handle, VisibleComponent.class);
+            assertFalse(visible.isVisible());
+            assertEquals(3, visible.getLayer());
+            assertEquals(2f, world.getComponent(handle, LifetimeComponent.class).getMaxLifetime());
+            assertFalse(world.hasComponent(handle, NameComponent.class));
+        }
+        assertNotSame(world.getComponent(handles[0], VisibleComponent.class),
+                      world.getComponent(handles[1], VisibleComponent.class));
+    }
+    
+    @Test
+    @DisplayName("Names should only be generated on request")
+    void namesShouldBeGeneratedOnRequest() {
+        World world = new World();
+        Entity recycled = world.createEntity();
+        world.destroyEntity(recycled);
+        world.update(0f);
+        
+        long[] handles = world.createEntities(3, new EntityTemplate().withDefaults().withGeneratedNames());
+        assertEquals(recycled.getIndex(), Entity.unpackIndex(handles[0]));
+        assertNotEquals(recycled.getGeneration(), Entity.unpackGeneration(handles[0]));
+        for (long handle : handles) {
+            assertEquals("Entity " + Entity.unpackIndex(handle),
+                world.getComponent(handle, NameComponent.class).getName());
+            assertTrue(world.getComponent(handle, ActiveComponent.class).isActive());
+        }
+        
+        assertEquals(0, world.createEntities(0, new EntityTemplate()).length);
+        assertThrows(IllegalArgumentException.class, () -> world.createEntities(-1, new EntityTemplate()));
+    }
+    
+    @Test
+    @DisplayName("Spawn and destroy listeners should each receive only their own batches")
+    void spawnAndDestroyEventsShouldStayApart() {
+        World world = new World();
+        List<long[]> created = new ArrayList<>();
+        List<long[]> destroyed = new ArrayList<>();
+        Signal<JavaBlocksEngine.EntitiesCreated> createdSignal = world.getSignalRegistry()
+            .getOrCreate(JavaBlocksEngine.EngineSignals.ENTITY_CREATED);
+        Signal<JavaBlocksEngine.EntitiesDestroyed> destroyedSignal = world.getSignalRegistry()
+            .getOrCreate(JavaBlocksEngine.EngineSignals.ENTITY_DESTROYED);
+        createdSignal.subscribe(event -> created.add(event.handles()));
+        destroyedSignal.subscribe(event -> destroyed.add(event.handles()));
+        assertNotSame(createdSignal, destroyedSignal);
+        
+        Entity single = world.createEntity();
+        long[] batch = world.createEntities(4, new EntityTemplate().with(new TagComponent()));
+        world.destroyEntity(batch[1]);
+        world.destroyEntity(single);
+        assertTrue(destroyed.isEmpty());
+        world.update(0f);
+        
+        assertEquals(2, created.size());
+        assertArrayEquals(new long[] {single.getHandle()}, created.get(0));
+        assertSame(batch, created.get(1));
+        assertEquals(1, destroyed.size());
+        assertEquals(Set.of(batch[1], single.getHandle()),
+            Set.of(destroyed.get(0)[0], destroyed.get(0)[1]));
+    }
+}
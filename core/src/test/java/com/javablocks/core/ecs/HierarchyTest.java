@@ -0,0 +1,187 @@
+package com.javablocks.core.ecs;
+
+import org.junit.jupiter.api.*;
+import java.util.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for parent/child links and cascade destruction.
+ */
+class HierarchyTest {
+    
+    private World world;
+    
+    @BeforeEach
+    void setUp() {
+        world = new World();
+    }
+    
+    private long create() {
+        return world.createEntity().getHandle();
+    }
+    
+    private List<Long> children(long handle) {
+        List<Long> children = new ArrayList<>();
+        world.forEachChild(handle, children::add);
+        return children;
+    }
+    
+    @Test
+    @DisplayName("Children should be appended in order with counts and depths")
+    void childrenShouldBeAppendedInOrder() {
+        long root = create();
+        long a = create();
+        long b = create();
+        long grandchild = create();
+        
+        assertTrue(world.setParent(a, root));
+        assertTrue(world.setParent(b, root));
+        assertTrue(world.setParent(grandchild, a));
+        assertFalse(world.setParent(b, root));
+        
+        assertEquals(List.of(a, b), children(root));
+        assertEquals(2, world.getChildCount(root));
+        assertEquals(root, world.getParent(a));
+        assertEquals(Entity.NULL_HANDLE, world.getParent(root));
+        assertEquals(0, world.getDepth(root));
+        assertEquals(2, world.getDepth(grandchild));
+        
+        // Moving a subtree updates the depth of every node in it
+        assertTrue(world.setParent(a, b));
+        assertEquals(List.of(b), children(root));
+        assertEquals(2, world.getDepth(a));
+        assertEquals(3, world.getDepth(grandchild));
+        
+        assertTrue(world.setParent(a, Entity.NULL_HANDLE));
+        assertEquals(0, world.getDepth(a));
+        assertEquals(1, world.getDepth(grandchild));
+    }
+    
+    @Test
+    @DisplayName("Unlinking a middle child should relink its siblings")
+    void unlinkingShouldRelinkSiblings() {
+        long root = create();
+        long first = create();
+        long middle = create();
+        long last = create();
+        world.setParent(first, root);
+        world.setParent(middle, root);
+        world.setParent(last, root);
+        
+        world.setParent(middle, Entity.NULL_HANDLE);
+        assertEquals(List.of(first, last), children(root));
+        assertEquals(last, world.getNextSibling(first));
+        
+        world.setParent(middle, root);
+        assertEquals(List.of(first, last, middle), children(root));
+    }
+    
+    @Test
+    @DisplayName("Cycles should be rejected and stale handles ignored")
+    void cyclesShouldBeRejected() {
+        long parent = create();
+        long child = create();
+        world.setParent(child, parent);
+        
+        assertThrows(IllegalArgumentException.class, () -> world.setParent(parent, child));
+        assertThrows(IllegalArgumentException.class, () -> world.setParent(parent, parent));
+        
+        long stale = create();
+        world.destroyEntity(stale);
+        world.update(0f);
+        assertFalse(world.setParent(stale, parent));
+        assertFalse(world.setParent(child, stale));
+        assertEquals(parent, world.getParent(child));
+    }
+    
+    @Test
+    @DisplayName("Destroying an entity should destroy its subtree in one batch")
+    void destroyShouldCascade() {
+        long keeper = create();
+        long root = create();
+        long child = create();
+        long grandchild = create();
+        long sibling = create();
+        world.setParent(root, keeper);
+        world.setParent(sibling, keeper);
+        world.setParent(child, root);
+        world.setParent(grandchild, child);
+        int entityCount = world.getEntityCount();
+        
+        world.destroyEntity(root);
+        world.update(0f);
+        
+        assertFalse(world.isValid(root));
+        assertFalse(world.isValid(child));
+        assertFalse(world.isValid(grandchild));
+        assertTrue(world.isValid(sibling));
+        assertEquals(entityCount - 3, world.getEntityCount());
+        assertEquals(List.of(sibling), children(keeper));
+        
+        // Reused indices start unlinked
+        long reused = create();
+        assertEquals(Entity.NULL_HANDLE, world.getParent(reused));
+        assertEquals(0, world.getChildCount(reused));
+    }
+    
+    @Test
+    @DisplayName("Descendants should be visited parents first")
+    void descendantsShouldBeVisitedDepthFirst() {
+        long root = create();
+        long a = create();
+        long a1 = create();
+        long a2 = create();
+        long b = create();
+        world.setParent(a, root);
+        world.setParent(b, root);
+        world.setParent(a1, a);
+        world.setParent(a2, a);
+        
+        List<Long> visited = new ArrayList<>();
+        world.forEachDescendant(root, visited::add);
+        assertEquals(List.of(a, a1, a2, b), visited);
+        
+        visited.clear();
+        world.forEachDescendant(b, visited::add);
+        assertTrue(visited.isEmpty());
+    }
+    
+    @Test
+    @DisplayName("Transform links should mirror the hierarchy")
+    void transformLinksShouldMirrorHierarchy() {
+        long parent = create();
+        long child = create();
+        TransformComponent parentTransform = new TransformComponent();
+        world.addComponent(parent, parentTransform);
+        world.setParent(child, parent);
+        TransformComponent childTransform = new TransformComponent();
+        world.addComponent(child, childTransform);
+        
+        assertEquals(1, parentTransform.getChildCount());
+        assertEquals(child, parentTransform.firstChildId);
+        assertEquals(parent, childTransform.parentId);
+        assertEquals(parent, childTransform.copy().parentId);
+        
+        world.setParent(child, Entity.NULL_HANDLE);
+        assertEquals(0, parentTransform.getChildCount());
+        assertEquals(Entity.NULL_HANDLE, childTransform.parentId);
+    }
+    
+    @Test
+    @DisplayName("Snapshots should restore hierarchy links")
+    void snapshotsShouldRestoreLinks() {
+        long parent = create();
+        long child = create();
+        world.setParent(child, parent);
+        
+        WorldSnapshot snapshot = world.snapshot();
+        world.destroyEntity(parent);
+        world.update(0f);
+        world.restore(snapshot);
+        
+        assertTrue(world.isValid(child));
+        assertEquals(parent, world.getParent(child));
+        assertEquals(1, world.getDepth(child));
+        assertEquals(List.of(child), children(parent));
+    }
+}
@@ -0,0 +1,105 @@
+package com.javablocks.core.ecs;
+
+import com.javablocks.core.JavaBlocksEngine;
+import com.javablocks.core.components.*;
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for generated packed component stores and their World routing.
+ */
+class PackedStoreTest {
+    
+    private World world;
+    
+    @BeforeEach
+    void setUp() {
+        JavaBlocksEngine.EngineConfiguration config = new JavaBlocksEngine.EngineConfiguration();
+        config.packedComponents = true;
+        world = new World(config);
+    }
+    
+    @Test
+    @DisplayName("Packed components should be stored by value")
+    void packedComponentsShouldBeStoredByValue() {
+        Entity entity = world.createEntity();
+        VisibleComponent visible = new VisibleComponent(false, 3, 7);
+        world.addComponent(entity, visible);
+        
+        VisibleComponent stored = world.getComponent(entity, VisibleComponent.class);
+        assertNotSame(visible, stored);
+        assertFalse(stored.isVisible());
+        assertEquals(3, stored.getLayer());
+        assertEquals(7, stored.getOrder());
+        assertTrue(world.hasComponent(entity, VisibleComponent.class));
+        assertEquals(4, world.getComponentCount(entity));
+        
+        assertTrue(world.removeComponent(entity, VisibleComponent.class));
+        assertFalse(world.hasComponent(entity, VisibleComponent.class));
+        assertNull(world.getComponent(entity, VisibleComponent.class));
+    }
+    
+    @Test
+    @DisplayName("Generated store should expose typed accessors and columns")
+    void generatedStoreShouldExposeAccessors() {
+        Entity entity = world.createEntity();
+        world.addComponent(entity, new LifetimeComponent(2f));
+        
+        LifetimeComponentStore store = (LifetimeComponentStore) world.getPackedStore(LifetimeComponent.class);
+        assertEquals(2f, store.getMaxLifetime(entity.getIndex()));
+        
+        store.setAge(entity.getIndex(), 1.5f);
+        assertEquals(1.5f, store.getAgeColumn()[store.rowOf(entity.getIndex())]);
+        assertEquals(0.5f, world.getComponent(entity, LifetimeComponent.class).getRemainingLifetime(), 1e-6f);
+        assertThrows(IllegalArgumentException.class, () -> store.getAge(100000));
+    }
+    
+    @Test
+    @DisplayName("Packed stores should be resolved with the world, not by reads")
+    void packedStoresShouldResolveEagerly() {
+        int typeId = ComponentRegistry.getTypeId(LifetimeComponent.class);
+        JavaBlocksEngine.EngineConfiguration config = new JavaBlocksEngine.EngineConfiguration();
+        config.packedComponents = true;
+        World fresh = new World(config);
+        assertNotNull(fresh.packedStore(typeId));
+        Object storeCount = fresh.getDebugInfo().get("Packed Stores");
+        
+        Entity entity = fresh.createEntity();
+        assertNotNull(fresh.getComponent(entity, LifetimeComponent.class));
+        assertTrue(fresh.hasComponent(entity, LifetimeComponent.class));
+        assertNull(fresh.getComponent(entity, VisibleComponent.class));
+        assertEquals(storeCount, fresh.getDebugInfo().get("Packed Stores"));
+    }
+    
+    @Test
+    @DisplayName("Destroyed entities should leave packed stores consistent")
+    void destroyShouldRemovePackedRows() {
+        Entity[] entities = new Entity[200];
+        for (int i = 0; i < entities.length; i++) {
+            entities[i] = world.createEntity();
+            world.addComponent(entities[i], new VisibleComponent(true, i));
+        }
+        for (int i = 0; i < entities.length; i += 2) {
+            world.destroyEntity(entities[i]);
+        }
+        world.update(0f);
+        
+        PackedStore<VisibleComponent> store = world.getPackedStore(VisibleComponent.class);
+        assertEquals(100, store.size());
+        for (int i = 1; i < entities.length; i += 2) {
+            assertEquals(i, world.getComponent(entities[i], VisibleComponent.class).getLayer());
+        }
+    }
+    
+    @Test
+    @DisplayName("Packed routing should be disabled by default")
+    void packedRoutingShouldBeOptIn() {
+        World plain = new World();
+        Entity entity = plain.createEntity();
+        VisibleComponent visible = new VisibleComponent();
+        plain.addComponent(entity, visible);
+        
+        assertSame(visible, plain.getComponent(entity, VisibleComponent.class));
+        assertThrows(IllegalStateException.class, () -> plain.getPackedStore(VisibleComponent.class));
+    }
+}
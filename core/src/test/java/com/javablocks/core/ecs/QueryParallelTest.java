@@ -0,0 +1,118 @@
+package com.javablocks.core.ecs;
+
+import com.javablocks.core.components.*;
+import com.javablocks.core.utils.*;
+import org.junit.jupiter.api.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for parallel chunked query iteration.
+ */
+class QueryParallelTest {
+    
+    private World world;
+    private ForkJoinPool pool;
+    private Query query;
+    
+    @BeforeEach
+    void setUp() {
+        world = new World();
+        pool = new ForkJoinPool(4);
+        world.setSystemPool(pool);
+        query = world.registerQuery(new Query().all(TagComponent.class));
+        for (int i = 0; i < 1000; i++) {
+            Entity entity = world.createEntity();
+            if (i % 3 != 0) {
+                world.addComponent(entity, new TagComponent());
+            }
+        }
+    }
+    
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+    
+    @Test
+    @DisplayName("forEachParallel should visit every member exactly once")
+    void forEachParallelShouldVisitEveryMemberOnce() {
+        AtomicIntegerArray visits = new AtomicIntegerArray(1000);
+        query.forEachParallel(16, visits::incrementAndGet);
+        
+        Set<Integer> expected = new HashSet<>();
+        query.forEach(expected::add);
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(expected.contains(i) ? 1 : 0, visits.get(i));
+        }
+    }
+    
+    @Test
+    @DisplayName("Chunks should cover consecutive slot ranges of the grain size")
+    void chunksShouldCoverSlotRanges() {
+        int grain = 50;
+        int chunks = query.getChunkCount(grain);
+        assertEquals((query.size() + grain - 1) / grain, chunks);
+        
+        List<int[]> ranges = query.mapChunks(grain, (chunk, from, to) -> new int[] {from, to});
+        assertEquals(chunks, ranges.size());
+        for (int c = 0; c < chunks; c++) {
+            assertEquals(c * grain, ranges.get(c)[0]);
+            assertEquals(Math.min((c + 1) * grain, query.size()), ranges.get(c)[1]);
+        }
+        assertThrows(IllegalArgumentException.class, () -> query.getChunkCount(0));
+    }
+    
+    @Test
+    @DisplayName("Reducing chunk results in chunk order should match slot order")
+    void chunkResultsShouldReduceDeterministically() {
+        List<Long> slotOrder = new ArrayList<>();
+        for (int slot = 0; slot < query.size(); slot++) {
+            slotOrder.add(query.getHandle(slot));
+        }
+        
+        List<List<Long>> perChunk = query.mapChunks(7, (chunk, from, to) -> {
+            List<Long> handles = new ArrayList<>();
+            for (int slot = from; slot < to; slot++) {
+                handles.add(query.getHandle(slot));
+            }
+            return handles;
+        });
+        List<Long> reduced = new ArrayList<>();
+        perChunk.forEach(reduced::addAll);
+        assertEquals(slotOrder, reduced);
+    }
+    
+    @Test
+    @DisplayName("Worker-local scratch should sum without shared counters")
+    void workerLocalScratchShouldReduce() {
+        WorkerLocal<long[]> sums = new WorkerLocal<>(() -> new long[1]);
+        query.forEachParallel(8, sums, (index, sum) -> sum[0] += index);
+        
+        long[] total = new long[1];
+        sums.forEach(sum -> total[0] += sum[0]);
+        long[] expected = new long[1];
+        query.forEach(index -> expected[0] += index);
+        assertEquals(expected[0], total[0]);
+    }
+    
+    @Test
+    @DisplayName("Without a pool, chunks should run in order on the caller")
+    void withoutPoolChunksShouldRunSequentially() {
+        world.setSystemPool(null);
+        Thread caller = Thread.currentThread();
+        List<Integer> order = new ArrayList<>();
+        query.forEachChunk(100, (chunk, from, to) -> {
+            assertSame(caller, Thread.currentThread());
+            order.add(chunk);
+        });
+        
+        List<Integer> expected = new ArrayList<>();
+        for (int c = 0; c < query.getChunkCount(100); c++) {
+            expected.add(c);
+        }
+        assertEquals(expected, order);
+    }
+}
@@ -0,0 +1,118 @@
+package com.javablocks.core.ecs;
+
+import com.javablocks.core.components.*;
+import org.junit.jupiter.api.*;
+import java.util.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for cached, incrementally maintained queries.
+ */
+class QueryTest {
+    
+    private World world;
+    
+    @BeforeEach
+    void setUp() {
+        world = new World();
+    }
+    
+    private static Set<Integer> members(Query query) {
+        Set<Integer> result = new HashSet<>();
+        query.forEach(index -> assertTrue(result.add(index)));
+        return result;
+    }
+    
+    @Test
+    @DisplayName("Query should pick up existing and new matching entities")
+    void queryShouldTrackMatchingEntities() {
+        Entity before = world.createEntity();
+        world.addComponent(before, new TagComponent());
+        
+        Query query = world.registerQuery(new Query().all(TagComponent.class));
+        assertEquals(Set.of(before.getIndex()), members(query));
+        
+        Entity after = world.createEntity();
+        world.addComponent(after, new TagComponent());
+        assertEquals(Set.of(before.getIndex(), after.getIndex()), members(query));
+        
+        world.removeComponent(before, TagComponent.class);
+        assertEquals(Set.of(after.getIndex()), members(query));
+        
+        world.destroyEntity(after);
+        world.update(0f);
+        assertTrue(query.isEmpty());
+    }
+    
+    @Test
+    @DisplayName("Query should honor all, any and none filters")
+    void queryShouldHonorFilters() {
+        Query query = world.registerQuery(new Query()
+            .all(NameComponent.class)
+            .any(TagComponent.class, VisibleComponent.class)
+            .none(TransformComponent.class));
+        
+        Entity plain = world.createEntity();
+        Entity tagged = world.createEntity();
+        Entity visible = world.createEntity();
+        Entity excluded = world.createEntity();
+        world.addComponent(tagged, new TagComponent());
+        world.addComponent(visible, new VisibleComponent());
+        world.addComponent(excluded, new TagComponent());
+        world.addComponent(excluded, new TransformComponent());
+        
+        assertFalse(query.contains(plain.getIndex()));
+        assertEquals(Set.of(tagged.getIndex(), visible.getIndex()), members(query));
+        
+        world.removeComponent(excluded, TransformComponent.class);
+        assertTrue(query.contains(excluded.getIndex()));
+    }
+    
+    @Test
+    @DisplayName("Removing the current entity during iteration should not skip members")
+    void removalDuringIterationShouldBeSafe() {
+        Query query = world.registerQuery(new Query().all(TagComponent.class));
+        List<Entity> entities = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            Entity entity = world.createEntity();
+            world.addComponent(entity, new TagComponent());
+            entities.add(entity);
+        }
+        
+        Set<Integer> visited = new HashSet<>();
+        query.forEach(index -> {
+            visited.add(index);
+            for (Entity entity : entities) {
+                if (entity.getIndex() == index) {
+                    world.removeComponent(entity, TagComponent.class);
+                }
+            }
+        });
+        
+        assertEquals(50, visited.size());
+        assertTrue(query.isEmpty());
+    }
+    
+    @Test
+    @DisplayName("Systems should have declared queries registered when added")
+    @SuppressWarnings("unchecked")
+    void systemQueriesShouldBeRegistered() {
+        final class TaggedSystem extends GameSystem {
+            final Query tagged = addQuery(new Query().all(TagComponent.class));
+        }
+        
+        Entity entity = world.createEntity();
+        world.addComponent(entity, new TagComponent());
+        
+        TaggedSystem system = new TaggedSystem();
+        world.addSystem(system);
+        assertSame(world, system.getWorld());
+        assertTrue(system.tagged.isRegistered());
+        assertEquals(1, system.tagged.size());
+        assertEquals(1, system.getEntitiesWith(TagComponent.class).size());
+        
+        world.removeSystem(TaggedSystem.class);
+        assertFalse(system.tagged.isRegistered());
+        assertThrows(IllegalStateException.class, () -> world.registerQuery(world.registerQuery(new Query())));
+    }
+}
@@ -0,0 +1,284 @@
+package com.javablocks.core.ecs;
+
+import com.javablocks.core.components.*;
+import org.junit.jupiter.api.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for stage scheduling based on declared component access.
+ */
+class SystemSchedulerTest {
+    
+    private World world;
+    private List<String> log;
+    
+    @BeforeEach
+    void setUp() {
+        world = new World();
+        log = Collections.synchronizedList(new ArrayList<>());
+    }
+    
+    @AfterEach
+    void tearDown() {
+        world.dispose();
+    }
+    
+    private class ReaderSystem extends GameSystem {
+        ReaderSystem(int priority) {
+            super(priority);
+            reads(TagComponent.class);
+        }
+        
+        @Override
+        protected void onUpdate(float deltaTime) {
+            log.add("reader");
+        }
+    }
+    
+    private class WriterSystem extends GameSystem {
+        WriterSystem(int priority) {
+            super(priority);
+            writes(TagComponent.class);
+        }
+        
+        @Override
+        protected void onUpdate(float deltaTime) {
+            log.add("writer");
+        }
+    }
+    
+    private class NameSystem extends GameSystem {
+        NameSystem(int priority) {
+            super(priority);
+            writes(NameComponent.class);
+        }
+        
+        @Override
+        protected void onUpdate(float deltaTime) {
+            log.add("name");
+        }
+    }
+    
+    private class UndeclaredSystem extends GameSystem {
+        UndeclaredSystem(int priority) {
+            super(priority);
+        }
+        
+        @Override
+        protected void onUpdate(float deltaTime) {
+            log.add("undeclared");
+        }
+    }
+    
+    private class BarrierSystem extends GameSystem {
+        private final CyclicBarrier barrier;
+        
+        BarrierSystem(CyclicBarrier barrier) {
+            this.barrier = barrier;
+            reads(TagComponent.class);
+        }
+        
+        @Override
+        protected void onUpdate(float deltaTime) {
+            try {
+                barrier.await(10, TimeUnit.SECONDS);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+            log.add(Thread.currentThread().getName());
+        }
+    }
+    
+    private class OtherBarrierSystem extends BarrierSystem {
+        OtherBarrierSystem(CyclicBarrier barrier) {
+            super(barrier);
+        }
+    }
+    
+    private class LookupSystem extends BarrierSystem {
+        private final List<Integer> sizes;
+        
+        LookupSystem(CyclicBarrier barrier, List<Integer> sizes) {
+            super(barrier);
+            this.sizes = sizes;
+        }
+        
+        @Override
+        @SuppressWarnings("unchecked")
+        protected void onUpdate(float deltaTime) {
+            super.onUpdate(deltaTime);
+            sizes.add(getEntitiesWith(TagComponent.class, ActiveComponent.class).size());
+        }
+    }
+    
+    private class OtherLookupSystem extends LookupSystem {
+        OtherLookupSystem(CyclicBarrier barrier, List<Integer> sizes) {
+            super(barrier, sizes);
+        }
+    }
+    
+    @Test
+    @DisplayName("Conflicting systems should be staged in priority order")
+    void conflictingSystemsShouldBeOrdered() {
+        world.addSystem(new WriterSystem(10));
+        world.addSystem(new ReaderSystem(0));
+        world.addSystem(new NameSystem(5));
+        
+        List<List<GameSystem>> stages = world.getSystemStages();
+        assertEquals(2, stages.size());
+        assertEquals(2, stages.get(0).size());
+        assertTrue(stages.get(0).get(0) instanceof ReaderSystem);
+        assertTrue(stages.get(0).get(1) instanceof NameSystem);
+        assertTrue(stages.get(1).get(0) instanceof WriterSystem);
+        
+        world.update(0f);
+        assertEquals("writer", log.get(2));
+    }
+    
+    @Test
+    @DisplayName("Undeclared systems should run alone")
+    void undeclaredSystemsShouldRunAlone() {
+        world.addSystem(new ReaderSystem(0));
+        world.addSystem(new UndeclaredSystem(1));
+        world.addSystem(new NameSystem(2));
+        
+        assertEquals(3, world.getSystemStages().size());
+        world.update(0f);
+        assertEquals(List.of("reader", "undeclared", "name"), log);
+    }
+    
+    @Test
+    @DisplayName("Independent systems should share a stage and run concurrently")
+    void independentSystemsShouldRunConcurrently() {
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            world.setSystemPool(pool);
+            CyclicBarrier bothRunning = new CyclicBarrier(2);
+            world.addSystem(new BarrierSystem(bothRunning));
+            world.addSystem(new OtherBarrierSystem(bothRunning));
+            
+            assertEquals(1, world.getSystemStages().size());
+            world.update(0f);
+            assertEquals(2, log.size());
+            assertNotEquals(log.get(0), log.get(1));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+    
+    @Test
+    @DisplayName("Systems of one stage should register lazy queries once")
+    void concurrentEntityLookupsShouldRegisterOnce() {
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            world.setSystemPool(pool);
+            for (int i = 0; i < 10_000; i++) {
+                world.addComponent(world.createEntity(), new TagComponent());
+            }
+            int queryCount = world.getQueryCount();
+            CyclicBarrier bothRunning = new CyclicBarrier(2);
+            List<Integer> sizes = Collections.synchronizedList(new ArrayList<>());
+            world.addSystem(new LookupSystem(bothRunning, sizes));
+            world.addSystem(new OtherLookupSystem(bothRunning, sizes));
+            
+            assertEquals(1, world.getSystemStages().size());
+            world.update(0f);
+            assertEquals(List.of(10_000, 10_000), sizes);
+            assertEquals(queryCount + 1, world.getQueryCount());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+    
+    @Test
+    @DisplayName("Direct structural changes should fail while a stage runs concurrently")
+    void structuralChangesShouldFailDuringParallelStages() {
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            world.setSystemPool(pool);
+            long handle = world.createEntity().getHandle();
+            List<Class<?>> failures = Collections.synchronizedList(new ArrayList<>());
+            world.addSystem(new ReaderSystem(0));
+            world.addSystem(new NameSystem(1) {
+                @Override
+                protected void onUpdate(float deltaTime) {
+                    try {
+                        world.addComponent(handle, new TagComponent());
+                    } catch (IllegalStateException e) {
+                        failures.add(e.getClass());
+                    }
+                    try {
+                        addQuery(new Query().all(TagComponent.class));
+                    } catch (IllegalStateException e) {
+                        failures.add(e.getClass());
+                    }
+                    commands().add(handle, new TagComponent());
+                }
+            });
+            
+            world.update(0f);
+            assertEquals(2, failures.size());
+            assertTrue(world.hasComponent(handle, TagComponent.class));
+            world.removeComponent(handle, TagComponent.class);
+            assertFalse(world.hasComponent(handle, TagComponent.class));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+    
+    @Test
+    @DisplayName("Failures in concurrent systems should propagate after the stage")
+    void failuresShouldPropagate() {
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            world.setSystemPool(pool);
+            world.addSystem(new ReaderSystem(0));
+            world.addSystem(new NameSystem(1) {
+                @Override
+                protected void onUpdate(float deltaTime) {
+                    throw new IllegalStateException("boom");
+                }
+            });
+            
+            assertThrows(RuntimeException.class, () -> world.update(0f));
+            assertTrue(log.contains("reader"));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+    
+    @Test
+    @DisplayName("Every update should be timed, including overridden update methods")
+    void updatesShouldBeTimed() throws Exception {
+        GameSystem reader = new ReaderSystem(0);
+        GameSystem overriding = new UndeclaredSystem(1) {
+            @Override
+            public void update(float deltaTime) {
+                log.add("override");
+            }
+        };
+        world.addSystem(reader);
+        world.addSystem(overriding);
+        for (int i = 0; i < 3; i++) {
+            world.update(0f);
+        }
+        
+        assertEquals(3, reader.getExecutionCount());
+        assertEquals(3, overriding.getExecutionCount());
+        assertEquals(3, overriding.getExecutionHistogram().getCount());
+        assertTrue(world.getSystemTimings().containsKey(reader.getName()));
+        
+        Path file = Files.createTempFile("system-timings", ".tsv");
+        try {
+            world.writeSystemTimings(file);
+            List<String> lines = Files.readAllLines(file);
+            assertEquals(3, lines.size());
+            assertTrue(lines.get(1).startsWith(reader.getName() + "\t3\t"));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
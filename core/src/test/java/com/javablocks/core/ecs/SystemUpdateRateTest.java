@@ -0,0 +1,152 @@
+package com.javablocks.core.ecs;
+
+import com.javablocks.core.components.*;
+import org.junit.jupiter.api.*;
+import java.util.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for reduced-rate, time-sliced and deferrable systems.
+ */
+class SystemUpdateRateTest {
+    
+    private World world;
+    
+    @BeforeEach
+    void setUp() {
+        world = new World();
+    }
+    
+    @Test
+    @DisplayName("Interval systems should run on their phase with the accumulated delta")
+    void intervalSystemsShouldRunOnTheirPhase() {
+        CountingSystem system = new CountingSystem() {};
+        system.setUpdateInterval(3, 1);
+        world.addSystem(system);
+        
+        for (int i = 0; i < 7; i++) {
+            world.update(0.1f);
+        }
+        assertEquals(2, system.runs);
+        assertEquals(List.of(0.2f, 0.3f), roundAll(system.deltas));
+    }
+    
+    @Test
+    @DisplayName("Automatic phases should stagger systems with the same interval")
+    void automaticPhasesShouldStagger() {
+        CountingSystem first = new CountingSystem() {};
+        CountingSystem second = new CountingSystem() {};
+        first.setUpdateInterval(2);
+        second.setUpdateInterval(2);
+        world.addSystem(first);
+        world.addSystem(second);
+        
+        world.update(0.1f);
+        assertEquals(1, first.runs + second.runs);
+        world.update(0.1f);
+        assertEquals(1, first.runs);
+        assertEquals(1, second.runs);
+    }
+    
+    @Test
+    @DisplayName("Rate systems should run at their frequency")
+    void rateSystemsShouldRunAtTheirFrequency() {
+        CountingSystem system = new CountingSystem() {};
+        system.setUpdateRate(10f);
+        world.addSystem(system);
+        assertEquals(10f, system.getUpdateRate(), 1e-4f);
+        
+        for (int i = 0; i < 20; i++) {
+            world.update(0.05f);
+        }
+        assertEquals(10, system.runs);
+        assertThrows(IllegalArgumentException.class, () -> system.setUpdateRate(-1f));
+        assertThrows(IllegalArgumentException.class, () -> system.setUpdateInterval(2, 2));
+    }
+    
+    @Test
+    @DisplayName("Time slices should resume where the previous update stopped")
+    void timeSlicesShouldResume() {
+        SlicedSystem system = new SlicedSystem();
+        system.setTimeSlice(4);
+        world.addSystem(system);
+        Set<Long> expected = new HashSet<>();
+        for (int i = 0; i < 10; i++) {
+            long handle = world.createEntity().getHandle();
+            world.addComponent(handle, new TagComponent());
+            expected.add(handle);
+        }
+        
+        world.update(0f);
+        assertEquals(4, system.visited.size());
+        world.update(0f);
+        world.update(0f);
+        assertEquals(12, system.visited.size());
+        assertEquals(expected, new HashSet<>(system.visited));
+        assertEquals(8, new HashSet<>(system.visited.subList(0, 8)).size());
+    }
+    
+    @Test
+    @DisplayName("Deferrable systems should be postponed while over budget")
+    void deferrableSystemsShouldBePostponed() {
+        world.addSystem(new GameSystem(GameSystem.PRIORITY_HIGH) {
+            @Override
+            public void update(float deltaTime) {
+                long end = System.nanoTime() + 200_000;
+                while (System.nanoTime() < end) {
+                    Thread.onSpinWait();
+                }
+            }
+        });
+        CountingSystem deferrable = new CountingSystem() {};
+        deferrable.setDeferrable(true);
+        CountingSystem required = new CountingSystem() {};
+        world.addSystem(deferrable);
+        world.addSystem(required);
+        world.setFrameBudget(0.01f);
+        
+        for (int i = 0; i < GameSystem.MAX_DEFERRED_FRAMES; i++) {
+            world.update(0.1f);
+        }
+        assertEquals(0, deferrable.runs);
+        assertEquals(GameSystem.MAX_DEFERRED_FRAMES, required.runs);
+        assertEquals(GameSystem.MAX_DEFERRED_FRAMES, deferrable.getDeferCount());
+        
+        world.update(0.1f);
+        assertEquals(1, deferrable.runs);
+        assertEquals(0.9f, deferrable.deltas.get(0), 1e-4f);
+        
+        world.setFrameBudget(0f);
+        world.update(0.1f);
+        assertEquals(2, deferrable.runs);
+    }
+    
+    private static List<Float> roundAll(List<Float> values) {
+        List<Float> rounded = new ArrayList<>();
+        for (float value : values) {
+            rounded.add(Math.round(value * 1000f) / 1000f);
+        }
+        return rounded;
+    }
+    
+    private abstract static class CountingSystem extends GameSystem {
+        final List<Float> deltas = new ArrayList<>();
+        int runs;
+        
+        @Override
+        public void update(float deltaTime) {
+            runs++;
+            deltas.add(deltaTime);
+        }
+    }
+    
+    private static final class SlicedSystem extends GameSystem {
+        final Query tagged = addQuery(new Query().all(TagComponent.class));
+        final List<Long> visited = new ArrayList<>();
+        
+        @Override
+        public void update(float deltaTime) {
+            forEachSlice(tagged, visited::add);
+        }
+    }
+}
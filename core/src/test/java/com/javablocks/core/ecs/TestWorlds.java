@@ -0,0 +1,48 @@
+package com.javablocks.core.ecs;
+
+import com.javablocks.core.JavaBlocksEngine;
+
+/**
+ * Shared world fixture for tests that run once per storage mode, typically
+ * as {@code @ParameterizedTest @EnumSource(World.StorageMode.class)}.
+ */
+final class TestWorlds {
+    
+    private TestWorlds() {
+    }
+    
+    /**
+     * Creates a configuration for a storage mode, to adjust before creating
+     * the world.
+     * 
+     * @param mode The storage mode
+     * @return A default configuration using the mode
+     */
+    static JavaBlocksEngine.EngineConfiguration config(World.StorageMode mode) {
+        JavaBlocksEngine.EngineConfiguration config = new JavaBlocksEngine.EngineConfiguration();
+        config.storageMode = mode;
+        return config;
+    }
+    
+    /**
+     * Creates a world with default settings and a storage mode.
+     * 
+     * @param mode The storage mode
+     * @return The world
+     */
+    static World create(World.StorageMode mode) {
+        return new World(config(mode));
+    }
+    
+    /**
+     * Creates a world with a storage mode and packed component stores.
+     * 
+     * @param mode The storage mode
+     * @return The world
+     */
+    static World createPacked(World.StorageMode mode) {
+        JavaBlocksEngine.EngineConfiguration config = config(mode);
+        config.packedComponents = true;
+        return new World(config);
+    }
+}
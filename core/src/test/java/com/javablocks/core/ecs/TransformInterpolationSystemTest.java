@@ -0,0 +1,88 @@
+package com.javablocks.core.ecs;
+
+import com.badlogic.gdx.math.Vector3;
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for blending transforms between fixed steps.
+ */
+class TransformInterpolationSystemTest {
+    
+    private World world;
+    private Entity entity;
+    private TransformComponent transform;
+    private InterpolatedTransformComponent interpolated;
+    
+    @BeforeEach
+    void setUp() {
+        world = new World();
+        world.addSystem(new TransformInterpolationSystem());
+        world.addSystem(new MoveSystem());
+        entity = world.createEntity();
+        transform = world.addComponent(entity, new TransformComponent());
+        interpolated = world.addComponent(entity, new InterpolatedTransformComponent());
+    }
+    
+    @Test
+    @DisplayName("Render state should snap to the transform before the first step")
+    void renderStateShouldSnapBeforeFirstStep() {
+        transform.setPosition(3, 0, 0);
+        world.setInterpolationAlpha(0.5f);
+        world.update(0f);
+        
+        assertEquals(3f, interpolated.renderPosition.x, 1e-5f);
+    }
+    
+    @Test
+    @DisplayName("Render state should blend the previous and current step by alpha")
+    void renderStateShouldBlendByAlpha() {
+        world.fixedUpdate(0.1f);
+        assertEquals(0f, interpolated.previousPosition.x, 1e-5f);
+        assertEquals(1f, transform.position.x, 1e-5f);
+        
+        world.setInterpolationAlpha(0.25f);
+        world.update(0f);
+        assertEquals(0.25f, interpolated.renderPosition.x, 1e-5f);
+        
+        world.fixedUpdate(0.1f);
+        world.setInterpolationAlpha(0.5f);
+        world.update(0f);
+        assertEquals(1.5f, interpolated.renderPosition.x, 1e-5f);
+    }
+    
+    @Test
+    @DisplayName("Packed transforms should be interpolated and readable as detached copies")
+    void packedTransformsShouldBeInterpolated() {
+        Entity packedEntity = world.createEntity();
+        InterpolatedTransformComponent packedInterpolated =
+            world.addComponent(packedEntity, new InterpolatedTransformComponent());
+        TransformStore store = world.getTransformStore();
+        store.add(packedEntity.getIndex());
+        TransformStore.View view = store.view().bind(packedEntity.getIndex());
+        
+        world.fixedUpdate(0.1f);
+        view.translate(2, 0, 0);
+        world.setInterpolationAlpha(0.5f);
+        world.update(0f);
+        assertEquals(1f, packedInterpolated.renderPosition.x, 1e-5f);
+        
+        TransformComponent copy = world.getComponent(packedEntity, TransformComponent.class);
+        assertEquals(2f, copy.position.x, 1e-5f);
+        assertNotSame(copy, world.getComponent(packedEntity.getHandle(), TransformComponent.class));
+        assertFalse(world.hasComponent(packedEntity, TransformComponent.class));
+        copy.position.x = 5f;
+        assertEquals(2f, view.getPosition(new Vector3()).x, 1e-5f);
+    }
+    
+    private static final class MoveSystem extends GameSystem {
+        private final Query moving = addQuery(new Query().all(TransformComponent.class));
+        
+        @Override
+        public void fixedUpdate(float fixedDelta) {
+            for (int i = 0; i < moving.size(); i++) {
+                getWorld().getComponent(moving.getHandle(i), TransformComponent.class).translate(1, 0, 0);
+            }
+        }
+    }
+}
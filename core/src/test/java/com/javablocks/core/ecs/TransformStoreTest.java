@@ -0,0 +1,195 @@
+package com.javablocks.core.ecs;
+
+import com.badlogic.gdx.math.*;
+import com.javablocks.core.math.TransformKernels;
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the packed TransformStore.
+ */
+class TransformStoreTest {
+    
+    private static final float EPSILON = 1e-5f;
+    
+    private TransformStore store;
+    
+    @BeforeEach
+    void setUp() {
+        store = new TransformStore(4);
+    }
+    
+    @Test
+    @DisplayName("New rows should hold the identity transform")
+    void newRowsShouldBeIdentity() {
+        int row = store.add(7);
+        
+        assertEquals(row, store.rowOf(7));
+        assertEquals(1f, store.column(TransformStore.ROT_W)[row]);
+        assertEquals(1f, store.column(TransformStore.SCL_Y)[row]);
+        assertEquals(0f, store.column(TransformStore.POS_X)[row]);
+        assertTrue(store.isDirty(row));
+        assertEquals(row, store.add(7));
+        assertEquals(1, store.size());
+    }
+    
+    @Test
+    @DisplayName("Views should keep working after rows are swap-removed")
+    void viewsShouldSurviveSwapRemove() {
+        for (int i = 0; i < 20; i++) {
+            store.add(i);
+            store.view().bind(i).setPosition(i, 0, 0);
+        }
+        TransformStore.View view = store.view().bind(19);
+        
+        for (int i = 0; i < 19; i += 2) {
+            assertTrue(store.remove(i));
+        }
+        assertFalse(store.remove(0));
+        
+        assertEquals(10, store.size());
+        assertEquals(19f, view.getPosition(new Vector3()).x);
+        for (int i = 1; i < 20; i += 2) {
+            assertEquals(i, store.view().bind(i).getPosition(new Vector3()).x);
+        }
+        assertThrows(IllegalArgumentException.class, () -> store.view().bind(0));
+    }
+    
+    @Test
+    @DisplayName("World transform should combine with the parent row")
+    void shouldComposeWithParent() {
+        int parent = store.add(0);
+        int child = store.add(1);
+        store.view().bind(0).setPosition(10, 0, 0).rotateZ(90).setScale(2);
+        store.view().bind(1).setPosition(1, 0, 0);
+        
+        store.updateWorldTransform(parent, -1);
+        store.updateWorldTransform(child, parent);
+        
+        Vector3 world = store.view().bind(1).getWorldPosition(new Vector3());
+        assertEquals(10f, world.x, EPSILON);
+        assertEquals(2f, world.y, EPSILON);
+        assertEquals(0f, world.z, EPSILON);
+        assertFalse(store.isDirty(child));
+        
+        Vector3 point = store.view().bind(1).localToWorld(new Vector3(0, 0, 0));
+        assertEquals(world.x, point.x, EPSILON);
+        assertEquals(world.y, point.y, EPSILON);
+        
+        Vector3 back = store.view().bind(1).worldToLocal(point);
+        assertEquals(0f, back.x, EPSILON);
+        assertEquals(0f, back.y, EPSILON);
+    }
+    
+    @Test
+    @DisplayName("Batch updates should match row-by-row updates on every backend")
+    void batchUpdatesShouldMatchRowUpdates() {
+        int children = 37;
+        TransformStore source = new TransformStore(4);
+        source.add(0);
+        source.view().bind(0).setPosition(10, 0, 0).rotateZ(90).setScale(2);
+        int[] rows = new int[children];
+        int[] parentRows = new int[children];
+        for (int i = 0; i < children; i++) {
+            rows[i] = source.add(i + 1);
+            source.view().bind(i + 1).setPosition(i, 1, -i).rotateY(i * 10f);
+        }
+        
+        TransformStore expected = new TransformStore(4);
+        expected.copyFrom(source);
+        expected.updateWorldTransform(0, -1);
+        for (int row : rows) {
+            expected.updateWorldTransform(row, 0);
+        }
+        
+        TransformKernels.Backend[] backends = TransformKernels.isVectorAvailable()
+            ? new TransformKernels.Backend[] {TransformKernels.Backend.SCALAR, TransformKernels.Backend.VECTOR}
+            : new TransformKernels.Backend[] {TransformKernels.Backend.SCALAR};
+        try {
+            for (TransformKernels.Backend backend : backends) {
+                TransformKernels.select(backend);
+                store.copyFrom(source);
+                store.updateWorldTransforms(new int[] {0}, new int[] {-1}, 0, 1);
+                store.updateWorldTransforms(rows, parentRows, 0, children);
+                
+                for (int row = 0; row <= children; row++) {
+                    assertFalse(store.isDirty(row));
+                    for (int c = TransformStore.WORLD_POS_X; c < TransformStore.COLUMN_COUNT; c++) {
+                        assertEquals(expected.column(c)[row], store.column(c)[row], 1e-4f, backend + " row " + row);
+                    }
+                }
+                for (int i = 0; i < (children + 1) * TransformStore.MATRIX_STRIDE; i++) {
+                    assertEquals(expected.matrices()[i], store.matrices()[i], 1e-4f, backend + " element " + i);
+                }
+            }
+        } finally {
+            TransformKernels.select(TransformKernels.Backend.AUTO);
+        }
+    }
+    
+    @Test
+    @DisplayName("Single-row and batch updates should build the same matrix under non-uniform scale")
+    void singleAndBatchMatricesShouldAgree() {
+        TransformStore batch = new TransformStore(4);
+        for (TransformStore s : new TransformStore[] {store, batch}) {
+            s.add(0);
+            s.add(1);
+            s.view().bind(0).setPosition(2, 0, 0).rotateZ(30).setScale(1, 3, 0.5f);
+            s.view().bind(1).setPosition(1, 1, 0).rotateY(45);
+        }
+        
+        store.updateWorldTransform(0, -1);
+        store.updateWorldTransform(1, 0);
+        batch.updateWorldTransforms(new int[] {0}, new int[] {-1}, 0, 1);
+        batch.updateWorldTransforms(new int[] {1}, new int[] {0}, 0, 1);
+        
+        assertArrayEquals(batch.matrices(), store.matrices());
+        Matrix4 parent = store.view().bind(0).getLocalToWorldMatrix(new Matrix4());
+        Matrix4 local = new Matrix4().set(new Vector3(1, 1, 0), new Quaternion().setFromAxis(0, 1, 0, 45), new Vector3(1, 1, 1));
+        Matrix4 expected = parent.mul(local);
+        Matrix4 actual = store.view().bind(1).getLocalToWorldMatrix(new Matrix4());
+        for (int i = 0; i < 16; i++) {
+            assertEquals(expected.val[i], actual.val[i], EPSILON);
+        }
+        Vector3 world = store.view().bind(1).getWorldPosition(new Vector3());
+        assertEquals(expected.val[Matrix4.M03], world.x, EPSILON);
+        assertEquals(expected.val[Matrix4.M13], world.y, EPSILON);
+    }
+    
+    @Test
+    @DisplayName("Should round-trip through TransformComponent")
+    void shouldRoundTripTransformComponent() {
+        TransformComponent source = new TransformComponent(1, 2, 3, 4);
+        source.rotateY(30);
+        source.updateWorldTransform(null);
+        
+        TransformStore.View view = store.view();
+        store.add(3);
+        view.bind(3).load(source);
+        TransformComponent target = view.store(new TransformComponent());
+        
+        assertEquals(source.position.y, target.position.y, EPSILON);
+        assertEquals(source.scale.z, target.scale.z, EPSILON);
+        assertEquals(source.rotation.y, target.rotation.y, EPSILON);
+        assertEquals(source.rotation.w, target.rotation.w, EPSILON);
+        
+        Matrix4 expected = new Matrix4().set(source.worldPosition, source.worldRotation, source.worldScale);
+        Matrix4 actual = view.getLocalToWorldMatrix(new Matrix4());
+        for (int i = 0; i < 16; i++) {
+            assertEquals(expected.val[i], actual.val[i], EPSILON);
+        }
+    }
+    
+    @Test
+    @DisplayName("Destroying an entity should remove its packed transform")
+    void worldShouldRemoveTransformOnDestroy() {
+        World world = new World();
+        Entity entity = world.createEntity();
+        world.getTransformStore().add(entity.getIndex());
+        
+        world.destroyEntity(entity);
+        world.update(0f);
+        
+        assertFalse(world.getTransformStore().has(entity.getIndex()));
+    }
+}
@@ -0,0 +1,254 @@
+package com.javablocks.core.ecs;
+
+import com.badlogic.gdx.math.*;
+import org.junit.jupiter.api.*;
+import java.util.*;
+import java.util.concurrent.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for propagating world transforms down the hierarchy.
+ */
+class TransformSystemTest {
+    
+    private World world;
+    private TransformSystem system;
+    
+    @BeforeEach
+    void setUp() {
+        world = new World();
+        system = new TransformSystem();
+        world.addSystem(system);
+    }
+    
+    private long create(TransformComponent transform, long parent) {
+        long handle = world.createEntity().getHandle();
+        world.addComponent(handle, transform);
+        world.setParent(handle, parent);
+        return handle;
+    }
+    
+    @Test
+    @DisplayName("Children should combine their local transform with the parent's")
+    void childShouldCombineWithParent() {
+        TransformComponent parent = new TransformComponent(10, 0, 0, 2);
+        parent.rotateY(90);
+        TransformComponent child = new TransformComponent(1, 0, 0);
+        long parentHandle = create(parent, Entity.NULL_HANDLE);
+        create(child, parentHandle);
+        
+        world.update(0f);
+        
+        assertEquals(10f, child.worldPosition.x, 1e-4f);
+        assertEquals(0f, child.worldPosition.y, 1e-4f);
+        assertEquals(-2f, child.worldPosition.z, 1e-4f);
+        assertEquals(2f, child.worldScale.x, 1e-5f);
+        assertFalse(child.isDirty);
+        assertEquals(2, system.getDepthCount());
+    }
+    
+    @Test
+    @DisplayName("Only dirty transforms and their subtrees should be recomputed")
+    void onlyDirtySubtreesShouldBeRecomputed() {
+        TransformComponent moved = new TransformComponent();
+        TransformComponent movedChild = new TransformComponent(1, 0, 0);
+        TransformComponent still = new TransformComponent(5, 0, 0);
+        long movedHandle = create(moved, Entity.NULL_HANDLE);
+        create(movedChild, movedHandle);
+        create(still, Entity.NULL_HANDLE);
+        world.update(0f);
+        long rebuilds = system.getRebuildCount();
+        
+        // A transform that is not dirty keeps whatever world state it has
+        still.worldPosition.set(-1, -1, -1);
+        moved.setPosition(0, 3, 0);
+        world.update(0f);
+        
+        assertEquals(3f, movedChild.worldPosition.y, 1e-5f);
+        assertEquals(-1f, still.worldPosition.x, 1e-5f);
+        assertEquals(rebuilds, system.getRebuildCount());
+    }
+    
+    @Test
+    @DisplayName("Reparenting and removing transforms should relink to the nearest ancestor")
+    void structuralChangesShouldRelink() {
+        TransformComponent root = new TransformComponent(1, 0, 0);
+        TransformComponent middle = new TransformComponent(0, 1, 0);
+        TransformComponent leaf = new TransformComponent(0, 0, 1);
+        long rootHandle = create(root, Entity.NULL_HANDLE);
+        long middleHandle = create(middle, rootHandle);
+        long leafHandle = create(leaf, middleHandle);
+        world.update(0f);
+        assertEquals(1f, leaf.worldPosition.y, 1e-5f);
+        
+        world.removeComponent(middleHandle, TransformComponent.class);
+        world.update(0f);
+        assertEquals(1f, leaf.worldPosition.x, 1e-5f);
+        assertEquals(0f, leaf.worldPosition.y, 1e-5f);
+        
+        world.setParent(leafHandle, Entity.NULL_HANDLE);
+        world.update(0f);
+        assertEquals(0f, leaf.worldPosition.x, 1e-5f);
+        assertEquals(1f, leaf.worldPosition.z, 1e-5f);
+    }
+    
+    @Test
+    @DisplayName("Children moved by their parent should be reported as changed and rolled back")
+    void propagatedChildrenShouldBeStampedChanged() {
+        long parentHandle = create(new TransformComponent(), Entity.NULL_HANDLE);
+        long childHandle = create(new TransformComponent(1, 0, 0), parentHandle);
+        world.update(0f);
+        WorldSnapshot snapshot = world.snapshot();
+        int tick = world.getChangeTick();
+        
+        world.getComponentMut(parentHandle, TransformComponent.class).setPosition(0, 5, 0);
+        world.update(0f);
+        assertEquals(5f, world.getComponent(childHandle, TransformComponent.class).worldPosition.y, 1e-5f);
+        List<Integer> changed = new ArrayList<>();
+        world.registerQuery(new Query().all(TransformComponent.class))
+            .changedSince(TransformComponent.class, tick, changed::add);
+        assertTrue(changed.contains(Entity.unpackIndex(childHandle)));
+        
+        world.restore(snapshot);
+        TransformComponent child = world.getComponent(childHandle, TransformComponent.class);
+        assertEquals(1f, child.worldPosition.x, 1e-5f);
+        assertEquals(0f, child.worldPosition.y, 1e-5f);
+        world.releaseSnapshot(snapshot);
+    }
+    
+    @Test
+    @DisplayName("Parents without a transform may have higher indices than every transform")
+    void transformlessParentsWithHigherIndicesShouldBeSkipped() {
+        TransformComponent child = new TransformComponent(1, 0, 0);
+        long childHandle = create(child, Entity.NULL_HANDLE);
+        long parentHandle = Entity.NULL_HANDLE;
+        for (int i = 0; i < 20; i++) {
+            parentHandle = world.createEntity().getHandle();
+        }
+        assertTrue(Entity.unpackIndex(parentHandle) > Entity.unpackIndex(childHandle));
+        world.setParent(childHandle, parentHandle);
+        
+        world.update(0f);
+        
+        assertEquals(1f, child.worldPosition.x, 1e-5f);
+        assertEquals(2, system.getDepthCount());
+    }
+    
+    @Test
+    @DisplayName("Deep chains should propagate without recursion")
+    void deepChainsShouldPropagate() {
+        int depth = 20_000;
+        long parent = Entity.NULL_HANDLE;
+        TransformComponent last = null;
+        for (int i = 0; i < depth; i++) {
+            last = new TransformComponent(1, 0, 0);
+            parent = create(last, parent);
+        }
+        
+        world.update(0f);
+        
+        assertEquals(depth, system.getDepthCount());
+        assertEquals(depth, last.worldPosition.x, 1e-2f);
+    }
+    
+    @Test
+    @DisplayName("Wide levels should give the same result on a pool")
+    void wideLevelsShouldPropagateInParallel() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            world.setSystemPool(pool);
+            system.setGrainSize(16);
+            TransformComponent[] leaves = new TransformComponent[2_000];
+            long root = create(new TransformComponent(0, 0, 7), Entity.NULL_HANDLE);
+            for (int i = 0; i < 50; i++) {
+                long branch = create(new TransformComponent(i, 0, 0), root);
+                for (int j = 0; j < 40; j++) {
+                    leaves[i * 40 + j] = new TransformComponent(0, j, 0);
+                    create(leaves[i * 40 + j], branch);
+                }
+            }
+            
+            world.update(0f);
+            
+            for (int i = 0; i < leaves.length; i++) {
+                assertEquals(i / 40, leaves[i].worldPosition.x, 1e-5f);
+                assertEquals(i % 40, leaves[i].worldPosition.y, 1e-5f);
+                assertEquals(7f, leaves[i].worldPosition.z, 1e-5f);
+                assertFalse(leaves[i].isDirty);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+    
+    @Test
+    @DisplayName("Packed transforms should inherit from their nearest packed ancestor")
+    void packedTransformsShouldPropagate() {
+        TransformStore store = world.getTransformStore();
+        long root = world.createEntity().getHandle();
+        long middle = world.createEntity().getHandle();
+        long leaf = world.createEntity().getHandle();
+        world.setParent(middle, root);
+        world.setParent(leaf, middle);
+        int rootIndex = Entity.unpackIndex(root);
+        int leafIndex = Entity.unpackIndex(leaf);
+        store.add(rootIndex);
+        store.add(leafIndex);
+        store.view().bind(rootIndex).setPosition(0, 0, 7).rotateY(90);
+        store.view().bind(leafIndex).setPosition(1, 0, 0);
+        
+        world.update(0f);
+        Vector3 position = store.view().bind(leafIndex).getWorldPosition(new Vector3());
+        assertEquals(0f, position.x, 1e-5f);
+        assertEquals(6f, position.z, 1e-5f);
+        assertEquals(3, system.getPackedDepthCount());
+        
+        store.clearChanged();
+        store.view().bind(rootIndex).setPosition(0, 5, 7);
+        world.update(0f);
+        store.view().bind(leafIndex).getWorldPosition(position);
+        assertEquals(5f, position.y, 1e-5f);
+        assertTrue(store.hasChanged(store.rowOf(leafIndex)));
+    }
+    
+    @Test
+    @DisplayName("Wide packed levels should give the same result on a pool")
+    void widePackedLevelsShouldPropagateInParallel() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            world.setSystemPool(pool);
+            system.setGrainSize(16);
+            TransformStore store = world.getTransformStore();
+            int[] leaves = new int[2_000];
+            long root = world.createEntity().getHandle();
+            store.add(Entity.unpackIndex(root));
+            store.view().bind(Entity.unpackIndex(root)).setPosition(0, 0, 7);
+            for (int i = 0; i < 50; i++) {
+                long branch = world.createEntity().getHandle();
+                world.setParent(branch, root);
+                store.add(Entity.unpackIndex(branch));
+                store.view().bind(Entity.unpackIndex(branch)).setPosition(i, 0, 0);
+                for (int j = 0; j < 40; j++) {
+                    long leaf = world.createEntity().getHandle();
+                    world.setParent(leaf, branch);
+                    leaves[i * 40 + j] = Entity.unpackIndex(leaf);
+                    store.add(leaves[i * 40 + j]);
+                    store.view().bind(leaves[i * 40 + j]).setPosition(0, j, 0);
+                }
+            }
+            
+            world.update(0f);
+            
+            Vector3 position = new Vector3();
+            for (int i = 0; i < leaves.length; i++) {
+                store.view().bind(leaves[i]).getWorldPosition(position);
+                assertEquals(i / 40, position.x, 1e-5f);
+                assertEquals(i % 40, position.y, 1e-5f);
+                assertEquals(7f, position.z, 1e-5f);
+                assertFalse(store.isDirty(store.rowOf(leaves[i])));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
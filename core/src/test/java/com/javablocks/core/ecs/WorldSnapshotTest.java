@@ -0,0 +1,127 @@
+package com.javablocks.core.ecs;
+
+import com.badlogic.gdx.math.Vector3;
+import com.javablocks.core.components.*;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for world snapshots and rollback.
+ */
+class WorldSnapshotTest {
+    
+    @ParameterizedTest
+    @EnumSource(World.StorageMode.class)
+    @DisplayName("Restore should undo entity and component changes")
+    void restoreShouldUndoStructuralChanges(World.StorageMode mode) {
+        World world = TestWorlds.createPacked(mode);
+        Query tagged = world.registerQuery(new Query().all(TagComponent.class));
+        long kept = world.createEntity().getHandle();
+        long destroyed = world.createEntity().getHandle();
+        world.addComponent(destroyed, new TagComponent("doomed"));
+        long stripped = world.createEntity().getHandle();
+        world.addComponent(stripped, new TagComponent("stripped"));
+        int entityCount = world.getEntityCount();
+        
+        WorldSnapshot snapshot = world.snapshot();
+        assertEquals(entityCount, snapshot.getEntityCount());
+        
+        world.destroyEntity(destroyed);
+        world.update(0f);
+        world.removeComponent(stripped, TagComponent.class);
+        world.addComponent(kept, new TagComponent("added"));
+        long created = world.createEntity().getHandle();
+        assertFalse(world.isValid(destroyed));
+        assertEquals(1, tagged.size());
+        
+        world.restore(snapshot);
+        assertEquals(entityCount, world.getEntityCount());
+        assertTrue(world.isValid(destroyed));
+        assertTrue(world.isValid(stripped));
+        assertFalse(world.isValid(created));
+        assertFalse(world.hasComponent(kept, TagComponent.class));
+        assertEquals("doomed", world.getComponent(destroyed, TagComponent.class).getTag());
+        assertEquals("stripped", world.getComponent(stripped, TagComponent.class).getTag());
+        assertEquals(2, tagged.size());
+        assertTrue(tagged.contains(Entity.unpackIndex(destroyed)));
+        
+        // Allocation resumes as captured, so re-simulation reproduces handles
+        world.destroyEntity(destroyed);
+        world.update(0f);
+        assertEquals(created, world.createEntity().getHandle());
+        world.releaseSnapshot(snapshot);
+    }
+    
+    @Test
+    @DisplayName("Only changed object components should be copied")
+    void onlyChangedComponentsShouldBeCopied() {
+        World world = TestWorlds.createPacked(World.StorageMode.POOLED);
+        long changed = world.createEntity().getHandle();
+        long untouched = world.createEntity().getHandle();
+        world.addComponent(changed, new TagComponent("before"));
+        world.addComponent(untouched, new TagComponent("same"));
+        TagComponent untouchedTag = world.getComponent(untouched, TagComponent.class);
+        
+        WorldSnapshot snapshot = world.snapshot();
+        world.getComponentMut(changed, TagComponent.class).setTag("after");
+        world.restore(snapshot);
+        
+        assertEquals("before", world.getComponent(changed, TagComponent.class).getTag());
+        assertSame(untouchedTag, world.getComponent(untouched, TagComponent.class));
+        
+        // A reused snapshot copies only what changed since its last capture
+        assertTrue(snapshot.getCopiedComponentCount() > 2);
+        world.releaseSnapshot(snapshot);
+        world.getComponentMut(untouched, TagComponent.class).setTag("moved");
+        WorldSnapshot reused = world.snapshot();
+        assertSame(snapshot, reused);
+        assertFalse(reused.isReleased());
+        assertEquals(2, reused.getCopiedComponentCount());
+        
+        world.getComponentMut(untouched, TagComponent.class).setTag("again");
+        world.restore(reused);
+        assertEquals("moved", world.getComponent(untouched, TagComponent.class).getTag());
+        assertEquals("before", world.getComponent(changed, TagComponent.class).getTag());
+    }
+    
+    @Test
+    @DisplayName("Packed components and transforms should be copied back in bulk")
+    void packedStateShouldBeRestored() {
+        World world = TestWorlds.createPacked(World.StorageMode.POOLED);
+        long handle = world.createEntity().getHandle();
+        int index = Entity.unpackIndex(handle);
+        world.addComponent(handle, new LifetimeComponent(4f));
+        TransformStore transforms = world.getTransformStore();
+        transforms.add(index);
+        transforms.view().bind(index).setPosition(1f, 2f, 3f);
+        
+        WorldSnapshot snapshot = world.snapshot();
+        LifetimeComponentStore lifetimes = (LifetimeComponentStore) world.getPackedStore(LifetimeComponent.class);
+        lifetimes.setAge(index, 3f);
+        transforms.view().bind(index).setPosition(9f, 9f, 9f);
+        transforms.add(world.createEntity().getIndex());
+        
+        world.restore(snapshot);
+        assertEquals(0f, lifetimes.getAge(index));
+        assertEquals(4f, lifetimes.getMaxLifetime(index));
+        assertEquals(1, transforms.size());
+        assertEquals(2f, transforms.view().bind(index).getPosition(new Vector3()).y);
+    }
+    
+    @Test
+    @DisplayName("Snapshots should only be restored into their own world while held")
+    void snapshotMisuseShouldFail() {
+        World world = TestWorlds.createPacked(World.StorageMode.POOLED);
+        World other = TestWorlds.createPacked(World.StorageMode.POOLED);
+        WorldSnapshot snapshot = world.snapshot();
+        
+        assertThrows(IllegalArgumentException.class, () -> other.restore(snapshot));
+        assertThrows(IllegalArgumentException.class, () -> other.releaseSnapshot(snapshot));
+        world.releaseSnapshot(snapshot);
+        assertTrue(snapshot.isReleased());
+        assertThrows(IllegalStateException.class, () -> world.restore(snapshot));
+        assertEquals(1, world.getDebugInfo().get("Pooled Snapshots"));
+    }
+}
@@ -0,0 +1,97 @@
+package com.javablocks.core.ecs;
+
+import com.javablocks.core.components.*;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import java.util.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for World component storage in both storage modes.
+ */
+class WorldStorageTest {
+    
+    @ParameterizedTest
+    @EnumSource(World.StorageMode.class)
+    @DisplayName("Storage should store and remove components")
+    void storageShouldStoreAndRemoveComponents(World.StorageMode mode) {
+        World world = TestWorlds.create(mode);
+        assertEquals(mode, world.getStorageMode());
+        Entity entity = world.createEntity();
+        TagComponent tag = new TagComponent();
+        VisibleComponent visible = new VisibleComponent(false, 2);
+        
+        world.addComponent(entity, tag);
+        world.addComponent(entity, visible);
+        
+        assertSame(tag, world.getComponent(entity, TagComponent.class));
+        assertSame(visible, world.getComponent(entity, VisibleComponent.class));
+        assertTrue(world.hasComponent(entity, TagComponent.class));
+        assertEquals(5, world.getComponentCount(entity));
+        
+        assertTrue(world.removeComponent(entity, TagComponent.class));
+        assertFalse(world.hasComponent(entity, TagComponent.class));
+        assertNull(world.getComponent(entity, TagComponent.class));
+        assertSame(visible, world.getComponent(entity, VisibleComponent.class));
+        assertFalse(world.removeComponent(entity, TagComponent.class));
+    }
+    
+    @Test
+    @DisplayName("Archetype storage should keep other entities intact after swap-remove")
+    void archetypeStorageShouldKeepRowsConsistent() {
+        World world = TestWorlds.create(World.StorageMode.ARCHETYPE);
+        List<Entity> entities = new ArrayList<>();
+        Map<Entity, VisibleComponent> expected = new HashMap<>();
+        
+        for (int i = 0; i < 600; i++) {
+            Entity entity = world.createEntity();
+            VisibleComponent visible = new VisibleComponent(true, i);
+            world.addComponent(entity, visible);
+            entities.add(entity);
+            expected.put(entity, visible);
+        }
+        
+        // Move every third entity into a different archetype
+        for (int i = 0; i < entities.size(); i += 3) {
+            world.addComponent(entities.get(i), new TagComponent());
+        }
+        
+        for (Entity entity : entities) {
+            assertSame(expected.get(entity), world.getComponent(entity, VisibleComponent.class));
+        }
+    }
+    
+    @Test
+    @DisplayName("forEachChunk should visit every matching entity once")
+    void forEachChunkShouldVisitMatchingEntities() {
+        World world = TestWorlds.create(World.StorageMode.ARCHETYPE);
+        Set<Integer> tagged = new HashSet<>();
+        
+        for (int i = 0; i < 700; i++) {
+            Entity entity = world.createEntity();
+            if (i % 2 == 0) {
+                world.addComponent(entity, new TagComponent());
+                tagged.add(entity.getIndex());
+            }
+        }
+        
+        Set<Integer> visited = new HashSet<>();
+        world.forEachChunk(chunk -> {
+            Component[] tags = chunk.getColumn(TagComponent.class);
+            for (int row = 0; row < chunk.size(); row++) {
+                assertNotNull(tags[row]);
+                assertTrue(visited.add(chunk.getEntityIndex(row)));
+            }
+        }, TagComponent.class, NameComponent.class);
+        
+        assertEquals(tagged, visited);
+    }
+    
+    @Test
+    @DisplayName("forEachChunk should require archetype storage")
+    void forEachChunkShouldRequireArchetypeStorage() {
+        World world = TestWorlds.create(World.StorageMode.POOLED);
+        assertThrows(IllegalStateException.class, () -> world.forEachChunk(chunk -> {}, TagComponent.class));
+    }
+}
@@ -0,0 +1,142 @@
+package com.javablocks.core.math;
+
+import com.badlogic.gdx.math.*;
+import org.junit.jupiter.api.*;
+import java.util.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the batch transform kernels.
+ */
+class TransformKernelsTest {
+    
+    /** Not a multiple of any vector width, so the scalar tail runs too. */
+    private static final int ROWS = 37;
+    
+    private final Random random = new Random(42);
+    
+    @AfterEach
+    void tearDown() {
+        TransformKernels.select(TransformKernels.Backend.AUTO);
+    }
+    
+    private float[][] randomTrs() {
+        float[][] trs = new float[TransformKernels.TRS_COLUMNS][ROWS];
+        Quaternion q = new Quaternion();
+        for (int i = 0; i < ROWS; i++) {
+            q.setFromAxis(random.nextFloat(), random.nextFloat(), random.nextFloat() + 0.1f, random.nextFloat() * 360f);
+            float[] row = {
+                random.nextFloat() * 10f, random.nextFloat() * 10f, random.nextFloat() * 10f,
+                q.x, q.y, q.z, q.w,
+                0.5f + random.nextFloat(), 0.5f + random.nextFloat(), 0.5f + random.nextFloat()
+            };
+            for (int c = 0; c < row.length; c++) {
+                trs[c][i] = row[c];
+            }
+        }
+        return trs;
+    }
+    
+    private static float[][] matrices() {
+        return new float[TransformKernels.MATRIX_COLUMNS][ROWS];
+    }
+    
+    private static Matrix4 matrixAt(float[][] matrix, int row) {
+        Matrix4 m = new Matrix4();
+        for (int e = 0; e < 16; e++) {
+            m.val[e] = matrix[e][row];
+        }
+        return m;
+    }
+    
+    private static List<TransformKernels> backends() {
+        List<TransformKernels> backends = new ArrayList<>();
+        backends.add(TransformKernels.select(TransformKernels.Backend.SCALAR));
+        if (TransformKernels.isVectorAvailable()) {
+            backends.add(TransformKernels.select(TransformKernels.Backend.VECTOR));
+        }
+        return backends;
+    }
+    
+    @Test
+    @DisplayName("Composed matrices should match Matrix4 on every backend")
+    void composeShouldMatchMatrix4() {
+        float[][] trs = randomTrs();
+        for (TransformKernels kernels : backends()) {
+            float[][] matrix = matrices();
+            kernels.compose(trs, 0, matrix, 0, ROWS);
+            
+            for (int i = 0; i < ROWS; i++) {
+                Matrix4 expected = new Matrix4().set(
+                    trs[0][i], trs[1][i], trs[2][i], trs[3][i], trs[4][i], trs[5][i], trs[6][i],
+                    trs[7][i], trs[8][i], trs[9][i]);
+                assertArrayEquals(expected.val, matrixAt(matrix, i).val, 1e-5f, kernels + " row " + i);
+            }
+        }
+    }
+    
+    @Test
+    @DisplayName("Multiplication and point transforms should match Matrix4")
+    void multiplyAndTransformShouldMatchMatrix4() {
+        float[][] parent = matrices();
+        float[][] local = matrices();
+        TransformKernels.scalar().compose(randomTrs(), 0, parent, 0, ROWS);
+        TransformKernels.scalar().compose(randomTrs(), 0, local, 0, ROWS);
+        
+        for (TransformKernels kernels : backends()) {
+            float[][] out = matrices();
+            kernels.multiply(parent, local, out, 0, ROWS);
+            float[] x = new float[ROWS], y = new float[ROWS], z = new float[ROWS];
+            Arrays.fill(x, 1f);
+            Arrays.fill(y, -2f);
+            Arrays.fill(z, 3f);
+            kernels.transformPoints(out, x, y, z, 0, ROWS);
+            
+            for (int i = 0; i < ROWS; i++) {
+                Matrix4 expected = matrixAt(parent, i).mul(matrixAt(local, i));
+                assertArrayEquals(expected.val, matrixAt(out, i).val, 1e-3f, kernels + " row " + i);
+                Vector3 point = new Vector3(1f, -2f, 3f).mul(expected);
+                assertEquals(point.x, x[i], 1e-3f);
+                assertEquals(point.y, y[i], 1e-3f);
+                assertEquals(point.z, z[i], 1e-3f);
+            }
+        }
+    }
+    
+    @Test
+    @DisplayName("Backends should give bit-identical results, also in place")
+    void backendsShouldBeBitIdentical() {
+        Assumptions.assumeTrue(TransformKernels.isVectorAvailable());
+        float[][] trs = randomTrs();
+        TransformKernels scalar = TransformKernels.scalar();
+        TransformKernels vector = TransformKernels.select(TransformKernels.Backend.VECTOR);
+        assertTrue(vector.getLaneCount() > 1);
+        
+        float[][] scalarOut = matrices();
+        float[][] vectorOut = matrices();
+        scalar.compose(trs, 0, scalarOut, 1, ROWS);
+        vector.compose(trs, 0, vectorOut, 1, ROWS);
+        float[][] local = matrices();
+        scalar.compose(randomTrs(), 0, local, 0, ROWS);
+        
+        // Multiply into the parent columns themselves
+        scalar.multiply(scalarOut, local, scalarOut, 1, ROWS);
+        vector.multiply(vectorOut, local, vectorOut, 1, ROWS);
+        for (int e = 0; e < TransformKernels.MATRIX_COLUMNS; e++) {
+            assertArrayEquals(scalarOut[e], vectorOut[e]);
+            assertEquals(0f, vectorOut[e][0]);
+        }
+    }
+    
+    @Test
+    @DisplayName("Selecting the scalar backend should always succeed")
+    void scalarSelectionShouldSucceed() {
+        TransformKernels kernels = TransformKernels.select(TransformKernels.Backend.SCALAR);
+        assertSame(kernels, TransformKernels.get());
+        assertEquals(TransformKernels.Backend.SCALAR, kernels.getBackend());
+        assertEquals(1, kernels.getLaneCount());
+        
+        TransformKernels auto = TransformKernels.select(TransformKernels.Backend.AUTO);
+        assertEquals(TransformKernels.isVectorAvailable(), auto.getBackend() == TransformKernels.Backend.VECTOR);
+    }
+}
@@ -0,0 +1,72 @@
+package com.javablocks.core.utils;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the rolling log-bucketed latency histogram.
+ */
+class LatencyHistogramTest {
+    
+    private LatencyHistogram histogram;
+    
+    @BeforeEach
+    void setUp() {
+        histogram = new LatencyHistogram(100);
+    }
+    
+    @Test
+    @DisplayName("Empty histogram should report zeros")
+    void emptyHistogramShouldReportZeros() {
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getPercentile(99));
+        assertEquals(0, histogram.getMax());
+    }
+    
+    @Test
+    @DisplayName("Percentiles should be within bucket precision")
+    void percentilesShouldBeWithinBucketPrecision() {
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i * 1_000_000L);
+        }
+        
+        assertEquals(50_000_000L, histogram.getPercentile(50), 50_000_000L / 8.0);
+        assertEquals(95_000_000L, histogram.getPercentile(95), 95_000_000L / 8.0);
+        assertTrue(histogram.getPercentile(50) >= 50_000_000L);
+        assertEquals(100_000_000L, histogram.getMax());
+        assertEquals(100_000_000L, histogram.getPercentile(100));
+    }
+    
+    @Test
+    @DisplayName("Rare spikes should show in the tail but not the median")
+    void spikesShouldShowInTail() {
+        for (int i = 0; i < 98; i++) {
+            histogram.record(2_000_000L);
+        }
+        histogram.record(30_000_000L);
+        histogram.record(31_000_000L);
+        
+        assertTrue(histogram.getPercentile(50) < 2_500_000L);
+        assertTrue(histogram.getPercentile(99) >= 30_000_000L);
+        assertEquals(31_000_000L, histogram.getMax());
+    }
+    
+    @Test
+    @DisplayName("Old samples should leave the window")
+    void oldSamplesShouldLeaveWindow() {
+        histogram.record(50_000_000L);
+        for (int i = 0; i < 100; i++) {
+            histogram.record(1_000L);
+        }
+        
+        assertEquals(100, histogram.getCount());
+        assertEquals(101, histogram.getTotalCount());
+        assertEquals(1_000L, histogram.getMax());
+        assertTrue(histogram.getPercentile(100) <= 1_000L);
+        assertEquals(50_000_000L, histogram.getAllTimeMax());
+        
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getAllTimeMax());
+    }
+}
@@ -0,0 +1,284 @@
+/*
+ * JavaBlocks Engine - Packed Component Processor
+ * 
+ * Generates struct-of-arrays stores for @Packed components.
+ */
+package com.javablocks.processor;
+
+import java.io.*;
+import java.util.*;
+import javax.annotation.processing.*;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.*;
+import javax.tools.Diagnostic;
+
+/**
+ * Annotation processor for {@code com.javablocks.core.ecs.Packed}.
+ * 
+ * For every annotated component {@code Foo} this generates {@code FooStore}
+ * in the same package. The store extends {@code PackedStore<Foo>} with one
+ * primitive array per instance field, and provides:
+ * - {@code getX(entityIndex)} / {@code isX(entityIndex)} and {@code setX(entityIndex, value)}
+ * - {@code getXColumn()} for dense row-wise iteration
+ * - The row hooks PackedStore needs to add, move, copy, read and write rows
+ * 
+ * The annotation is matched by name so the processor has no dependency on core.
+ * Generated code refers to columns as {@code this.x} and prefixes its own
+ * locals and parameters with {@code $}, so any field name is safe.
+ * 
+ * @author JavaBlocks Engine Team
+ */
+@SupportedAnnotationTypes(PackedComponentProcessor.PACKED_ANNOTATION)
+public final class PackedComponentProcessor extends AbstractProcessor {
+    
+    // ==================== Constants ====================
+    
+    /** Fully qualified name of the Packed annotation. */
+    static final String PACKED_ANNOTATION = "com.javablocks.core.ecs.Packed";
+    
+    /** Fully qualified name of the generated store base class. */
+    private static final String PACKED_STORE = "com.javablocks.core.ecs.PackedStore";
+    
+    /** Fully qualified name of the Component interface. */
+    private static final String COMPONENT = "com.javablocks.core.ecs.Component";
+    
+    /** Suffix of generated store class names. */
+    private static final String STORE_SUFFIX = "Store";
+    
+    // ==================== Processing ====================
+    
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+    
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element instanceof TypeElement type && validate(type)) {
+                    generate(type, collectFields(type));
+                }
+            }
+        }
+        return true;
+    }
+    
+    // ==================== Validation ====================
+    
+    private boolean validate(TypeElement type) {
+        boolean valid = true;
+        
+        if (type.getKind() != ElementKind.CLASS || type.getModifiers().contains(Modifier.ABSTRACT)) {
+            error(type, "@Packed can only be applied to concrete classes");
+            return false;
+        }
+        if (type.getNestingKind() != NestingKind.TOP_LEVEL) {
+            error(type, "@Packed components must be top-level classes");
+            valid = false;
+        }
+        if (!implementsComponent(type)) {
+            error(type, "@Packed class must implement " + COMPONENT);
+            valid = false;
+        }
+        if (!hasNoArgConstructor(type)) {
+            error(type, "@Packed component needs a non-private no-argument constructor");
+            valid = false;
+        }
+        
+        List<VariableElement> fields = collectFields(type);
+        if (fields.isEmpty()) {
+            error(type, "@Packed component has no instance fields to pack");
+            valid = false;
+        }
+        Set<String> storeMethods = storeMethodNames();
+        for (VariableElement field : fields) {
+            Set<Modifier> modifiers = field.getModifiers();
+            if (!field.asType().getKind().isPrimitive()) {
+                error(field, "@Packed fields must be primitive, found " + field.asType());
+                valid = false;
+            }
+            if (modifiers.contains(Modifier.FINAL)) {
+                error(field, "@Packed fields cannot be final");
+                valid = false;
+            }
+            if (modifiers.contains(Modifier.PRIVATE)) {
+                error(field, "@Packed fields cannot be private; the generated store accesses them directly");
+                valid = false;
+            }
+            for (String accessor : accessorNames(field)) {
+                if (storeMethods.contains(accessor)) {
+                    error(field, "@Packed field " + field.getSimpleName() + " would generate " + accessor
+                        + ", which clashes with a PackedStore method; rename the field");
+                    valid = false;
+                }
+            }
+        }
+        
+        return valid;
+    }
+    
+    private boolean implementsComponent(TypeElement type) {
+        TypeElement component = processingEnv.getElementUtils().getTypeElement(COMPONENT);
+        return component != null && processingEnv.getTypeUtils().isAssignable(
+            type.asType(), processingEnv.getTypeUtils().erasure(component.asType()));
+    }
+    
+    private Set<String> storeMethodNames() {
+        Set<String> names = new HashSet<>();
+        TypeElement store = processingEnv.getElementUtils().getTypeElement(PACKED_STORE);
+        if (store != null) {
+            for (Element member : processingEnv.getElementUtils().getAllMembers(store)) {
+                if (member.getKind() == ElementKind.METHOD) {
+                    names.add(member.getSimpleName().toString());
+                }
+            }
+        }
+        return names;
+    }
+    
+    private static boolean hasNoArgConstructor(TypeElement type) {
+        for (Element member : type.getEnclosedElements()) {
+            if (member.getKind() == ElementKind.CONSTRUCTOR
+                    && ((ExecutableElement) member).getParameters().isEmpty()
+                    && !member.getModifiers().contains(Modifier.PRIVATE)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private static List<VariableElement> collectFields(TypeElement type) {
+        List<VariableElement> fields = new ArrayList<>();
+        for (Element member : type.getEnclosedElements()) {
+            if (member.getKind() == ElementKind.FIELD && !member.getModifiers().contains(Modifier.STATIC)) {
+                fields.add((VariableElement) member);
+            }
+        }
+        return fields;
+    }
+    
+    private static String accessorSuffix(VariableElement field) {
+        String name = field.getSimpleName().toString();
+        return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+    
+    private static String getterName(VariableElement field) {
+        return (field.asType().getKind() == TypeKind.BOOLEAN ? "is" : "get") + accessorSuffix(field);
+    }
+    
+    private static List<String> accessorNames(VariableElement field) {
+        String suffix = accessorSuffix(field);
+        return List.of(getterName(field), "set" + suffix, "get" + suffix + "Column");
+    }
+    
+    // ==================== Generation ====================
+    
+    private void generate(TypeElement type, List<VariableElement> fields) {
+        String packageName = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+        String componentName = type.getSimpleName().toString();
+        String storeName = componentName + STORE_SUFFIX;
+        String qualifiedStoreName = packageName.isEmpty() ? storeName : packageName + "." + storeName;
+        
+        StringBuilder out = new StringBuilder(4096);
+        out.append("/*\n * Generated by ").append(getClass().getSimpleName()).append(". Do not edit.\n */\n");
+        if (!packageName.isEmpty()) {
+            out.append("package ").append(packageName).append(";\n\n");
+        }
+        out.append("/**\n * Struct-of-arrays storage for {@link ").append(componentName).append("}.\n */\n");
+        out.append("@javax.annotation.processing.Generated(\"").append(getClass().getName()).append("\")\n");
+        out.append("public final class ").append(storeName).append(" extends ")
+            .append(PACKED_STORE).append("<").append(componentName).append("> {\n");
+        
+        for (VariableElement field : fields) {
+            out.append("\n    private ").append(field.asType()).append("[] ").append(field.getSimpleName()).append(";\n");
+        }
+        
+        // Constructor
+        out.append("\n    public ").append(storeName).append("() {\n");
+        out.append("        super(").append(componentName).append(".class);\n");
+        out.append("        int $capacity = capacity();\n");
+        for (VariableElement field : fields) {
+            out.append("        this.").append(field.getSimpleName()).append(" = new ")
+                .append(field.asType()).append("[$capacity];\n");
+        }
+        out.append("    }\n");
+        
+        // Accessors
+        for (VariableElement field : fields) {
+            String name = field.getSimpleName().toString();
+            String typeName = field.asType().toString();
+            String suffix = accessorSuffix(field);
+            String getter = getterName(field);
+            
+            out.append("\n    public ").append(typeName).append(" ").append(getter).append("(int $entityIndex) {\n");
+            out.append("        return this.").append(name).append("[requireRow($entityIndex)];\n");
+            out.append("    }\n");
+            
+            out.append("\n    public void set").append(suffix).append("(int $entityIndex, ")
+                .append(typeName).append(" $value) {\n");
+            out.append("        this.").append(name).append("[requireRow($entityIndex)] = $value;\n");
+            out.append("    }\n");
+            
+            out.append("\n    /** Column indexed by row; valid rows are [0, size()), replaced when the store grows. */\n");
+            out.append("    public ").append(typeName).append("[] get").append(suffix).append("Column() {\n");
+            out.append("        return this.").append(name).append(";\n");
+            out.append("    }\n");
+        }
+        
+        // Row hooks
+        out.append("\n    @Override\n    protected void resizeColumns(int $capacity) {\n");
+        for (VariableElement field : fields) {
+            String name = field.getSimpleName().toString();
+            out.append("        this.").append(name).append(" = java.util.Arrays.copyOf(this.").append(name).append(", $capacity);\n");
+        }
+        out.append("    }\n");
+        
+        out.append("\n    @Override\n    protected void moveRow(int $from, int $to) {\n");
+        for (VariableElement field : fields) {
+            String name = field.getSimpleName().toString();
+            out.append("        this.").append(name).append("[$to] = this.").append(name).append("[$from];\n");
+        }
+        out.append("    }\n");
+        
+        out.append("\n    @Override\n    protected void copyColumns(").append(PACKED_STORE).append("<")
+            .append(componentName).append("> $source, int $rows) {\n");
+        out.append("        ").append(storeName).append(" $from = (").append(storeName).append(") $source;\n");
+        for (VariableElement field : fields) {
+            String name = field.getSimpleName().toString();
+            out.append("        System.arraycopy($from.").append(name).append(", 0, this.")
+                .append(name).append(", 0, $rows);\n");
+        }
+        out.append("    }\n");
+        
+        out.append("\n    @Override\n    protected void writeRow(int $row, ").append(componentName).append(" $component) {\n");
+        for (VariableElement field : fields) {
+            String name = field.getSimpleName().toString();
+            out.append("        this.").append(name).append("[$row] = $component.").append(name).append(";\n");
+        }
+        out.append("    }\n");
+        
+        out.append("\n    @Override\n    protected void readRow(int $row, ").append(componentName).append(" $target) {\n");
+        for (VariableElement field : fields) {
+            String name = field.getSimpleName().toString();
+            out.append("        $target.").append(name).append(" = this.").append(name).append("[$row];\n");
+        }
+        out.append("    }\n");
+        
+        out.append("\n    @Override\n    protected ").append(componentName).append(" newInstance() {\n");
+        out.append("        return new ").append(componentName).append("();\n");
+        out.append("    }\n");
+        out.append("}\n");
+        
+        try (Writer writer = processingEnv.getFiler().createSourceFile(qualifiedStoreName, type).openWriter()) {
+            writer.write(out.toString());
+        } catch (IOException e) {
+            error(type, "Failed to write " + qualifiedStoreName + ": " + e.getMessage());
+        }
+    }
+    
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+}